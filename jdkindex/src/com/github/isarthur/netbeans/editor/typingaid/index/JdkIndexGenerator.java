@@ -0,0 +1,267 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.index;
+
+import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the abbreviation index of the public API of the running JDK into the given directory. Every package the
+ * platform exports is indexed, so the index can stand in for the boot class path in class index searches.
+ *
+ * @author Arthur Sadykov
+ */
+public final class JdkIndexGenerator {
+
+    private static final String CLASS_SUFFIX = ".class"; //NOI18N
+    private static final String[] RUNTIME_JAR_PACKAGES = {
+        "java/", "javax/", "org/ietf/jgss/", "org/omg/", "org/w3c/dom/", "org/xml/sax/" //NOI18N
+    };
+    private final Set<Entry> entries = new TreeSet<>();
+
+    private JdkIndexGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: JdkIndexGenerator <output directory>"); //NOI18N
+        }
+        JdkIndexGenerator generator = new JdkIndexGenerator();
+        for (String className : listClassNames()) {
+            generator.index(className);
+        }
+        File directory = new File(args[0]);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory); //NOI18N
+        }
+        File file = new File(directory, JdkIndexFormat.getFileName(System.getProperty("java.specification.version")));
+        try (OutputStream out = new FileOutputStream(file)) {
+            generator.write(out);
+        }
+        System.out.println("Wrote " + generator.entries.size() + " entries to " + file); //NOI18N
+    }
+
+    private static List<String> listClassNames() throws IOException {
+        List<String> classNames = new ArrayList<>();
+        File runtimeJar = new File(System.getProperty("java.home"), "lib/rt.jar"); //NOI18N
+        if (runtimeJar.isFile()) {
+            try (JarFile jar = new JarFile(runtimeJar)) {
+                Enumeration<JarEntry> jarEntries = jar.entries();
+                while (jarEntries.hasMoreElements()) {
+                    String resourceName = jarEntries.nextElement().getName();
+                    if (isRuntimeJarPackage(resourceName)) {
+                        addClassName(resourceName, classNames);
+                    }
+                }
+            }
+        } else {
+            FileSystem fileSystem = FileSystems.getFileSystem(URI.create("jrt:/")); //NOI18N
+            Path modules = fileSystem.getPath("/modules"); //NOI18N
+            List<Path> roots;
+            try (Stream<Path> stream = Files.list(modules)) {
+                roots = stream.collect(Collectors.toList());
+            }
+            for (Path root : roots) {
+                try (Stream<Path> stream = Files.walk(root)) {
+                    stream.map(path -> root.relativize(path).toString())
+                            .forEach(name -> addClassName(name, classNames));
+                }
+            }
+        }
+        return classNames;
+    }
+
+    private static boolean isRuntimeJarPackage(String resourceName) {
+        for (String prefix : RUNTIME_JAR_PACKAGES) {
+            if (resourceName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addClassName(String resourceName, List<String> classNames) {
+        if (!resourceName.endsWith(CLASS_SUFFIX)
+                || resourceName.endsWith("module-info.class") //NOI18N
+                || resourceName.endsWith("package-info.class")) { //NOI18N
+            return;
+        }
+        String binaryName = resourceName.substring(0, resourceName.length() - CLASS_SUFFIX.length()).replace('/', '.');
+        classNames.add(binaryName);
+    }
+
+    private void index(String binaryName) {
+        Class<?> type;
+        try {
+            type = Class.forName(binaryName, false, ClassLoader.getSystemClassLoader());
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return;
+        }
+        if (!isAccessible(type) || !isExported(type) || type.isAnnotationPresent(Deprecated.class)) {
+            return;
+        }
+        String typeAbbreviation = StringUtilities.getElementAbbreviation(type.getSimpleName());
+        entries.add(new Entry(typeAbbreviation, binaryName, type.getSimpleName(), getTypeKind(type)));
+        try {
+            for (Method method : type.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers())
+                        && !method.isSynthetic()
+                        && !method.isAnnotationPresent(Deprecated.class)) {
+                    addMember(typeAbbreviation, binaryName, method.getName(), JdkIndexFormat.STATIC_METHOD);
+                }
+            }
+            for (Field field : type.getFields()) {
+                if (field.isAnnotationPresent(Deprecated.class)) {
+                    continue;
+                }
+                if (field.isEnumConstant()) {
+                    addMember(typeAbbreviation, binaryName, field.getName(), JdkIndexFormat.ENUM_CONSTANT);
+                } else if (Modifier.isStatic(field.getModifiers()) && Modifier.isFinal(field.getModifiers())) {
+                    addMember(typeAbbreviation, binaryName, field.getName(), JdkIndexFormat.STATIC_FIELD);
+                }
+            }
+        } catch (LinkageError | SecurityException ex) {
+        }
+    }
+
+    private void addMember(String typeAbbreviation, String owner, String name, int kind) {
+        String key = typeAbbreviation + JdkIndexFormat.MEMBER_SEPARATOR + StringUtilities.getElementAbbreviation(name);
+        entries.add(new Entry(key, owner, name, kind));
+    }
+
+    private static boolean isAccessible(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getDeclaringClass()) {
+            if (!Modifier.isPublic(current.getModifiers())
+                    || current.isAnonymousClass()
+                    || current.isLocalClass()
+                    || current.isSynthetic()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the module of the type exports its package to everyone. On a runtime without modules the
+     * packages are already restricted to the platform API by {@link #RUNTIME_JAR_PACKAGES}.
+     */
+    private static boolean isExported(Class<?> type) {
+        String binaryName = type.getName();
+        int lastDot = binaryName.lastIndexOf('.');
+        String packageName = lastDot != -1 ? binaryName.substring(0, lastDot) : ""; //NOI18N
+        try {
+            Object module = Class.class.getMethod("getModule").invoke(type); //NOI18N
+            return (Boolean) module.getClass().getMethod("isExported", String.class) //NOI18N
+                    .invoke(module, packageName);
+        } catch (NoSuchMethodException ex) {
+            return true;
+        } catch (ReflectiveOperationException ex) {
+            return false;
+        }
+    }
+
+    private static int getTypeKind(Class<?> type) {
+        if (type.isAnnotation()) {
+            return JdkIndexFormat.ANNOTATION_TYPE;
+        }
+        if (type.isInterface()) {
+            return JdkIndexFormat.INTERFACE;
+        }
+        if (type.isEnum()) {
+            return JdkIndexFormat.ENUM;
+        }
+        return JdkIndexFormat.CLASS;
+    }
+
+    private void write(OutputStream out) throws IOException {
+        Map<String, Integer> pool = new LinkedHashMap<>();
+        int poolSize = 0;
+        for (Entry entry : entries) {
+            for (String string : new String[]{entry.key, entry.owner, entry.name}) {
+                if (!pool.containsKey(string)) {
+                    pool.put(string, poolSize);
+                    poolSize += 2 + string.getBytes(StandardCharsets.UTF_8).length;
+                }
+            }
+        }
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(JdkIndexFormat.MAGIC);
+        data.writeInt(JdkIndexFormat.VERSION);
+        data.writeInt(entries.size());
+        data.writeInt(JdkIndexFormat.HEADER_SIZE + entries.size() * JdkIndexFormat.ENTRY_SIZE);
+        for (Entry entry : entries) {
+            data.writeInt(pool.get(entry.key));
+            data.writeInt(pool.get(entry.owner));
+            data.writeInt(pool.get(entry.name));
+            data.writeInt(entry.kind);
+        }
+        for (String string : pool.keySet()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            data.writeShort(bytes.length);
+            data.write(bytes);
+        }
+        data.flush();
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        private static final Comparator<Entry> ORDER = Comparator.<Entry, String>comparing(entry -> entry.key)
+                .thenComparing(entry -> entry.owner)
+                .thenComparing(entry -> entry.name)
+                .thenComparingInt(entry -> entry.kind);
+        private final String key;
+        private final String owner;
+        private final String name;
+        private final int kind;
+
+        Entry(String key, String owner, String name, int kind) {
+            this.key = key;
+            this.owner = owner;
+            this.name = name;
+            this.kind = kind;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package com.github.isarthur.netbeans.editor.typingaid.abbreviation.api;
 
 /**
+ * Read-only view of an abbreviation. Collectors, contexts and requests only read abbreviations; the buffer a document
+ * types into is an {@link AbbreviationBuffer}.
  *
  * @author Arthur Sadykov
  */
@@ -23,27 +25,19 @@ public interface Abbreviation {
 
     String getContent();
 
-    void setContent(String content);
-
     int getStartOffset();
 
     int getEndOffset();
 
-    void reset();
-
-    Abbreviation append(char character);
-
     int length();
 
     boolean isEmpty();
 
-    void setStartOffset(int startOffset);
-
-    void delete();
-
     String getScope();
 
     String getIdentifier();
 
     boolean isSimple();
+
+    Abbreviation snapshot();
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.abbreviation.api;
+
+/**
+ *
+ * @author Arthur Sadykov
+ */
+public abstract class AbstractAbbreviation implements Abbreviation {
+
+    @Override
+    public int getEndOffset() {
+        return getStartOffset() + length();
+    }
+
+    @Override
+    public int length() {
+        return getContent().length();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length() == 0;
+    }
+
+    @Override
+    public boolean isSimple() {
+        return !getContent().contains("."); //NOI18N
+    }
+
+    @Override
+    public String getScope() {
+        String content = getContent();
+        int dotIndex = content.indexOf('.');
+        if (dotIndex > 0) {
+            return content.substring(0, dotIndex);
+        }
+        return content;
+    }
+
+    @Override
+    public String getIdentifier() {
+        String content = getContent();
+        int dotIndex = content.indexOf('.');
+        if (dotIndex > 0) {
+            return content.substring(dotIndex + 1);
+        }
+        return content;
+    }
+
+    @Override
+    public String toString() {
+        return getIdentifier();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.AbstractAbbreviation;
+
+/**
+ * Immutable copy of an abbreviation that can be handed to background tasks while the editor keeps typing into its
+ * own buffer.
+ *
+ * @author Arthur Sadykov
+ */
+public final class AbbreviationSnapshot extends AbstractAbbreviation {
+
+    private final String content;
+    private final int startOffset;
+
+    public AbbreviationSnapshot(String content, int startOffset) {
+        this.content = content;
+        this.startOffset = startOffset;
+    }
+
+    @Override
+    public String getContent() {
+        return content;
+    }
+
+    @Override
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    @Override
+    public AbbreviationSnapshot snapshot() {
+        return this;
+    }
+}
@@ -15,37 +15,47 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl;
 
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
-import org.openide.util.lookup.ServiceProvider;
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.AbbreviationBuffer;
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.AbstractAbbreviation;
+import java.util.Arrays;
+import javax.swing.text.Document;
 
 /**
+ * Abbreviation buffer of a single document. It is confined to the thread that types into the document and hands
+ * {@link #snapshot() snapshots} to any other work.
  *
  * @author Arthur Sadykov
  */
-@ServiceProvider(service = Abbreviation.class)
-public class JavaAbbreviation implements Abbreviation {
+public class JavaAbbreviation extends AbstractAbbreviation implements AbbreviationBuffer {
 
+    private static final int INITIAL_CAPACITY = 16;
     private int startOffset;
-    private final StringBuffer buffer;
+    private char[] buffer;
+    private int length;
 
     public JavaAbbreviation() {
         this.startOffset = -1;
-        this.buffer = new StringBuffer();
+        this.buffer = new char[INITIAL_CAPACITY];
     }
 
     public JavaAbbreviation(String content, int offset) {
-        this.buffer = new StringBuffer(content);
+        this.buffer = content.toCharArray();
+        this.length = buffer.length;
         this.startOffset = offset;
     }
 
-    @Override
-    public int getStartOffset() {
-        return startOffset;
+    public static JavaAbbreviation forDocument(Document document) {
+        JavaAbbreviation abbreviation = (JavaAbbreviation) document.getProperty(JavaAbbreviation.class);
+        if (abbreviation == null) {
+            abbreviation = new JavaAbbreviation();
+            document.putProperty(JavaAbbreviation.class, abbreviation);
+        }
+        return abbreviation;
     }
 
     @Override
-    public boolean isSimple() {
-        return !getContent().contains("."); //NOI18N
+    public int getStartOffset() {
+        return startOffset;
     }
 
     @Override
@@ -53,78 +63,46 @@ public class JavaAbbreviation implements Abbreviation {
         this.startOffset = startOffset;
     }
 
-    @Override
-    public int getEndOffset() {
-        return startOffset + buffer.length();
-    }
-
     @Override
     public JavaAbbreviation append(char character) {
-        buffer.append(character);
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(INITIAL_CAPACITY, length * 2));
+        }
+        buffer[length++] = character;
         return this;
     }
 
     @Override
     public void reset() {
-        buffer.setLength(0);
+        length = 0;
         startOffset = -1;
     }
 
-    @Override
-    public boolean isEmpty() {
-        return buffer.length() == 0;
-    }
-
     @Override
     public String getContent() {
-        return buffer.toString();
+        return new String(buffer, 0, length);
     }
 
     @Override
     public void setContent(String content) {
-        buffer.setLength(0);
-        buffer.append(content);
+        buffer = content.toCharArray();
+        length = buffer.length;
     }
 
     @Override
     public void delete() {
         if (!isEmpty()) {
-            buffer.delete(buffer.length() - 1, buffer.length());
+            length--;
         }
     }
 
     @Override
     public int length() {
-        return buffer.length();
-    }
-
-    @Override
-    public String getScope() {
-        String content = getContent();
-        int dotIndex = content.indexOf('.');
-        if (dotIndex > 0) {
-            return content.substring(0, dotIndex);
-        }
-        return content;
+        return length;
     }
 
     @Override
-    public String getIdentifier() {
-        String content = getContent();
-        int dotIndex = content.indexOf('.');
-        if (dotIndex > 0) {
-            return content.substring(dotIndex + 1);
-        }
-        return content;
-    }
-
-    @Override
-    public String toString() {
-        String content = getContent();
-        int dotIndex = content.indexOf('.');
-        if (dotIndex > 0) {
-            return content.substring(dotIndex + 1);
-        }
-        return content;
+    public AbbreviationSnapshot snapshot() {
+        return new AbbreviationSnapshot(getContent(), startOffset);
     }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.codefragment.api;
+
+import java.util.List;
+import javax.swing.text.Document;
+import org.netbeans.api.java.source.ModificationResult;
+import org.openide.filesystems.FileObject;
+
+/**
+ * Collects and inserts code fragments for an abbreviation without any editor component. The abbreviation is
+ * expected to be absent from the source at the given offset.
+ *
+ * @author Arthur Sadykov
+ */
+public interface AbbreviationExpansionEngine {
+
+    List<CodeFragment> expand(Document document, int offset, String abbreviation);
+
+    List<CodeFragment> expand(FileObject file, int offset, String abbreviation);
+
+    ModificationResult apply(Document document, int offset, String abbreviation, CodeFragment codeFragment);
+
+    ModificationResult apply(FileObject file, int offset, String abbreviation, CodeFragment codeFragment);
+}
@@ -45,6 +45,7 @@ public interface CodeFragment {
         CLASS_KEYWORD,
         CONTINUE_KEYWORD,
         DEFAULT_KEYWORD,
+        DEFAULT_MODIFIER,
         DO_KEYWORD,
         DOUBLE_PRIMITIVE_TYPE,
         ELSE_KEYWORD,
@@ -60,6 +61,7 @@ public interface CodeFragment {
         IMPLEMENTS_KEYWORD,
         IMPORT_KEYWORD,
         INNER_TYPE,
+        INSTANCE_CREATION,
         INSTANCEOF_KEYWORD,
         INT_PRIMITIVE_TYPE,
         INTERFACE_KEYWORD,
@@ -70,12 +72,14 @@ public interface CodeFragment {
         NAME,
         NATIVE_MODIFIER,
         NEW_KEYWORD,
+        NON_SEALED_MODIFIER,
         NORMAL_METHOD_INVOCATION,
         NULL_LITERAL,
         PRIVATE_MODIFIER,
         PROTECTED_MODIFIER,
         PUBLIC_MODIFIER,
         RETURN_KEYWORD,
+        SEALED_MODIFIER,
         SHORT_PRIMITIVE_TYPE,
         STATEMENT,
         STATIC_FIELD_ACCESS,
@@ -25,4 +25,8 @@ import java.util.List;
 public interface CodeFragmentCollectAndInsertHandler {
 
     List<CodeFragment> process(Abbreviation abbreviation);
+
+    List<String> getSkippedCollectors();
+
+    List<String> getPartialCollectors();
 }
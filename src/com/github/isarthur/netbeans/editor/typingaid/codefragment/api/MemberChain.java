@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.codefragment.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Members selected one after another in front of a chained code fragment, such as {@code getClass().getName()}.
+ * Only fields and methods without parameters can be part of a chain.
+ *
+ * @author Arthur Sadykov
+ */
+public final class MemberChain {
+
+    private final List<Link> links;
+
+    private MemberChain(List<Link> links) {
+        this.links = links;
+    }
+
+    public static MemberChain of(String name, boolean method) {
+        return new MemberChain(Collections.singletonList(new Link(name, method)));
+    }
+
+    public MemberChain append(String name, boolean method) {
+        List<Link> newLinks = new ArrayList<>(links);
+        newLinks.add(new Link(name, method));
+        return new MemberChain(Collections.unmodifiableList(newLinks));
+    }
+
+    public List<Link> getLinks() {
+        return links;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        links.forEach(link -> {
+            if (text.length() > 0) {
+                text.append('.');
+            }
+            text.append(link);
+        });
+        return text.toString();
+    }
+
+    public static final class Link {
+
+        private final String name;
+        private final boolean method;
+
+        Link(String name, boolean method) {
+            this.name = name;
+            this.method = method;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isMethod() {
+            return method;
+        }
+
+        @Override
+        public String toString() {
+            return method ? name + "()" : name; //NOI18N
+        }
+    }
+}
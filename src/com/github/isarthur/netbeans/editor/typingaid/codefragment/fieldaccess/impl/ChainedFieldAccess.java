@@ -15,9 +15,12 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.codefragment.fieldaccess.impl;
 
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.MemberChain;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.fieldaccess.api.AbstractFieldAccess;
 import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.CodeFragmentInsertVisitor;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceMaker;
+import com.sun.source.tree.Tree;
 import javax.lang.model.element.Element;
 
 /**
@@ -26,8 +29,30 @@ import javax.lang.model.element.Element;
  */
 public class ChainedFieldAccess extends AbstractFieldAccess {
 
+    private final MemberChain qualifier;
+
     public ChainedFieldAccess(Element identifier) {
+        this(identifier, null);
+    }
+
+    public ChainedFieldAccess(Element identifier, MemberChain qualifier) {
         super(identifier);
+        this.qualifier = qualifier;
+    }
+
+    /**
+     * Returns the members selected before the field, or {@code null} when the field is selected directly.
+     */
+    public MemberChain getQualifier() {
+        return qualifier;
+    }
+
+    @Override
+    public Tree getTreeToInsert(CodeCompletionRequest request) {
+        if (qualifier == null) {
+            return super.getTreeToInsert(request);
+        }
+        return JavaSourceMaker.makeMemberSelectTree(qualifier, identifier.getSimpleName(), request);
     }
 
     @Override
@@ -39,4 +64,9 @@ public class ChainedFieldAccess extends AbstractFieldAccess {
     public void accept(CodeFragmentInsertVisitor visitor, CodeCompletionRequest request) {
         visitor.visit(this, request);
     }
+
+    @Override
+    public String toString() {
+        return qualifier != null ? qualifier.toString() + '.' + super.toString() : super.toString();
+    }
 }
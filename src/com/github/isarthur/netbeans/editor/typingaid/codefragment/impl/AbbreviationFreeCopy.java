@@ -0,0 +1,189 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.codefragment.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.AbbreviationSnapshot;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceInitializeHandler;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Position;
+import javax.swing.text.StyledDocument;
+import org.netbeans.api.java.source.JavaSource;
+import org.netbeans.api.java.source.ModificationResult;
+import org.netbeans.api.queries.FileEncodingQuery;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.text.NbDocument;
+
+/**
+ * An in-memory copy of a document with abbreviations cut out of its text. Code fragments are collected and inserted
+ * against the copy while the document still holds the abbreviations. The removal of the abbreviations and the
+ * differences of the copy are then applied to the document in one atomic edit, which the editor undoes in one step.
+ *
+ * @author Arthur Sadykov
+ */
+class AbbreviationFreeCopy {
+
+    private final Document document;
+    private final List<Abbreviation> abbreviations;
+    private final List<Abbreviation> copyAbbreviations;
+    private final FileObject copyFile;
+    private final JavaSource javaSource;
+
+    private AbbreviationFreeCopy(Document document, List<Abbreviation> abbreviations,
+            List<Abbreviation> copyAbbreviations, FileObject copyFile, JavaSource javaSource) {
+        this.document = document;
+        this.abbreviations = abbreviations;
+        this.copyAbbreviations = copyAbbreviations;
+        this.copyFile = copyFile;
+        this.javaSource = javaSource;
+    }
+
+    /**
+     * Copies the text of the document without the given abbreviations.
+     *
+     * @param document the document
+     * @param abbreviations the abbreviations of the document, ordered by their offsets
+     * @return the copy or {@code null} if the document has no source file or the abbreviations are out of its text
+     * @throws IOException if the copy cannot be written
+     */
+    static AbbreviationFreeCopy create(Document document, List<Abbreviation> abbreviations) throws IOException {
+        JavaSource documentSource = JavaSourceInitializeHandler.getJavaSourceForDocument(document);
+        Collection<FileObject> files = documentSource.getFileObjects();
+        if (files.isEmpty() || !(document instanceof StyledDocument)) {
+            return null;
+        }
+        List<Abbreviation> copyAbbreviations = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        document.render(() -> {
+            try {
+                int offset = 0;
+                for (Abbreviation abbreviation : abbreviations) {
+                    if (!abbreviation.getContent().equals(
+                            document.getText(abbreviation.getStartOffset(), abbreviation.length()))) {
+                        copyAbbreviations.clear();
+                        return;
+                    }
+                    text.append(document.getText(offset, abbreviation.getStartOffset() - offset));
+                    copyAbbreviations.add(new AbbreviationSnapshot(abbreviation.getContent(), text.length()));
+                    offset = abbreviation.getEndOffset();
+                }
+                text.append(document.getText(offset, document.getLength() - offset));
+            } catch (BadLocationException ex) {
+                copyAbbreviations.clear();
+            }
+        });
+        if (copyAbbreviations.isEmpty()) {
+            return null;
+        }
+        FileObject file = files.iterator().next();
+        FileObject copyFile = FileUtil.createMemoryFileSystem().getRoot().createData(file.getNameExt());
+        try (OutputStream out = copyFile.getOutputStream();
+                Writer writer = new OutputStreamWriter(out, FileEncodingQuery.getEncoding(copyFile))) {
+            writer.append(text);
+        }
+        JavaSource javaSource = JavaSource.create(documentSource.getClasspathInfo(), copyFile);
+        if (javaSource == null) {
+            return null;
+        }
+        return new AbbreviationFreeCopy(document, abbreviations, Collections.unmodifiableList(copyAbbreviations),
+                copyFile, javaSource);
+    }
+
+    JavaSource getJavaSource() {
+        return javaSource;
+    }
+
+    /**
+     * Returns the abbreviations at their offsets in the copy, where the text of each one is cut out.
+     *
+     * @return the abbreviations in the coordinates of the copy
+     */
+    List<Abbreviation> getAbbreviations() {
+        return copyAbbreviations;
+    }
+
+    /**
+     * Removes the abbreviations from the document and applies the differences of a modification task run against the
+     * copy, all in one atomic edit.
+     *
+     * @param modificationResult the result of a modification task run against the copy
+     * @param replacements the text inserted in place of each abbreviation: empty if the abbreviation expanded through
+     * the differences, the abbreviation itself if it did not expand
+     * @throws BadLocationException if the document no longer holds the abbreviations
+     */
+    void apply(ModificationResult modificationResult, List<String> replacements) throws BadLocationException {
+        List<? extends ModificationResult.Difference> differences = modificationResult.getDifferences(copyFile);
+        List<ModificationResult.Difference> sortedDifferences = new ArrayList<>();
+        if (differences != null) {
+            differences.stream()
+                    .filter(difference -> !difference.isExcluded())
+                    .forEach(sortedDifferences::add);
+        }
+        sortedDifferences.sort(Comparator.comparingInt(
+                (ModificationResult.Difference difference) -> difference.getStartPosition().getOffset()).reversed());
+        BadLocationException[] exception = new BadLocationException[1];
+        NbDocument.runAtomicAsUser((StyledDocument) document, () -> {
+            try {
+                for (Abbreviation abbreviation : abbreviations) {
+                    if (!abbreviation.getContent().equals(
+                            document.getText(abbreviation.getStartOffset(), abbreviation.length()))) {
+                        throw new BadLocationException(abbreviation.getContent(), abbreviation.getStartOffset());
+                    }
+                }
+                for (int i = abbreviations.size() - 1; i >= 0; i--) {
+                    Abbreviation abbreviation = abbreviations.get(i);
+                    document.remove(abbreviation.getStartOffset(), abbreviation.length());
+                }
+                List<Position> positions = new ArrayList<>();
+                for (Abbreviation abbreviation : copyAbbreviations) {
+                    positions.add(document.createPosition(abbreviation.getStartOffset()));
+                }
+                for (ModificationResult.Difference difference : sortedDifferences) {
+                    int startOffset = difference.getStartPosition().getOffset();
+                    int endOffset = difference.getEndPosition().getOffset();
+                    if (endOffset > startOffset) {
+                        document.remove(startOffset, endOffset - startOffset);
+                    }
+                    String newText = difference.getNewText();
+                    if (newText != null && !newText.isEmpty()) {
+                        document.insertString(startOffset, newText, null);
+                    }
+                }
+                for (int i = positions.size() - 1; i >= 0; i--) {
+                    if (!replacements.get(i).isEmpty()) {
+                        document.insertString(positions.get(i).getOffset(), replacements.get(i), null);
+                    }
+                }
+            } catch (BadLocationException ex) {
+                exception[0] = ex;
+            }
+        });
+        if (exception[0] != null) {
+            throw exception[0];
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.codefragment.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.AbbreviationSnapshot;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.context.api.CodeCompletionContext;
+import com.github.isarthur.netbeans.editor.typingaid.context.impl.CodeCompletionContextFactory;
+import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.TextInsertion;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.impl.CodeCompletionRequestImpl;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceInitializeHandler;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.SourcePositions;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Position;
+import org.netbeans.api.java.source.JavaSource;
+import org.netbeans.api.java.source.ModificationResult;
+import org.netbeans.api.java.source.WorkingCopy;
+import org.openide.cookies.EditorCookie;
+import org.openide.filesystems.FileObject;
+import org.openide.loaders.DataObject;
+import org.openide.loaders.DataObjectNotFoundException;
+import org.openide.util.Exceptions;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Expands every abbreviation with a unique match in a range of a document. Each round expands all sites of a document
+ * within one modification task run against an in-memory copy of the source without the abbreviations, so the phase is
+ * resolved once per round rather than once per abbreviation. The document is only touched when something expands, and
+ * then the abbreviations are replaced by their expansions in one atomic edit.
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaAbbreviationBulkExpander {
+
+    private static final RequestProcessor RP = new RequestProcessor(JavaAbbreviationBulkExpander.class.getName(),
+            Runtime.getRuntime().availableProcessors());
+    private final Document document;
+
+    public JavaAbbreviationBulkExpander(Document document) {
+        this.document = document;
+    }
+
+    public static int expand(Collection<FileObject> files) {
+        AtomicInteger expandedCount = new AtomicInteger();
+        List<RequestProcessor.Task> tasks = new ArrayList<>();
+        files.forEach(file -> tasks.add(RP.post(() -> expandedCount.addAndGet(expand(file)))));
+        tasks.forEach(RequestProcessor.Task::waitFinished);
+        return expandedCount.get();
+    }
+
+    private static int expand(FileObject file) {
+        try {
+            EditorCookie editorCookie = DataObject.find(file).getLookup().lookup(EditorCookie.class);
+            if (editorCookie == null) {
+                return 0;
+            }
+            Document document = editorCookie.openDocument();
+            return new JavaAbbreviationBulkExpander(document).expand(0, document.getLength());
+        } catch (DataObjectNotFoundException ex) {
+            return 0;
+        } catch (IOException ex) {
+            Exceptions.printStackTrace(ex);
+            return 0;
+        }
+    }
+
+    public int expand(int startOffset, int endOffset) {
+        Position endPosition;
+        try {
+            endPosition = document.createPosition(endOffset);
+        } catch (BadLocationException ex) {
+            Exceptions.printStackTrace(ex);
+            return 0;
+        }
+        int expandedCount = 0;
+        while (true) {
+            List<Abbreviation> abbreviations = findAbbreviations(startOffset, endPosition.getOffset());
+            if (abbreviations.isEmpty()) {
+                return expandedCount;
+            }
+            int count = expand(abbreviations);
+            if (count == 0) {
+                return expandedCount;
+            }
+            expandedCount += count;
+        }
+    }
+
+    private List<Abbreviation> findAbbreviations(int startOffset, int endOffset) {
+        List<Abbreviation> abbreviations = new ArrayList<>();
+        JavaSource javaSource = JavaSourceInitializeHandler.getJavaSourceForDocument(document);
+        try {
+            javaSource.runUserActionTask(controller -> {
+                JavaSourceInitializeHandler.moveStateToResolvedPhase(controller);
+                CompilationUnitTree compilationUnit = controller.getCompilationUnit();
+                Trees trees = controller.getTrees();
+                SourcePositions sourcePositions = trees.getSourcePositions();
+                new TreePathScanner<Void, Void>() {
+                    @Override
+                    public Void visitIdentifier(IdentifierTree node, Void unused) {
+                        int start = (int) sourcePositions.getStartPosition(compilationUnit, node);
+                        int end = (int) sourcePositions.getEndPosition(compilationUnit, node);
+                        String name = node.getName().toString();
+                        if (start >= startOffset && end <= endOffset && end - start == name.length()
+                                && isAbbreviationLike(name) && isStandalone(getCurrentPath())
+                                && trees.getElement(getCurrentPath()) == null) {
+                            abbreviations.add(new AbbreviationSnapshot(name, start));
+                        }
+                        return super.visitIdentifier(node, unused);
+                    }
+                }.scan(compilationUnit, null);
+            }, true);
+        } catch (IOException ex) {
+            Exceptions.printStackTrace(ex);
+        }
+        abbreviations.sort(Comparator.comparingInt(Abbreviation::getStartOffset));
+        return abbreviations;
+    }
+
+    private boolean isAbbreviationLike(String name) {
+        return !name.isEmpty() && name.chars().allMatch(character -> character >= 'a' && character <= 'z');
+    }
+
+    private boolean isStandalone(TreePath path) {
+        Tree tree = path.getLeaf();
+        Tree parentTree = path.getParentPath().getLeaf();
+        switch (parentTree.getKind()) {
+            case MEMBER_SELECT:
+            case PARAMETERIZED_TYPE:
+                return false;
+            case METHOD_INVOCATION:
+                return ((MethodInvocationTree) parentTree).getMethodSelect() != tree;
+            case NEW_CLASS:
+                return ((NewClassTree) parentTree).getIdentifier() != tree;
+            default:
+                return true;
+        }
+    }
+
+    private int expand(List<Abbreviation> abbreviations) {
+        try {
+            AbbreviationFreeCopy abbreviationFreeCopy = AbbreviationFreeCopy.create(document, abbreviations);
+            if (abbreviationFreeCopy == null) {
+                return 0;
+            }
+            List<Abbreviation> copyAbbreviations = abbreviationFreeCopy.getAbbreviations();
+            boolean[] expanded = new boolean[abbreviations.size()];
+            String[] insertedTexts = new String[abbreviations.size()];
+            ModificationResult modificationResult = abbreviationFreeCopy.getJavaSource().runModificationTask(copy -> {
+                JavaSourceInitializeHandler.moveStateToResolvedPhase(copy);
+                expand(copy, copyAbbreviations, expanded, insertedTexts);
+            });
+            int expandedCount = 0;
+            List<String> replacements = new ArrayList<>();
+            for (int i = 0; i < abbreviations.size(); i++) {
+                if (expanded[i]) {
+                    expandedCount++;
+                    replacements.add(insertedTexts[i] != null ? insertedTexts[i] : ""); //NOI18N
+                } else {
+                    replacements.add(abbreviations.get(i).getContent());
+                }
+            }
+            if (expandedCount == 0) {
+                return 0;
+            }
+            abbreviationFreeCopy.apply(modificationResult, replacements);
+            return expandedCount;
+        } catch (IOException | BadLocationException ex) {
+            Exceptions.printStackTrace(ex);
+            return 0;
+        }
+    }
+
+    private void expand(WorkingCopy copy, List<Abbreviation> abbreviations, boolean[] expanded,
+            String[] insertedTexts) {
+        Set<Tree> rewrittenTrees = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < abbreviations.size(); i++) {
+            List<CodeFragment> codeFragments = new ArrayList<>();
+            CodeCompletionRequest request =
+                    new CodeCompletionRequestImpl(abbreviations.get(i), codeFragments, copy, document);
+            TreePath currentPath = request.getCurrentPath();
+            TreePath parentPath = currentPath.getParentPath();
+            Tree parentTree = parentPath != null ? parentPath.getLeaf() : null;
+            if (rewrittenTrees.contains(currentPath.getLeaf()) || rewrittenTrees.contains(parentTree)) {
+                continue;
+            }
+            Tree.Kind currentTreeKind = JavaSourceUtilities.getCurrentTreeKind(request);
+            CodeCompletionContext context = CodeCompletionContextFactory.getCodeCompletionContext(currentTreeKind);
+            context.collect(request);
+            if (codeFragments.stream().map(CodeFragment::toString).distinct().count() != 1) {
+                continue;
+            }
+            context.insert(codeFragments.get(0), request);
+            TextInsertion textInsertion = request.getTextInsertion();
+            if (textInsertion != null) {
+                insertedTexts[i] = textInsertion.getText();
+            }
+            rewrittenTrees.add(currentPath.getLeaf());
+            if (parentTree != null) {
+                rewrittenTrees.add(parentTree);
+            }
+            expanded[i] = true;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.codefragment.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.AbbreviationSnapshot;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.AbbreviationExpansionEngine;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.context.api.CodeCompletionContext;
+import com.github.isarthur.netbeans.editor.typingaid.context.impl.CodeCompletionContextFactory;
+import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.TextInsertion;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.impl.CodeCompletionRequestImpl;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceInitializeHandler;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.text.Document;
+import org.netbeans.api.java.source.JavaSource;
+import org.netbeans.api.java.source.ModificationResult;
+import org.openide.filesystems.FileObject;
+import org.openide.util.Exceptions;
+import org.openide.util.lookup.ServiceProvider;
+
+/**
+ *
+ * @author Arthur Sadykov
+ */
+@ServiceProvider(service = AbbreviationExpansionEngine.class)
+public class JavaAbbreviationExpansionEngine implements AbbreviationExpansionEngine {
+
+    @Override
+    public List<CodeFragment> expand(Document document, int offset, String abbreviation) {
+        return expand(JavaSourceInitializeHandler.getJavaSourceForDocument(document), document, offset, abbreviation);
+    }
+
+    @Override
+    public List<CodeFragment> expand(FileObject file, int offset, String abbreviation) {
+        return expand(JavaSourceInitializeHandler.getJavaSourceForFileObject(file), null, offset, abbreviation);
+    }
+
+    @Override
+    public ModificationResult apply(Document document, int offset, String abbreviation,
+            CodeFragment codeFragment) {
+        return apply(JavaSourceInitializeHandler.getJavaSourceForDocument(document), document, offset, abbreviation,
+                codeFragment);
+    }
+
+    @Override
+    public ModificationResult apply(FileObject file, int offset, String abbreviation, CodeFragment codeFragment) {
+        return apply(JavaSourceInitializeHandler.getJavaSourceForFileObject(file), null, offset, abbreviation,
+                codeFragment);
+    }
+
+    private List<CodeFragment> expand(JavaSource javaSource, Document document, int offset, String content) {
+        List<CodeFragment> codeFragments = new ArrayList<>();
+        Abbreviation abbreviation = new AbbreviationSnapshot(content, offset);
+        try {
+            javaSource.runUserActionTask(controller -> {
+                JavaSourceInitializeHandler.moveStateToResolvedPhase(controller);
+                CodeCompletionRequest request =
+                        new CodeCompletionRequestImpl(abbreviation, codeFragments, controller, document);
+                getContext(request).collect(request);
+            }, true);
+        } catch (IOException ex) {
+            Exceptions.printStackTrace(ex);
+        }
+        Set<String> seen = new HashSet<>();
+        codeFragments.removeIf(codeFragment -> !seen.add(codeFragment.toString()));
+        return Collections.unmodifiableList(codeFragments);
+    }
+
+    private ModificationResult apply(JavaSource javaSource, Document document, int offset, String content,
+            CodeFragment codeFragment) {
+        Abbreviation abbreviation = new AbbreviationSnapshot(content, offset);
+        AtomicReference<TextInsertion> textInsertion = new AtomicReference<>();
+        try {
+            ModificationResult modificationResult = javaSource.runModificationTask(copy -> {
+                JavaSourceInitializeHandler.moveStateToResolvedPhase(copy);
+                List<CodeFragment> codeFragments = new ArrayList<>();
+                codeFragments.add(codeFragment);
+                CodeCompletionRequest request =
+                        new CodeCompletionRequestImpl(abbreviation, codeFragments, copy, document);
+                getContext(request).insert(codeFragment, request);
+                textInsertion.set(request.getTextInsertion());
+            });
+            modificationResult.commit();
+            if (textInsertion.get() != null) {
+                textInsertion.get().apply(document);
+            }
+            return modificationResult;
+        } catch (IOException ex) {
+            Exceptions.printStackTrace(ex);
+            return null;
+        }
+    }
+
+    private CodeCompletionContext getContext(CodeCompletionRequest request) {
+        return CodeCompletionContextFactory.getCodeCompletionContext(JavaSourceUtilities.getCurrentTreeKind(request));
+    }
+}
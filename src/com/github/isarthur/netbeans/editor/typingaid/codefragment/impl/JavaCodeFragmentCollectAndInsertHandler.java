@@ -18,28 +18,42 @@ package com.github.isarthur.netbeans.editor.typingaid.codefragment.impl;
 import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragmentCollectAndInsertHandler;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.CodeFragmentCollector;
 import com.github.isarthur.netbeans.editor.typingaid.context.api.CodeCompletionContext;
 import com.github.isarthur.netbeans.editor.typingaid.context.impl.CodeCompletionContextFactory;
+import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.TextInsertion;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.ranking.api.UsageStatistics;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
 import com.github.isarthur.netbeans.editor.typingaid.request.impl.CodeCompletionRequestImpl;
 import com.github.isarthur.netbeans.editor.typingaid.ui.PopupUtil;
+import com.github.isarthur.netbeans.editor.typingaid.util.AbbreviationMatcher;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceInitializeHandler;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.Tree;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
 import javax.swing.text.JTextComponent;
 import org.netbeans.api.java.source.JavaSource;
 import org.netbeans.api.java.source.ModificationResult;
 import org.openide.util.Exceptions;
+import org.openide.util.Lookup;
+import org.openide.util.RequestProcessor;
 
 /**
  *
@@ -47,8 +61,16 @@ import org.openide.util.Exceptions;
  */
 public class JavaCodeFragmentCollectAndInsertHandler implements CodeFragmentCollectAndInsertHandler {
 
+    private static final RequestProcessor RP = new RequestProcessor(JavaCodeFragmentCollectAndInsertHandler.class);
+    private static final Set<CodeFragmentCollector.Priority> FAST_PRIORITIES = Collections.unmodifiableSet(
+            EnumSet.of(CodeFragmentCollector.Priority.LOCAL, CodeFragmentCollector.Priority.LEXICAL,
+                    CodeFragmentCollector.Priority.MEMBER));
+    private static final Set<CodeFragmentCollector.Priority> DEFERRED_PRIORITIES = Collections.unmodifiableSet(
+            EnumSet.of(CodeFragmentCollector.Priority.INDEX));
     private final JTextComponent component;
     private final Document document;
+    private List<String> skippedCollectors = Collections.emptyList();
+    private List<String> partialCollectors = Collections.emptyList();
 
     public JavaCodeFragmentCollectAndInsertHandler(JTextComponent component) {
         this.component = component;
@@ -57,10 +79,38 @@ public class JavaCodeFragmentCollectAndInsertHandler implements CodeFragmentColl
 
     @Override
     public List<CodeFragment> process(Abbreviation abbreviation) {
+        return process(JavaSourceInitializeHandler.getJavaSourceForDocument(document), abbreviation, null);
+    }
+
+    /**
+     * Expands an abbreviation that is still in the document. The code is collected and inserted against a copy of the
+     * document without the abbreviation, and the removal of the abbreviation is applied together with the inserted
+     * code in one atomic edit.
+     *
+     * @param abbreviation the abbreviation in the document
+     * @return the collected code fragments
+     */
+    public List<CodeFragment> expand(Abbreviation abbreviation) {
+        AbbreviationFreeCopy abbreviationFreeCopy;
+        try {
+            abbreviationFreeCopy = AbbreviationFreeCopy.create(document, Collections.singletonList(abbreviation));
+        } catch (IOException ex) {
+            Exceptions.printStackTrace(ex);
+            return Collections.emptyList();
+        }
+        if (abbreviationFreeCopy == null) {
+            return Collections.emptyList();
+        }
+        return process(abbreviationFreeCopy.getJavaSource(), abbreviationFreeCopy.getAbbreviations().get(0),
+                abbreviationFreeCopy);
+    }
+
+    private List<CodeFragment> process(JavaSource javaSource, Abbreviation abbreviation,
+            AbbreviationFreeCopy abbreviationFreeCopy) {
         List<CodeFragment> codeFragments = new ArrayList<>();
-        JavaSource javaSource = JavaSourceInitializeHandler.getJavaSourceForDocument(document);
         AtomicReference<CodeCompletionRequest> atomicRequest = new AtomicReference<>();
         AtomicReference<CodeCompletionContext> atomicContext = new AtomicReference<>();
+        AtomicBoolean streaming = new AtomicBoolean();
         try {
             ModificationResult modificationResult = javaSource.runModificationTask(copy -> {
                 JavaSourceInitializeHandler.moveStateToResolvedPhase(copy);
@@ -70,7 +120,19 @@ public class JavaCodeFragmentCollectAndInsertHandler implements CodeFragmentColl
                 Tree.Kind currentTreeKind = JavaSourceUtilities.getCurrentTreeKind(request);
                 CodeCompletionContext context = CodeCompletionContextFactory.getCodeCompletionContext(currentTreeKind);
                 atomicContext.set(context);
-                context.collect(request);
+                boolean deferred = false;
+                if (Preferences.getStreamingPopupFlag()) {
+                    context.collect(request, FAST_PRIORITIES, fragments -> {});
+                    if (countDistinct(codeFragments) < 2) {
+                        context.collect(request, DEFERRED_PRIORITIES, fragments -> {});
+                    } else {
+                        deferred = true;
+                    }
+                } else {
+                    context.collect(request);
+                }
+                skippedCollectors = request.getSkippedCollectors();
+                partialCollectors = request.getPartialCollectors();
                 int matchesCount = codeFragments.size();
                 switch (matchesCount) {
                     case 0:
@@ -88,22 +150,155 @@ public class JavaCodeFragmentCollectAndInsertHandler implements CodeFragmentColl
                                 context.insert(codeFragments.get(0), request);
                                 break;
                             default:
-                                codeFragments.sort((fragment1, fragment2) ->
-                                        fragment1.toString().compareTo(fragment2.toString()));
-                                PopupUtil.showPopup(component, request);
+                                CodeFragment candidate = rank(request);
+                                if (candidate != null) {
+                                    codeFragments.clear();
+                                    codeFragments.add(candidate);
+                                    context.insert(candidate, request);
+                                } else {
+                                    PopupUtil.showPopup(component, request);
+                                    streaming.set(deferred);
+                                }
                         }
                 }
             });
-            modificationResult.commit();
-            if (codeFragments.size() == 1) {
+            TextInsertion textInsertion = atomicRequest.get().getTextInsertion();
+            if (abbreviationFreeCopy == null) {
+                modificationResult.commit();
+                if (textInsertion != null) {
+                    textInsertion.apply(component);
+                }
+            } else if (!codeFragments.isEmpty()) {
+                String replacement = textInsertion != null ? textInsertion.getText() : ""; //NOI18N
+                abbreviationFreeCopy.apply(modificationResult, Collections.singletonList(replacement));
+                if (textInsertion != null) {
+                    component.setCaretPosition(abbreviation.getStartOffset() + replacement.length());
+                }
+            }
+            if (textInsertion == null && codeFragments.size() == 1) {
                 atomicContext.get().select(codeFragments.get(0), modificationResult, atomicRequest.get().getComponent());
             }
+            if (codeFragments.size() == 1 && Preferences.getFrequencyRankingFlag()) {
+                Lookup.getDefault().lookup(UsageStatistics.class).recordSelection(
+                        codeFragments.get(0), atomicRequest.get());
+            }
+            if (streaming.get()) {
+                RP.post(() -> streamDeferredCodeFragments(atomicRequest.get().getAbbreviation(), atomicRequest.get()));
+            }
+        } catch (BadLocationException ex) {
+            Exceptions.printStackTrace(ex);
+            return Collections.emptyList();
         } catch (IOException ex) {
             Exceptions.printStackTrace(ex);
         }
         return Collections.unmodifiableList(codeFragments);
     }
 
+    private void streamDeferredCodeFragments(Abbreviation abbreviation, CodeCompletionRequest popupRequest) {
+        JavaSource javaSource = JavaSourceInitializeHandler.getJavaSourceForDocument(document);
+        try {
+            javaSource.runUserActionTask(controller -> {
+                JavaSourceInitializeHandler.moveStateToResolvedPhase(controller);
+                CodeCompletionRequest request =
+                        new CodeCompletionRequestImpl(abbreviation, new ArrayList<>(), controller, component);
+                Tree.Kind currentTreeKind = JavaSourceUtilities.getCurrentTreeKind(request);
+                CodeCompletionContext context = CodeCompletionContextFactory.getCodeCompletionContext(currentTreeKind);
+                context.collect(request, DEFERRED_PRIORITIES, fragments -> SwingUtilities.invokeLater(() ->
+                        addStreamedCodeFragments(popupRequest, fragments)));
+            }, true);
+        } catch (IOException ex) {
+            Exceptions.printStackTrace(ex);
+        }
+    }
+
+    /**
+     * Adds a batch of streamed code fragments to the popup opened for the request. Batches that arrive after the
+     * popup has been closed or replaced by a popup for another abbreviation are dropped.
+     *
+     * @param request the request the popup was opened for
+     * @param codeFragments the streamed code fragments
+     * @return {@code true} if the popup shows new code fragments
+     */
+    public boolean addStreamedCodeFragments(CodeCompletionRequest request, List<CodeFragment> codeFragments) {
+        if (!PopupUtil.isShowing(request) || !mergeCodeFragments(request, codeFragments)) {
+            return false;
+        }
+        PopupUtil.updateCodeFragments(request);
+        return true;
+    }
+
+    /**
+     * Appends the code fragments that the request does not have yet. The rows already shown keep their positions, so
+     * a row the user is about to select does not move; the appended fragments are ordered among themselves.
+     *
+     * @param request the request of the popup
+     * @param codeFragments the streamed code fragments
+     * @return {@code true} if any code fragment has been appended
+     */
+    public boolean mergeCodeFragments(CodeCompletionRequest request, List<CodeFragment> codeFragments) {
+        List<CodeFragment> presentCodeFragments = request.getCodeFragments();
+        Set<String> presentTexts = new HashSet<>();
+        presentCodeFragments.forEach(codeFragment -> presentTexts.add(codeFragment.toString()));
+        List<CodeFragment> newCodeFragments = new ArrayList<>();
+        for (CodeFragment codeFragment : codeFragments) {
+            if (presentTexts.add(codeFragment.toString())) {
+                newCodeFragments.add(codeFragment);
+            }
+        }
+        if (newCodeFragments.isEmpty()) {
+            return false;
+        }
+        newCodeFragments.sort(getExactMatchComparator(request.getAbbreviation()).thenComparing(CodeFragment::toString));
+        presentCodeFragments.addAll(newCodeFragments);
+        return true;
+    }
+
+    private long countDistinct(List<CodeFragment> codeFragments) {
+        return codeFragments.stream().map(CodeFragment::toString).distinct().count();
+    }
+
+    @Override
+    public List<String> getSkippedCollectors() {
+        return skippedCollectors;
+    }
+
+    @Override
+    public List<String> getPartialCollectors() {
+        return partialCollectors;
+    }
+
+    private CodeFragment rank(CodeCompletionRequest request) {
+        sort(request);
+        if (!Preferences.getFrequencyRankingFlag() || !Preferences.getAutoInsertionFlag()) {
+            return null;
+        }
+        UsageStatistics usageStatistics = Lookup.getDefault().lookup(UsageStatistics.class);
+        return usageStatistics.getConfidentCandidate(request, Preferences.getAutoInsertionConfidence() / 100.0);
+    }
+
+    private void sort(CodeCompletionRequest request) {
+        if (Preferences.getFrequencyRankingFlag()) {
+            Lookup.getDefault().lookup(UsageStatistics.class).rank(request);
+        } else {
+            request.getCodeFragments().sort((fragment1, fragment2) ->
+                    fragment1.toString().compareTo(fragment2.toString()));
+        }
+        rankExactMatchesFirst(request);
+    }
+
+    private void rankExactMatchesFirst(CodeCompletionRequest request) {
+        request.getCodeFragments().sort(getExactMatchComparator(request.getAbbreviation()));
+    }
+
+    private Comparator<CodeFragment> getExactMatchComparator(Abbreviation abbreviation) {
+        if (AbbreviationMatcher.forTypes(abbreviation.getScope()).isExact()) {
+            return (codeFragment1, codeFragment2) -> 0;
+        }
+        return Comparator.comparing(codeFragment ->
+                !codeFragment.isAbbreviationEqualTo(abbreviation.getContent())
+                && !codeFragment.isAbbreviationEqualTo(abbreviation.getIdentifier()));
+    }
+
     private <T> Predicate<T> distinctByKey(Function<? super T, ?> keyExtractor) {
         Map<Object, Boolean> seen = new ConcurrentHashMap<>();
         return t -> seen.putIfAbsent(keyExtractor.apply(t), Boolean.TRUE) == null;
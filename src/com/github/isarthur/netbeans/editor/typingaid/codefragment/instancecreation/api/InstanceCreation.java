@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.codefragment.instancecreation.api;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.sun.source.tree.ExpressionTree;
+import java.util.List;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import org.netbeans.api.java.source.ElementHandle;
+
+/**
+ *
+ * @author Arthur Sadykov
+ */
+public interface InstanceCreation extends CodeFragment {
+
+    char ABBREVIATION_PREFIX = 'n';
+
+    ElementHandle<TypeElement> getType();
+
+    ElementHandle<ExecutableElement> getConstructor();
+
+    List<ExpressionTree> getArguments();
+
+    void setText(String text);
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.codefragment.instancecreation.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.instancecreation.api.InstanceCreation;
+import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.CodeFragmentInsertVisitor;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceMaker;
+import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.Tree;
+import java.util.Collections;
+import java.util.List;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import org.netbeans.api.java.source.ElementHandle;
+
+/**
+ *
+ * @author Arthur Sadykov
+ */
+public class InstanceCreationImpl implements InstanceCreation, Comparable<InstanceCreationImpl> {
+
+    private final ElementHandle<TypeElement> type;
+    private final ElementHandle<ExecutableElement> constructor;
+    private final List<ExpressionTree> arguments;
+    private String text;
+
+    public InstanceCreationImpl(ElementHandle<TypeElement> type, ElementHandle<ExecutableElement> constructor,
+            List<ExpressionTree> arguments) {
+        this.type = type;
+        this.constructor = constructor;
+        this.arguments = arguments;
+    }
+
+    @Override
+    public ElementHandle<TypeElement> getType() {
+        return type;
+    }
+
+    @Override
+    public ElementHandle<ExecutableElement> getConstructor() {
+        return constructor;
+    }
+
+    @Override
+    public List<ExpressionTree> getArguments() {
+        return Collections.unmodifiableList(arguments);
+    }
+
+    @Override
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public Kind getKind() {
+        return Kind.INSTANCE_CREATION;
+    }
+
+    @Override
+    public boolean isAbbreviationEqualTo(String abbreviation) {
+        String binaryName = type.getBinaryName();
+        String simpleName =
+                binaryName.substring(Math.max(binaryName.lastIndexOf('.'), binaryName.lastIndexOf('$')) + 1);
+        return abbreviation.equals(ABBREVIATION_PREFIX + StringUtilities.getElementAbbreviation(simpleName));
+    }
+
+    @Override
+    public Tree getTreeToInsert(CodeCompletionRequest request) {
+        return JavaSourceMaker.makeNewClassTree(type.resolve(request.getWorkingCopy()), arguments, request);
+    }
+
+    @Override
+    public void accept(CodeFragmentInsertVisitor visitor, CodeCompletionRequest request) {
+        visitor.visit(this, request);
+    }
+
+    @Override
+    public int compareTo(InstanceCreationImpl other) {
+        return toString().compareTo(other.toString());
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -20,6 +20,7 @@ import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionR
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceMaker;
 import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
 import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.IdentifierTree;
 import com.sun.source.tree.Tree;
 import javax.lang.model.element.Element;
 import javax.lang.model.type.TypeMirror;
@@ -130,11 +131,13 @@ public abstract class AbstractLocalElement implements LocalElement {
                     default:
                         expression = ConstantDataManager.NULL;
                 }
+                IdentifierTree initialValue = JavaSourceMaker.makeIdentifierTree(expression, request);
                 AssignmentTree assignmentTree = JavaSourceMaker.makeAssignmentTree(
                         JavaSourceMaker.makeIdentifierTree(toString(), request),
-                        JavaSourceMaker.makeIdentifierTree(expression, request),
+                        initialValue,
                         request);
                 copy.tag(assignmentTree, ConstantDataManager.SECOND_IDENTIFIER_OR_LITERAL_TAG);
+                copy.tag(initialValue, ConstantDataManager.CARET_TAG);
                 return JavaSourceMaker.makeExpressionStatementTree(assignmentTree, request);
         }
     }
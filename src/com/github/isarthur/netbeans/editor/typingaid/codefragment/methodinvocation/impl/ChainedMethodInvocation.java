@@ -15,6 +15,7 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocation.impl;
 
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.MemberChain;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocation.api.AbstractMethodInvocation;
 import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.CodeFragmentInsertVisitor;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
@@ -29,8 +30,24 @@ import org.netbeans.api.java.source.ElementHandle;
  */
 public class ChainedMethodInvocation extends AbstractMethodInvocation {
 
+    private final MemberChain qualifier;
+
     public ChainedMethodInvocation(ElementHandle<ExecutableElement> method, List<ExpressionTree> arguments) {
+        this(method, arguments, null);
+    }
+
+    public ChainedMethodInvocation(ElementHandle<ExecutableElement> method, List<ExpressionTree> arguments,
+            MemberChain qualifier) {
         super(method, arguments);
+        this.qualifier = qualifier;
+    }
+
+    /**
+     * Returns the members selected before the method, such as {@code getClass().getName()}, or {@code null} when the
+     * method is selected directly.
+     */
+    public MemberChain getQualifier() {
+        return qualifier;
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.collector.api;
 
+import com.github.isarthur.netbeans.editor.typingaid.collector.impl.NullTerminationPolicy;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
 
 /**
@@ -24,16 +25,41 @@ import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionR
 public abstract class AbstractCodeFragmentCollector implements CodeFragmentCollector {
 
     protected CodeFragmentCollector nextCollector;
+    private CollectorTerminationPolicy terminationPolicy = new NullTerminationPolicy();
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        if (nextCollector != null) {
+        request.collectorFinished(getClass().getSimpleName());
+        if (nextCollector == null) {
+            return;
+        }
+        if (request.isLatencyBudgetExhausted() || terminationPolicy.shouldTerminateBefore(nextCollector, request)) {
+            nextCollector.skip(request);
+        } else {
             nextCollector.collect(request);
         }
     }
 
+    @Override
+    public void skip(CodeCompletionRequest request) {
+        request.addSkippedCollector(getClass().getSimpleName());
+        if (nextCollector != null) {
+            nextCollector.skip(request);
+        }
+    }
+
     @Override
     public void setNext(CodeFragmentCollector nextCollector) {
         this.nextCollector = nextCollector;
     }
+
+    @Override
+    public void setTerminationPolicy(CollectorTerminationPolicy terminationPolicy) {
+        this.terminationPolicy = terminationPolicy;
+    }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.MEMBER;
+    }
 }
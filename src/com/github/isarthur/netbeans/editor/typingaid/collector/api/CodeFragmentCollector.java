@@ -25,5 +25,18 @@ public interface CodeFragmentCollector {
 
     void collect(CodeCompletionRequest request);
 
+    void skip(CodeCompletionRequest request);
+
     void setNext(CodeFragmentCollector nextCollector);
+
+    void setTerminationPolicy(CollectorTerminationPolicy terminationPolicy);
+
+    Priority getPriority();
+
+    public enum Priority {
+        LOCAL,
+        LEXICAL,
+        MEMBER,
+        INDEX
+    }
 }
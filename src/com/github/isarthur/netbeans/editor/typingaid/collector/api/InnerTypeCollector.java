@@ -58,4 +58,9 @@ public abstract class InnerTypeCollector extends AbstractCodeFragmentCollector {
 
     protected abstract Map<TypeElement, List<TypeElement>> collectInnerTypesByTopLevelTypes(
             CodeCompletionRequest request);
+
+    @Override
+    public Priority getPriority() {
+        return Priority.INDEX;
+    }
 }
@@ -20,6 +20,7 @@ import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragme
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.localelement.impl.LocalElementImpl;
 import com.github.isarthur.netbeans.editor.typingaid.constants.ConstantDataManager;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
 import com.sun.source.tree.Scope;
 import com.sun.source.util.TreePath;
@@ -33,9 +34,9 @@ import java.util.function.Predicate;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.util.Elements;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementUtilities;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -51,12 +52,13 @@ public abstract class LocalElementCollector extends AbstractCodeFragmentCollecto
                 .stream()
                 .filter(element -> StringUtilities.getElementAbbreviation(
                         element.getSimpleName().toString()).equals(abbreviation.getIdentifier()))
+                .filter(element -> JavaSourceUtilities.isCompatibleWithExpectedType(element.asType(), request))
                 .filter(distinctByKey(Element::getSimpleName))
                 .forEach(element -> codeFragments.add(new LocalElementImpl(element)));
     }
 
     protected List<Element> collectLocalElements(CodeCompletionRequest request, ElementKind kind) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         Abbreviation abbreviation = request.getAbbreviation();
         TreePath currentPath = treeUtilities.pathFor(abbreviation.getStartOffset());
@@ -85,4 +87,9 @@ public abstract class LocalElementCollector extends AbstractCodeFragmentCollecto
         Map<Object, Boolean> seen = new ConcurrentHashMap<>();
         return t -> seen.putIfAbsent(keyExtractor.apply(t), Boolean.TRUE) == null;
     }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.LOCAL;
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.collector.api;
+
+import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
+import java.util.Set;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Modifier;
+import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.DEFAULT;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.NATIVE;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PROTECTED;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.element.Modifier.STRICTFP;
+import static javax.lang.model.element.Modifier.SYNCHRONIZED;
+import static javax.lang.model.element.Modifier.TRANSIENT;
+import static javax.lang.model.element.Modifier.VOLATILE;
+
+/**
+ * Precomputed table of the modifiers that may still be added to a declaration. Modifier sets are bitmasks indexed by
+ * {@link Modifier#ordinal()}. Each declaration kind has a mask of the modifiers it accepts and, for every modifier, a
+ * mask of the modifiers that its presence rules out.
+ *
+ * @author Arthur Sadykov
+ */
+public final class ModifierLegalityTable {
+
+    public enum DeclarationKind {
+        TOP_LEVEL_CLASS,
+        INNER_CLASS,
+        LOCAL_CLASS,
+        TOP_LEVEL_ENUM,
+        INNER_ENUM,
+        TOP_LEVEL_INTERFACE,
+        INNER_INTERFACE,
+        METHOD,
+        INTERFACE_METHOD,
+        FIELD,
+        INTERFACE_FIELD,
+        VARIABLE
+    }
+
+    public static final Modifier SEALED = findModifier("SEALED"); //NOI18N
+    public static final Modifier NON_SEALED = findModifier("NON_SEALED"); //NOI18N
+    private static final SourceVersion SEALED_SOURCE_VERSION = findSourceVersion("RELEASE_17"); //NOI18N
+    private static final Modifier[] MODIFIERS = Modifier.values();
+    private static final String[] ABBREVIATIONS = new String[MODIFIERS.length];
+    private static final int[] ACCEPTED = new int[DeclarationKind.values().length];
+    private static final int[][] EXCLUDED = new int[DeclarationKind.values().length][MODIFIERS.length];
+    private static final int SEALED_MASK = mask(SEALED, NON_SEALED);
+
+    static {
+        for (Modifier modifier : MODIFIERS) {
+            ABBREVIATIONS[modifier.ordinal()] = modifier == NON_SEALED
+                    ? "ns" //NOI18N
+                    : StringUtilities.getElementAbbreviation(modifier.toString().toLowerCase());
+        }
+        accept(DeclarationKind.TOP_LEVEL_CLASS, ABSTRACT, FINAL, PUBLIC, STRICTFP, SEALED, NON_SEALED);
+        exclude(DeclarationKind.TOP_LEVEL_CLASS, ABSTRACT, ABSTRACT, FINAL);
+        exclude(DeclarationKind.TOP_LEVEL_CLASS, FINAL, ABSTRACT, FINAL, SEALED, NON_SEALED);
+        exclude(DeclarationKind.TOP_LEVEL_CLASS, SEALED, FINAL, SEALED, NON_SEALED);
+        exclude(DeclarationKind.TOP_LEVEL_CLASS, NON_SEALED, FINAL, SEALED, NON_SEALED);
+        accept(DeclarationKind.INNER_CLASS, ABSTRACT, FINAL, PUBLIC, PROTECTED, PRIVATE, STRICTFP, STATIC, SEALED,
+                NON_SEALED);
+        exclude(DeclarationKind.INNER_CLASS, ABSTRACT, ABSTRACT, FINAL);
+        exclude(DeclarationKind.INNER_CLASS, FINAL, ABSTRACT, FINAL, SEALED, NON_SEALED);
+        exclude(DeclarationKind.INNER_CLASS, PUBLIC, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.INNER_CLASS, PROTECTED, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.INNER_CLASS, PRIVATE, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.INNER_CLASS, SEALED, FINAL, SEALED, NON_SEALED);
+        exclude(DeclarationKind.INNER_CLASS, NON_SEALED, FINAL, SEALED, NON_SEALED);
+        accept(DeclarationKind.LOCAL_CLASS, ABSTRACT, FINAL, STRICTFP);
+        exclude(DeclarationKind.LOCAL_CLASS, ABSTRACT, ABSTRACT, FINAL);
+        exclude(DeclarationKind.LOCAL_CLASS, FINAL, ABSTRACT, FINAL);
+        accept(DeclarationKind.TOP_LEVEL_ENUM, PUBLIC, STRICTFP);
+        accept(DeclarationKind.INNER_ENUM, PUBLIC, PROTECTED, PRIVATE, STRICTFP, STATIC);
+        exclude(DeclarationKind.INNER_ENUM, PUBLIC, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.INNER_ENUM, PROTECTED, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.INNER_ENUM, PRIVATE, PUBLIC, PROTECTED, PRIVATE);
+        accept(DeclarationKind.TOP_LEVEL_INTERFACE, ABSTRACT, PUBLIC, STRICTFP, SEALED, NON_SEALED);
+        exclude(DeclarationKind.TOP_LEVEL_INTERFACE, SEALED, SEALED, NON_SEALED);
+        exclude(DeclarationKind.TOP_LEVEL_INTERFACE, NON_SEALED, SEALED, NON_SEALED);
+        accept(DeclarationKind.INNER_INTERFACE, ABSTRACT, PUBLIC, PROTECTED, PRIVATE, STRICTFP, STATIC, SEALED,
+                NON_SEALED);
+        exclude(DeclarationKind.INNER_INTERFACE, PUBLIC, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.INNER_INTERFACE, PROTECTED, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.INNER_INTERFACE, PRIVATE, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.INNER_INTERFACE, SEALED, SEALED, NON_SEALED);
+        exclude(DeclarationKind.INNER_INTERFACE, NON_SEALED, SEALED, NON_SEALED);
+        accept(DeclarationKind.METHOD, ABSTRACT, FINAL, NATIVE, PUBLIC, PROTECTED, PRIVATE, STRICTFP, STATIC,
+                SYNCHRONIZED);
+        exclude(DeclarationKind.METHOD, ABSTRACT, ABSTRACT, FINAL, NATIVE, PRIVATE, STRICTFP, STATIC, SYNCHRONIZED);
+        exclude(DeclarationKind.METHOD, FINAL, ABSTRACT, FINAL);
+        exclude(DeclarationKind.METHOD, NATIVE, ABSTRACT, NATIVE, STRICTFP);
+        exclude(DeclarationKind.METHOD, STRICTFP, ABSTRACT, NATIVE, STRICTFP);
+        exclude(DeclarationKind.METHOD, PUBLIC, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.METHOD, PROTECTED, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.METHOD, PRIVATE, ABSTRACT, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.METHOD, SYNCHRONIZED, ABSTRACT, SYNCHRONIZED);
+        accept(DeclarationKind.INTERFACE_METHOD, ABSTRACT, DEFAULT, PUBLIC, STATIC);
+        exclude(DeclarationKind.INTERFACE_METHOD, ABSTRACT, ABSTRACT, DEFAULT, STATIC);
+        exclude(DeclarationKind.INTERFACE_METHOD, DEFAULT, ABSTRACT, DEFAULT, STATIC);
+        exclude(DeclarationKind.INTERFACE_METHOD, STATIC, ABSTRACT, DEFAULT, STATIC);
+        accept(DeclarationKind.FIELD, FINAL, PUBLIC, PROTECTED, PRIVATE, STATIC, TRANSIENT, VOLATILE);
+        exclude(DeclarationKind.FIELD, FINAL, FINAL, VOLATILE);
+        exclude(DeclarationKind.FIELD, VOLATILE, FINAL, VOLATILE);
+        exclude(DeclarationKind.FIELD, PUBLIC, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.FIELD, PROTECTED, PUBLIC, PROTECTED, PRIVATE);
+        exclude(DeclarationKind.FIELD, PRIVATE, PUBLIC, PROTECTED, PRIVATE);
+        accept(DeclarationKind.INTERFACE_FIELD, FINAL, PUBLIC, STATIC);
+        accept(DeclarationKind.VARIABLE, FINAL);
+    }
+
+    private ModifierLegalityTable() {
+    }
+
+    public static int getAllowedModifiers(DeclarationKind kind, Set<Modifier> existingModifiers,
+            SourceVersion sourceVersion) {
+        int[] excluded = EXCLUDED[kind.ordinal()];
+        int allowed = ACCEPTED[kind.ordinal()];
+        for (Modifier modifier : existingModifiers) {
+            allowed &= ~excluded[modifier.ordinal()];
+        }
+        if (SEALED_SOURCE_VERSION == null || sourceVersion.compareTo(SEALED_SOURCE_VERSION) < 0) {
+            allowed &= ~SEALED_MASK;
+        }
+        return allowed;
+    }
+
+    public static int filterByAbbreviation(int modifiers, String abbreviation) {
+        int filtered = 0;
+        for (int remaining = modifiers; remaining != 0; remaining &= remaining - 1) {
+            int ordinal = Integer.numberOfTrailingZeros(remaining);
+            if (ABBREVIATIONS[ordinal].equals(abbreviation)) {
+                filtered |= 1 << ordinal;
+            }
+        }
+        return filtered;
+    }
+
+    public static Modifier getModifier(int ordinal) {
+        return MODIFIERS[ordinal];
+    }
+
+    private static void accept(DeclarationKind kind, Modifier... modifiers) {
+        ACCEPTED[kind.ordinal()] = mask(modifiers);
+        for (Modifier modifier : modifiers) {
+            if (modifier != null) {
+                EXCLUDED[kind.ordinal()][modifier.ordinal()] = mask(modifier);
+            }
+        }
+    }
+
+    private static void exclude(DeclarationKind kind, Modifier modifier, Modifier... excludedModifiers) {
+        if (modifier != null) {
+            EXCLUDED[kind.ordinal()][modifier.ordinal()] = mask(excludedModifiers);
+        }
+    }
+
+    private static int mask(Modifier... modifiers) {
+        int mask = 0;
+        for (Modifier modifier : modifiers) {
+            if (modifier != null) {
+                mask |= 1 << modifier.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    private static Modifier findModifier(String name) {
+        for (Modifier modifier : Modifier.values()) {
+            if (modifier.name().equals(name)) {
+                return modifier;
+            }
+        }
+        return null;
+    }
+
+    private static SourceVersion findSourceVersion(String name) {
+        for (SourceVersion sourceVersion : SourceVersion.values()) {
+            if (sourceVersion.name().equals(name)) {
+                return sourceVersion;
+            }
+        }
+        return null;
+    }
+}
@@ -51,4 +51,9 @@ public abstract class TypeCollector extends AbstractCodeFragmentCollector {
     }
 
     protected abstract List<TypeElement> collectTypes(CodeCompletionRequest request);
+
+    @Override
+    public Priority getPriority() {
+        return Priority.INDEX;
+    }
 }
@@ -23,7 +23,7 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
-import org.netbeans.api.java.source.WorkingCopy;
+import org.netbeans.api.java.source.CompilationController;
 
 /**
  *
@@ -39,10 +39,10 @@ public class ThrowableFilter implements Filter {
 
     @Override
     public List<TypeElement> meetCriteria(List<TypeElement> typeElements) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        Elements elements = workingCopy.getElements();
+        CompilationController controller = request.getCompilationController();
+        Elements elements = controller.getElements();
         TypeMirror throwableTypeMirror = elements.getTypeElement("java.lang.Throwable").asType(); //NOI18N
-        Types types = workingCopy.getTypes();
+        Types types = controller.getTypes();
         return typeElements.stream()
                 .filter(typeElement -> types.isAssignable(typeElement.asType(), throwableTypeMirror))
                 .collect(Collectors.toList());
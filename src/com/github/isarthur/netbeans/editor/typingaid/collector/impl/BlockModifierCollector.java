@@ -17,7 +17,9 @@ package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
 
 import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierLegalityTable.DeclarationKind;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.ModifiersTree;
 import com.sun.source.tree.Tree;
@@ -25,8 +27,8 @@ import com.sun.source.tree.VariableTree;
 import com.sun.source.util.TreePath;
 import java.util.EnumSet;
 import org.netbeans.api.java.lexer.JavaTokenId;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 import org.netbeans.api.lexer.TokenSequence;
 
 /**
@@ -37,23 +39,18 @@ public class BlockModifierCollector extends ModifierCollector {
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
-        TokenSequence<?> tokens = copy.getTokenHierarchy().tokenSequence();
+        TokenNeighborhood neighborhood = request.getTokenNeighborhood();
         Abbreviation abbreviation = request.getAbbreviation();
-        tokens.move(abbreviation.getStartOffset());
-        while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-        }
-        while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-        }
         TreePath path = treeUtilities.getPathElementOfKind(
                 EnumSet.of(Tree.Kind.VARIABLE, Tree.Kind.CLASS),
-                treeUtilities.pathFor(tokens.offset()));
+                treeUtilities.pathFor(neighborhood.getNextOffsetOrLast(1)));
         if (path != null) {
             switch (path.getLeaf().getKind()) {
                 case CLASS:
                     ClassTree classTree = (ClassTree) path.getLeaf();
-                    tokens = treeUtilities.tokensFor(classTree);
+                    TokenSequence<?> tokens = treeUtilities.tokensFor(classTree);
                     tokens.moveStart();
                     while (tokens.moveNext() && tokens.token().id() != JavaTokenId.LBRACE) {
                     }
@@ -62,13 +59,13 @@ public class BlockModifierCollector extends ModifierCollector {
                             || (abbreviation.getStartOffset() >= classSpan[0]
                             && abbreviation.getStartOffset() < tokens.offset())) {
                         ModifiersTree modifiersTree = classTree.getModifiers();
-                        collectMethodLocalInnerClassModifiers(modifiersTree, request);
+                        collectModifiers(DeclarationKind.LOCAL_CLASS, modifiersTree, request);
                     }
                     break;
                 case VARIABLE:
                     VariableTree variable = (VariableTree) path.getLeaf();
                     ModifiersTree modifiersTree = variable.getModifiers();
-                    collectVariableModifiers(modifiersTree, request);
+                    collectModifiers(DeclarationKind.VARIABLE, modifiersTree, request);
                     break;
             }
         }
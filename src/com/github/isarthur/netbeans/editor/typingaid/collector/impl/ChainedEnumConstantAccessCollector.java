@@ -33,8 +33,8 @@ import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -44,7 +44,7 @@ public class ChainedEnumConstantAccessCollector extends AbstractCodeFragmentColl
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         Types types = copy.getTypes();
         TreePath currentPath = request.getCurrentPath();
         CodeCompletionContext context =
@@ -64,7 +64,7 @@ public class ChainedEnumConstantAccessCollector extends AbstractCodeFragmentColl
         super.collect(request);
     }
 
-    private List<VariableElement> getEnumConstants(Element element, WorkingCopy copy) {
+    private List<VariableElement> getEnumConstants(Element element, CompilationController copy) {
         List<VariableElement> enumConstants = new ArrayList<>();
         ElementUtilities elementUtilities = copy.getElementUtilities();
         Elements elements = copy.getElements();
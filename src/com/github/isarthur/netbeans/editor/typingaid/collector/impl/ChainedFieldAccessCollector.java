@@ -22,6 +22,7 @@ import com.github.isarthur.netbeans.editor.typingaid.collector.api.AbstractCodeF
 import com.github.isarthur.netbeans.editor.typingaid.context.api.CodeCompletionContext;
 import com.github.isarthur.netbeans.editor.typingaid.context.impl.CodeCompletionContextFactory;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
 import com.sun.source.util.TreePath;
 import java.util.ArrayList;
@@ -34,8 +35,8 @@ import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -45,7 +46,7 @@ public class ChainedFieldAccessCollector extends AbstractCodeFragmentCollector {
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         Types types = copy.getTypes();
         TreePath currentPath = request.getCurrentPath();
         CodeCompletionContext context =
@@ -54,6 +55,12 @@ public class ChainedFieldAccessCollector extends AbstractCodeFragmentCollector {
         if (type == null) {
             return;
         }
+        List<String> segments = MemberChainGraph.getSegments(request.getAbbreviation());
+        if (segments.size() > 1) {
+            collectChainedFieldAccesses(type, segments, request);
+            super.collect(request);
+            return;
+        }
         Element typeElement = types.asElement(type);
         if (typeElement == null) {
             return;
@@ -65,8 +72,26 @@ public class ChainedFieldAccessCollector extends AbstractCodeFragmentCollector {
         super.collect(request);
     }
 
+    private void collectChainedFieldAccesses(TypeMirror type, List<String> segments, CodeCompletionRequest request) {
+        CompilationController copy = request.getCompilationController();
+        Types types = copy.getTypes();
+        String fieldAbbreviation = segments.get(segments.size() - 1);
+        List<CodeFragment> codeFragments = request.getCodeFragments();
+        MemberChainGraph.forRequest(request).resolveQualifiers(type, segments, request).forEach(path -> {
+            Element typeElement = types.asElement(path.getType());
+            if (typeElement == null) {
+                return;
+            }
+            getPublicStaticFieldsInClassHierarchy(typeElement, copy).stream()
+                    .filter(field -> StringUtilities.getElementAbbreviation(field.getSimpleName().toString())
+                            .equals(fieldAbbreviation))
+                    .filter(field -> JavaSourceUtilities.isCompatibleWithExpectedType(field.asType(), request))
+                    .forEach(field -> codeFragments.add(new ChainedFieldAccess(field, path.getQualifier())));
+        });
+    }
+
     private List<VariableElement> getPublicStaticFieldsInClassHierarchy(
-            Element element, WorkingCopy copy) {
+            Element element, CompilationController copy) {
         List<VariableElement> fields = new ArrayList<>();
         ElementUtilities elementUtilities = copy.getElementUtilities();
         Elements elements = copy.getElements();
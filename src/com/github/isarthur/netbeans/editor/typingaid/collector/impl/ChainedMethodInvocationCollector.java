@@ -23,14 +23,15 @@ import com.github.isarthur.netbeans.editor.typingaid.context.impl.CodeCompletion
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceMaker;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
+import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
 import com.sun.source.util.TreePath;
 import java.util.List;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Types;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementHandle;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -40,7 +41,7 @@ public class ChainedMethodInvocationCollector extends AbstractCodeFragmentCollec
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         Types types = copy.getTypes();
         TreePath currentPath = request.getCurrentPath();
         CodeCompletionContext context =
@@ -49,6 +50,12 @@ public class ChainedMethodInvocationCollector extends AbstractCodeFragmentCollec
         if (type == null) {
             return;
         }
+        List<String> segments = MemberChainGraph.getSegments(request.getAbbreviation());
+        if (segments.size() > 1) {
+            collectChainedMethodInvocations(type, segments, request);
+            super.collect(request);
+            return;
+        }
         Element typeElement = types.asElement(type);
         if (typeElement == null) {
             return;
@@ -65,4 +72,30 @@ public class ChainedMethodInvocationCollector extends AbstractCodeFragmentCollec
         });
         super.collect(request);
     }
+
+    private void collectChainedMethodInvocations(TypeMirror type, List<String> segments,
+            CodeCompletionRequest request) {
+        CompilationController copy = request.getCompilationController();
+        Types types = copy.getTypes();
+        String methodAbbreviation = segments.get(segments.size() - 1);
+        List<CodeFragment> codeFragments = request.getCodeFragments();
+        MemberChainGraph.forRequest(request).resolveQualifiers(type, segments, request).forEach(path -> {
+            Element typeElement = types.asElement(path.getType());
+            if (typeElement == null) {
+                return;
+            }
+            JavaSourceUtilities.getMethodsInClassHierarchy(typeElement, copy).stream()
+                    .filter(method -> StringUtilities.getMethodAbbreviation(method.getSimpleName().toString())
+                            .equals(methodAbbreviation))
+                    .filter(method -> JavaSourceUtilities.isCompatibleWithExpectedType(method.getReturnType(), request))
+                    .forEach(method -> {
+                        ChainedMethodInvocation methodInvocation = new ChainedMethodInvocation(
+                                ElementHandle.create(method), JavaSourceUtilities.evaluateMethodArguments(
+                                        method, request), path.getQualifier());
+                        methodInvocation.setText(JavaSourceMaker.makeMethodInvocationExpressionTree(
+                                methodInvocation, request).toString());
+                        codeFragments.add(methodInvocation);
+                    });
+        });
+    }
 }
@@ -15,18 +15,17 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
 
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierLegalityTable.DeclarationKind;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.ModifiersTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.util.TreePath;
 import java.util.EnumSet;
-import org.netbeans.api.java.lexer.JavaTokenId;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
-import org.netbeans.api.lexer.TokenSequence;
 
 /**
  *
@@ -36,35 +35,29 @@ public class CompilationUnitModifierCollector extends ModifierCollector {
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
-        TokenSequence<?> tokens = copy.getTokenHierarchy().tokenSequence();
-        Abbreviation abbreviation = request.getAbbreviation();
-        tokens.move(abbreviation.getStartOffset());
-        while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-        }
-        while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-        }
+        TokenNeighborhood neighborhood = request.getTokenNeighborhood();
         TreePath path = treeUtilities.getPathElementOfKind(
                 EnumSet.of(Tree.Kind.CLASS, Tree.Kind.INTERFACE, Tree.Kind.ENUM),
-                treeUtilities.pathFor(tokens.offset()));
+                treeUtilities.pathFor(neighborhood.getNextOffsetOrLast(1)));
         if (path != null) {
             ModifiersTree modifiersTree;
             switch (path.getLeaf().getKind()) {
                 case CLASS:
                     ClassTree clazz = (ClassTree) path.getLeaf();
                     modifiersTree = clazz.getModifiers();
-                    collectTopLevelClassModifiers(modifiersTree, request);
+                    collectModifiers(DeclarationKind.TOP_LEVEL_CLASS, modifiersTree, request);
                     break;
                 case ENUM:
                     ClassTree enumeration = (ClassTree) path.getLeaf();
                     modifiersTree = enumeration.getModifiers();
-                    collectTopLevelEnumModifiers(modifiersTree, request);
+                    collectModifiers(DeclarationKind.TOP_LEVEL_ENUM, modifiersTree, request);
                     break;
                 case INTERFACE:
                     ClassTree interfaze = (ClassTree) path.getLeaf();
                     modifiersTree = interfaze.getModifiers();
-                    collectTopLevelInterfaceModifiers(modifiersTree, request);
+                    collectModifiers(DeclarationKind.TOP_LEVEL_INTERFACE, modifiersTree, request);
                     break;
             }
         }
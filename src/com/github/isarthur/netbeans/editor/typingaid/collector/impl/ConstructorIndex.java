@@ -0,0 +1,240 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.index.SourceTypeIndex;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.util.AbbreviationMatcher;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
+import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.swing.event.ChangeListener;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.CompilationController;
+import org.netbeans.api.java.source.ElementHandle;
+import org.netbeans.api.java.source.TreeUtilities;
+import org.openide.util.WeakListeners;
+
+/**
+ * Instantiable types per abbreviation together with the constructor to preselect, kept per class path. The indexed
+ * types are looked up, filtered for accessibility from the current package and top level class and paired with their
+ * shortest accessible constructor once; the entries are recomputed when the source type index reports a change and
+ * dropped when the class path changes. The types of the current file are resolved on every request.
+ *
+ * @author Arthur Sadykov
+ */
+final class ConstructorIndex {
+
+    private static final int MAX_ENTRIES = 128;
+    private static final char KEY_SEPARATOR = ':';
+    private static final Map<ClasspathInfo, Cache> CACHES = new WeakHashMap<>();
+
+    private ConstructorIndex() {
+    }
+
+    static List<Candidate> getCandidates(String typeAbbreviation, CodeCompletionRequest request) {
+        CompilationController copy = request.getCompilationController();
+        ClasspathInfo classpathInfo = copy.getClasspathInfo();
+        SourceTypeIndex sourceIndex = SourceTypeIndex.forClasspath(classpathInfo);
+        long modificationCount = sourceIndex != null ? sourceIndex.getModificationCount() : -1L;
+        AbbreviationMatcher typeMatcher = AbbreviationMatcher.forTypes(typeAbbreviation);
+        CompilationUnitTree compilationUnit = copy.getCompilationUnit();
+        ExpressionTree packageName = compilationUnit.getPackageName();
+        String key = typeAbbreviation + KEY_SEPARATOR + typeMatcher.getMode() + KEY_SEPARATOR
+                + (packageName != null ? packageName.toString() : "") //NOI18N
+                + KEY_SEPARATOR + getTopLevelTypeName(request);
+        Cache cache;
+        synchronized (CACHES) {
+            cache = CACHES.computeIfAbsent(classpathInfo, Cache::new);
+        }
+        List<Candidate> candidates = cache.get(key, modificationCount);
+        if (candidates == null) {
+            candidates = computeIndexCandidates(typeMatcher, request);
+            cache.put(key, modificationCount, candidates);
+        }
+        List<Candidate> currentFileCandidates = computeCurrentFileCandidates(typeMatcher, request);
+        if (currentFileCandidates.isEmpty()) {
+            return candidates;
+        }
+        List<Candidate> allCandidates = new ArrayList<>(candidates);
+        allCandidates.addAll(currentFileCandidates);
+        return Collections.unmodifiableList(allCandidates);
+    }
+
+    /**
+     * Returns the name of the top level type that encloses the caret. Private constructors are accessible from
+     * anywhere inside their outermost class, so the accessible constructors depend on it.
+     */
+    private static String getTopLevelTypeName(CodeCompletionRequest request) {
+        TreePath path = request.getCurrentPath();
+        while (path != null && path.getParentPath() != null
+                && path.getParentPath().getLeaf().getKind() != Tree.Kind.COMPILATION_UNIT) {
+            path = path.getParentPath();
+        }
+        if (path == null || !TreeUtilities.CLASS_TREE_KINDS.contains(path.getLeaf().getKind())) {
+            return ""; //NOI18N
+        }
+        Element element = request.getCompilationController().getTrees().getElement(path);
+        return element instanceof TypeElement ? ((TypeElement) element).getQualifiedName().toString() : ""; //NOI18N
+    }
+
+    /**
+     * Collects the candidates among the indexed types. Types of the current file are left out: the index may lag
+     * behind the editor, so they are resolved from the current compilation unit on every request instead.
+     */
+    private static List<Candidate> computeIndexCandidates(AbbreviationMatcher typeMatcher,
+            CodeCompletionRequest request) {
+        CompilationController copy = request.getCompilationController();
+        List<Candidate> candidates = new ArrayList<>();
+        JavaSourceUtilities.getDeclaredTypes(copy.getClasspathInfo(), typeMatcher.getAbbreviation(), null)
+                .forEach(handle -> {
+                    TypeElement type = handle.resolve(copy);
+                    if (type != null && !isDeclaredInCurrentFile(type, copy)) {
+                        addCandidate(type, candidates, request);
+                    }
+                });
+        return Collections.unmodifiableList(candidates);
+    }
+
+    private static List<Candidate> computeCurrentFileCandidates(AbbreviationMatcher typeMatcher,
+            CodeCompletionRequest request) {
+        CompilationController copy = request.getCompilationController();
+        Trees trees = copy.getTrees();
+        List<Candidate> candidates = new ArrayList<>();
+        new TreePathScanner<Void, Void>() {
+            @Override
+            public Void visitClass(ClassTree node, Void unused) {
+                Element element = trees.getElement(getCurrentPath());
+                if (element instanceof TypeElement && typeMatcher.matches(
+                        StringUtilities.getElementAbbreviation(element.getSimpleName().toString()))) {
+                    addCandidate((TypeElement) element, candidates, request);
+                }
+                return super.visitClass(node, unused);
+            }
+        }.scan(copy.getCompilationUnit(), null);
+        return candidates;
+    }
+
+    private static boolean isDeclaredInCurrentFile(TypeElement type, CompilationController copy) {
+        TreePath path = copy.getTrees().getPath(type);
+        return path != null && path.getCompilationUnit() == copy.getCompilationUnit();
+    }
+
+    private static void addCandidate(TypeElement type, List<Candidate> candidates, CodeCompletionRequest request) {
+        CompilationController copy = request.getCompilationController();
+        if (!isInstantiable(type) || copy.getElements().isDeprecated(type)) {
+            return;
+        }
+        if (!type.getModifiers().contains(Modifier.PUBLIC)
+                && !JavaSourceUtilities.isInSamePackageAsCurrentFile(type, request)) {
+            return;
+        }
+        List<ExecutableElement> constructors = JavaSourceUtilities.filterAccessibleConstructors(
+                JavaSourceUtilities.getConstructors(type, copy), copy);
+        if (constructors.isEmpty()) {
+            return;
+        }
+        candidates.add(new Candidate(ElementHandle.create(type),
+                ElementHandle.create(JavaSourceUtilities.getTargetConstructor(constructors))));
+    }
+
+    private static boolean isInstantiable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                || type.getModifiers().contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        return type.getNestingKind() == NestingKind.TOP_LEVEL || type.getModifiers().contains(Modifier.STATIC);
+    }
+
+    static final class Candidate {
+
+        private final ElementHandle<TypeElement> type;
+        private final ElementHandle<ExecutableElement> constructor;
+
+        Candidate(ElementHandle<TypeElement> type, ElementHandle<ExecutableElement> constructor) {
+            this.type = type;
+            this.constructor = constructor;
+        }
+
+        ElementHandle<TypeElement> getType() {
+            return type;
+        }
+
+        ElementHandle<ExecutableElement> getConstructor() {
+            return constructor;
+        }
+    }
+
+    private static final class Cache {
+
+        private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+        private final ChangeListener classpathListener = event -> clear();
+
+        Cache(ClasspathInfo classpathInfo) {
+            classpathInfo.addChangeListener(WeakListeners.change(classpathListener, classpathInfo));
+        }
+
+        synchronized List<Candidate> get(String key, long modificationCount) {
+            Entry entry = entries.get(key);
+            return entry != null && entry.modificationCount == modificationCount ? entry.candidates : null;
+        }
+
+        synchronized void put(String key, long modificationCount, List<Candidate> candidates) {
+            entries.put(key, new Entry(modificationCount, candidates));
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+        }
+    }
+
+    private static final class Entry {
+
+        private final long modificationCount;
+        private final List<Candidate> candidates;
+
+        Entry(long modificationCount, List<Candidate> candidates) {
+            this.modificationCount = modificationCount;
+            this.candidates = candidates;
+        }
+    }
+}
@@ -26,8 +26,8 @@ import java.util.List;
 import javax.lang.model.element.Element;
 import static javax.lang.model.element.ElementKind.ENUM_CONSTANT;
 import javax.lang.model.type.TypeMirror;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -39,7 +39,7 @@ public class EnumConstantCollector extends LocalElementCollector {
     public void collect(CodeCompletionRequest request) {
         TypeMirror typeMirror = JavaSourceUtilities.getTypeInContext(request);
         if (typeMirror != null) {
-            WorkingCopy copy = request.getWorkingCopy();
+            CompilationController copy = request.getCompilationController();
             ElementUtilities elementUtilities = copy.getElementUtilities();
             Iterable<? extends Element> enumConstants = elementUtilities.getMembers(typeMirror, (element, type) -> {
                 return element.getKind() == ENUM_CONSTANT;
@@ -56,4 +56,9 @@ public class EnumConstantCollector extends LocalElementCollector {
         }
         super.collect(request);
     }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.MEMBER;
+    }
 }
@@ -15,9 +15,10 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
 
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierLegalityTable.DeclarationKind;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.MethodTree;
@@ -30,11 +31,8 @@ import static com.sun.source.tree.Tree.Kind.VARIABLE;
 import com.sun.source.tree.VariableTree;
 import com.sun.source.util.TreePath;
 import java.util.EnumSet;
-import org.netbeans.api.java.lexer.JavaTokenId;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
-import org.netbeans.api.lexer.Token;
-import org.netbeans.api.lexer.TokenSequence;
 
 /**
  *
@@ -44,14 +42,9 @@ public class EnumModifierCollector extends ModifierCollector {
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
-        Abbreviation abbreviation = request.getAbbreviation();
-        TokenSequence<?> tokens = copy.getTokenHierarchy().tokenSequence();
-        tokens.move(abbreviation.getStartOffset());
-        while (tokens.movePrevious() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-        }
-        Token<?> token = tokens.token();
-        if (token != null && JavaSourceUtilities.isModifier(token.id())) {
+        CompilationController copy = request.getCompilationController();
+        TokenNeighborhood neighborhood = request.getTokenNeighborhood();
+        if (JavaSourceUtilities.isModifier(neighborhood.getPreviousId(0))) {
             TreePath currentPath = request.getCurrentPath();
             TreePath parentPath = currentPath.getParentPath();
             if (parentPath != null) {
@@ -61,23 +54,18 @@ public class EnumModifierCollector extends ModifierCollector {
                     case CLASS:
                     case ENUM:
                     case INTERFACE:
-                        collectInnerEnumModifiers(modifiersTree, request);
+                        collectModifiers(DeclarationKind.INNER_ENUM, modifiersTree, request);
                         break;
                     case COMPILATION_UNIT:
-                        collectTopLevelEnumModifiers(modifiersTree, request);
+                        collectModifiers(DeclarationKind.TOP_LEVEL_ENUM, modifiersTree, request);
                         break;
                 }
             }
         } else {
-            tokens.move(abbreviation.getStartOffset());
-            while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-            }
-            while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-            }
             TreeUtilities treeUtilities = copy.getTreeUtilities();
             TreePath path = treeUtilities.getPathElementOfKind(
                     EnumSet.of(CLASS, ENUM, INTERFACE, METHOD, VARIABLE),
-                    treeUtilities.pathFor(tokens.offset()));
+                    treeUtilities.pathFor(neighborhood.getNextOffsetOrLast(1)));
             if (path != null) {
                 ClassTree classTree;
                 ModifiersTree modifiersTree;
@@ -85,27 +73,27 @@ public class EnumModifierCollector extends ModifierCollector {
                     case CLASS:
                         classTree = (ClassTree) path.getLeaf();
                         modifiersTree = classTree.getModifiers();
-                        collectInnerClassModifiers(modifiersTree, request);
+                        collectModifiers(DeclarationKind.INNER_CLASS, modifiersTree, request);
                         break;
                     case ENUM:
                         classTree = (ClassTree) path.getLeaf();
                         modifiersTree = classTree.getModifiers();
-                        collectInnerEnumModifiers(modifiersTree, request);
+                        collectModifiers(DeclarationKind.INNER_ENUM, modifiersTree, request);
                         break;
                     case INTERFACE:
                         classTree = (ClassTree) path.getLeaf();
                         modifiersTree = classTree.getModifiers();
-                        collectInnerInterfaceModifiers(modifiersTree, request);
+                        collectModifiers(DeclarationKind.INNER_INTERFACE, modifiersTree, request);
                         break;
                     case METHOD:
                         MethodTree methodTree = (MethodTree) path.getLeaf();
                         modifiersTree = methodTree.getModifiers();
-                        collectMethodModifiers(modifiersTree, request);
+                        collectModifiers(DeclarationKind.METHOD, modifiersTree, request);
                         break;
                     case VARIABLE:
                         VariableTree variableTree = (VariableTree) path.getLeaf();
                         modifiersTree = variableTree.getModifiers();
-                        collectFieldModifiers(modifiersTree, request);
+                        collectModifiers(DeclarationKind.FIELD, modifiersTree, request);
                         break;
                 }
             }
@@ -20,10 +20,10 @@ import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragme
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.fieldaccess.impl.StaticFieldAccess;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.AbstractCodeFragmentCollector;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 import javax.lang.model.element.Element;
@@ -31,11 +31,9 @@ import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
-import org.netbeans.api.java.source.ClassIndex;
-import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementHandle;
 import org.netbeans.api.java.source.ElementUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -47,10 +45,14 @@ public class ExternalStaticFieldAccessCollector extends AbstractCodeFragmentColl
     public void collect(CodeCompletionRequest request) {
         Abbreviation abbreviation = request.getAbbreviation();
         List<CodeFragment> codeFragments = request.getCodeFragments();
-        List<TypeElement> typeElements = collectTypesByAbbreviation(request.getWorkingCopy(), abbreviation);
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        ElementUtilities elementUtilities = workingCopy.getElementUtilities();
+        List<TypeElement> typeElements = collectTypesByAbbreviation(request.getCompilationController(), abbreviation);
+        CompilationController controller = request.getCompilationController();
+        ElementUtilities elementUtilities = controller.getElementUtilities();
         typeElements.forEach(typeElement -> {
+            if (request.isLatencyBudgetExhausted()) {
+                request.markPartialCollection();
+                return;
+            }
             try {
                 Iterable<? extends Element> members =
                         elementUtilities.getMembers(typeElement.asType(), (element, type) -> {
@@ -63,7 +65,8 @@ public class ExternalStaticFieldAccessCollector extends AbstractCodeFragmentColl
                 members.forEach(member -> {
                     String elementName = member.getSimpleName().toString();
                     String elementAbbreviation = StringUtilities.getElementAbbreviation(elementName);
-                    if (abbreviation.getIdentifier().equals(elementAbbreviation)) {
+                    if (abbreviation.getIdentifier().equals(elementAbbreviation)
+                        && JavaSourceUtilities.isCompatibleWithExpectedType(member.asType(), request)) {
                         codeFragments.add(new StaticFieldAccess(ElementHandle.create(typeElement), member));
                     }
                 });
@@ -73,27 +76,22 @@ public class ExternalStaticFieldAccessCollector extends AbstractCodeFragmentColl
         super.collect(request);
     }
 
-    private List<TypeElement> collectTypesByAbbreviation(WorkingCopy copy, Abbreviation abbreviation) {
-        ClasspathInfo classpathInfo = copy.getClasspathInfo();
-        ClassIndex classIndex = classpathInfo.getClassIndex();
-        Set<ElementHandle<TypeElement>> declaredTypes = classIndex.getDeclaredTypes(
-                abbreviation.getScope().toUpperCase(),
-                ClassIndex.NameKind.CAMEL_CASE,
-                EnumSet.of(ClassIndex.SearchScope.SOURCE, ClassIndex.SearchScope.DEPENDENCIES));
+    private List<TypeElement> collectTypesByAbbreviation(CompilationController copy, Abbreviation abbreviation) {
+        Set<ElementHandle<TypeElement>> declaredTypes = JavaSourceUtilities.getDeclaredTypes(
+                copy.getClasspathInfo(), abbreviation.getScope(), abbreviation.getIdentifier());
         List<TypeElement> typeElements = new ArrayList<>();
         Elements elements = copy.getElements();
         declaredTypes.forEach(type -> {
             TypeElement typeElement = type.resolve(copy);
-            if (typeElement != null) {
-                String typeName = typeElement.getSimpleName().toString();
-                String typeAbbreviation = StringUtilities.getElementAbbreviation(typeName);
-                if (typeAbbreviation.equals(abbreviation.getScope())) {
-                    if (!elements.isDeprecated(typeElement)) {
-                        typeElements.add(typeElement);
-                    }
-                }
+            if (typeElement != null && !elements.isDeprecated(typeElement)) {
+                typeElements.add(typeElement);
             }
         });
         return Collections.unmodifiableList(typeElements);
     }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.INDEX;
+    }
 }
@@ -25,9 +25,9 @@ import com.sun.source.tree.Tree;
 import java.util.List;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementHandle;
 import org.netbeans.api.java.source.TypeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -38,7 +38,7 @@ public class ExternalStaticMethodInvocationCollector extends AbstractCodeFragmen
     @Override
     public void collect(CodeCompletionRequest request) {
         List<TypeElement> typeElements =
-                JavaSourceUtilities.collectExternalTypes(request.getWorkingCopy(), request.getAbbreviation());
+                JavaSourceUtilities.collectExternalTypes(request.getCompilationController(), request.getAbbreviation());
         typeElements.forEach(typeElement ->
                 collectMethodInvocations(typeElement, JavaSourceUtilities.getStaticMethodsInClass(typeElement), request));
         super.collect(request);
@@ -46,7 +46,11 @@ public class ExternalStaticMethodInvocationCollector extends AbstractCodeFragmen
 
     private void collectMethodInvocations(
             TypeElement scope, List<ExecutableElement> methods, CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        if (request.isLatencyBudgetExhausted()) {
+            request.markPartialCollection();
+            return;
+        }
+        CompilationController copy = request.getCompilationController();
         Tree.Kind currentContext = request.getCurrentPath().getLeaf().getKind();
         if (currentContext == Tree.Kind.PARAMETERIZED_TYPE) {
             return;
@@ -58,7 +62,8 @@ public class ExternalStaticMethodInvocationCollector extends AbstractCodeFragmen
             if (currentContext != Tree.Kind.BLOCK) {
                 TypeUtilities typeUtilities = copy.getTypeUtilities();
                 String typeName = typeUtilities.getTypeName(method.getReturnType()).toString();
-                if (!typeName.equals("void")) { //NOI18N
+                if (!typeName.equals("void") //NOI18N
+                        && JavaSourceUtilities.isCompatibleWithExpectedType(method.getReturnType(), request)) {
                     StaticMethodInvocation methodInvocation = new StaticMethodInvocation(
                             ElementHandle.create(scope),
                             ElementHandle.create(method),
@@ -88,4 +93,9 @@ public class ExternalStaticMethodInvocationCollector extends AbstractCodeFragmen
             }
         });
     }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.INDEX;
+    }
 }
@@ -20,15 +20,16 @@ import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragme
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.fieldaccess.impl.StaticFieldAccess;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.AbstractCodeFragmentCollector;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
 import java.util.List;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementHandle;
 import org.netbeans.api.java.source.ElementUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -40,10 +41,15 @@ public class GlobalStaticFieldAccessCollector extends AbstractCodeFragmentCollec
     public void collect(CodeCompletionRequest request) {
         Abbreviation abbreviation = request.getAbbreviation();
         List<CodeFragment> codeFragments = request.getCodeFragments();
-        Iterable<? extends TypeElement> typeElements = collectGlobalTypeElements(request.getWorkingCopy(), abbreviation);
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        ElementUtilities elementUtilities = workingCopy.getElementUtilities();
+        Iterable<? extends TypeElement> typeElements =
+                JavaSourceUtilities.collectGlobalTypeElements(request.getCompilationController(), abbreviation);
+        CompilationController controller = request.getCompilationController();
+        ElementUtilities elementUtilities = controller.getElementUtilities();
         typeElements.forEach(typeElement -> {
+            if (request.isLatencyBudgetExhausted()) {
+                request.markPartialCollection();
+                return;
+            }
             try {
                 Iterable<? extends Element> members =
                         elementUtilities.getMembers(typeElement.asType(), (element, type) -> {
@@ -56,7 +62,8 @@ public class GlobalStaticFieldAccessCollector extends AbstractCodeFragmentCollec
                 members.forEach(member -> {
                     String elementName = member.getSimpleName().toString();
                     String elementAbbreviation = StringUtilities.getElementAbbreviation(elementName);
-                    if (abbreviation.getIdentifier().equals(elementAbbreviation)) {
+                    if (abbreviation.getIdentifier().equals(elementAbbreviation)
+                        && JavaSourceUtilities.isCompatibleWithExpectedType(member.asType(), request)) {
                         codeFragments.add(new StaticFieldAccess(ElementHandle.create(typeElement), member));
                     }
                 });
@@ -66,11 +73,8 @@ public class GlobalStaticFieldAccessCollector extends AbstractCodeFragmentCollec
         super.collect(request);
     }
 
-    private Iterable<? extends TypeElement> collectGlobalTypeElements(WorkingCopy copy, Abbreviation abbreviation) {
-        ElementUtilities elementUtilities = copy.getElementUtilities();
-        return elementUtilities.getGlobalTypes((element, type) -> {
-            String typeAbbreviation = StringUtilities.getElementAbbreviation(element.getSimpleName().toString());
-            return typeAbbreviation.equals(abbreviation.getScope());
-        });
+    @Override
+    public Priority getPriority() {
+        return Priority.INDEX;
     }
 }
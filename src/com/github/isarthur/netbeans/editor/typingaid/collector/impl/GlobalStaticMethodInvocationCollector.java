@@ -25,9 +25,9 @@ import com.sun.source.tree.Tree;
 import java.util.List;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementHandle;
 import org.netbeans.api.java.source.TypeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -37,7 +37,7 @@ public class GlobalStaticMethodInvocationCollector extends AbstractCodeFragmentC
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         Iterable<? extends TypeElement> typeElements =
                 JavaSourceUtilities.collectGlobalTypeElements(copy, request.getAbbreviation());
         typeElements.forEach(element ->
@@ -47,7 +47,11 @@ public class GlobalStaticMethodInvocationCollector extends AbstractCodeFragmentC
 
     private void collectMethodInvocations(
             TypeElement scope, List<ExecutableElement> methods, CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        if (request.isLatencyBudgetExhausted()) {
+            request.markPartialCollection();
+            return;
+        }
+        CompilationController copy = request.getCompilationController();
         Tree.Kind currentContext = request.getCurrentPath().getLeaf().getKind();
         if (currentContext == Tree.Kind.PARAMETERIZED_TYPE) {
             return;
@@ -59,7 +63,8 @@ public class GlobalStaticMethodInvocationCollector extends AbstractCodeFragmentC
             if (currentContext != Tree.Kind.BLOCK) {
                 TypeUtilities typeUtilities = copy.getTypeUtilities();
                 String typeName = typeUtilities.getTypeName(method.getReturnType()).toString();
-                if (!typeName.equals("void")) { //NOI18N
+                if (!typeName.equals("void") //NOI18N
+                        && JavaSourceUtilities.isCompatibleWithExpectedType(method.getReturnType(), request)) {
                     StaticMethodInvocation methodInvocation = new StaticMethodInvocation(
                             ElementHandle.create(scope),
                             ElementHandle.create(method),
@@ -89,4 +94,9 @@ public class GlobalStaticMethodInvocationCollector extends AbstractCodeFragmentC
             }
         });
     }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.INDEX;
+    }
 }
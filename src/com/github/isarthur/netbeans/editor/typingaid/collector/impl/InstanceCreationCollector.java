@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.instancecreation.api.InstanceCreation;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.instancecreation.impl.InstanceCreationImpl;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.AbstractCodeFragmentCollector;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceMaker;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
+import com.sun.source.tree.ExpressionTree;
+import java.util.List;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Types;
+import org.netbeans.api.java.source.CompilationController;
+
+/**
+ * Collects instance creation expressions for abbreviations made of the {@code n} prefix and a type abbreviation. The
+ * instantiable types and their preselected constructors come from the constructor index; only the arguments are
+ * evaluated for every request since they depend on the variables in scope.
+ *
+ * @author Arthur Sadykov
+ */
+public class InstanceCreationCollector extends AbstractCodeFragmentCollector {
+
+    @Override
+    public void collect(CodeCompletionRequest request) {
+        Abbreviation abbreviation = request.getAbbreviation();
+        String content = abbreviation.getContent();
+        if (!abbreviation.isSimple() || content.length() < 2
+                || content.charAt(0) != InstanceCreation.ABBREVIATION_PREFIX) {
+            super.collect(request);
+            return;
+        }
+        CompilationController copy = request.getCompilationController();
+        Types types = copy.getTypes();
+        List<CodeFragment> codeFragments = request.getCodeFragments();
+        for (ConstructorIndex.Candidate candidate : ConstructorIndex.getCandidates(content.substring(1), request)) {
+            if (request.isLatencyBudgetExhausted()) {
+                request.markPartialCollection();
+                break;
+            }
+            TypeElement type = candidate.getType().resolve(copy);
+            ExecutableElement constructor = candidate.getConstructor().resolve(copy);
+            if (type == null || constructor == null
+                    || !JavaSourceUtilities.isCompatibleWithExpectedType(types.erasure(type.asType()), request)) {
+                continue;
+            }
+            List<ExpressionTree> arguments = JavaSourceUtilities.evaluateMethodArguments(constructor, request);
+            InstanceCreationImpl instanceCreation =
+                    new InstanceCreationImpl(candidate.getType(), candidate.getConstructor(), arguments);
+            instanceCreation.setText(JavaSourceMaker.makeNewClassTree(type, arguments, request).toString());
+            codeFragments.add(instanceCreation);
+        }
+        super.collect(request);
+    }
+}
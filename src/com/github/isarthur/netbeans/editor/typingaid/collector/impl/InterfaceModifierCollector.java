@@ -15,9 +15,10 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
 
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierLegalityTable.DeclarationKind;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.MethodTree;
@@ -27,11 +28,8 @@ import static com.sun.source.tree.Tree.Kind.VARIABLE;
 import com.sun.source.tree.VariableTree;
 import com.sun.source.util.TreePath;
 import java.util.EnumSet;
-import org.netbeans.api.java.lexer.JavaTokenId;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
-import org.netbeans.api.lexer.Token;
-import org.netbeans.api.lexer.TokenSequence;
 
 /**
  *
@@ -41,14 +39,9 @@ public class InterfaceModifierCollector extends ModifierCollector {
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
-        Abbreviation abbreviation = request.getAbbreviation();
-        TokenSequence<?> tokens = copy.getTokenHierarchy().tokenSequence();
-        tokens.move(abbreviation.getStartOffset());
-        while (tokens.movePrevious() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-        }
-        Token<?> token = tokens.token();
-        if (token != null && JavaSourceUtilities.isModifier(token.id())) {
+        CompilationController copy = request.getCompilationController();
+        TokenNeighborhood neighborhood = request.getTokenNeighborhood();
+        if (JavaSourceUtilities.isModifier(neighborhood.getPreviousId(0))) {
             TreePath currentPath = request.getCurrentPath();
             TreePath parentPath = currentPath.getParentPath();
             if (parentPath != null) {
@@ -58,35 +51,30 @@ public class InterfaceModifierCollector extends ModifierCollector {
                     case CLASS:
                     case ENUM:
                     case INTERFACE:
-                        collectInnerInterfaceModifiers(modifiersTree, request);
+                        collectModifiers(DeclarationKind.INNER_INTERFACE, modifiersTree, request);
                         break;
                     case COMPILATION_UNIT:
-                        collectTopLevelInterfaceModifiers(modifiersTree, request);
+                        collectModifiers(DeclarationKind.TOP_LEVEL_INTERFACE, modifiersTree, request);
                         break;
                 }
             }
         } else {
-            tokens.move(abbreviation.getStartOffset());
-            while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-            }
-            while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-            }
             TreeUtilities treeUtilities = copy.getTreeUtilities();
             TreePath path = treeUtilities.getPathElementOfKind(
                     EnumSet.of(METHOD, VARIABLE),
-                    treeUtilities.pathFor(tokens.offset()));
+                    treeUtilities.pathFor(neighborhood.getNextOffsetOrLast(1)));
             if (path != null) {
                 ModifiersTree modifiersTree;
                 switch (path.getLeaf().getKind()) {
                     case METHOD:
                         MethodTree methodTree = (MethodTree) path.getLeaf();
                         modifiersTree = methodTree.getModifiers();
-                        collectModifiersOfMethodDeclaredInsideInterface(modifiersTree, request);
+                        collectModifiers(DeclarationKind.INTERFACE_METHOD, modifiersTree, request);
                         break;
                     case VARIABLE:
                         VariableTree variableTree = (VariableTree) path.getLeaf();
                         modifiersTree = variableTree.getModifiers();
-                        collectModifiersOfFieldDeclaredInsideInterface(modifiersTree, request);
+                        collectModifiers(DeclarationKind.INTERFACE_FIELD, modifiersTree, request);
                         break;
                 }
             }
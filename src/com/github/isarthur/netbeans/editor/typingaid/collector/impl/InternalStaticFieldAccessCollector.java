@@ -27,9 +27,9 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementHandle;
 import org.netbeans.api.java.source.ElementUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -42,8 +42,8 @@ public class InternalStaticFieldAccessCollector extends AbstractCodeFragmentColl
         Abbreviation abbreviation = request.getAbbreviation();
         List<CodeFragment> codeFragments = request.getCodeFragments();
         Iterable<? extends TypeElement> typeElements = collectInternalTypeElements(request);
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        ElementUtilities elementUtilities = workingCopy.getElementUtilities();
+        CompilationController controller = request.getCompilationController();
+        ElementUtilities elementUtilities = controller.getElementUtilities();
         typeElements.forEach(typeElement -> {
             Iterable<? extends Element> members =
                     elementUtilities.getMembers(typeElement.asType(), (element, type) -> {
@@ -55,7 +55,8 @@ public class InternalStaticFieldAccessCollector extends AbstractCodeFragmentColl
             members.forEach(member -> {
                 String elementName = member.getSimpleName().toString();
                 String elementAbbreviation = StringUtilities.getElementAbbreviation(elementName);
-                if (abbreviation.getIdentifier().equals(elementAbbreviation)) {
+                if (abbreviation.getIdentifier().equals(elementAbbreviation)
+                        && JavaSourceUtilities.isCompatibleWithExpectedType(member.asType(), request)) {
                     codeFragments.add(new StaticFieldAccess(ElementHandle.create(typeElement), member));
                 }
             });
@@ -36,4 +36,9 @@ public class InternalTypeCollector extends TypeCollector {
     protected List<TypeElement> collectTypes(CodeCompletionRequest request) {
         return JavaSourceUtilities.collectInternalTypeElements(request);
     }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.MEMBER;
+    }
 }
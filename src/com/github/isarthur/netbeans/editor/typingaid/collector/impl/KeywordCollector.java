@@ -96,4 +96,9 @@ public class KeywordCollector extends AbstractCodeFragmentCollector {
         keywords.forEach(keyword -> keyword.accept(visitor, request));
         super.collect(request);
     }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.LEXICAL;
+    }
 }
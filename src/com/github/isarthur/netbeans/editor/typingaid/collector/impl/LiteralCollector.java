@@ -23,6 +23,8 @@ import com.github.isarthur.netbeans.editor.typingaid.codefragment.literal.impl.N
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.literal.impl.TrueLiteral;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.AbstractCodeFragmentCollector;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
+import com.sun.source.tree.Tree;
 import static com.sun.source.tree.Tree.Kind.ASSIGNMENT;
 import static com.sun.source.tree.Tree.Kind.EQUAL_TO;
 import static com.sun.source.tree.Tree.Kind.METHOD_INVOCATION;
@@ -31,13 +33,13 @@ import static com.sun.source.tree.Tree.Kind.NOT_EQUAL_TO;
 import static com.sun.source.tree.Tree.Kind.PARENTHESIZED;
 import static com.sun.source.tree.Tree.Kind.RETURN;
 import static com.sun.source.tree.Tree.Kind.VARIABLE;
+import com.sun.source.util.SourcePositions;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.netbeans.api.java.lexer.JavaTokenId;
-import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.lexer.TokenSequence;
+import org.netbeans.api.java.source.CompilationController;
 
 /**
  *
@@ -47,7 +49,6 @@ public class LiteralCollector extends AbstractCodeFragmentCollector {
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        Abbreviation abbreviation = request.getAbbreviation();
         switch (request.getCurrentKind()) {
             case CONDITIONAL_EXPRESSION:
             case EQUAL_TO:
@@ -60,30 +61,31 @@ public class LiteralCollector extends AbstractCodeFragmentCollector {
                 break;
             case ASSIGNMENT:
             case VARIABLE:
-                TreeUtilities treeUtilities = request.getWorkingCopy().getTreeUtilities();
-                TokenSequence<JavaTokenId> tokenSequence = treeUtilities.tokensFor(request.getCurrentPath().getLeaf());
-                tokenSequence.moveStart();
-                while (tokenSequence.moveNext()) {
-                    if (tokenSequence.token().id() == JavaTokenId.EQ) {
-                        break;
-                    }
-                }
-                if (tokenSequence.token().id() == JavaTokenId.EQ) {
-                    if (tokenSequence.offset() < abbreviation.getStartOffset()) {
-                        while (tokenSequence.moveNext()) {
-                            if (tokenSequence.token().id() != JavaTokenId.SEMICOLON
-                                    && tokenSequence.token().id() != JavaTokenId.WHITESPACE) {
-                                return;
-                            }
-                        }
-                        collectLiterals(request);
-                    }
+                if (isRightHandSideEmpty(request)) {
+                    collectLiterals(request);
                 }
                 break;
         }
         super.collect(request);
     }
 
+    private boolean isRightHandSideEmpty(CodeCompletionRequest request) {
+        TokenNeighborhood neighborhood = request.getTokenNeighborhood();
+        if (neighborhood.getPreviousId(0) != JavaTokenId.EQ) {
+            return false;
+        }
+        CompilationController copy = request.getCompilationController();
+        SourcePositions sourcePositions = copy.getTrees().getSourcePositions();
+        Tree currentTree = request.getCurrentTree();
+        long start = sourcePositions.getStartPosition(copy.getCompilationUnit(), currentTree);
+        long end = sourcePositions.getEndPosition(copy.getCompilationUnit(), currentTree);
+        if (neighborhood.getPreviousOffset(0) < start) {
+            return false;
+        }
+        int nextOffset = neighborhood.getNextOffset(0);
+        return nextOffset == -1 || nextOffset >= end || neighborhood.getNextId(0) == JavaTokenId.SEMICOLON;
+    }
+
     private void collectLiterals(CodeCompletionRequest request) {
         Set<Literal> literals = new HashSet<>(Arrays.asList(
                 new FalseLiteral(),
@@ -95,4 +97,9 @@ public class LiteralCollector extends AbstractCodeFragmentCollector {
                 .filter(literal -> literal.isAbbreviationEqualTo(abbreviation.getIdentifier()))
                 .forEach(codeFragments::add);
     }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.LEXICAL;
+    }
 }
@@ -24,9 +24,9 @@ import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.Tree;
 import java.util.List;
 import javax.lang.model.element.ExecutableElement;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementHandle;
 import org.netbeans.api.java.source.TypeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -36,20 +36,19 @@ public class LocalMethodInvocationCollector extends AbstractCodeFragmentCollecto
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        List<ExecutableElement> methods =
-                JavaSourceUtilities.getMethodsInCurrentClassHierarchy(request.getWorkingCopy());
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         Tree.Kind currentContext = request.getCurrentPath().getLeaf().getKind();
         if (currentContext == Tree.Kind.PARAMETERIZED_TYPE) {
             return;
         }
-        methods = JavaSourceUtilities.getMethodsByAbbreviation(methods, request.getAbbreviation());
+        List<ExecutableElement> methods = LocalMethodTable.getMethods(request);
         List<CodeFragment> codeFragments = request.getCodeFragments();
         methods.forEach(method -> {
             if (currentContext != Tree.Kind.BLOCK) {
                 TypeUtilities typeUtilities = copy.getTypeUtilities();
                 String typeName = typeUtilities.getTypeName(method.getReturnType()).toString();
-                if (!typeName.equals("void")) { //NOI18N
+                if (!typeName.equals("void") //NOI18N
+                        && JavaSourceUtilities.isCompatibleWithExpectedType(method.getReturnType(), request)) {
                     LocalMethodInvocation methodInvocation = new LocalMethodInvocation(
                             ElementHandle.create(method), JavaSourceUtilities.evaluateMethodArguments(method, request));
                     if (JavaSourceUtilities.isMethodReturnVoid(method)) {
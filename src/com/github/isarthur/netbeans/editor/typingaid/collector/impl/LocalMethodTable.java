@@ -0,0 +1,271 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.index.SourceTypeIndex;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.swing.text.Document;
+import org.netbeans.api.java.source.CompilationController;
+import org.netbeans.api.java.source.ElementHandle;
+import org.netbeans.api.java.source.ElementUtilities;
+
+/**
+ * Methods callable without a qualifier from the class that encloses the abbreviation, grouped by abbreviation and
+ * kept per document and class. The methods of the enclosing class hierarchy come first, followed by the methods of
+ * the outer classes that are not hidden by a method with the same name. A table is rebuilt only when the member
+ * declarations or supertypes of one of those classes or of their supertypes in the same file change, or when the
+ * source type index reports a change.
+ *
+ * @author Arthur Sadykov
+ */
+final class LocalMethodTable {
+
+    private static final int MAX_ENTRIES = 64;
+    private static final Map<Document, Map<String, Entry>> TABLES = new WeakHashMap<>();
+
+    private LocalMethodTable() {
+    }
+
+    static List<ExecutableElement> getMethods(CodeCompletionRequest request) {
+        CompilationController copy = request.getCompilationController();
+        TypeElement enclosingClass = copy.getTreeUtilities()
+                .scopeFor(request.getAbbreviation().getStartOffset())
+                .getEnclosingClass();
+        if (enclosingClass == null) {
+            return Collections.emptyList();
+        }
+        String identifier = request.getAbbreviation().getIdentifier();
+        String key;
+        try {
+            key = ElementHandle.create(enclosingClass).getBinaryName();
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            return filterByAbbreviation(collectMethods(enclosingClass, copy), identifier);
+        }
+        SourceTypeIndex sourceIndex = SourceTypeIndex.forClasspath(copy.getClasspathInfo());
+        long fingerprint = fingerprint(enclosingClass, copy)
+                + 31L * (sourceIndex != null ? sourceIndex.getModificationCount() : -1L);
+        Map<String, Entry> entries = getEntries(request.getDocument());
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || entry.fingerprint != fingerprint) {
+            entry = createEntry(fingerprint, collectMethods(enclosingClass, copy));
+            if (entry == null) {
+                return filterByAbbreviation(collectMethods(enclosingClass, copy), identifier);
+            }
+            synchronized (entries) {
+                entries.put(key, entry);
+            }
+        }
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ElementHandle<ExecutableElement> handle : entry.methods.getOrDefault(identifier,
+                Collections.emptyList())) {
+            ExecutableElement method = handle.resolve(copy);
+            if (method != null) {
+                methods.add(method);
+            }
+        }
+        return Collections.unmodifiableList(methods);
+    }
+
+    private static Map<String, Entry> getEntries(Document document) {
+        synchronized (TABLES) {
+            return TABLES.computeIfAbsent(document, d -> new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+        }
+    }
+
+    private static List<ExecutableElement> collectMethods(TypeElement enclosingClass, CompilationController copy) {
+        ElementUtilities elementUtilities = copy.getElementUtilities();
+        Elements elements = copy.getElements();
+        List<ExecutableElement> methods = new ArrayList<>();
+        Set<String> hiddenNames = new HashSet<>();
+        boolean instanceAccessible = true;
+        for (TypeElement type = enclosingClass; type != null; type = getOuterClass(type)) {
+            Set<String> names = new HashSet<>();
+            Iterable<? extends Element> members;
+            try {
+                members = elementUtilities.getMembers(type.asType(), (e, t) -> {
+                    return e.getKind() == ElementKind.METHOD && !elements.isDeprecated(e);
+                });
+            } catch (AssertionError error) {
+                break;
+            }
+            for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+                String name = method.getSimpleName().toString();
+                names.add(name);
+                if (hiddenNames.contains(name)) {
+                    continue;
+                }
+                if (instanceAccessible || method.getModifiers().contains(Modifier.STATIC)) {
+                    methods.add(method);
+                }
+            }
+            hiddenNames.addAll(names);
+            if (isStatic(type)) {
+                instanceAccessible = false;
+            }
+        }
+        return methods;
+    }
+
+    private static TypeElement getOuterClass(TypeElement type) {
+        Element enclosingElement = type.getEnclosingElement();
+        while (enclosingElement != null && !(enclosingElement instanceof TypeElement)) {
+            if (enclosingElement.getKind() == ElementKind.PACKAGE) {
+                return null;
+            }
+            enclosingElement = enclosingElement.getEnclosingElement();
+        }
+        return (TypeElement) enclosingElement;
+    }
+
+    private static boolean isStatic(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.STATIC)) {
+            return true;
+        }
+        for (Element enclosingElement = type.getEnclosingElement();
+                enclosingElement != null && !(enclosingElement instanceof TypeElement);
+                enclosingElement = enclosingElement.getEnclosingElement()) {
+            if (enclosingElement.getModifiers().contains(Modifier.STATIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Entry createEntry(long fingerprint, List<ExecutableElement> methods) {
+        Map<String, List<ElementHandle<ExecutableElement>>> methodsByAbbreviation = new HashMap<>();
+        try {
+            for (ExecutableElement method : methods) {
+                methodsByAbbreviation.computeIfAbsent(
+                        StringUtilities.getMethodAbbreviation(method.getSimpleName().toString()),
+                        abbreviation -> new ArrayList<>())
+                        .add(ElementHandle.create(method));
+            }
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        return new Entry(fingerprint, methodsByAbbreviation);
+    }
+
+    private static List<ExecutableElement> filterByAbbreviation(List<ExecutableElement> methods, String identifier) {
+        List<ExecutableElement> result = new ArrayList<>();
+        methods.forEach(method -> {
+            if (StringUtilities.getMethodAbbreviation(method.getSimpleName().toString()).equals(identifier)) {
+                result.add(method);
+            }
+        });
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Hashes the member declarations of the enclosing and outer classes and of their supertypes declared in the current
+     * file, whose edits the source type index does not report until the file is saved and indexed again.
+     */
+    private static long fingerprint(TypeElement enclosingClass, CompilationController copy) {
+        long fingerprint = 17L;
+        Set<TypeElement> visitedTypes = new HashSet<>();
+        for (TypeElement type = enclosingClass; type != null; type = getOuterClass(type)) {
+            fingerprint = fingerprint(type, fingerprint, visitedTypes, copy);
+        }
+        return fingerprint;
+    }
+
+    private static long fingerprint(TypeElement type, long fingerprint, Set<TypeElement> visitedTypes,
+            CompilationController copy) {
+        if (!visitedTypes.add(type)) {
+            return fingerprint;
+        }
+        TreePath path = copy.getTrees().getPath(type);
+        if (path == null || path.getCompilationUnit() != copy.getCompilationUnit()
+                || !(path.getLeaf() instanceof ClassTree)) {
+            return 31L * fingerprint + type.getQualifiedName().toString().hashCode();
+        }
+        ClassTree classTree = (ClassTree) path.getLeaf();
+        fingerprint = 31L * fingerprint + classTree.getSimpleName().toString().hashCode();
+        fingerprint = 31L * fingerprint + String.valueOf(classTree.getExtendsClause()).hashCode();
+        fingerprint = 31L * fingerprint + classTree.getImplementsClause().toString().hashCode();
+        for (Tree member : classTree.getMembers()) {
+            if (member.getKind() == Tree.Kind.METHOD) {
+                fingerprint = 31L * fingerprint + fingerprint((MethodTree) member);
+            }
+        }
+        List<TypeMirror> supertypes = new ArrayList<>(type.getInterfaces());
+        supertypes.add(type.getSuperclass());
+        for (TypeMirror supertype : supertypes) {
+            if (supertype.getKind() == TypeKind.DECLARED) {
+                fingerprint = fingerprint(
+                        (TypeElement) ((DeclaredType) supertype).asElement(), fingerprint, visitedTypes, copy);
+            }
+        }
+        return fingerprint;
+    }
+
+    private static long fingerprint(MethodTree method) {
+        long fingerprint = method.getName().toString().hashCode();
+        fingerprint = 31L * fingerprint + method.getModifiers().getFlags().hashCode();
+        fingerprint = 31L * fingerprint + String.valueOf(method.getReturnType()).hashCode();
+        fingerprint = 31L * fingerprint + method.getTypeParameters().toString().hashCode();
+        for (VariableTree parameter : method.getParameters()) {
+            fingerprint = 31L * fingerprint + parameter.getType().toString().hashCode();
+        }
+        return fingerprint;
+    }
+
+    private static final class Entry {
+
+        private final long fingerprint;
+        private final Map<String, List<ElementHandle<ExecutableElement>>> methods;
+
+        Entry(long fingerprint, Map<String, List<ElementHandle<ExecutableElement>>> methods) {
+            this.fingerprint = fingerprint;
+            this.methods = methods;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.MemberChain;
+import com.github.isarthur.netbeans.editor.typingaid.index.SourceTypeIndex;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
+import com.sun.source.tree.Scope;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.swing.event.ChangeListener;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.CompilationController;
+import org.netbeans.api.java.source.ElementHandle;
+import org.netbeans.api.java.source.ElementUtilities;
+import org.netbeans.api.java.source.TypeMirrorHandle;
+import org.openide.util.WeakListeners;
+
+/**
+ * Graph of the members that can be selected in the middle of a chain, from a type through a member abbreviation to
+ * the type of the member. The edges of a type are computed once per class path and shared by the chained collectors
+ * across keystrokes; they are dropped when the class path changes or the source type index reports a change, and the
+ * edges of types declared in the edited file are never kept. Only fields and methods without parameters are
+ * followed, and the number of paths kept after each hop is bounded. The edges do not depend on the requesting scope;
+ * members that are not accessible from it are skipped while the chain is walked.
+ *
+ * @author Arthur Sadykov
+ */
+final class MemberChainGraph {
+
+    static final int MAX_SEGMENTS = 4;
+    private static final int MAX_PATHS = 16;
+    private static final String SEGMENT_SEPARATOR = "\\."; //NOI18N
+    private static final Map<ClasspathInfo, MemberChainGraph> GRAPHS = new WeakHashMap<>();
+    private final Map<String, Map<String, List<Edge>>> edgesByType = new HashMap<>();
+    private final ChangeListener classpathListener = event -> clear();
+    private long modificationCount = -1L;
+
+    private MemberChainGraph(ClasspathInfo classpathInfo) {
+        classpathInfo.addChangeListener(WeakListeners.change(classpathListener, classpathInfo));
+    }
+
+    static MemberChainGraph forRequest(CodeCompletionRequest request) {
+        ClasspathInfo classpathInfo = request.getCompilationController().getClasspathInfo();
+        MemberChainGraph graph;
+        synchronized (GRAPHS) {
+            graph = GRAPHS.computeIfAbsent(classpathInfo, MemberChainGraph::new);
+        }
+        SourceTypeIndex sourceIndex = SourceTypeIndex.forClasspath(classpathInfo);
+        graph.validate(sourceIndex != null ? sourceIndex.getModificationCount() : -1L);
+        return graph;
+    }
+
+    private synchronized void validate(long sourceModificationCount) {
+        if (modificationCount != sourceModificationCount) {
+            edgesByType.clear();
+            modificationCount = sourceModificationCount;
+        }
+    }
+
+    private synchronized void clear() {
+        edgesByType.clear();
+    }
+
+    /**
+     * Splits the abbreviation into member abbreviations, one per hop. Abbreviations with an empty segment or with
+     * more than {@link #MAX_SEGMENTS} segments yield no segments at all.
+     */
+    static List<String> getSegments(Abbreviation abbreviation) {
+        List<String> segments = Arrays.asList(abbreviation.getContent().split(SEGMENT_SEPARATOR, -1));
+        if (segments.size() > MAX_SEGMENTS || segments.contains("")) { //NOI18N
+            return Collections.emptyList();
+        }
+        return segments;
+    }
+
+    /**
+     * Follows every segment but the last one from the type and returns the paths that were reached, each with the
+     * members selected so far and the type they evaluate to. Only members accessible from the scope of the request
+     * are followed.
+     */
+    List<Path> resolveQualifiers(TypeMirror type, List<String> segments, CodeCompletionRequest request) {
+        CompilationController copy = request.getCompilationController();
+        Trees trees = copy.getTrees();
+        Scope scope = trees.getScope(request.getCurrentPath());
+        List<Path> paths = Collections.singletonList(new Path(null, type));
+        for (String segment : segments.subList(0, segments.size() - 1)) {
+            List<Path> nextPaths = new ArrayList<>();
+            for (Path path : paths) {
+                for (Edge edge : getEdges(path.type, copy).getOrDefault(segment, Collections.emptyList())) {
+                    if (nextPaths.size() == MAX_PATHS) {
+                        break;
+                    }
+                    Element member = edge.member.resolve(copy);
+                    if (member == null || !trees.isAccessible(scope, member, (DeclaredType) path.type)) {
+                        continue;
+                    }
+                    TypeMirror edgeType = edge.type.resolve(copy);
+                    if (edgeType == null) {
+                        continue;
+                    }
+                    MemberChain qualifier = path.qualifier != null
+                            ? path.qualifier.append(edge.name, edge.method)
+                            : MemberChain.of(edge.name, edge.method);
+                    nextPaths.add(new Path(qualifier, edgeType));
+                }
+            }
+            if (nextPaths.isEmpty()) {
+                return Collections.emptyList();
+            }
+            paths = nextPaths;
+        }
+        return Collections.unmodifiableList(paths);
+    }
+
+    private synchronized Map<String, List<Edge>> getEdges(TypeMirror type, CompilationController copy) {
+        String key = type.toString();
+        Map<String, List<Edge>> edges = edgesByType.get(key);
+        if (edges == null) {
+            edges = computeEdges(type, copy);
+            if (!isDeclaredInCurrentFile(type, copy)) {
+                edgesByType.put(key, edges);
+            }
+        }
+        return edges;
+    }
+
+    private static boolean isDeclaredInCurrentFile(TypeMirror type, CompilationController copy) {
+        Element element = copy.getTypes().asElement(type);
+        if (element == null) {
+            return false;
+        }
+        TreePath path = copy.getTrees().getPath(element);
+        return path != null && path.getCompilationUnit() == copy.getCompilationUnit();
+    }
+
+    private static Map<String, List<Edge>> computeEdges(TypeMirror type, CompilationController copy) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return Collections.emptyMap();
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        ElementUtilities elementUtilities = copy.getElementUtilities();
+        Elements elements = copy.getElements();
+        Types types = copy.getTypes();
+        Iterable<? extends Element> members;
+        try {
+            members = elementUtilities.getMembers(type, (element, t) -> {
+                if (elements.isDeprecated(element)) {
+                    return false;
+                }
+                if (element.getKind() == ElementKind.FIELD) {
+                    return true;
+                }
+                return element.getKind() == ElementKind.METHOD
+                        && ((ExecutableElement) element).getParameters().isEmpty()
+                        && ((ExecutableElement) element).getReturnType().getKind() != TypeKind.VOID;
+            });
+        } catch (AssertionError error) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<Edge>> edges = new HashMap<>();
+        for (Element member : members) {
+            String name = member.getSimpleName().toString();
+            TypeMirror memberType = asMemberOf(declaredType, member, types);
+            boolean method = member.getKind() == ElementKind.METHOD;
+            if (method) {
+                memberType = memberType.getKind() == TypeKind.EXECUTABLE
+                        ? ((ExecutableType) memberType).getReturnType()
+                        : ((ExecutableElement) member).getReturnType();
+            }
+            TypeMirrorHandle<TypeMirror> memberTypeHandle = createHandle(memberType);
+            ElementHandle<Element> memberHandle = createHandle(member);
+            if (memberTypeHandle == null || memberHandle == null) {
+                continue;
+            }
+            String abbreviation = method
+                    ? StringUtilities.getMethodAbbreviation(name)
+                    : StringUtilities.getElementAbbreviation(name);
+            edges.computeIfAbsent(abbreviation, k -> new ArrayList<>()).add(
+                    new Edge(name, method, memberHandle, memberTypeHandle));
+        }
+        return edges;
+    }
+
+    private static TypeMirrorHandle<TypeMirror> createHandle(TypeMirror type) {
+        try {
+            return TypeMirrorHandle.create(type);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static ElementHandle<Element> createHandle(Element element) {
+        try {
+            return ElementHandle.create(element);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static TypeMirror asMemberOf(DeclaredType type, Element member, Types types) {
+        try {
+            return types.asMemberOf(type, member);
+        } catch (IllegalArgumentException ex) {
+            return member.asType();
+        }
+    }
+
+    static final class Path {
+
+        private final MemberChain qualifier;
+        private final TypeMirror type;
+
+        Path(MemberChain qualifier, TypeMirror type) {
+            this.qualifier = qualifier;
+            this.type = type;
+        }
+
+        MemberChain getQualifier() {
+            return qualifier;
+        }
+
+        TypeMirror getType() {
+            return type;
+        }
+    }
+
+    private static final class Edge {
+
+        private final String name;
+        private final boolean method;
+        private final ElementHandle<Element> member;
+        private final TypeMirrorHandle<TypeMirror> type;
+
+        Edge(String name, boolean method, ElementHandle<Element> member, TypeMirrorHandle<TypeMirror> type) {
+            this.name = name;
+            this.method = method;
+            this.member = member;
+            this.type = type;
+        }
+    }
+}
@@ -25,9 +25,9 @@ import com.sun.source.tree.Tree;
 import java.util.List;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementHandle;
 import org.netbeans.api.java.source.TypeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 
 /**
  *
@@ -37,7 +37,7 @@ public class MethodInvocationCollector extends AbstractCodeFragmentCollector {
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         List<Element> localElements = JavaSourceUtilities.getElementsByAbbreviation(copy, request.getAbbreviation());
         localElements.forEach(element ->
                 collectMethodInvocations(element, JavaSourceUtilities.getNonStaticMethodsInClassHierarchy(element, copy), request));
@@ -46,7 +46,7 @@ public class MethodInvocationCollector extends AbstractCodeFragmentCollector {
 
     private void collectMethodInvocations(
             Element scope, List<ExecutableElement> methods, CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         Tree.Kind currentContext = request.getCurrentPath().getLeaf().getKind();
         if (currentContext == Tree.Kind.PARAMETERIZED_TYPE) {
             return;
@@ -58,7 +58,8 @@ public class MethodInvocationCollector extends AbstractCodeFragmentCollector {
             if (currentContext != Tree.Kind.BLOCK) {
                 TypeUtilities typeUtilities = copy.getTypeUtilities();
                 String typeName = typeUtilities.getTypeName(method.getReturnType()).toString();
-                if (!typeName.equals("void")) { //NOI18N
+                if (!typeName.equals("void") //NOI18N
+                        && JavaSourceUtilities.isCompatibleWithExpectedType(method.getReturnType(), request)) {
                     NormalMethodInvocation methodInvocation = new NormalMethodInvocation(
                             scope,
                             ElementHandle.create(method),
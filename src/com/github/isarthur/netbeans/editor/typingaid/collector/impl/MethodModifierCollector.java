@@ -15,9 +15,10 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
 
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierLegalityTable.DeclarationKind;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.ModifiersTree;
@@ -25,10 +26,9 @@ import com.sun.source.tree.Tree;
 import com.sun.source.tree.VariableTree;
 import com.sun.source.util.TreePath;
 import org.netbeans.api.java.lexer.JavaTokenId;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 import org.netbeans.api.lexer.TokenId;
-import org.netbeans.api.lexer.TokenSequence;
 
 /**
  *
@@ -38,28 +38,22 @@ public class MethodModifierCollector extends ModifierCollector {
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
-        TokenSequence<?> tokens = copy.getTokenHierarchy().tokenSequence();
-        Abbreviation abbreviation = request.getAbbreviation();
-        tokens.move(abbreviation.getStartOffset());
-        while (tokens.movePrevious() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-        }
-        TokenId tokenId = tokens.token().id();
+        TokenNeighborhood neighborhood = request.getTokenNeighborhood();
+        TokenId tokenId = neighborhood.getPreviousId(0);
         if (JavaSourceUtilities.isModifier(tokenId)) {
             MethodTree method = (MethodTree) request.getCurrentPath().getLeaf();
             ModifiersTree modifiersTree = method.getModifiers();
-            collectMethodModifiers(modifiersTree, request);
+            collectModifiers(DeclarationKind.METHOD, modifiersTree, request);
         } else if (tokenId == JavaTokenId.COMMA || tokenId == JavaTokenId.LPAREN) {
-            while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-            }
-            TreePath parameterPath = treeUtilities.pathFor(tokens.offset());
+            TreePath parameterPath = treeUtilities.pathFor(neighborhood.getNextOffsetOrLast(0));
             if (parameterPath != null) {
                 Tree.Kind kind = parameterPath.getLeaf().getKind();
                 if (kind == Tree.Kind.VARIABLE) {
                     VariableTree variable = (VariableTree) parameterPath.getLeaf();
                     ModifiersTree modifiersTree = variable.getModifiers();
-                    collectVariableModifiers(modifiersTree, request);
+                    collectModifiers(DeclarationKind.VARIABLE, modifiersTree, request);
                 }
             }
         }
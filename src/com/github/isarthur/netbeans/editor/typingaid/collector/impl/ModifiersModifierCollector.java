@@ -15,8 +15,8 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
 
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierLegalityTable.DeclarationKind;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.MethodTree;
@@ -25,10 +25,8 @@ import com.sun.source.tree.Tree;
 import com.sun.source.tree.VariableTree;
 import com.sun.source.util.TreePath;
 import java.util.EnumSet;
-import org.netbeans.api.java.lexer.JavaTokenId;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
-import org.netbeans.api.lexer.TokenSequence;
 
 /**
  *
@@ -38,15 +36,8 @@ public class ModifiersModifierCollector extends ModifierCollector {
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
-        TokenSequence<?> tokens = copy.getTokenHierarchy().tokenSequence();
-        Abbreviation abbreviation = request.getAbbreviation();
-        tokens.move(abbreviation.getStartOffset());
-        while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-        }
-        while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-        }
         TreePath path = treeUtilities.getPathElementOfKind(
                 EnumSet.of(Tree.Kind.VARIABLE, Tree.Kind.METHOD, Tree.Kind.CLASS, Tree.Kind.INTERFACE,
                         Tree.Kind.ENUM),
@@ -63,13 +54,13 @@ public class ModifiersModifierCollector extends ModifierCollector {
                         Tree.Kind parentKind = parentPath.getLeaf().getKind();
                         switch (parentKind) {
                             case BLOCK:
-                                collectMethodLocalInnerClassModifiers(modifiersTree, request);
+                                collectModifiers(DeclarationKind.LOCAL_CLASS, modifiersTree, request);
                                 break;
                             case COMPILATION_UNIT:
-                                collectTopLevelClassModifiers(modifiersTree, request);
+                                collectModifiers(DeclarationKind.TOP_LEVEL_CLASS, modifiersTree, request);
                                 break;
                             default:
-                                collectInnerClassModifiers(modifiersTree, request);
+                                collectModifiers(DeclarationKind.INNER_CLASS, modifiersTree, request);
                         }
                     }
                     break;
@@ -81,10 +72,10 @@ public class ModifiersModifierCollector extends ModifierCollector {
                         Tree.Kind parentKind = parentPath.getLeaf().getKind();
                         switch (parentKind) {
                             case COMPILATION_UNIT:
-                                collectTopLevelEnumModifiers(modifiersTree, request);
+                                collectModifiers(DeclarationKind.TOP_LEVEL_ENUM, modifiersTree, request);
                                 break;
                             default:
-                                collectInnerEnumModifiers(modifiersTree, request);
+                                collectModifiers(DeclarationKind.INNER_ENUM, modifiersTree, request);
                         }
                     }
                     break;
@@ -96,22 +87,22 @@ public class ModifiersModifierCollector extends ModifierCollector {
                         Tree.Kind parentKind = parentPath.getLeaf().getKind();
                         switch (parentKind) {
                             case COMPILATION_UNIT:
-                                collectTopLevelInterfaceModifiers(modifiersTree, request);
+                                collectModifiers(DeclarationKind.TOP_LEVEL_INTERFACE, modifiersTree, request);
                                 break;
                             default:
-                                collectInnerInterfaceModifiers(modifiersTree, request);
+                                collectModifiers(DeclarationKind.INNER_INTERFACE, modifiersTree, request);
                         }
                     }
                     break;
                 case METHOD:
                     MethodTree method = (MethodTree) path.getLeaf();
                     modifiersTree = method.getModifiers();
-                    collectMethodModifiers(modifiersTree, request);
+                    collectModifiers(DeclarationKind.METHOD, modifiersTree, request);
                     break;
                 case VARIABLE:
                     VariableTree variable = (VariableTree) path.getLeaf();
                     modifiersTree = variable.getModifiers();
-                    collectFieldModifiers(modifiersTree, request);
+                    collectModifiers(DeclarationKind.FIELD, modifiersTree, request);
                     break;
             }
         }
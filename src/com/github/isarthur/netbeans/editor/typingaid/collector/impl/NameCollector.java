@@ -20,20 +20,24 @@ import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragme
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.name.impl.NameImpl;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.LocalElementCollector;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
 import com.github.isarthur.netbeans.editor.typingaid.util.Utilities;
 import com.sun.source.tree.Tree;
+import com.sun.source.util.SourcePositions;
 import com.sun.source.util.TreePath;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.type.TypeMirror;
+import javax.swing.text.Document;
 import org.netbeans.api.java.lexer.JavaTokenId;
 import static org.netbeans.api.java.lexer.JavaTokenId.BOOLEAN;
 import static org.netbeans.api.java.lexer.JavaTokenId.BYTE;
@@ -45,8 +49,8 @@ import static org.netbeans.api.java.lexer.JavaTokenId.INT;
 import static org.netbeans.api.java.lexer.JavaTokenId.LONG;
 import static org.netbeans.api.java.lexer.JavaTokenId.SHORT;
 import org.netbeans.api.java.source.CodeStyle;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 import org.netbeans.api.lexer.TokenSequence;
 
 /**
@@ -55,6 +59,9 @@ import org.netbeans.api.lexer.TokenSequence;
  */
 public class NameCollector extends LocalElementCollector {
 
+    private static final Set<JavaTokenId> TYPE_TOKEN_IDS =
+            EnumSet.of(BOOLEAN, BYTE, CHAR, DOUBLE, FLOAT, IDENTIFIER, INT, LONG, SHORT);
+
     @Override
     public void collect(CodeCompletionRequest request) {
         TreePath currentTreePath = request.getCurrentPath();
@@ -65,22 +72,11 @@ public class NameCollector extends LocalElementCollector {
         if (parentPath.getLeaf().getKind() == Tree.Kind.CATCH) {
             return;
         }
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        Tree currentTree = request.getCurrentTree();
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
-        TokenSequence<JavaTokenId> tokenSequence = treeUtilities.tokensFor(currentTree);
-        tokenSequence.moveStart();
-        int typeCount = 0;
         Abbreviation abbreviation = request.getAbbreviation();
-        Set<JavaTokenId> typeTokenIds = EnumSet.of(BOOLEAN, BYTE, CHAR, DOUBLE, FLOAT, IDENTIFIER, INT, LONG, SHORT);
-        while (tokenSequence.moveNext() && tokenSequence.offset() < abbreviation.getStartOffset()) {
-            if (typeTokenIds.contains(tokenSequence.token().id())) {
-                typeCount++;
-            }
-        }
+        int typeCount = countTypeTokens(request);
         if (typeCount == 1) {
             TypeMirror type = JavaSourceUtilities.getTypeInContext(request);
-            Set<String> variableNames = getVariableNames(type, request);
+            Set<String> variableNames = getVariableNames(type, abbreviation.getContent(), request);
             List<CodeFragment> codeFragments = request.getCodeFragments();
             variableNames.stream()
                     .filter(name -> StringUtilities.getElementAbbreviation(name).equals(abbreviation.getContent()))
@@ -89,16 +85,70 @@ public class NameCollector extends LocalElementCollector {
         super.collect(request);
     }
 
-    private Set<String> getVariableNames(TypeMirror type, CodeCompletionRequest request) {
-        Set<String> names = new HashSet<>();
-        WorkingCopy workingCopy = request.getWorkingCopy();
+    private int countTypeTokens(CodeCompletionRequest request) {
+        CompilationController controller = request.getCompilationController();
+        Tree currentTree = request.getCurrentTree();
+        SourcePositions sourcePositions = controller.getTrees().getSourcePositions();
+        long start = sourcePositions.getStartPosition(controller.getCompilationUnit(), currentTree);
+        TokenNeighborhood neighborhood = request.getTokenNeighborhood();
+        int typeCount = 0;
+        for (int i = 0; i < neighborhood.getPreviousCount(); i++) {
+            if (neighborhood.getPreviousOffset(i) < start) {
+                return typeCount;
+            }
+            if (TYPE_TOKEN_IDS.contains(neighborhood.getPreviousId(i))) {
+                typeCount++;
+            }
+        }
+        if (neighborhood.getPreviousCount() < TokenNeighborhood.SIZE) {
+            return typeCount;
+        }
+        TreeUtilities treeUtilities = controller.getTreeUtilities();
+        TokenSequence<JavaTokenId> tokenSequence = treeUtilities.tokensFor(currentTree);
+        tokenSequence.moveStart();
+        typeCount = 0;
+        int anchor = neighborhood.getAnchor();
+        while (tokenSequence.moveNext() && tokenSequence.offset() < anchor) {
+            if (TYPE_TOKEN_IDS.contains(tokenSequence.token().id())) {
+                typeCount++;
+            }
+        }
+        return typeCount;
+    }
+
+    private Set<String> getVariableNames(TypeMirror type, String abbreviation, CodeCompletionRequest request) {
+        if (type == null) {
+            return Collections.emptySet();
+        }
+        CompilationController controller = request.getCompilationController();
+        Document document = request.getDocument();
+        CodeStyle codeStyle = document != null
+                ? CodeStyle.getDefault(document)
+                : CodeStyle.getDefault(controller.getFileObject());
+        String namePrefix = codeStyle.getFieldNamePrefix();
+        String nameSuffix = codeStyle.getFieldNameSuffix();
+        Map<String, List<String>> baseNames =
+                NameSuggestionCache.getBaseNames(type, namePrefix, nameSuffix, controller);
+        List<String> candidates;
+        if (type.getKind().isPrimitive()) {
+            candidates = new ArrayList<>();
+            baseNames.values().forEach(candidates::addAll);
+        } else {
+            candidates = baseNames.getOrDefault(abbreviation, Collections.emptyList());
+        }
+        if (candidates.isEmpty()) {
+            return Collections.emptySet();
+        }
         List<Element> localElements = collectLocalElements(request, ElementKind.FIELD);
-        Iterator<String> nameSuggestions = Utilities.varNamesSuggestions(type, ElementKind.FIELD,
-                Collections.emptySet(), null, null, workingCopy.getTypes(), workingCopy.getElements(), localElements,
-                CodeStyle.getDefault(request.getComponent().getDocument())).iterator();
-        while (nameSuggestions.hasNext()) {
-            names.add(nameSuggestions.next());
+        Set<String> names = new HashSet<>();
+        for (String candidate : candidates) {
+            names.add(Utilities.resolveNameClash(candidate, type, localElements, namePrefix, nameSuffix));
         }
         return Collections.unmodifiableSet(names);
     }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.LEXICAL;
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.index.SourceTypeIndex;
+import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
+import com.github.isarthur.netbeans.editor.typingaid.util.Utilities;
+import com.sun.source.util.TreePath;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.swing.event.ChangeListener;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.CodeStyleUtils;
+import org.netbeans.api.java.source.CompilationController;
+import org.openide.util.WeakListeners;
+
+/**
+ * Name suggestions per type and naming convention, grouped by abbreviation and kept per class path. Clashes with the
+ * scope are not resolved here because they depend on the declaration being completed. The entries are recomputed
+ * when the source type index reports a change and dropped when the class path changes; types that involve a type of
+ * the current file are never cached, because that file changes with every keystroke.
+ *
+ * @author Arthur Sadykov
+ */
+final class NameSuggestionCache {
+
+    private static final int MAX_ENTRIES = 128;
+    private static final char KEY_SEPARATOR = ':';
+    private static final Map<ClasspathInfo, Cache> CACHES = new WeakHashMap<>();
+
+    private NameSuggestionCache() {
+    }
+
+    static Map<String, List<String>> getBaseNames(TypeMirror type, String namePrefix, String nameSuffix,
+            CompilationController controller) {
+        if (dependsOnCurrentFile(type, controller)) {
+            return computeBaseNames(type, namePrefix, nameSuffix, controller);
+        }
+        ClasspathInfo classpathInfo = controller.getClasspathInfo();
+        SourceTypeIndex sourceIndex = SourceTypeIndex.forClasspath(classpathInfo);
+        long modificationCount = sourceIndex != null ? sourceIndex.getModificationCount() : -1L;
+        String key = type.toString() + KEY_SEPARATOR + nullToEmpty(namePrefix) + KEY_SEPARATOR
+                + nullToEmpty(nameSuffix);
+        Cache cache;
+        synchronized (CACHES) {
+            cache = CACHES.computeIfAbsent(classpathInfo, Cache::new);
+        }
+        Map<String, List<String>> baseNames = cache.get(key, modificationCount);
+        if (baseNames == null) {
+            baseNames = computeBaseNames(type, namePrefix, nameSuffix, controller);
+            cache.put(key, modificationCount, baseNames);
+        }
+        return baseNames;
+    }
+
+    private static Map<String, List<String>> computeBaseNames(TypeMirror type, String namePrefix, String nameSuffix,
+            CompilationController controller) {
+        Map<String, List<String>> baseNames = new HashMap<>();
+        for (String baseName : Utilities.varNamesForType(type, controller.getTypes(), controller.getElements())) {
+            String name = CodeStyleUtils.addPrefixSuffix(baseName, namePrefix, nameSuffix);
+            baseNames.computeIfAbsent(StringUtilities.getElementAbbreviation(name), k -> new ArrayList<>())
+                    .add(baseName);
+        }
+        return Collections.unmodifiableMap(baseNames);
+    }
+
+    /**
+     * Tells whether the type or one of its type arguments is declared in the current file. The names of such a type
+     * depend on its supertypes, which may have changed since the last request without the class path noticing.
+     */
+    private static boolean dependsOnCurrentFile(TypeMirror type, CompilationController controller) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return dependsOnCurrentFile(((ArrayType) type).getComponentType(), controller);
+            case WILDCARD:
+                WildcardType wildcardType = (WildcardType) type;
+                TypeMirror bound = wildcardType.getExtendsBound() != null
+                        ? wildcardType.getExtendsBound()
+                        : wildcardType.getSuperBound();
+                return bound != null && dependsOnCurrentFile(bound, controller);
+            case DECLARED:
+                DeclaredType declaredType = (DeclaredType) type;
+                TreePath path = controller.getTrees().getPath(declaredType.asElement());
+                if (path != null && path.getCompilationUnit() == controller.getCompilationUnit()) {
+                    return true;
+                }
+                return declaredType.getTypeArguments().stream()
+                        .anyMatch(typeArgument -> dependsOnCurrentFile(typeArgument, controller));
+            default:
+                return false;
+        }
+    }
+
+    private static String nullToEmpty(String string) {
+        return string != null ? string : ""; //NOI18N
+    }
+
+    private static final class Cache {
+
+        private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+        private final ChangeListener classpathListener = event -> clear();
+
+        Cache(ClasspathInfo classpathInfo) {
+            classpathInfo.addChangeListener(WeakListeners.change(classpathListener, classpathInfo));
+        }
+
+        synchronized Map<String, List<String>> get(String key, long modificationCount) {
+            Entry entry = entries.get(key);
+            return entry != null && entry.modificationCount == modificationCount ? entry.baseNames : null;
+        }
+
+        synchronized void put(String key, long modificationCount, Map<String, List<String>> baseNames) {
+            entries.put(key, new Entry(modificationCount, baseNames));
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+        }
+    }
+
+    private static final class Entry {
+
+        private final long modificationCount;
+        private final Map<String, List<String>> baseNames;
+
+        Entry(long modificationCount, Map<String, List<String>> baseNames) {
+            this.modificationCount = modificationCount;
+            this.baseNames = baseNames;
+        }
+    }
+}
@@ -27,4 +27,8 @@ public class NullCollector extends AbstractCodeFragmentCollector {
     @Override
     public void collect(CodeCompletionRequest request) {
     }
+
+    @Override
+    public void skip(CodeCompletionRequest request) {
+    }
 }
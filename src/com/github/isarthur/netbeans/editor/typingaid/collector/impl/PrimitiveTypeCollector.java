@@ -34,8 +34,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.function.Supplier;
 import org.netbeans.api.java.lexer.JavaTokenId;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 import org.netbeans.api.lexer.TokenId;
 import org.netbeans.api.lexer.TokenSequence;
 
@@ -47,7 +47,7 @@ public class PrimitiveTypeCollector extends AbstractCodeFragmentCollector {
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         Abbreviation abbreviation = request.getAbbreviation();
         TreePath currentPath = treeUtilities.pathFor(abbreviation.getStartOffset());
@@ -154,4 +154,9 @@ public class PrimitiveTypeCollector extends AbstractCodeFragmentCollector {
         }
         super.collect(request);
     }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.LEXICAL;
+    }
 }
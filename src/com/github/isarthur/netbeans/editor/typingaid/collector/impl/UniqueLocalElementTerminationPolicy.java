@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.CodeFragmentCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.CollectorTerminationPolicy;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import java.util.List;
+
+/**
+ *
+ * @author Arthur Sadykov
+ */
+public class UniqueLocalElementTerminationPolicy implements CollectorTerminationPolicy {
+
+    @Override
+    public boolean shouldTerminateBefore(CodeFragmentCollector nextCollector, CodeCompletionRequest request) {
+        if (nextCollector.getPriority().compareTo(CodeFragmentCollector.Priority.LEXICAL) <= 0) {
+            return false;
+        }
+        List<CodeFragment> codeFragments = request.getCodeFragments();
+        if (codeFragments.isEmpty()) {
+            return false;
+        }
+        CodeFragment codeFragment = codeFragments.get(0);
+        if (codeFragment.getKind() != CodeFragment.Kind.LOCAL_ELEMENT) {
+            return false;
+        }
+        String text = codeFragment.toString();
+        return codeFragments.stream().allMatch(fragment -> fragment.toString().equals(text));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.fieldaccess.impl.StaticFieldAccess;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocation.impl.StaticMethodInvocation;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.AbstractCodeFragmentCollector;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceMaker;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.Tree;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import org.netbeans.api.java.source.CompilationController;
+import org.netbeans.api.java.source.ElementHandle;
+import org.netbeans.api.java.source.TypeUtilities;
+
+/**
+ * Collects public static methods and fields by the abbreviation of the member alone. Platform owners are looked up in
+ * the prebuilt JDK index and the other ones in the class index, so only the types that declare a matching member are
+ * resolved. A short member abbreviation matches hundreds of members, so the owners are ranked first, those the current
+ * file can name without a new import ahead of the rest, and at most {@link #MAX_MEMBERS} members are offered.
+ *
+ * @author Arthur Sadykov
+ */
+public class UnscopedStaticMemberCollector extends AbstractCodeFragmentCollector {
+
+    static final int MAX_MEMBERS = 20;
+    private static final String JAVA_LANG_PACKAGE = "java.lang"; //NOI18N
+
+    @Override
+    public void collect(CodeCompletionRequest request) {
+        CompilationController copy = request.getCompilationController();
+        Tree.Kind currentContext = request.getCurrentPath().getLeaf().getKind();
+        if (currentContext == Tree.Kind.PARAMETERIZED_TYPE) {
+            super.collect(request);
+            return;
+        }
+        Map<String, Set<String>> memberNamesByOwner = JavaSourceUtilities.getDeclaredMemberNames(
+                copy.getClasspathInfo(), request.getAbbreviation().getContent());
+        List<String> owners = new ArrayList<>(memberNamesByOwner.keySet());
+        owners.sort(getOwnerComparator(copy.getCompilationUnit()));
+        Elements elements = copy.getElements();
+        int limit = request.getCodeFragments().size() + MAX_MEMBERS;
+        for (String owner : owners) {
+            if (request.getCodeFragments().size() >= limit) {
+                break;
+            }
+            TypeElement scope = elements.getTypeElement(owner.replace('$', '.'));
+            if (scope == null || !scope.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            Set<String> names = memberNamesByOwner.get(owner);
+            List<ExecutableElement> methods = JavaSourceUtilities.getStaticMethodsInClass(scope).stream()
+                    .filter(method -> method.getModifiers().contains(Modifier.PUBLIC)
+                            && names.contains(method.getSimpleName().toString()))
+                    .sorted(Comparator.comparing(method -> method.getSimpleName().toString()))
+                    .collect(Collectors.toList());
+            collectMethodInvocations(scope, methods, limit, request);
+            if (currentContext != Tree.Kind.BLOCK) {
+                collectFieldAccesses(scope, names, limit, request);
+            }
+        }
+        super.collect(request);
+    }
+
+    /**
+     * Orders the owners by how easily the current file can name them: explicitly imported types first, then the types
+     * of the current package, of {@code java.lang} and of on-demand imports, then the rest. Ties go to the shorter
+     * simple name and then to the binary name, so the members kept by the limit do not depend on the index order.
+     */
+    private Comparator<String> getOwnerComparator(CompilationUnitTree compilationUnit) {
+        Set<String> importedTypes = new HashSet<>();
+        Set<String> visiblePackages = new HashSet<>();
+        visiblePackages.add(JAVA_LANG_PACKAGE);
+        ExpressionTree packageName = compilationUnit.getPackageName();
+        visiblePackages.add(packageName != null ? packageName.toString() : ""); //NOI18N
+        for (ImportTree importTree : compilationUnit.getImports()) {
+            if (importTree.isStatic() || importTree.getQualifiedIdentifier().getKind() != Tree.Kind.MEMBER_SELECT) {
+                continue;
+            }
+            MemberSelectTree qualifiedIdentifier = (MemberSelectTree) importTree.getQualifiedIdentifier();
+            if (qualifiedIdentifier.getIdentifier().contentEquals("*")) { //NOI18N
+                visiblePackages.add(qualifiedIdentifier.getExpression().toString());
+            } else {
+                importedTypes.add(qualifiedIdentifier.toString());
+            }
+        }
+        return Comparator.comparingInt((String owner) -> {
+            String qualifiedName = owner.replace('$', '.');
+            if (importedTypes.contains(qualifiedName)) {
+                return 0;
+            }
+            int lastDot = owner.lastIndexOf('.');
+            return visiblePackages.contains(lastDot >= 0 ? owner.substring(0, lastDot) : "") ? 1 : 2; //NOI18N
+        }).thenComparingInt(owner -> getSimpleName(owner).length())
+                .thenComparing(Comparator.naturalOrder());
+    }
+
+    private static String getSimpleName(String owner) {
+        return owner.substring(Math.max(owner.lastIndexOf('.'), owner.lastIndexOf('$')) + 1);
+    }
+
+    private void collectMethodInvocations(
+            TypeElement scope, List<ExecutableElement> methods, int limit, CodeCompletionRequest request) {
+        if (request.isLatencyBudgetExhausted()) {
+            request.markPartialCollection();
+            return;
+        }
+        CompilationController copy = request.getCompilationController();
+        Tree.Kind currentContext = request.getCurrentPath().getLeaf().getKind();
+        List<CodeFragment> codeFragments = request.getCodeFragments();
+        for (ExecutableElement method : methods) {
+            if (codeFragments.size() >= limit) {
+                return;
+            }
+            if (currentContext != Tree.Kind.BLOCK) {
+                TypeUtilities typeUtilities = copy.getTypeUtilities();
+                String typeName = typeUtilities.getTypeName(method.getReturnType()).toString();
+                if (typeName.equals("void") //NOI18N
+                        || !JavaSourceUtilities.isCompatibleWithExpectedType(method.getReturnType(), request)) {
+                    continue;
+                }
+            }
+            StaticMethodInvocation methodInvocation = new StaticMethodInvocation(
+                    ElementHandle.create(scope),
+                    ElementHandle.create(method),
+                    JavaSourceUtilities.evaluateMethodArguments(method, request));
+            if (JavaSourceUtilities.isMethodReturnVoid(method)) {
+                methodInvocation.setText(
+                        JavaSourceMaker.makeVoidMethodInvocationStatementTree(methodInvocation, request).toString());
+            } else if (currentContext == Tree.Kind.BLOCK) {
+                methodInvocation.setText(JavaSourceMaker.makeMethodInvocationStatementTree(
+                        methodInvocation, request).toString());
+            } else {
+                methodInvocation.setText(JavaSourceMaker.makeMethodInvocationExpressionTree(
+                        methodInvocation, request).toString());
+            }
+            codeFragments.add(methodInvocation);
+        }
+    }
+
+    private void collectFieldAccesses(
+            TypeElement scope, Set<String> names, int limit, CodeCompletionRequest request) {
+        if (request.isLatencyBudgetExhausted()) {
+            request.markPartialCollection();
+            return;
+        }
+        List<CodeFragment> codeFragments = request.getCodeFragments();
+        List<VariableElement> fields = ElementFilter.fieldsIn(scope.getEnclosedElements()).stream()
+                .filter(field -> field.getModifiers().containsAll(EnumSet.of(Modifier.PUBLIC, Modifier.STATIC)))
+                .sorted(Comparator.comparing(field -> field.getSimpleName().toString()))
+                .collect(Collectors.toList());
+        for (VariableElement field : fields) {
+            if (codeFragments.size() >= limit) {
+                return;
+            }
+            if (names.contains(field.getSimpleName().toString())
+                    && JavaSourceUtilities.isCompatibleWithExpectedType(field.asType(), request)) {
+                codeFragments.add(new StaticFieldAccess(ElementHandle.create(scope), field));
+            }
+        }
+    }
+
+    @Override
+    public Priority getPriority() {
+        return Priority.INDEX;
+    }
+}
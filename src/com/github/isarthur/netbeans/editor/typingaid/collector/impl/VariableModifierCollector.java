@@ -15,15 +15,13 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.collector.impl;
 
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.ModifierLegalityTable.DeclarationKind;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.ModifiersTree;
 import com.sun.source.tree.VariableTree;
-import org.netbeans.api.java.lexer.JavaTokenId;
-import org.netbeans.api.java.source.WorkingCopy;
-import org.netbeans.api.lexer.TokenSequence;
 
 /**
  *
@@ -33,16 +31,11 @@ public class VariableModifierCollector extends ModifierCollector {
 
     @Override
     public void collect(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
-        TokenSequence<?> tokens = copy.getTokenHierarchy().tokenSequence();
-        Abbreviation abbreviation = request.getAbbreviation();
-        tokens.move(abbreviation.getStartOffset());
-        while (tokens.movePrevious() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-        }
-        if (JavaSourceUtilities.isModifier(tokens.token().id())) {
+        TokenNeighborhood neighborhood = request.getTokenNeighborhood();
+        if (JavaSourceUtilities.isModifier(neighborhood.getPreviousId(0))) {
             VariableTree variable = (VariableTree) request.getCurrentPath().getLeaf();
             ModifiersTree modifiersTree = variable.getModifiers();
-            collectFieldModifiers(modifiersTree, request);
+            collectModifiers(DeclarationKind.FIELD, modifiersTree, request);
         }
         super.collect(request);
     }
@@ -16,6 +16,7 @@
 package com.github.isarthur.netbeans.editor.typingaid.collector.linker.api;
 
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.CodeFragmentCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.CollectorTerminationPolicy;
 
 /**
  *
@@ -24,4 +25,6 @@ import com.github.isarthur.netbeans.editor.typingaid.collector.api.CodeFragmentC
 public interface CodeFragmentCollectorLinker {
 
     CodeFragmentCollector link();
+
+    CodeFragmentCollector link(CollectorTerminationPolicy terminationPolicy);
 }
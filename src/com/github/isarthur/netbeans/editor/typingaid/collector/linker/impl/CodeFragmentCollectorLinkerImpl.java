@@ -16,6 +16,7 @@
 package com.github.isarthur.netbeans.editor.typingaid.collector.linker.impl;
 
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.CodeFragmentCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.CollectorTerminationPolicy;
 import com.github.isarthur.netbeans.editor.typingaid.collector.filter.impl.AndCriteria;
 import com.github.isarthur.netbeans.editor.typingaid.collector.filter.impl.ClassFilter;
 import com.github.isarthur.netbeans.editor.typingaid.collector.filter.impl.InterfaceFilter;
@@ -35,6 +36,7 @@ import com.github.isarthur.netbeans.editor.typingaid.collector.impl.GlobalInnerT
 import com.github.isarthur.netbeans.editor.typingaid.collector.impl.GlobalStaticFieldAccessCollector;
 import com.github.isarthur.netbeans.editor.typingaid.collector.impl.GlobalStaticMethodInvocationCollector;
 import com.github.isarthur.netbeans.editor.typingaid.collector.impl.GlobalTypeCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.impl.InstanceCreationCollector;
 import com.github.isarthur.netbeans.editor.typingaid.collector.impl.InternalStaticFieldAccessCollector;
 import com.github.isarthur.netbeans.editor.typingaid.collector.impl.InternalTypeCollector;
 import com.github.isarthur.netbeans.editor.typingaid.collector.impl.KeywordCollector;
@@ -48,12 +50,14 @@ import com.github.isarthur.netbeans.editor.typingaid.collector.impl.NullCollecto
 import com.github.isarthur.netbeans.editor.typingaid.collector.impl.ParameterCollector;
 import com.github.isarthur.netbeans.editor.typingaid.collector.impl.PrimitiveTypeCollector;
 import com.github.isarthur.netbeans.editor.typingaid.collector.impl.ResourceVariableCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.impl.UnscopedStaticMemberCollector;
 import com.github.isarthur.netbeans.editor.typingaid.collector.linker.api.CodeFragmentCollectorLinker;
 import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
 import com.sun.source.tree.Tree;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -68,6 +72,10 @@ public class CodeFragmentCollectorLinkerImpl implements CodeFragmentCollectorLin
         this.collectors = builder.getCollectors();
     }
 
+    public List<CodeFragmentCollector> getCollectors() {
+        return Collections.unmodifiableList(collectors);
+    }
+
     public static CodeFragmentCollectorLinkerBuilder builder() {
         return new CodeFragmentCollectorLinkerBuilder();
     }
@@ -80,6 +88,20 @@ public class CodeFragmentCollectorLinkerImpl implements CodeFragmentCollectorLin
         return collectors.isEmpty() ? new NullCollector() : collectors.get(0);
     }
 
+    @Override
+    public CodeFragmentCollector link(CollectorTerminationPolicy terminationPolicy) {
+        List<CodeFragmentCollector> prioritizedCollectors = new ArrayList<>(collectors);
+        prioritizedCollectors.sort(Comparator.comparing(CodeFragmentCollector::getPriority));
+        for (int i = 0; i < prioritizedCollectors.size(); i++) {
+            CodeFragmentCollector collector = prioritizedCollectors.get(i);
+            collector.setTerminationPolicy(terminationPolicy);
+            if (i < prioritizedCollectors.size() - 1) {
+                collector.setNext(prioritizedCollectors.get(i + 1));
+            }
+        }
+        return prioritizedCollectors.isEmpty() ? new NullCollector() : prioritizedCollectors.get(0);
+    }
+
     public static class CodeFragmentCollectorLinkerBuilder {
 
         private final List<CodeFragmentCollector> collectors = new ArrayList<>();
@@ -306,6 +328,13 @@ public class CodeFragmentCollectorLinkerImpl implements CodeFragmentCollectorLin
             return this;
         }
 
+        public CodeFragmentCollectorLinkerBuilder linkInstanceCreationCollector() {
+            if (Preferences.getInstanceCreationFlag()) {
+                collectors.add(new InstanceCreationCollector());
+            }
+            return this;
+        }
+
         public CodeFragmentCollectorLinkerBuilder linkInternalClassCollector() {
             if (Preferences.getInternalTypeFlag()) {
                 collectors.add(new InternalTypeCollector(new ClassFilter()));
@@ -416,6 +445,13 @@ public class CodeFragmentCollectorLinkerImpl implements CodeFragmentCollectorLin
             return this;
         }
 
+        public CodeFragmentCollectorLinkerBuilder linkUnscopedStaticMemberCollector() {
+            if (Preferences.getUnscopedStaticMemberFlag()) {
+                collectors.add(new UnscopedStaticMemberCollector());
+            }
+            return this;
+        }
+
         private List<CodeFragmentCollector> getCollectors() {
             return Collections.unmodifiableList(collectors);
         }
@@ -88,8 +88,8 @@ import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Types;
 import org.netbeans.api.java.lexer.JavaTokenId;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 import org.netbeans.api.lexer.Token;
 import org.netbeans.api.lexer.TokenSequence;
 
@@ -250,8 +250,8 @@ public class KeywordCollectVisitorImpl implements KeywordCollectVisitor {
             return;
         }
         if (JavaSourceUtilities.getCurrentTreeOfKind(EnumSet.of(PARENTHESIZED), request)) {
-            WorkingCopy workingCopy = request.getWorkingCopy();
-            TokenSequence<?> tokenSequence = workingCopy.getTokenHierarchy().tokenSequence();
+            CompilationController controller = request.getCompilationController();
+            TokenSequence<?> tokenSequence = controller.getTokenHierarchy().tokenSequence();
             Abbreviation abbreviation = request.getAbbreviation();
             tokenSequence.move(abbreviation.getStartOffset());
             while (tokenSequence.movePrevious() && tokenSequence.token().id() == JavaTokenId.WHITESPACE) {
@@ -283,7 +283,7 @@ public class KeywordCollectVisitorImpl implements KeywordCollectVisitor {
         if (typeInContext == null) {
             return;
         }
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         Element type = copy.getTypes().asElement(typeInContext);
         if (type == null) {
             return;
@@ -338,7 +338,7 @@ public class KeywordCollectVisitorImpl implements KeywordCollectVisitor {
         if (!keyword.isAbbreviationEqualTo(request.getAbbreviation().getContent())) {
             return;
         }
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         Tree.Kind currentContext = JavaSourceUtilities.getCurrentTreeKind(request);
         if (currentContext == null) {
             return;
@@ -449,7 +449,7 @@ public class KeywordCollectVisitorImpl implements KeywordCollectVisitor {
             return;
         }
         Supplier<JavaTokenId> firstNonWhitespaceTokenId = () -> {
-            WorkingCopy copy = request.getWorkingCopy();
+            CompilationController copy = request.getCompilationController();
             TreeUtilities treeUtilities = copy.getTreeUtilities();
             TokenSequence<JavaTokenId> tokens = treeUtilities.tokensFor(currentTree);
             tokens.move(request.getAbbreviation().getStartOffset());
@@ -459,7 +459,7 @@ public class KeywordCollectVisitorImpl implements KeywordCollectVisitor {
             return token == null ? null : token.id();
         };
         Supplier<JavaTokenId> lastNonWhitespaceTokenId = () -> {
-            WorkingCopy copy = request.getWorkingCopy();
+            CompilationController copy = request.getCompilationController();
             TreeUtilities treeUtilities = copy.getTreeUtilities();
             TokenSequence<JavaTokenId> tokens = treeUtilities.tokensFor(currentTree);
             tokens.move(request.getAbbreviation().getStartOffset());
@@ -505,7 +505,7 @@ public class KeywordCollectVisitorImpl implements KeywordCollectVisitor {
                     if (currentTree == null) {
                         return false;
                     }
-                    WorkingCopy copy = request.getWorkingCopy();
+                    CompilationController copy = request.getCompilationController();
                     TreeUtilities treeUtilities = copy.getTreeUtilities();
                     TokenSequence<JavaTokenId> tokens = treeUtilities.tokensFor(currentTree);
                     tokens.moveStart();
@@ -28,6 +28,7 @@ public class ConstantDataManager {
     public static final String ARGUMENT_TAG = "argumentTag"; //NOI18N
     public static final String BOOLEAN = "boolean"; //NOI18N
     public static final String BYTE = "byte"; //NOI18N
+    public static final String CARET_TAG = "caretTag"; //NOI18N
     public static final String CHAR = "char"; //NOI18N
     public static final String DOUBLE = "double"; //NOI18N
     public static final String EMPTY_CHAR = "' '"; //NOI18N
@@ -47,6 +48,7 @@ public class ConstantDataManager {
     public static final String METHOD_NAME_TAG = "methodNameTag"; //NOI18N
     public static final String NULL = "null"; //NOI18N
     public static final String PARENTHESIZED_ERROR = "(ERROR)"; //NOI18N
+    public static final String REQUEST_HAS_NO_WORKING_COPY = "The request has no working copy to modify!"; //NOI18N
     public static final String SECOND_IDENTIFIER_OR_LITERAL_TAG = "secondIdentifierOrLiteralTag"; //NOI18N
     public static final String SECOND_INT_LITERAL_TAG = "secondIntLiteralTag"; //NOI18N
     public static final String SHORT = "short"; //NOI18N
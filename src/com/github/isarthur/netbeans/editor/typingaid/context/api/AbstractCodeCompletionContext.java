@@ -17,11 +17,18 @@ package com.github.isarthur.netbeans.editor.typingaid.context.api;
 
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
 import com.github.isarthur.netbeans.editor.typingaid.collector.api.CodeFragmentCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.CollectorTerminationPolicy;
+import com.github.isarthur.netbeans.editor.typingaid.collector.impl.UniqueLocalElementTerminationPolicy;
 import com.github.isarthur.netbeans.editor.typingaid.collector.linker.impl.CodeFragmentCollectorLinkerImpl;
 import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.CodeFragmentInsertVisitor;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
 import com.github.isarthur.netbeans.editor.typingaid.selector.api.CodeFragmentSelector;
 import com.github.isarthur.netbeans.editor.typingaid.selector.impl.CodeFragmentSelectorFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import javax.swing.text.JTextComponent;
 import org.netbeans.api.java.source.ModificationResult;
 
@@ -34,8 +41,35 @@ public abstract class AbstractCodeCompletionContext implements CodeCompletionCon
     @Override
     public void collect(CodeCompletionRequest request) {
         CodeFragmentCollectorLinkerImpl linker = getCodeFragmentCollectorLinker(request);
-        CodeFragmentCollector collector = linker.link();
-        collector.collect(request);
+        CodeFragmentCollector collector = Preferences.getEarlyTerminationFlag()
+                ? linker.link(getCollectorTerminationPolicy(request))
+                : linker.link();
+        if (request.isLatencyBudgetExhausted()) {
+            collector.skip(request);
+        } else {
+            collector.collect(request);
+        }
+    }
+
+    @Override
+    public void collect(CodeCompletionRequest request, Set<CodeFragmentCollector.Priority> priorities,
+            Consumer<List<CodeFragment>> sink) {
+        CodeFragmentCollectorLinkerImpl linker = getCodeFragmentCollectorLinker(request);
+        List<CodeFragment> codeFragments = request.getCodeFragments();
+        for (CodeFragmentCollector collector : linker.getCollectors()) {
+            if (!priorities.contains(collector.getPriority())) {
+                continue;
+            }
+            if (request.isLatencyBudgetExhausted()) {
+                collector.skip(request);
+                continue;
+            }
+            int start = codeFragments.size();
+            collector.collect(request);
+            if (codeFragments.size() > start) {
+                sink.accept(new ArrayList<>(codeFragments.subList(start, codeFragments.size())));
+            }
+        }
     }
 
     @Override
@@ -79,5 +113,9 @@ public abstract class AbstractCodeCompletionContext implements CodeCompletionCon
                 .build();
     }
 
+    protected CollectorTerminationPolicy getCollectorTerminationPolicy(CodeCompletionRequest request) {
+        return new UniqueLocalElementTerminationPolicy();
+    }
+
     protected abstract CodeFragmentInsertVisitor getCodeFragmentInsertVisitor();
 }
@@ -16,7 +16,11 @@
 package com.github.isarthur.netbeans.editor.typingaid.context.api;
 
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.CodeFragmentCollector;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import javax.lang.model.type.TypeMirror;
 import javax.swing.text.JTextComponent;
 import org.netbeans.api.java.source.ModificationResult;
@@ -31,6 +35,9 @@ public interface CodeCompletionContext {
 
     void collect(CodeCompletionRequest request);
 
+    void collect(CodeCompletionRequest request, Set<CodeFragmentCollector.Priority> priorities,
+            Consumer<List<CodeFragment>> sink);
+
     void insert(CodeFragment codeFragment, CodeCompletionRequest request);
 
     void select(CodeFragment codeFragment, ModificationResult modificationResult, JTextComponent component);
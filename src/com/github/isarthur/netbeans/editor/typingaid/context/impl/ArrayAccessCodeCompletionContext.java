@@ -43,7 +43,7 @@ public class ArrayAccessCodeCompletionContext extends AbstractCodeCompletionCont
 
     @Override
     public TypeMirror getType(CodeCompletionRequest request) {
-        Types types = request.getWorkingCopy().getTypes();
+        Types types = request.getCompilationController().getTypes();
         return types.getPrimitiveType(TypeKind.LONG);
     }
 }
@@ -51,6 +51,7 @@ public class AssignmentCodeCompletionContext extends AbstractCodeCompletionConte
                 .linkExternalTypeCollector()
                 .linkFieldCollector()
                 .linkGlobalTypeCollector()
+                .linkInstanceCreationCollector()
                 .linkInternalTypeCollector()
                 .linkKeywordCollector()
                 .linkLiteralCollector()
@@ -59,6 +60,7 @@ public class AssignmentCodeCompletionContext extends AbstractCodeCompletionConte
                 .linkParameterCollector()
                 .linkPrimitiveTypeCollector()
                 .linkResourceVariableCollector()
+                .linkUnscopedStaticMemberCollector()
                 .build();
     }
 
@@ -73,6 +75,6 @@ public class AssignmentCodeCompletionContext extends AbstractCodeCompletionConte
         AssignmentTree assignmentTree = (AssignmentTree) currentPath.getLeaf();
         ExpressionTree variable = assignmentTree.getVariable();
         TreePath path = TreePath.getPath(currentPath, variable);
-        return request.getWorkingCopy().getTrees().getElement(path).asType();
+        return request.getCompilationController().getTrees().getElement(path).asType();
     }
 }
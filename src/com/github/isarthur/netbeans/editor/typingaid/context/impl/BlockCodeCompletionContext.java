@@ -15,6 +15,8 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.context.impl;
 
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.CollectorTerminationPolicy;
+import com.github.isarthur.netbeans.editor.typingaid.collector.impl.NullTerminationPolicy;
 import com.github.isarthur.netbeans.editor.typingaid.collector.linker.impl.CodeFragmentCollectorLinkerImpl;
 import com.github.isarthur.netbeans.editor.typingaid.context.api.AbstractCodeCompletionContext;
 import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.CodeFragmentInsertVisitor;
@@ -51,9 +53,15 @@ public class BlockCodeCompletionContext extends AbstractCodeCompletionContext {
                 .linkLocalVariableCollector()
                 .linkModifierCollector(BLOCK)
                 .linkPrimitiveTypeCollector()
+                .linkUnscopedStaticMemberCollector()
                 .build();
     }
 
+    @Override
+    protected CollectorTerminationPolicy getCollectorTerminationPolicy(CodeCompletionRequest request) {
+        return new NullTerminationPolicy();
+    }
+
     @Override
     public CodeFragmentInsertVisitor getCodeFragmentInsertVisitor() {
         return new BlockCodeFragmentInsertVisitor();
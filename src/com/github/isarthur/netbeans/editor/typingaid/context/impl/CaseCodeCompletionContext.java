@@ -28,8 +28,8 @@ import com.sun.source.util.TreePath;
 import com.sun.source.util.Trees;
 import javax.lang.model.type.TypeMirror;
 import org.netbeans.api.java.lexer.JavaTokenId;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 import org.netbeans.api.lexer.TokenSequence;
 
 /**
@@ -42,7 +42,7 @@ public class CaseCodeCompletionContext extends AbstractCodeCompletionContext {
     protected CodeFragmentCollectorLinkerImpl getCodeFragmentCollectorLinker(CodeCompletionRequest request) {
         Abbreviation abbreviation = request.getAbbreviation();
         Tree originalTree = request.getCurrentTree();
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         TokenSequence<JavaTokenId> tokenSequence = treeUtilities.tokensFor(originalTree);
         tokenSequence.moveStart();
@@ -78,6 +78,7 @@ public class CaseCodeCompletionContext extends AbstractCodeCompletionContext {
                     .linkParameterCollector()
                     .linkPrimitiveTypeCollector()
                     .linkResourceVariableCollector()
+                    .linkUnscopedStaticMemberCollector()
                     .build();
         } else {
             return CodeFragmentCollectorLinkerImpl.builder()
@@ -93,7 +94,7 @@ public class CaseCodeCompletionContext extends AbstractCodeCompletionContext {
 
     @Override
     public TypeMirror getType(CodeCompletionRequest request) {
-        TreeUtilities treeUtilities = request.getWorkingCopy().getTreeUtilities();
+        TreeUtilities treeUtilities = request.getCompilationController().getTreeUtilities();
         TreePath currentPath = request.getCurrentPath();
         TreePath switchPath = treeUtilities.getPathElementOfKind(Tree.Kind.SWITCH, currentPath);
         if (switchPath == null) {
@@ -102,7 +103,7 @@ public class CaseCodeCompletionContext extends AbstractCodeCompletionContext {
         SwitchTree switchTree = (SwitchTree) switchPath.getLeaf();
         ExpressionTree expression = switchTree.getExpression();
         TreePath expressionPath = TreePath.getPath(switchPath, expression);
-        Trees trees = request.getWorkingCopy().getTrees();
+        Trees trees = request.getCompilationController().getTrees();
         return trees.getTypeMirror(expressionPath);
     }
 }
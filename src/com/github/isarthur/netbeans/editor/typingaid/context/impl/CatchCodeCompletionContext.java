@@ -24,8 +24,8 @@ import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionR
 import com.sun.source.tree.Tree;
 import javax.lang.model.type.TypeMirror;
 import org.netbeans.api.java.lexer.JavaTokenId;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 import org.netbeans.api.lexer.TokenSequence;
 
 /**
@@ -36,7 +36,7 @@ public class CatchCodeCompletionContext extends AbstractCodeCompletionContext {
 
     @Override
     protected CodeFragmentCollectorLinkerImpl getCodeFragmentCollectorLinker(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         Tree tree = request.getCurrentTree();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         Abbreviation abbreviation = request.getAbbreviation();
@@ -44,11 +44,13 @@ public class ConditionalExpressionCodeCompletionContext extends AbstractCodeComp
                 .linkEnumConstantCollector()
                 .linkExceptionParameterCollector()
                 .linkFieldCollector()
+                .linkInstanceCreationCollector()
                 .linkLiteralCollector()
                 .linkLocalMethodInvocationCollector()
                 .linkLocalVariableCollector()
                 .linkParameterCollector()
                 .linkResourceVariableCollector()
+                .linkUnscopedStaticMemberCollector()
                 .build();
     }
 
@@ -37,7 +37,7 @@ public class LeftShiftAssignmentCodeCompletionContext extends AbstractCodeComple
 
     @Override
     public TypeMirror getType(CodeCompletionRequest request) {
-        Types types = request.getWorkingCopy().getTypes();
+        Types types = request.getCompilationController().getTypes();
         return types.getPrimitiveType(TypeKind.LONG);
     }
 }
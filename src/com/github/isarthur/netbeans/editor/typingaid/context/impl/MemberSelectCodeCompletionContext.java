@@ -51,7 +51,7 @@ public class MemberSelectCodeCompletionContext extends AbstractCodeCompletionCon
         TreePath currentPath = request.getCurrentPath();
         ExpressionTree expression = ((MemberSelectTree) currentPath.getLeaf()).getExpression();
         TreePath path = TreePath.getPath(currentPath, expression);
-        Trees trees = request.getWorkingCopy().getTrees();
+        Trees trees = request.getCompilationController().getTrees();
         return trees.getTypeMirror(path);
     }
 }
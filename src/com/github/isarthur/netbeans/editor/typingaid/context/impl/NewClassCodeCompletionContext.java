@@ -56,6 +56,7 @@ public class NewClassCodeCompletionContext extends AbstractCodeCompletionContext
                 .linkEnumConstantCollector()
                 .linkExceptionParameterCollector()
                 .linkFieldCollector()
+                .linkInstanceCreationCollector()
                 .linkKeywordCollector()
                 .linkLiteralCollector()
                 .linkLocalMethodInvocationCollector()
@@ -63,6 +64,7 @@ public class NewClassCodeCompletionContext extends AbstractCodeCompletionContext
                 .linkParameterCollector()
                 .linkPrimitiveTypeCollector()
                 .linkResourceVariableCollector()
+                .linkUnscopedStaticMemberCollector()
                 .build();
     }
 
@@ -79,12 +81,12 @@ public class NewClassCodeCompletionContext extends AbstractCodeCompletionContext
         if (insertIndex == -1) {
             return null;
         }
-        Trees trees = request.getWorkingCopy().getTrees();
+        Trees trees = request.getCompilationController().getTrees();
         Element currentElement = trees.getElement(currentPath);
         if (currentElement.getKind() == ElementKind.CONSTRUCTOR) {
             List<? extends VariableElement> parameters = ((ExecutableElement) currentElement).getParameters();
             VariableElement parameter = parameters.get(insertIndex);
-            TypeUtilities typeUtilities = request.getWorkingCopy().getTypeUtilities();
+            TypeUtilities typeUtilities = request.getCompilationController().getTypeUtilities();
             return typeUtilities.getDenotableType(parameter.asType());
         }
         return null;
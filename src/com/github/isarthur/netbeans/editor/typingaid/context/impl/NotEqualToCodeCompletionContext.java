@@ -47,11 +47,13 @@ public class NotEqualToCodeCompletionContext extends AbstractCodeCompletionConte
                 .linkEnumConstantCollector()
                 .linkExceptionParameterCollector()
                 .linkFieldCollector()
+                .linkInstanceCreationCollector()
                 .linkLiteralCollector()
                 .linkLocalMethodInvocationCollector()
                 .linkLocalVariableCollector()
                 .linkParameterCollector()
                 .linkResourceVariableCollector()
+                .linkUnscopedStaticMemberCollector()
                 .build();
     }
 
@@ -62,7 +64,7 @@ public class NotEqualToCodeCompletionContext extends AbstractCodeCompletionConte
 
     @Override
     public TypeMirror getType(CodeCompletionRequest request) {
-        Types types = request.getWorkingCopy().getTypes();
+        Types types = request.getCompilationController().getTypes();
         return types.getPrimitiveType(TypeKind.DOUBLE);
     }
 }
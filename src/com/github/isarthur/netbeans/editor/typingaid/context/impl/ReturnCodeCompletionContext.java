@@ -49,6 +49,7 @@ public class ReturnCodeCompletionContext extends AbstractCodeCompletionContext {
                 .linkExternalTypeCollector()
                 .linkFieldCollector()
                 .linkGlobalTypeCollector()
+                .linkInstanceCreationCollector()
                 .linkInternalTypeCollector()
                 .linkKeywordCollector()
                 .linkLiteralCollector()
@@ -57,6 +58,7 @@ public class ReturnCodeCompletionContext extends AbstractCodeCompletionContext {
                 .linkParameterCollector()
                 .linkPrimitiveTypeCollector()
                 .linkResourceVariableCollector()
+                .linkUnscopedStaticMemberCollector()
                 .build();
     }
 
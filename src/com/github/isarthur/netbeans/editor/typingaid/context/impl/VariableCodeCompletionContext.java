@@ -15,12 +15,12 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.context.impl;
 
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.collector.linker.impl.CodeFragmentCollectorLinkerImpl;
 import com.github.isarthur.netbeans.editor.typingaid.context.api.AbstractCodeCompletionContext;
 import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.CodeFragmentInsertVisitor;
 import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.impl.VariableCodeFragmentInsertVisitor;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.Tree;
 import static com.sun.source.tree.Tree.Kind.VARIABLE;
@@ -29,9 +29,7 @@ import com.sun.source.util.TreePath;
 import com.sun.source.util.Trees;
 import javax.lang.model.type.TypeMirror;
 import org.netbeans.api.java.lexer.JavaTokenId;
-import org.netbeans.api.java.source.WorkingCopy;
-import org.netbeans.api.lexer.Token;
-import org.netbeans.api.lexer.TokenSequence;
+import org.netbeans.api.lexer.TokenId;
 
 /**
  *
@@ -41,44 +39,24 @@ public class VariableCodeCompletionContext extends AbstractCodeCompletionContext
 
     @Override
     protected CodeFragmentCollectorLinkerImpl getCodeFragmentCollectorLinker(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        Abbreviation abbreviation = request.getAbbreviation();
-        TokenSequence<?> tokenSequence = workingCopy.getTokenHierarchy().tokenSequence();
-        tokenSequence.move(abbreviation.getStartOffset());
-        while (tokenSequence.movePrevious() && tokenSequence.token().id() == JavaTokenId.WHITESPACE) {
-        }
-        Token<?> token = tokenSequence.token();
-        if (token != null && JavaSourceUtilities.isModifier(token.id())) {
+        TokenNeighborhood neighborhood = request.getTokenNeighborhood();
+        TokenId previous = neighborhood.getPreviousId(0);
+        if (JavaSourceUtilities.isModifier(previous)) {
             return CodeFragmentCollectorLinkerImpl.builder()
                     .linkModifierCollector(VARIABLE)
                     .build();
         }
-        tokenSequence.move(abbreviation.getStartOffset());
-        while (tokenSequence.moveNext() && tokenSequence.token().id() == JavaTokenId.WHITESPACE) {
-        }
-        token = tokenSequence.token();
-        if (token != null && token.id() == JavaTokenId.EQ) {
+        TokenId next = neighborhood.getNextId(0);
+        if (next == JavaTokenId.EQ) {
             return CodeFragmentCollectorLinkerImpl.builder()
                     .linkNameCollector()
                     .build();
         }
-        tokenSequence.move(abbreviation.getStartOffset());
-        while (tokenSequence.moveNext() && tokenSequence.token().id() == JavaTokenId.WHITESPACE) {
-        }
-        token = tokenSequence.token();
-        if (token != null
-                && (token.id() == JavaTokenId.SEMICOLON
-                || token.id() == JavaTokenId.COMMA
-                || token.id() == JavaTokenId.RPAREN)) {
-            tokenSequence.move(abbreviation.getStartOffset());
-            while (tokenSequence.movePrevious() && tokenSequence.token().id() == JavaTokenId.WHITESPACE) {
-            }
-            token = tokenSequence.token();
-            if (token != null && token.id() == JavaTokenId.IDENTIFIER) {
-                return CodeFragmentCollectorLinkerImpl.builder()
-                        .linkNameCollector()
-                        .build();
-            }
+        if ((next == JavaTokenId.SEMICOLON || next == JavaTokenId.COMMA || next == JavaTokenId.RPAREN)
+                && previous == JavaTokenId.IDENTIFIER) {
+            return CodeFragmentCollectorLinkerImpl.builder()
+                    .linkNameCollector()
+                    .build();
         }
         if (!request.getAbbreviation().isSimple()) {
             return CodeFragmentCollectorLinkerImpl.builder()
@@ -98,6 +76,7 @@ public class VariableCodeCompletionContext extends AbstractCodeCompletionContext
                 .linkExternalTypeCollector()
                 .linkFieldCollector()
                 .linkGlobalTypeCollector()
+                .linkInstanceCreationCollector()
                 .linkInternalTypeCollector()
                 .linkKeywordCollector()
                 .linkLiteralCollector()
@@ -106,6 +85,7 @@ public class VariableCodeCompletionContext extends AbstractCodeCompletionContext
                 .linkParameterCollector()
                 .linkPrimitiveTypeCollector()
                 .linkResourceVariableCollector()
+                .linkUnscopedStaticMemberCollector()
                 .build();
     }
 
@@ -120,7 +100,7 @@ public class VariableCodeCompletionContext extends AbstractCodeCompletionContext
         VariableTree variableTree = (VariableTree) request.getCurrentTree();
         Tree type = variableTree.getType();
         TreePath path = TreePath.getPath(currentPath, type);
-        Trees trees = request.getWorkingCopy().getTrees();
+        Trees trees = request.getCompilationController().getTrees();
         return trees.getElement(path).asType();
     }
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.index;
+
+import com.github.isarthur.netbeans.editor.typingaid.util.AbbreviationMatcher;
+import com.github.isarthur.netbeans.editor.typingaid.util.LevenshteinAutomaton;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Trie of abbreviation keys. Children are kept in sorted parallel arrays, so a lookup costs the length of the key
+ * plus the size of the result rather than the number of keys.
+ *
+ * @author Arthur Sadykov
+ */
+public final class AbbreviationTrie<T> {
+
+    private Node<T> root = new Node<>();
+
+    public void add(String key, T value) {
+        Node<T> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrAddChild(key.charAt(i));
+        }
+        if (node.values == null) {
+            node.values = new LinkedHashSet<>();
+        }
+        node.values.add(value);
+    }
+
+    public boolean remove(String key, T value) {
+        return remove(root, key, 0, value);
+    }
+
+    private boolean remove(Node<T> node, String key, int depth, T value) {
+        if (depth == key.length()) {
+            if (node.values == null || !node.values.remove(value)) {
+                return false;
+            }
+            if (node.values.isEmpty()) {
+                node.values = null;
+            }
+            return true;
+        }
+        char label = key.charAt(depth);
+        Node<T> child = node.getChild(label);
+        if (child == null || !remove(child, key, depth + 1, value)) {
+            return false;
+        }
+        if (child.isEmpty()) {
+            node.removeChild(label);
+        }
+        return true;
+    }
+
+    public void clear() {
+        root = new Node<>();
+    }
+
+    public Set<T> get(String key) {
+        Node<T> node = find(key);
+        return node != null && node.values != null ? Collections.unmodifiableSet(node.values) : Collections.emptySet();
+    }
+
+    /**
+     * Returns the number of nodes of the trie, the root included.
+     */
+    public int getNodeCount() {
+        int count = 0;
+        Deque<Node<T>> nodes = new ArrayDeque<>();
+        nodes.add(root);
+        while (!nodes.isEmpty()) {
+            Node<T> node = nodes.poll();
+            count++;
+            for (int i = 0; i < node.size; i++) {
+                nodes.add(node.children[i]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Passes the key and value of every entry matching the abbreviation to the consumer. Entries closer to the
+     * abbreviation come first, so an exact match always leads; ties are broken by key length and then alphabetically.
+     *
+     * @return the number of nodes visited, which bounds the cost of the lookup
+     */
+    public int collect(AbbreviationMatcher matcher, BiConsumer<? super String, ? super T> consumer) {
+        String abbreviation = matcher.getAbbreviation();
+        switch (matcher.getMode()) {
+            case PREFIX:
+                return collectByPrefix(abbreviation, consumer);
+            case FUZZY:
+                return collectWithinDistance(matcher.getAutomaton(), consumer);
+            default:
+                get(abbreviation).forEach(value -> consumer.accept(abbreviation, value));
+                return abbreviation.length() + 1;
+        }
+    }
+
+    private int collectByPrefix(String prefix, BiConsumer<? super String, ? super T> consumer) {
+        Node<T> start = find(prefix);
+        if (start == null) {
+            return prefix.length() + 1;
+        }
+        int visitedCount = prefix.length();
+        Deque<Node<T>> nodes = new ArrayDeque<>();
+        Deque<String> keys = new ArrayDeque<>();
+        nodes.add(start);
+        keys.add(prefix);
+        while (!nodes.isEmpty()) {
+            Node<T> node = nodes.poll();
+            String key = keys.poll();
+            visitedCount++;
+            if (node.values != null) {
+                node.values.forEach(value -> consumer.accept(key, value));
+            }
+            for (int i = 0; i < node.size; i++) {
+                nodes.add(node.children[i]);
+                keys.add(key + node.labels[i]);
+            }
+        }
+        return visitedCount;
+    }
+
+    private int collectWithinDistance(LevenshteinAutomaton automaton,
+            BiConsumer<? super String, ? super T> consumer) {
+        List<Match<T>> matches = new ArrayList<>();
+        int visitedCount = collectWithinDistance(root, new StringBuilder(), automaton.start(), automaton, matches);
+        matches.sort(Comparator.<Match<T>>comparingInt(match -> match.distance)
+                .thenComparingInt(match -> match.key.length())
+                .thenComparing(match -> match.key));
+        matches.forEach(match -> match.node.values.forEach(value -> consumer.accept(match.key, value)));
+        return visitedCount;
+    }
+
+    private int collectWithinDistance(Node<T> node, StringBuilder key, int[] state, LevenshteinAutomaton automaton,
+            List<Match<T>> matches) {
+        int visitedCount = 1;
+        if (node.values != null && automaton.isMatch(state)) {
+            matches.add(new Match<>(key.toString(), node, automaton.getDistance(state)));
+        }
+        for (int i = 0; i < node.size; i++) {
+            int[] next = automaton.step(state, node.labels[i]);
+            if (automaton.canMatch(next)) {
+                key.append(node.labels[i]);
+                visitedCount += collectWithinDistance(node.children[i], key, next, automaton, matches);
+                key.setLength(key.length() - 1);
+            }
+        }
+        return visitedCount;
+    }
+
+    private Node<T> find(String key) {
+        Node<T> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.getChild(key.charAt(i));
+        }
+        return node;
+    }
+
+    private static final class Match<T> {
+
+        private final String key;
+        private final Node<T> node;
+        private final int distance;
+
+        Match(String key, Node<T> node, int distance) {
+            this.key = key;
+            this.node = node;
+            this.distance = distance;
+        }
+    }
+
+    private static final class Node<T> {
+
+        private static final char[] NO_LABELS = new char[0];
+        private char[] labels = NO_LABELS;
+        private Node<T>[] children;
+        private int size;
+        private Set<T> values;
+
+        Node<T> getChild(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<T> getOrAddChild(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            if (size == labels.length) {
+                int capacity = Math.max(2, size * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = children != null ? Arrays.copyOf(children, capacity) : new Node[capacity];
+            }
+            System.arraycopy(labels, index, labels, index + 1, size - index);
+            System.arraycopy(children, index, children, index + 1, size - index);
+            Node<T> child = new Node<>();
+            labels[index] = label;
+            children[index] = child;
+            size++;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(labels, index + 1, labels, index, size - index - 1);
+            System.arraycopy(children, index + 1, children, index, size - index - 1);
+            size--;
+            children[size] = null;
+        }
+
+        boolean isEmpty() {
+            return size == 0 && values == null;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.index;
+
+import com.github.isarthur.netbeans.editor.typingaid.util.AbbreviationMatcher;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.java.platform.JavaPlatform;
+import org.netbeans.api.java.platform.JavaPlatformManager;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.ElementHandle;
+import org.openide.modules.InstalledFileLocator;
+
+/**
+ * Read-only view of a prebuilt abbreviation index of the public JDK API, memory-mapped on first use.
+ *
+ * @author Arthur Sadykov
+ */
+public final class JdkAbbreviationIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(JdkAbbreviationIndex.class.getName());
+    private static final String CODE_NAME_BASE = "com.github.isarthur.netbeans.editor.typingaid"; //NOI18N
+    private static final Map<String, JdkAbbreviationIndex> INDEXES = new HashMap<>();
+    private static final Map<ClassPath, String> RELEASES = new WeakHashMap<>();
+    private static final String UNKNOWN_RELEASE = ""; //NOI18N
+    private final ByteBuffer buffer;
+    private final int entryCount;
+    private AbbreviationTrie<Integer> typeEntries;
+    private AbbreviationTrie<Integer> staticMemberEntries;
+
+    private JdkAbbreviationIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.entryCount = buffer.getInt(8);
+    }
+
+    public static JdkAbbreviationIndex forClasspath(ClasspathInfo classpathInfo) {
+        String release = getRelease(classpathInfo.getClassPath(ClasspathInfo.PathKind.BOOT));
+        if (release.isEmpty()) {
+            return null;
+        }
+        return forRelease(release);
+    }
+
+    public static synchronized JdkAbbreviationIndex forRelease(String release) {
+        String fileName = JdkIndexFormat.getFileName(release);
+        if (INDEXES.containsKey(fileName)) {
+            return INDEXES.get(fileName);
+        }
+        File file = InstalledFileLocator.getDefault().locate(
+                JdkIndexFormat.DIRECTORY + '/' + fileName, CODE_NAME_BASE, false);
+        JdkAbbreviationIndex index = file != null ? open(file) : null;
+        INDEXES.put(fileName, index);
+        return index;
+    }
+
+    /**
+     * Maps the given index file. Returns null when the file cannot be read or was written in another format version.
+     */
+    public static JdkAbbreviationIndex open(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < JdkIndexFormat.HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) == JdkIndexFormat.MAGIC && buffer.getInt(4) == JdkIndexFormat.VERSION) {
+                return new JdkAbbreviationIndex(buffer);
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.INFO, "Cannot map JDK abbreviation index " + file, ex); //NOI18N
+        }
+        return null;
+    }
+
+    private static String getRelease(ClassPath bootPath) {
+        if (bootPath == null) {
+            return UNKNOWN_RELEASE;
+        }
+        synchronized (RELEASES) {
+            String release = RELEASES.get(bootPath);
+            if (release != null) {
+                return release;
+            }
+        }
+        String release = UNKNOWN_RELEASE;
+        for (JavaPlatform platform : JavaPlatformManager.getDefault().getInstalledPlatforms()) {
+            if (Arrays.equals(platform.getBootstrapLibraries().getRoots(), bootPath.getRoots())) {
+                release = JdkIndexFormat.normalizeRelease(platform.getSpecification().getVersion().toString());
+                break;
+            }
+        }
+        synchronized (RELEASES) {
+            RELEASES.put(bootPath, release);
+        }
+        return release;
+    }
+
+    /**
+     * Returns the types whose abbreviation matches. Exact lookups search the mapped entries directly, other modes walk
+     * a trie of the type entries that is built on first use.
+     */
+    public List<ElementHandle<TypeElement>> findTypes(AbbreviationMatcher matcher) {
+        if (matcher.isExact()) {
+            return findTypes(matcher.getAbbreviation());
+        }
+        List<ElementHandle<TypeElement>> types = new ArrayList<>();
+        getTypeEntries().collect(matcher, (abbreviation, index) -> types.add(toTypeHandle(index)));
+        return Collections.unmodifiableList(types);
+    }
+
+    public List<ElementHandle<TypeElement>> findTypes(String typeAbbreviation) {
+        List<ElementHandle<TypeElement>> types = new ArrayList<>();
+        for (int i = lowerBound(typeAbbreviation); i < entryCount && keyAt(i).equals(typeAbbreviation); i++) {
+            int kind = buffer.getInt(entryOffset(i) + 12);
+            if (JdkIndexFormat.isType(kind)) {
+                types.add(toTypeHandle(i));
+            }
+        }
+        return Collections.unmodifiableList(types);
+    }
+
+    public List<ElementHandle<TypeElement>> findOwners(String typeAbbreviation, String memberAbbreviation) {
+        String key = typeAbbreviation + JdkIndexFormat.MEMBER_SEPARATOR + memberAbbreviation;
+        Set<String> owners = new LinkedHashSet<>();
+        for (int i = lowerBound(key); i < entryCount && keyAt(i).equals(key); i++) {
+            owners.add(ownerAt(i));
+        }
+        if (owners.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<ElementHandle<TypeElement>> types = new ArrayList<>();
+        findTypes(typeAbbreviation).stream()
+                .filter(type -> owners.contains(type.getBinaryName()))
+                .forEach(types::add);
+        return Collections.unmodifiableList(types);
+    }
+
+    public List<ElementHandle<TypeElement>> findOwners(AbbreviationMatcher matcher, String memberAbbreviation) {
+        if (matcher.isExact()) {
+            return findOwners(matcher.getAbbreviation(), memberAbbreviation);
+        }
+        Map<String, Set<String>> ownersByKey = new HashMap<>();
+        List<ElementHandle<TypeElement>> types = new ArrayList<>();
+        getTypeEntries().collect(matcher, (abbreviation, index) -> {
+            Set<String> owners = ownersByKey.computeIfAbsent(abbreviation, typeAbbreviation -> {
+                String key = typeAbbreviation + JdkIndexFormat.MEMBER_SEPARATOR + memberAbbreviation;
+                Set<String> keyOwners = new HashSet<>();
+                for (int i = lowerBound(key); i < entryCount && keyAt(i).equals(key); i++) {
+                    keyOwners.add(ownerAt(i));
+                }
+                return keyOwners;
+            });
+            if (owners.contains(ownerAt(index))) {
+                types.add(toTypeHandle(index));
+            }
+        });
+        return Collections.unmodifiableList(types);
+    }
+
+    /**
+     * Returns the public static methods and static final fields, declared by any indexed type, whose member
+     * abbreviation equals the given one. Enum constants are not included. The entries are grouped by member
+     * abbreviation once, on first use.
+     */
+    public List<StaticMember> findStaticMembers(String memberAbbreviation) {
+        List<StaticMember> members = new ArrayList<>();
+        getStaticMemberEntries().get(memberAbbreviation).forEach(index -> {
+            int entryOffset = entryOffset(index);
+            members.add(new StaticMember(ownerAt(index), stringAt(buffer.getInt(entryOffset + 8)),
+                    buffer.getInt(entryOffset + 12) == JdkIndexFormat.STATIC_METHOD));
+        });
+        return Collections.unmodifiableList(members);
+    }
+
+    private synchronized AbbreviationTrie<Integer> getStaticMemberEntries() {
+        if (staticMemberEntries == null) {
+            AbbreviationTrie<Integer> entries = new AbbreviationTrie<>();
+            for (int i = 0; i < entryCount; i++) {
+                int kind = buffer.getInt(entryOffset(i) + 12);
+                if (kind == JdkIndexFormat.STATIC_METHOD || kind == JdkIndexFormat.STATIC_FIELD) {
+                    String key = keyAt(i);
+                    entries.add(key.substring(key.indexOf(JdkIndexFormat.MEMBER_SEPARATOR) + 1), i);
+                }
+            }
+            staticMemberEntries = entries;
+        }
+        return staticMemberEntries;
+    }
+
+    private synchronized AbbreviationTrie<Integer> getTypeEntries() {
+        if (typeEntries == null) {
+            AbbreviationTrie<Integer> entries = new AbbreviationTrie<>();
+            for (int i = 0; i < entryCount; i++) {
+                if (JdkIndexFormat.isType(buffer.getInt(entryOffset(i) + 12))) {
+                    entries.add(keyAt(i), i);
+                }
+            }
+            typeEntries = entries;
+        }
+        return typeEntries;
+    }
+
+    private ElementHandle<TypeElement> toTypeHandle(int index) {
+        int kind = buffer.getInt(entryOffset(index) + 12);
+        return ElementHandle.createTypeElementHandle(toElementKind(kind), ownerAt(index));
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = entryCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keyAt(middle).compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int entryOffset(int index) {
+        return JdkIndexFormat.HEADER_SIZE + index * JdkIndexFormat.ENTRY_SIZE;
+    }
+
+    private String keyAt(int index) {
+        return stringAt(buffer.getInt(entryOffset(index)));
+    }
+
+    private String ownerAt(int index) {
+        return stringAt(buffer.getInt(entryOffset(index) + 4));
+    }
+
+    private String stringAt(int offset) {
+        int position = buffer.getInt(12) + offset;
+        int length = buffer.getShort(position) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ElementKind toElementKind(int kind) {
+        switch (kind) {
+            case JdkIndexFormat.INTERFACE:
+                return ElementKind.INTERFACE;
+            case JdkIndexFormat.ENUM:
+                return ElementKind.ENUM;
+            case JdkIndexFormat.ANNOTATION_TYPE:
+                return ElementKind.ANNOTATION_TYPE;
+            default:
+                return ElementKind.CLASS;
+        }
+    }
+
+    public static final class StaticMember {
+
+        private final String owner;
+        private final String name;
+        private final boolean method;
+
+        private StaticMember(String owner, String name, boolean method) {
+            this.owner = owner;
+            this.name = name;
+            this.method = method;
+        }
+
+        /**
+         * Returns the binary name of the declaring type.
+         */
+        public String getOwner() {
+            return owner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isMethod() {
+            return method;
+        }
+    }
+}
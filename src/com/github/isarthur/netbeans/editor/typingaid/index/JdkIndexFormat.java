@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.index;
+
+/**
+ * Layout of the prebuilt JDK abbreviation index. All values are big-endian.
+ *
+ * <pre>
+ * int magic, int version, int entry count, int string pool offset
+ * entry count * (int key, int owner, int name, int kind), sorted by key
+ * string pool: (unsigned short length, UTF-8 bytes)*
+ * </pre>
+ *
+ * The key of a type entry is the abbreviation of its simple name, the key of a member entry is the abbreviation of
+ * the owner followed by a dot and the abbreviation of the member. Owners are binary names.
+ *
+ * @author Arthur Sadykov
+ */
+public final class JdkIndexFormat {
+
+    public static final int MAGIC = 0x4E424149;
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 16;
+    public static final int ENTRY_SIZE = 16;
+    public static final int CLASS = 0;
+    public static final int INTERFACE = 1;
+    public static final int ENUM = 2;
+    public static final int ANNOTATION_TYPE = 3;
+    public static final int STATIC_METHOD = 4;
+    public static final int STATIC_FIELD = 5;
+    public static final int ENUM_CONSTANT = 6;
+    public static final char MEMBER_SEPARATOR = '.';
+    public static final String DIRECTORY = "modules/ext/typingaid"; //NOI18N
+
+    private JdkIndexFormat() {
+    }
+
+    public static String getFileName(String release) {
+        return "jdk-" + normalizeRelease(release) + ".idx"; //NOI18N
+    }
+
+    public static String normalizeRelease(String release) {
+        return release.startsWith("1.") ? release.substring(2) : release; //NOI18N
+    }
+
+    public static boolean isType(int kind) {
+        return kind <= ANNOTATION_TYPE;
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.index;
+
+import com.github.isarthur.netbeans.editor.typingaid.util.AbbreviationMatcher;
+import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import javax.lang.model.element.TypeElement;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.java.source.ClassIndex;
+import org.netbeans.api.java.source.ClassIndexListener;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.ElementHandle;
+import org.netbeans.api.java.source.RootsEvent;
+import org.netbeans.api.java.source.TypesEvent;
+import org.openide.filesystems.FileChangeAdapter;
+import org.openide.filesystems.FileChangeListener;
+import org.openide.filesystems.FileEvent;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileRenameEvent;
+import org.openide.filesystems.FileUtil;
+import org.openide.util.RequestProcessor;
+import org.openide.util.WeakListeners;
+
+/**
+ * Abbreviation table of the types declared in the sources of a class path. It is built once in the background and
+ * then kept current from class index and file system events, which are coalesced and applied in batches.
+ *
+ * @author Arthur Sadykov
+ */
+public final class SourceTypeIndex {
+
+    private static final RequestProcessor RP = new RequestProcessor(SourceTypeIndex.class.getName(), 1);
+    private static final int UPDATE_DELAY = 300;
+    private static final String JAVA_EXTENSION = "java"; //NOI18N
+    private static final Map<ClassPath, Reference<SourceTypeIndex>> INDEXES = new WeakHashMap<>();
+    private final ClassPath sourcePath;
+    private final ClassIndex classIndex;
+    private final AbbreviationTrie<ElementHandle<TypeElement>> typesByAbbreviation = new AbbreviationTrie<>();
+    private final Map<String, ElementHandle<TypeElement>> typesByBinaryName = new HashMap<>();
+    private final NavigableMap<String, Set<String>> binaryNamesByTopLevelName = new TreeMap<>();
+    private final Map<FileObject, FileChangeListener> rootListeners = new HashMap<>();
+    private final Set<ElementHandle<TypeElement>> pendingAdditions = new LinkedHashSet<>();
+    private final Set<String> pendingRemovals = new LinkedHashSet<>();
+    private final RequestProcessor.Task updateTask;
+    private final ClassIndexListener classIndexListener = new ClassIndexListener() {
+        @Override
+        public void typesAdded(TypesEvent event) {
+            scheduleAdditions(event.getTypes());
+        }
+
+        @Override
+        public void typesRemoved(TypesEvent event) {
+            scheduleRemovals(event.getTypes());
+        }
+
+        @Override
+        public void typesChanged(TypesEvent event) {
+            scheduleRemovals(event.getTypes());
+            scheduleAdditions(event.getTypes());
+        }
+
+        @Override
+        public void rootsAdded(RootsEvent event) {
+            scheduleRebuild();
+        }
+
+        @Override
+        public void rootsRemoved(RootsEvent event) {
+            scheduleRebuild();
+        }
+    };
+    private final FileChangeListener fileChangeListener = new FileChangeAdapter() {
+        @Override
+        public void fileDeleted(FileEvent event) {
+            FileObject file = event.getFile();
+            if (file.isFolder() || JAVA_EXTENSION.equals(file.getExt())) {
+                scheduleRemoval(file, file.getName());
+            }
+        }
+
+        @Override
+        public void fileRenamed(FileRenameEvent event) {
+            FileObject file = event.getFile();
+            if (file.isFolder() || JAVA_EXTENSION.equals(event.getExt())) {
+                scheduleRemoval(file, event.getName());
+            }
+        }
+    };
+    private final PropertyChangeListener rootsListener = event -> {
+        if (ClassPath.PROP_ROOTS.equals(event.getPropertyName())) {
+            watchRoots();
+            scheduleRebuild();
+        }
+    };
+    private boolean ready;
+    private long modificationCount;
+    private boolean rebuildRequested = true;
+
+    private SourceTypeIndex(ClassPath sourcePath) {
+        this.sourcePath = sourcePath;
+        classIndex = ClasspathInfo.create(ClassPath.EMPTY, ClassPath.EMPTY, sourcePath).getClassIndex();
+        classIndex.addClassIndexListener(
+                WeakListeners.create(ClassIndexListener.class, classIndexListener, classIndex));
+        sourcePath.addPropertyChangeListener(rootsListener);
+        watchRoots();
+        updateTask = RP.create(this::update);
+        updateTask.schedule(0);
+    }
+
+    public static SourceTypeIndex forClasspath(ClasspathInfo classpathInfo) {
+        ClassPath sourcePath = classpathInfo.getClassPath(ClasspathInfo.PathKind.SOURCE);
+        if (sourcePath == null || sourcePath.getRoots().length == 0) {
+            return null;
+        }
+        synchronized (INDEXES) {
+            Reference<SourceTypeIndex> reference = INDEXES.get(sourcePath);
+            SourceTypeIndex index = reference != null ? reference.get() : null;
+            if (index == null) {
+                index = new SourceTypeIndex(sourcePath);
+                INDEXES.put(sourcePath, new WeakReference<>(index));
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Returns the source types whose abbreviation matches, or {@code null} while the table is being built.
+     */
+    public synchronized Set<ElementHandle<TypeElement>> findTypes(AbbreviationMatcher matcher) {
+        if (!ready) {
+            return null;
+        }
+        Set<ElementHandle<TypeElement>> types = new LinkedHashSet<>();
+        typesByAbbreviation.collect(matcher, (abbreviation, type) -> types.add(type));
+        return Collections.unmodifiableSet(types);
+    }
+
+    /**
+     * Returns a counter that changes whenever the table is updated, so that data derived from the source types can
+     * tell when it is stale.
+     */
+    public synchronized long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Attaches the file listener to the roots that appeared since the last call and detaches it from the roots that
+     * are gone. The class path holds the roots listener strongly, which keeps this table alive exactly as long as
+     * its class path.
+     */
+    private void watchRoots() {
+        Set<FileObject> roots = new HashSet<>(Arrays.asList(sourcePath.getRoots()));
+        synchronized (rootListeners) {
+            Iterator<Map.Entry<FileObject, FileChangeListener>> iterator = rootListeners.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<FileObject, FileChangeListener> entry = iterator.next();
+                if (!roots.remove(entry.getKey())) {
+                    entry.getKey().removeRecursiveListener(entry.getValue());
+                    iterator.remove();
+                }
+            }
+            for (FileObject root : roots) {
+                FileChangeListener listener = FileUtil.weakFileChangeListener(fileChangeListener, root);
+                root.addRecursiveListener(listener);
+                rootListeners.put(root, listener);
+            }
+        }
+    }
+
+    private void scheduleAdditions(Iterable<? extends ElementHandle<TypeElement>> types) {
+        synchronized (this) {
+            types.forEach(pendingAdditions::add);
+        }
+        updateTask.schedule(UPDATE_DELAY);
+    }
+
+    private void scheduleRemovals(Iterable<? extends ElementHandle<TypeElement>> types) {
+        synchronized (this) {
+            for (ElementHandle<TypeElement> type : types) {
+                pendingAdditions.remove(type);
+                pendingRemovals.add(type.getBinaryName());
+            }
+        }
+        updateTask.schedule(UPDATE_DELAY);
+    }
+
+    private void scheduleRemoval(FileObject file, String name) {
+        FileObject parent = file.getParent();
+        FileObject root = parent != null ? sourcePath.findOwnerRoot(parent) : null;
+        if (root == null) {
+            return;
+        }
+        String packagePath = FileUtil.getRelativePath(root, parent);
+        String packageName = packagePath.isEmpty() ? "" : packagePath.replace('/', '.') + '.'; //NOI18N
+        String binaryName = packageName + name;
+        synchronized (this) {
+            pendingAdditions.removeIf(type -> isSameOrEnclosed(type.getBinaryName(), binaryName));
+            pendingRemovals.add(binaryName);
+        }
+        updateTask.schedule(UPDATE_DELAY);
+    }
+
+    private void scheduleRebuild() {
+        synchronized (this) {
+            rebuildRequested = true;
+        }
+        updateTask.schedule(UPDATE_DELAY);
+    }
+
+    private void update() {
+        boolean rebuild;
+        synchronized (this) {
+            rebuild = rebuildRequested;
+            rebuildRequested = false;
+        }
+        if (rebuild) {
+            Set<ElementHandle<TypeElement>> types = classIndex.getDeclaredTypes(
+                    "", ClassIndex.NameKind.PREFIX, EnumSet.of(ClassIndex.SearchScope.SOURCE)); //NOI18N
+            synchronized (this) {
+                typesByAbbreviation.clear();
+                typesByBinaryName.clear();
+                binaryNamesByTopLevelName.clear();
+                types.forEach(this::add);
+                ready = true;
+            }
+        }
+        synchronized (this) {
+            pendingRemovals.forEach(this::remove);
+            pendingAdditions.forEach(this::add);
+            pendingRemovals.clear();
+            pendingAdditions.clear();
+            modificationCount++;
+        }
+    }
+
+    private void add(ElementHandle<TypeElement> type) {
+        String simpleName = getSimpleName(type.getBinaryName());
+        if (simpleName.isEmpty() || !Character.isJavaIdentifierStart(simpleName.charAt(0))) {
+            return;
+        }
+        ElementHandle<TypeElement> previous = typesByBinaryName.put(type.getBinaryName(), type);
+        if (previous != null) {
+            removeFromAbbreviation(previous);
+        }
+        typesByAbbreviation.add(StringUtilities.getElementAbbreviation(simpleName), type);
+        binaryNamesByTopLevelName.computeIfAbsent(getTopLevelName(type.getBinaryName()), name -> new HashSet<>())
+                .add(type.getBinaryName());
+    }
+
+    /**
+     * Removes the type with the given binary name together with its nested types. A name without a nested part may
+     * also denote a deleted package folder, so the top level types of that package and its subpackages go as well.
+     */
+    private void remove(String binaryName) {
+        String topLevelName = getTopLevelName(binaryName);
+        removeFromTopLevel(topLevelName, binaryName);
+        if (topLevelName.equals(binaryName)) {
+            Set<String> enclosedNames = binaryNamesByTopLevelName.subMap(binaryName + '.', binaryName + '/').keySet();
+            for (String enclosedName : new ArrayList<>(enclosedNames)) {
+                removeFromTopLevel(enclosedName, enclosedName);
+            }
+        }
+    }
+
+    private void removeFromTopLevel(String topLevelName, String binaryName) {
+        Set<String> binaryNames = binaryNamesByTopLevelName.get(topLevelName);
+        if (binaryNames == null) {
+            return;
+        }
+        Iterator<String> iterator = binaryNames.iterator();
+        while (iterator.hasNext()) {
+            String name = iterator.next();
+            if (isSameOrEnclosed(name, binaryName)) {
+                removeFromAbbreviation(typesByBinaryName.remove(name));
+                iterator.remove();
+            }
+        }
+        if (binaryNames.isEmpty()) {
+            binaryNamesByTopLevelName.remove(topLevelName);
+        }
+    }
+
+    private static String getTopLevelName(String binaryName) {
+        int nestedStart = binaryName.indexOf('$', binaryName.lastIndexOf('.') + 1);
+        return nestedStart < 0 ? binaryName : binaryName.substring(0, nestedStart);
+    }
+
+    private static boolean isSameOrEnclosed(String binaryName, String enclosingName) {
+        if (!binaryName.startsWith(enclosingName)) {
+            return false;
+        }
+        if (binaryName.length() == enclosingName.length()) {
+            return true;
+        }
+        char separator = binaryName.charAt(enclosingName.length());
+        return separator == '$' || separator == '.';
+    }
+
+    private void removeFromAbbreviation(ElementHandle<TypeElement> type) {
+        typesByAbbreviation.remove(StringUtilities.getElementAbbreviation(getSimpleName(type.getBinaryName())), type);
+    }
+
+    private static String getSimpleName(String binaryName) {
+        return binaryName.substring(Math.max(binaryName.lastIndexOf('.'), binaryName.lastIndexOf('$')) + 1);
+    }
+}
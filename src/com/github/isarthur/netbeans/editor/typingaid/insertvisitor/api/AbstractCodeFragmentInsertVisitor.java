@@ -19,6 +19,7 @@ import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragme
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.fieldaccess.impl.ChainedFieldAccess;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.fieldaccess.impl.StaticFieldAccess;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.innertype.api.InnerType;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.instancecreation.api.InstanceCreation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.keyword.impl.AssertKeyword;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.keyword.impl.BreakKeyword;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.keyword.impl.CaseKeyword;
@@ -57,11 +58,14 @@ import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocati
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocation.impl.NormalMethodInvocation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocation.impl.StaticMethodInvocation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.AbstractAbstractModifier;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.DefaultModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.FinalModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.NativeModifier;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.NonSealedModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.PrivateModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.ProtectedModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.PublicModifier;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.SealedModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.StaticModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.StrictfpModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.SynchronizedModifier;
@@ -77,12 +81,64 @@ import com.github.isarthur.netbeans.editor.typingaid.codefragment.primitivetype.
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.primitivetype.impl.LongPrimitiveType;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.primitivetype.impl.ShortPrimitiveType;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.type.api.Type;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
 import com.sun.source.tree.Tree;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Position;
+import org.netbeans.api.java.source.SourceUtils;
 import org.netbeans.api.java.source.WorkingCopy;
 
 public abstract class AbstractCodeFragmentInsertVisitor implements CodeFragmentInsertVisitor {
 
+    private static final Set<Tree.Kind> EXPRESSION_KINDS = Collections.unmodifiableSet(EnumSet.of(
+            Tree.Kind.AND,
+            Tree.Kind.AND_ASSIGNMENT,
+            Tree.Kind.ASSIGNMENT,
+            Tree.Kind.BITWISE_COMPLEMENT,
+            Tree.Kind.CONDITIONAL_AND,
+            Tree.Kind.CONDITIONAL_EXPRESSION,
+            Tree.Kind.CONDITIONAL_OR,
+            Tree.Kind.DIVIDE,
+            Tree.Kind.DIVIDE_ASSIGNMENT,
+            Tree.Kind.EQUAL_TO,
+            Tree.Kind.GREATER_THAN,
+            Tree.Kind.GREATER_THAN_EQUAL,
+            Tree.Kind.INSTANCE_OF,
+            Tree.Kind.LEFT_SHIFT,
+            Tree.Kind.LEFT_SHIFT_ASSIGNMENT,
+            Tree.Kind.LESS_THAN,
+            Tree.Kind.LESS_THAN_EQUAL,
+            Tree.Kind.LOGICAL_COMPLEMENT,
+            Tree.Kind.METHOD_INVOCATION,
+            Tree.Kind.MINUS,
+            Tree.Kind.MINUS_ASSIGNMENT,
+            Tree.Kind.MULTIPLY,
+            Tree.Kind.MULTIPLY_ASSIGNMENT,
+            Tree.Kind.NEW_CLASS,
+            Tree.Kind.NOT_EQUAL_TO,
+            Tree.Kind.OR,
+            Tree.Kind.OR_ASSIGNMENT,
+            Tree.Kind.PARAMETERIZED_TYPE,
+            Tree.Kind.PARENTHESIZED,
+            Tree.Kind.PLUS,
+            Tree.Kind.PLUS_ASSIGNMENT,
+            Tree.Kind.REMAINDER,
+            Tree.Kind.REMAINDER_ASSIGNMENT,
+            Tree.Kind.RETURN,
+            Tree.Kind.RIGHT_SHIFT,
+            Tree.Kind.RIGHT_SHIFT_ASSIGNMENT,
+            Tree.Kind.UNSIGNED_RIGHT_SHIFT,
+            Tree.Kind.UNSIGNED_RIGHT_SHIFT_ASSIGNMENT,
+            Tree.Kind.VARIABLE,
+            Tree.Kind.XOR,
+            Tree.Kind.XOR_ASSIGNMENT));
+
     @Override
     public void visit(AbstractAbstractModifier modifier, CodeCompletionRequest request) {
         insertTree(modifier, request);
@@ -148,6 +204,11 @@ public abstract class AbstractCodeFragmentInsertVisitor implements CodeFragmentI
         insertTree(keyword, request);
     }
 
+    @Override
+    public void visit(DefaultModifier modifier, CodeCompletionRequest request) {
+        insertTree(modifier, request);
+    }
+
     @Override
     public void visit(DoKeyword keyword, CodeCompletionRequest request) {
         insertTree(keyword, request);
@@ -218,6 +279,11 @@ public abstract class AbstractCodeFragmentInsertVisitor implements CodeFragmentI
         insertTree(innerType, request);
     }
 
+    @Override
+    public void visit(InstanceCreation instanceCreation, CodeCompletionRequest request) {
+        insertTree(instanceCreation, request);
+    }
+
     @Override
     public void visit(InstanceofKeyword keyword, CodeCompletionRequest request) {
         insertTree(keyword, request);
@@ -263,6 +329,11 @@ public abstract class AbstractCodeFragmentInsertVisitor implements CodeFragmentI
         insertTree(keyword, request);
     }
 
+    @Override
+    public void visit(NonSealedModifier modifier, CodeCompletionRequest request) {
+        insertTree(modifier, request);
+    }
+
     @Override
     public void visit(NormalMethodInvocation methodInvocation, CodeCompletionRequest request) {
         insertTree(methodInvocation, request);
@@ -293,6 +364,11 @@ public abstract class AbstractCodeFragmentInsertVisitor implements CodeFragmentI
         insertTree(keyword, request);
     }
 
+    @Override
+    public void visit(SealedModifier modifier, CodeCompletionRequest request) {
+        insertTree(modifier, request);
+    }
+
     @Override
     public void visit(ShortPrimitiveType primitiveType, CodeCompletionRequest request) {
         insertTree(primitiveType, request);
@@ -389,8 +465,12 @@ public abstract class AbstractCodeFragmentInsertVisitor implements CodeFragmentI
     }
 
     private void insertTree(CodeFragment codeFragment, CodeCompletionRequest request) {
+        Tree tree = codeFragment.getTreeToInsert(request);
+        if (Preferences.getDirectTextInsertionFlag() && insertText(codeFragment, tree, request)) {
+            return;
+        }
         Tree originalTree = getOriginalTree(codeFragment, request);
-        Tree newTree = getNewTree(codeFragment, codeFragment.getTreeToInsert(request), request);
+        Tree newTree = getNewTree(codeFragment, tree, request);
         if (originalTree == null || newTree == null) {
             return;
         }
@@ -398,6 +478,62 @@ public abstract class AbstractCodeFragmentInsertVisitor implements CodeFragmentI
         copy.rewrite(originalTree, newTree);
     }
 
+    private boolean insertText(CodeFragment codeFragment, Tree tree, CodeCompletionRequest request) {
+        Document document = request.getDocument();
+        if (document == null || tree == null || !isTextInsertionSupported(codeFragment, tree, request)) {
+            return false;
+        }
+        String text;
+        if (codeFragment.getKind() == CodeFragment.Kind.TYPE) {
+            String qualifiedName = codeFragment.toString();
+            if (qualifiedName.indexOf('<') >= 0) {
+                return false;
+            }
+            try {
+                text = SourceUtils.resolveImport(request.getWorkingCopy(), request.getCurrentPath(), qualifiedName);
+            } catch (IOException ex) {
+                return false;
+            }
+        } else {
+            text = tree.toString();
+        }
+        try {
+            Position position = document.createPosition(request.getAbbreviation().getStartOffset());
+            request.setTextInsertion(new TextInsertion(position, text));
+        } catch (BadLocationException ex) {
+            return false;
+        }
+        return true;
+    }
+
+    protected boolean isTextInsertionSupported(CodeFragment codeFragment, Tree tree, CodeCompletionRequest request) {
+        if (!EXPRESSION_KINDS.contains(request.getCurrentKind())) {
+            return false;
+        }
+        switch (codeFragment.getKind()) {
+            case FALSE_LITERAL:
+            case NULL_LITERAL:
+            case TRUE_LITERAL:
+                return tree.getKind() == Tree.Kind.BOOLEAN_LITERAL || tree.getKind() == Tree.Kind.NULL_LITERAL;
+            case LOCAL_ELEMENT:
+            case NAME:
+                return tree.getKind() == Tree.Kind.IDENTIFIER;
+            case BOOLEAN_PRIMITIVE_TYPE:
+            case BYTE_PRIMITIVE_TYPE:
+            case CHAR_PRIMITIVE_TYPE:
+            case DOUBLE_PRIMITIVE_TYPE:
+            case FLOAT_PRIMITIVE_TYPE:
+            case INT_PRIMITIVE_TYPE:
+            case LONG_PRIMITIVE_TYPE:
+            case SHORT_PRIMITIVE_TYPE:
+                return tree.getKind() == Tree.Kind.PRIMITIVE_TYPE;
+            case TYPE:
+                return tree.getKind() == Tree.Kind.IDENTIFIER || tree.getKind() == Tree.Kind.MEMBER_SELECT;
+            default:
+                return false;
+        }
+    }
+
     protected Tree getOriginalTree(CodeFragment codeFragment, CodeCompletionRequest request) {
         return request.getCurrentTree();
     }
@@ -18,6 +18,7 @@ package com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.fieldaccess.impl.ChainedFieldAccess;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.fieldaccess.impl.StaticFieldAccess;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.innertype.api.InnerType;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.instancecreation.api.InstanceCreation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.keyword.impl.AssertKeyword;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.keyword.impl.BreakKeyword;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.keyword.impl.CaseKeyword;
@@ -56,11 +57,14 @@ import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocati
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocation.impl.NormalMethodInvocation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocation.impl.StaticMethodInvocation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.AbstractAbstractModifier;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.DefaultModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.FinalModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.NativeModifier;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.NonSealedModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.PrivateModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.ProtectedModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.PublicModifier;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.SealedModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.StaticModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.StrictfpModifier;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.modifier.impl.SynchronizedModifier;
@@ -123,6 +127,9 @@ public interface CodeFragmentInsertVisitor {
     default void visit(DefaultKeyword keyword, CodeCompletionRequest request) {
     }
 
+    default void visit(DefaultModifier modifier, CodeCompletionRequest request) {
+    }
+
     default void visit(DoKeyword keyword, CodeCompletionRequest request) {
     }
 
@@ -165,6 +172,9 @@ public interface CodeFragmentInsertVisitor {
     default void visit(InnerType innerType, CodeCompletionRequest request) {
     }
 
+    default void visit(InstanceCreation instanceCreation, CodeCompletionRequest request) {
+    }
+
     default void visit(InstanceofKeyword keyword, CodeCompletionRequest request) {
     }
 
@@ -192,6 +202,9 @@ public interface CodeFragmentInsertVisitor {
     default void visit(NewKeyword keyword, CodeCompletionRequest request) {
     }
 
+    default void visit(NonSealedModifier modifier, CodeCompletionRequest request) {
+    }
+
     default void visit(NormalMethodInvocation methodInvocation, CodeCompletionRequest request) {
     }
 
@@ -210,6 +223,9 @@ public interface CodeFragmentInsertVisitor {
     default void visit(ReturnKeyword keyword, CodeCompletionRequest request) {
     }
 
+    default void visit(SealedModifier modifier, CodeCompletionRequest request) {
+    }
+
     default void visit(ShortPrimitiveType primitiveType, CodeCompletionRequest request) {
     }
 
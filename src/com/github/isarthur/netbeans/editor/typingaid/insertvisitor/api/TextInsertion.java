@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+import javax.swing.text.Position;
+import org.openide.util.Exceptions;
+
+/**
+ *
+ * @author Arthur Sadykov
+ */
+public class TextInsertion {
+
+    private final Position position;
+    private final String text;
+
+    public TextInsertion(Position position, String text) {
+        this.position = position;
+        this.text = text;
+    }
+
+    public Position getPosition() {
+        return position;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void apply(Document document) {
+        try {
+            document.insertString(position.getOffset(), text, null);
+        } catch (BadLocationException ex) {
+            Exceptions.printStackTrace(ex);
+        }
+    }
+
+    public void apply(JTextComponent component) {
+        Document document = component.getDocument();
+        int offset = position.getOffset();
+        try {
+            document.insertString(offset, text, null);
+            component.setCaretPosition(offset + text.length());
+        } catch (BadLocationException | IllegalArgumentException ex) {
+            Exceptions.printStackTrace(ex);
+        }
+    }
+}
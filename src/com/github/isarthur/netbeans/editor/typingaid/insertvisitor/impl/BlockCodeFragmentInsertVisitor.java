@@ -20,6 +20,7 @@ import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragme
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.keyword.impl.ThisKeyword;
 import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.AbstractCodeFragmentInsertVisitor;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceMaker;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.AssignmentTree;
@@ -65,29 +66,18 @@ public class BlockCodeFragmentInsertVisitor extends AbstractCodeFragmentInsertVi
     protected Tree getOriginalTree(CodeFragment codeFragment, CodeCompletionRequest request) {
         WorkingCopy copy = request.getWorkingCopy();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
-        TokenSequence<?> tokenSequence = copy.getTokenHierarchy().tokenSequence();
-        Abbreviation abbreviation = request.getAbbreviation();
-        Token<?> token;
+        TokenNeighborhood neighborhood = request.getTokenNeighborhood();
         switch (codeFragment.getKind()) {
             case ABSTRACT_MODIFIER:
             case FINAL_MODIFIER:
             case STRICTFP_MODIFIER:
-                tokenSequence.move(abbreviation.getStartOffset());
-                while (tokenSequence.movePrevious() && tokenSequence.token().id() == JavaTokenId.WHITESPACE) {
-                }
-                token = tokenSequence.token();
-                if (token != null && JavaSourceUtilities.isModifier(token.id())) {
+                if (JavaSourceUtilities.isModifier(neighborhood.getPreviousId(0))) {
                     ClassTree originalTree = (ClassTree) request.getCurrentTree();
                     return originalTree.getModifiers();
                 }
-                tokenSequence.move(abbreviation.getStartOffset());
-                while (tokenSequence.moveNext() && tokenSequence.token().id() == JavaTokenId.WHITESPACE) {
-                }
-                while (tokenSequence.moveNext() && tokenSequence.token().id() == JavaTokenId.WHITESPACE) {
-                }
                 TreePath path = treeUtilities.getPathElementOfKind(
                         EnumSet.of(CLASS, ENUM, INTERFACE, METHOD, VARIABLE),
-                        treeUtilities.pathFor(tokenSequence.offset()));
+                        treeUtilities.pathFor(neighborhood.getNextOffsetOrLast(1)));
                 if (path == null) {
                     return null;
                 }
@@ -106,14 +96,13 @@ public class BlockCodeFragmentInsertVisitor extends AbstractCodeFragmentInsertVi
                 }
                 return request.getCurrentTree();
             case TYPE:
-                tokenSequence.move(abbreviation.getStartOffset());
-                while (tokenSequence.moveNext() && tokenSequence.token().id() == JavaTokenId.WHITESPACE) {
-                }
-                token = tokenSequence.token();
-                if (token != null && token.id() == JavaTokenId.EQ) {
+                if (neighborhood.getNextId(0) == JavaTokenId.EQ) {
+                    TokenSequence<?> tokenSequence = copy.getTokenHierarchy().tokenSequence();
+                    tokenSequence.move(neighborhood.getNextOffset(0));
+                    tokenSequence.moveNext();
                     while (tokenSequence.moveNext() && tokenSequence.token().id() != JavaTokenId.SEMICOLON) {
                     }
-                    token = tokenSequence.token();
+                    Token<?> token = tokenSequence.token();
                     if (token != null && token.id() == JavaTokenId.SEMICOLON) {
                         TreePath treePath = treeUtilities.pathFor(tokenSequence.offset());
                         treePath = treePath.getParentPath();
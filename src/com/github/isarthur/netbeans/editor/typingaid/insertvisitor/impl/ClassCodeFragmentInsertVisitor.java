@@ -19,6 +19,7 @@ import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviati
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
 import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.AbstractCodeFragmentInsertVisitor;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceMaker;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.ClassTree;
@@ -34,11 +35,8 @@ import static com.sun.source.tree.Tree.Kind.VARIABLE;
 import com.sun.source.tree.VariableTree;
 import com.sun.source.util.TreePath;
 import java.util.EnumSet;
-import org.netbeans.api.java.lexer.JavaTokenId;
 import org.netbeans.api.java.source.TreeUtilities;
 import org.netbeans.api.java.source.WorkingCopy;
-import org.netbeans.api.lexer.Token;
-import org.netbeans.api.lexer.TokenSequence;
 
 /**
  *
@@ -57,28 +55,21 @@ public class ClassCodeFragmentInsertVisitor extends AbstractCodeFragmentInsertVi
             case PUBLIC_MODIFIER:
             case STATIC_MODIFIER:
             case STRICTFP_MODIFIER:
+            case DEFAULT_MODIFIER:
+            case SEALED_MODIFIER:
+            case NON_SEALED_MODIFIER:
             case TRANSIENT_MODIFIER:
             case VOLATILE_MODIFIER:
                 WorkingCopy copy = request.getWorkingCopy();
-                TokenSequence<?> tokens = copy.getTokenHierarchy().tokenSequence();
-                Abbreviation abbreviation = request.getAbbreviation();
-                tokens.move(abbreviation.getStartOffset());
-                while (tokens.movePrevious() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-                }
-                Token<?> token = tokens.token();
-                if (token != null && JavaSourceUtilities.isModifier(token.id())) {
+                TokenNeighborhood neighborhood = request.getTokenNeighborhood();
+                if (JavaSourceUtilities.isModifier(neighborhood.getPreviousId(0))) {
                     ClassTree originalTree = (ClassTree) request.getCurrentTree();
                     return originalTree.getModifiers();
                 }
-                tokens.move(abbreviation.getStartOffset());
-                while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-                }
-                while (tokens.moveNext() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-                }
                 TreeUtilities treeUtilities = copy.getTreeUtilities();
                 TreePath path = treeUtilities.getPathElementOfKind(
                         EnumSet.of(CLASS, ENUM, INTERFACE, METHOD, VARIABLE),
-                        treeUtilities.pathFor(tokens.offset()));
+                        treeUtilities.pathFor(neighborhood.getNextOffsetOrLast(1)));
                 if (path == null) {
                     return null;
                 }
@@ -113,6 +104,9 @@ public class ClassCodeFragmentInsertVisitor extends AbstractCodeFragmentInsertVi
             case PUBLIC_MODIFIER:
             case STATIC_MODIFIER:
             case STRICTFP_MODIFIER:
+            case DEFAULT_MODIFIER:
+            case SEALED_MODIFIER:
+            case NON_SEALED_MODIFIER:
             case TRANSIENT_MODIFIER:
             case VOLATILE_MODIFIER:
                 ModifiersTree originalModifiersTree = (ModifiersTree) getOriginalTree(codeFragment, request);
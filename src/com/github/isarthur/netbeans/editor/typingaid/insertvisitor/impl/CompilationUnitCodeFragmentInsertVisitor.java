@@ -19,6 +19,7 @@ import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviati
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
 import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.AbstractCodeFragmentInsertVisitor;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceMaker;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.ClassTree;
@@ -27,10 +28,8 @@ import com.sun.source.tree.ImportTree;
 import com.sun.source.tree.ModifiersTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.util.TreePath;
-import org.netbeans.api.java.lexer.JavaTokenId;
 import org.netbeans.api.java.source.TreeUtilities;
 import org.netbeans.api.java.source.WorkingCopy;
-import org.netbeans.api.lexer.TokenSequence;
 
 /**
  *
@@ -45,18 +44,14 @@ public class CompilationUnitCodeFragmentInsertVisitor extends AbstractCodeFragme
             case FINAL_MODIFIER:
             case PUBLIC_MODIFIER:
             case STRICTFP_MODIFIER:
+            case SEALED_MODIFIER:
+            case NON_SEALED_MODIFIER:
                 WorkingCopy copy = request.getWorkingCopy();
-                TokenSequence<?> tokens = copy.getTokenHierarchy().tokenSequence();
-                Abbreviation abbreviation = request.getAbbreviation();
-                tokens.move(abbreviation.getStartOffset());
-                while (tokens.moveNext() && tokens.token().id() != JavaTokenId.WHITESPACE) {
-                }
-                while (tokens.moveNext() && tokens.token().id() != JavaTokenId.WHITESPACE) {
-                }
+                TokenNeighborhood neighborhood = request.getTokenNeighborhood();
                 TreeUtilities treeUtilities = copy.getTreeUtilities();
                 TreePath path = treeUtilities.getPathElementOfKind(
                         TreeUtilities.CLASS_TREE_KINDS,
-                        treeUtilities.pathFor(tokens.offset()));
+                        treeUtilities.pathFor(neighborhood.getNextOffsetOrLast(1)));
                 if (path == null) {
                     return null;
                 }
@@ -15,10 +15,10 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.insertvisitor.impl;
 
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
 import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.AbstractCodeFragmentInsertVisitor;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceMaker;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.ExpressionTree;
@@ -26,10 +26,6 @@ import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.ModifiersTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.tree.VariableTree;
-import org.netbeans.api.java.lexer.JavaTokenId;
-import org.netbeans.api.java.source.WorkingCopy;
-import org.netbeans.api.lexer.Token;
-import org.netbeans.api.lexer.TokenSequence;
 
 /**
  *
@@ -48,15 +44,12 @@ public class MethodCodeFragmentInsertVisitor extends AbstractCodeFragmentInsertV
             case PROTECTED_MODIFIER:
             case PUBLIC_MODIFIER:
             case STRICTFP_MODIFIER:
+            case DEFAULT_MODIFIER:
+            case SEALED_MODIFIER:
+            case NON_SEALED_MODIFIER:
             case SYNCHRONIZED_MODIFIER:
-                WorkingCopy copy = request.getWorkingCopy();
-                TokenSequence<?> tokens = copy.getTokenHierarchy().tokenSequence();
-                Abbreviation abbreviation = request.getAbbreviation();
-                tokens.move(abbreviation.getStartOffset());
-                while (tokens.movePrevious() && tokens.token().id() == JavaTokenId.WHITESPACE) {
-                }
-                Token<?> token = tokens.token();
-                if (token != null && JavaSourceUtilities.isModifier(token.id())) {
+                TokenNeighborhood neighborhood = request.getTokenNeighborhood();
+                if (JavaSourceUtilities.isModifier(neighborhood.getPreviousId(0))) {
                     MethodTree originalTree = (MethodTree) request.getCurrentTree();
                     return originalTree.getModifiers();
                 }
@@ -78,6 +71,9 @@ public class MethodCodeFragmentInsertVisitor extends AbstractCodeFragmentInsertV
             case PROTECTED_MODIFIER:
             case PUBLIC_MODIFIER:
             case STRICTFP_MODIFIER:
+            case DEFAULT_MODIFIER:
+            case SEALED_MODIFIER:
+            case NON_SEALED_MODIFIER:
             case SYNCHRONIZED_MODIFIER:
                 ModifiersTree originalModifiersTree = (ModifiersTree) getOriginalTree(codeFragment, request);
                 ModifiersTree modifiersTree = (ModifiersTree) tree;
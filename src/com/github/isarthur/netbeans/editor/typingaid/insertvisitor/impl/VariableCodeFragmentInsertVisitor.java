@@ -32,6 +32,17 @@ import com.sun.source.util.TreePath;
  */
 public class VariableCodeFragmentInsertVisitor extends AbstractCodeFragmentInsertVisitor {
 
+    @Override
+    protected boolean isTextInsertionSupported(CodeFragment codeFragment, Tree tree, CodeCompletionRequest request) {
+        if (codeFragment.getKind() == CodeFragment.Kind.NAME) {
+            TreePath parentPath = request.getCurrentPath().getParentPath();
+            if (parentPath == null || parentPath.getLeaf().getKind() == Tree.Kind.CLASS) {
+                return false;
+            }
+        }
+        return super.isTextInsertionSupported(codeFragment, tree, request);
+    }
+
     @Override
     protected Tree getNewTree(CodeFragment codeFragment, Tree tree, CodeCompletionRequest request) {
         VariableTree originalTree = (VariableTree) getOriginalTree(codeFragment, request);
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.interceptor;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.AbbreviationBuffer;
+import com.github.isarthur.netbeans.editor.typingaid.constants.ConstantDataManager;
+import org.netbeans.editor.Acceptor;
+import org.netbeans.editor.AcceptorFactory;
+
+/**
+ * Decides what a typed character does to the abbreviation of a document. The typed text interceptor and the replay of
+ * keystroke traces both go through these rules, so a replayed session builds the same abbreviations as the recorded
+ * one.
+ *
+ * @author Arthur Sadykov
+ */
+public final class AbbreviationKeystrokes {
+
+    private static final Acceptor EXPANSION_ACCEPTOR = AcceptorFactory.SPACE_NL;
+
+    private AbbreviationKeystrokes() {
+    }
+
+    /**
+     * Feeds a character typed at the given offset to the abbreviation.
+     *
+     * @param abbreviation the abbreviation of the document
+     * @param offset the offset the character is typed at
+     * @param character the typed character
+     * @return {@code true} if the character expands the abbreviation
+     */
+    public static boolean type(AbbreviationBuffer abbreviation, int offset, char character) {
+        if (offset != abbreviation.getEndOffset()) {
+            abbreviation.reset();
+        }
+        if (isExpansionCharacter(character)) {
+            return !abbreviation.isEmpty();
+        }
+        if (isCharacterAccepted(abbreviation, character)) {
+            abbreviation.append(character);
+            abbreviation.setStartOffset(offset - abbreviation.length() + 1);
+        }
+        return false;
+    }
+
+    public static boolean isExpansionCharacter(char character) {
+        return EXPANSION_ACCEPTOR.accept(character);
+    }
+
+    private static boolean isCharacterAccepted(Abbreviation abbreviation, char character) {
+        if (abbreviation.isEmpty()) {
+            return !ConstantDataManager.FORBIDDEN_FIRST_CHARS.contains(character);
+        }
+        return true;
+    }
+}
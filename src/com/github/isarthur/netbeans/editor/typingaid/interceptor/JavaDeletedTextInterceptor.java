@@ -16,12 +16,11 @@
 package com.github.isarthur.netbeans.editor.typingaid.interceptor;
 
 import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.JavaAbbreviation;
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.trace.KeystrokeTraceRecorder;
 import javax.swing.text.BadLocationException;
 import org.netbeans.api.editor.mimelookup.MimePath;
 import org.netbeans.api.editor.mimelookup.MimeRegistration;
 import org.netbeans.spi.editor.typinghooks.DeletedTextInterceptor;
-import org.openide.util.Lookup;
 
 /**
  *
@@ -29,10 +28,7 @@ import org.openide.util.Lookup;
  */
 public class JavaDeletedTextInterceptor implements DeletedTextInterceptor {
 
-    private final Abbreviation abbreviation;
-
     private JavaDeletedTextInterceptor() {
-        this.abbreviation = Lookup.getDefault().lookup(JavaAbbreviation.class);
     }
 
     @Override
@@ -42,7 +38,10 @@ public class JavaDeletedTextInterceptor implements DeletedTextInterceptor {
 
     @Override
     public void remove(Context context) throws BadLocationException {
-        abbreviation.delete();
+        int length = context.getText().length();
+        int offset = context.isBackwardDelete() ? context.getOffset() - length : context.getOffset();
+        KeystrokeTraceRecorder.recordRemoved(context.getDocument(), offset, length);
+        JavaAbbreviation.forDocument(context.getDocument()).delete();
     }
 
     @Override
@@ -15,11 +15,11 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.interceptor;
 
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.AbbreviationBuffer;
 import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.JavaAbbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.impl.JavaCodeFragmentCollectAndInsertHandler;
-import com.github.isarthur.netbeans.editor.typingaid.constants.ConstantDataManager;
+import com.github.isarthur.netbeans.editor.typingaid.trace.KeystrokeTraceRecorder;
 import java.util.Collections;
 import java.util.List;
 import javax.swing.text.BadLocationException;
@@ -27,11 +27,7 @@ import javax.swing.text.Document;
 import javax.swing.text.JTextComponent;
 import org.netbeans.api.editor.mimelookup.MimePath;
 import org.netbeans.api.editor.mimelookup.MimeRegistration;
-import org.netbeans.editor.Acceptor;
-import org.netbeans.editor.AcceptorFactory;
 import org.netbeans.spi.editor.typinghooks.TypedTextInterceptor;
-import org.openide.util.Exceptions;
-import org.openide.util.Lookup;
 
 /**
  *
@@ -39,15 +35,11 @@ import org.openide.util.Lookup;
  */
 public class JavaTypedTextInterceptor implements TypedTextInterceptor {
 
-    private final Acceptor resetAcceptor;
     private JavaCodeFragmentCollectAndInsertHandler handler;
-    private final Abbreviation abbreviation;
     private List<CodeFragment> codeFragments;
     private int caretPosition;
 
     private JavaTypedTextInterceptor() {
-        this.resetAcceptor = AcceptorFactory.SPACE_NL;
-        this.abbreviation = Lookup.getDefault().lookup(JavaAbbreviation.class);
     }
 
     @Override
@@ -68,71 +60,33 @@ public class JavaTypedTextInterceptor implements TypedTextInterceptor {
         char typedCharacter = context.getText().charAt(0);
         int offset = context.getOffset();
         Document document = context.getDocument();
-        if (offset != abbreviation.getEndOffset()) {
-            abbreviation.reset();
-        }
-        if (isNotWhitespace(typedCharacter)) {
-            if (isCharacterAccepted(typedCharacter)) {
-                abbreviation.append(typedCharacter);
-                abbreviation.setStartOffset(offset - abbreviation.length() + 1);
-            }
-            codeFragments = Collections.emptyList();
+        KeystrokeTraceRecorder.recordTyped(document, offset, typedCharacter);
+        AbbreviationBuffer abbreviation = JavaAbbreviation.forDocument(document);
+        if (AbbreviationKeystrokes.type(abbreviation, offset, typedCharacter)) {
+            KeystrokeTraceRecorder.startExpansion(document);
+            codeFragments = handler.expand(abbreviation.snapshot());
         } else {
-            if (abbreviation.isEmpty()) {
-                return;
-            }
-            removeAbbreviationFromDocument(abbreviation.getStartOffset(), abbreviation.getEndOffset(), document);
-            codeFragments = handler.process(abbreviation);
+            codeFragments = Collections.emptyList();
         }
     }
 
     @Override
     public void insert(MutableContext context) throws BadLocationException {
         char typedCharacter = context.getText().charAt(0);
-        if (isWhitespace(typedCharacter)) {
+        if (AbbreviationKeystrokes.isExpansionCharacter(typedCharacter)) {
+            AbbreviationBuffer abbreviation = JavaAbbreviation.forDocument(context.getDocument());
             if (abbreviation.isEmpty()) {
                 return;
             }
-            if (codeFragments.isEmpty()) {
-                context.setText(abbreviation.getContent() + " ", abbreviation.length() + 1); //NOI18N
-            } else {
+            if (!codeFragments.isEmpty()) {
                 context.setText("", 0);
             }
             abbreviation.reset();
         }
     }
 
-    private boolean isNotWhitespace(char typedCharacter) {
-        return !resetAcceptor.accept(typedCharacter);
-    }
-
-    private boolean isWhitespace(char typedCharacter) {
-        return resetAcceptor.accept(typedCharacter);
-    }
-
-    private boolean isCharacterAccepted(char typedCharacter) {
-        if (abbreviation.isEmpty()) {
-            return !ConstantDataManager.FORBIDDEN_FIRST_CHARS.contains(typedCharacter);
-        }
-        return true;
-    }
-
-    public String getBufferContent() {
-        return abbreviation.getContent();
-    }
-
-    private void removeAbbreviationFromDocument(int startOffset, int endOffset, Document document) {
-        if (startOffset < document.getStartPosition().getOffset() || startOffset > document.getEndPosition().getOffset()) {
-            return;
-        }
-        if (endOffset < document.getStartPosition().getOffset() || endOffset > document.getEndPosition().getOffset()) {
-            return;
-        }
-        try {
-            document.remove(startOffset, endOffset - startOffset);
-        } catch (BadLocationException ex) {
-            Exceptions.printStackTrace(ex);
-        }
+    public String getBufferContent(Document document) {
+        return JavaAbbreviation.forDocument(document).getContent();
     }
 
     @Override
@@ -143,10 +97,12 @@ public class JavaTypedTextInterceptor implements TypedTextInterceptor {
                 component.setCaretPosition(caretPosition);
             }
         }
+        KeystrokeTraceRecorder.finishExpansion(context.getDocument());
     }
 
     @Override
     public void cancelled(Context context) {
+        KeystrokeTraceRecorder.finishExpansion(context.getDocument());
     }
 
     @MimeRegistration(mimeType = "text/x-java", service = TypedTextInterceptor.Factory.class)
@@ -15,6 +15,7 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.preferences;
 
+import java.util.prefs.PreferenceChangeListener;
 import org.openide.util.NbPreferences;
 
 /**
@@ -45,6 +46,20 @@ public class Preferences {
     private static final String PRIMITIVE_TYPE = "primitiveType"; //NOI18N
     private static final String STATIC_METHOD_INVOCATION_GLOBAL_TYPES = "staticMethodInvocationGlobalTypes"; //NOI18N
     private static final String STATIC_FIELD_ACCESS_GLOBAL_TYPES = "staticFieldAccessGlobalTypes"; //NOI18N
+    private static final String FREQUENCY_RANKING = "frequencyRanking"; //NOI18N
+    private static final String AUTO_INSERTION = "autoInsertion"; //NOI18N
+    private static final String AUTO_INSERTION_CONFIDENCE = "autoInsertionConfidence"; //NOI18N
+    private static final String EXPECTED_TYPE_PRUNING = "expectedTypePruning"; //NOI18N
+    private static final String EARLY_TERMINATION = "earlyTermination"; //NOI18N
+    private static final String LATENCY_BUDGET = "latencyBudget"; //NOI18N
+    private static final String STREAMING_POPUP = "streamingPopup"; //NOI18N
+    private static final String DIRECT_TEXT_INSERTION = "directTextInsertion"; //NOI18N
+    private static final String PREFIX_MATCHING = "prefixMatching"; //NOI18N
+    private static final String FUZZY_MATCHING_DISTANCE = "fuzzyMatchingDistance"; //NOI18N
+    private static final String UNSCOPED_STATIC_MEMBER = "unscopedStaticMember"; //NOI18N
+    private static final String INSTANCE_CREATION = "instanceCreation"; //NOI18N
+    private static final String KEYSTROKE_TRACE_FILE = "keystrokeTraceFile"; //NOI18N
+    private static final String WARM_UP = "warmUp"; //NOI18N
 
     private Preferences() {
     }
@@ -224,4 +239,124 @@ public class Preferences {
     public static void setLiteralFlag(boolean literal) {
         NbPreferences.forModule(Preferences.class).putBoolean(LITERAL, literal);
     }
+
+    public static boolean getFrequencyRankingFlag() {
+        return NbPreferences.forModule(Preferences.class).getBoolean(FREQUENCY_RANKING, false);
+    }
+
+    public static void setFrequencyRankingFlag(boolean frequencyRanking) {
+        NbPreferences.forModule(Preferences.class).putBoolean(FREQUENCY_RANKING, frequencyRanking);
+    }
+
+    public static boolean getAutoInsertionFlag() {
+        return NbPreferences.forModule(Preferences.class).getBoolean(AUTO_INSERTION, false);
+    }
+
+    public static void setAutoInsertionFlag(boolean autoInsertion) {
+        NbPreferences.forModule(Preferences.class).putBoolean(AUTO_INSERTION, autoInsertion);
+    }
+
+    public static int getAutoInsertionConfidence() {
+        return NbPreferences.forModule(Preferences.class).getInt(AUTO_INSERTION_CONFIDENCE, 80);
+    }
+
+    public static void setAutoInsertionConfidence(int confidence) {
+        NbPreferences.forModule(Preferences.class).putInt(AUTO_INSERTION_CONFIDENCE, confidence);
+    }
+
+    public static boolean getExpectedTypePruningFlag() {
+        return NbPreferences.forModule(Preferences.class).getBoolean(EXPECTED_TYPE_PRUNING, false);
+    }
+
+    public static void setExpectedTypePruningFlag(boolean expectedTypePruning) {
+        NbPreferences.forModule(Preferences.class).putBoolean(EXPECTED_TYPE_PRUNING, expectedTypePruning);
+    }
+
+    public static boolean getEarlyTerminationFlag() {
+        return NbPreferences.forModule(Preferences.class).getBoolean(EARLY_TERMINATION, false);
+    }
+
+    public static void setEarlyTerminationFlag(boolean earlyTermination) {
+        NbPreferences.forModule(Preferences.class).putBoolean(EARLY_TERMINATION, earlyTermination);
+    }
+
+    public static int getLatencyBudget() {
+        return NbPreferences.forModule(Preferences.class).getInt(LATENCY_BUDGET, 0);
+    }
+
+    public static void setLatencyBudget(int latencyBudget) {
+        NbPreferences.forModule(Preferences.class).putInt(LATENCY_BUDGET, latencyBudget);
+    }
+
+    public static boolean getStreamingPopupFlag() {
+        return NbPreferences.forModule(Preferences.class).getBoolean(STREAMING_POPUP, false);
+    }
+
+    public static void setStreamingPopupFlag(boolean streamingPopup) {
+        NbPreferences.forModule(Preferences.class).putBoolean(STREAMING_POPUP, streamingPopup);
+    }
+
+    public static boolean getDirectTextInsertionFlag() {
+        return NbPreferences.forModule(Preferences.class).getBoolean(DIRECT_TEXT_INSERTION, false);
+    }
+
+    public static void setDirectTextInsertionFlag(boolean directTextInsertion) {
+        NbPreferences.forModule(Preferences.class).putBoolean(DIRECT_TEXT_INSERTION, directTextInsertion);
+    }
+
+    public static boolean getPrefixMatchingFlag() {
+        return NbPreferences.forModule(Preferences.class).getBoolean(PREFIX_MATCHING, false);
+    }
+
+    public static void setPrefixMatchingFlag(boolean prefixMatching) {
+        NbPreferences.forModule(Preferences.class).putBoolean(PREFIX_MATCHING, prefixMatching);
+    }
+
+    public static int getFuzzyMatchingDistance() {
+        return NbPreferences.forModule(Preferences.class).getInt(FUZZY_MATCHING_DISTANCE, 0);
+    }
+
+    public static void setFuzzyMatchingDistance(int fuzzyMatchingDistance) {
+        NbPreferences.forModule(Preferences.class).putInt(FUZZY_MATCHING_DISTANCE, fuzzyMatchingDistance);
+    }
+
+    public static boolean getUnscopedStaticMemberFlag() {
+        return NbPreferences.forModule(Preferences.class).getBoolean(UNSCOPED_STATIC_MEMBER, false);
+    }
+
+    public static void setUnscopedStaticMemberFlag(boolean unscopedStaticMember) {
+        NbPreferences.forModule(Preferences.class).putBoolean(UNSCOPED_STATIC_MEMBER, unscopedStaticMember);
+    }
+
+    public static boolean getInstanceCreationFlag() {
+        return NbPreferences.forModule(Preferences.class).getBoolean(INSTANCE_CREATION, false);
+    }
+
+    public static void setInstanceCreationFlag(boolean instanceCreation) {
+        NbPreferences.forModule(Preferences.class).putBoolean(INSTANCE_CREATION, instanceCreation);
+    }
+
+    public static String getKeystrokeTraceFile() {
+        return NbPreferences.forModule(Preferences.class).get(KEYSTROKE_TRACE_FILE, ""); //NOI18N
+    }
+
+    public static void setKeystrokeTraceFile(String keystrokeTraceFile) {
+        NbPreferences.forModule(Preferences.class).put(KEYSTROKE_TRACE_FILE, keystrokeTraceFile);
+    }
+
+    public static boolean getWarmUpFlag() {
+        return NbPreferences.forModule(Preferences.class).getBoolean(WARM_UP, false);
+    }
+
+    public static void setWarmUpFlag(boolean warmUp) {
+        NbPreferences.forModule(Preferences.class).putBoolean(WARM_UP, warmUp);
+    }
+
+    public static void addWarmUpFlagListener(PreferenceChangeListener listener) {
+        NbPreferences.forModule(Preferences.class).addPreferenceChangeListener(event -> {
+            if (WARM_UP.equals(event.getKey())) {
+                listener.preferenceChange(event);
+            }
+        });
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.ranking.impl;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.ranking.api.UsageStatistics;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.prefs.Preferences;
+import org.openide.util.NbPreferences;
+import org.openide.util.lookup.ServiceProvider;
+
+/**
+ *
+ * @author Arthur Sadykov
+ */
+@ServiceProvider(service = UsageStatistics.class)
+public class JavaUsageStatistics implements UsageStatistics {
+
+    private static final String NODE_NAME = "usageStatistics"; //NOI18N
+    private static final String TICK = "tick"; //NOI18N
+    private static final char KEY_SEPARATOR = ':';
+    private static final char ENTRY_SEPARATOR = '\n';
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final double HALF_LIFE = 64.0;
+    private static final double PRIOR = 1.0;
+    private static final int MAX_ENTRIES = 8;
+    private final Map<String, List<Entry>> cache = new HashMap<>();
+    private long tick = -1;
+
+    @Override
+    public synchronized void rank(CodeCompletionRequest request) {
+        List<CodeFragment> codeFragments = request.getCodeFragments();
+        List<Entry> entries = getEntries(createKey(request));
+        long now = getTick();
+        Map<String, Double> scores = new HashMap<>();
+        entries.forEach(entry -> scores.put(entry.codeFragment, entry.getScore(now)));
+        codeFragments.sort(Comparator.<CodeFragment>comparingDouble(
+                codeFragment -> scores.getOrDefault(codeFragment.toString(), 0.0))
+                .reversed()
+                .thenComparing(CodeFragment::toString));
+    }
+
+    @Override
+    public synchronized CodeFragment getConfidentCandidate(CodeCompletionRequest request, double threshold) {
+        List<CodeFragment> codeFragments = request.getCodeFragments();
+        if (codeFragments.isEmpty()) {
+            return null;
+        }
+        List<Entry> entries = getEntries(createKey(request));
+        if (entries.isEmpty()) {
+            return null;
+        }
+        long now = getTick();
+        CodeFragment candidate = null;
+        double candidateScore = 0.0;
+        double totalScore = 0.0;
+        for (CodeFragment codeFragment : codeFragments) {
+            double score = PRIOR;
+            for (Entry entry : entries) {
+                if (entry.codeFragment.equals(codeFragment.toString())) {
+                    score += entry.getScore(now);
+                    break;
+                }
+            }
+            totalScore += score;
+            if (score > candidateScore) {
+                candidateScore = score;
+                candidate = codeFragment;
+            }
+        }
+        return candidateScore - PRIOR > 0.0 && candidateScore / totalScore >= threshold ? candidate : null;
+    }
+
+    @Override
+    public synchronized void recordSelection(CodeFragment codeFragment, CodeCompletionRequest request) {
+        String fragment = codeFragment.toString();
+        if (fragment.indexOf(ENTRY_SEPARATOR) >= 0 || fragment.indexOf(FIELD_SEPARATOR) >= 0) {
+            return;
+        }
+        String key = createKey(request);
+        List<Entry> entries = getEntries(key);
+        long now = getTick() + 1;
+        Entry selected = null;
+        for (Entry entry : entries) {
+            if (entry.codeFragment.equals(fragment)) {
+                selected = entry;
+                break;
+            }
+        }
+        if (selected == null) {
+            selected = new Entry(fragment, 0.0, now);
+            entries.add(selected);
+        }
+        selected.count = selected.getScore(now) + 1.0;
+        selected.tick = now;
+        entries.sort(Comparator.<Entry>comparingDouble(entry -> entry.getScore(now)).reversed());
+        while (entries.size() > MAX_ENTRIES) {
+            entries.remove(entries.size() - 1);
+        }
+        tick = now;
+        Preferences preferences = getPreferences();
+        preferences.putLong(TICK, now);
+        if (key.length() <= Preferences.MAX_KEY_LENGTH) {
+            String value = serialize(entries);
+            if (value.length() <= Preferences.MAX_VALUE_LENGTH) {
+                preferences.put(key, value);
+            }
+        }
+    }
+
+    private String createKey(CodeCompletionRequest request) {
+        return request.getCurrentKind().name() + KEY_SEPARATOR + request.getAbbreviation().getContent();
+    }
+
+    private List<Entry> getEntries(String key) {
+        List<Entry> entries = cache.get(key);
+        if (entries == null) {
+            entries = deserialize(getPreferences().get(key, "")); //NOI18N
+            cache.put(key, entries);
+        }
+        return entries;
+    }
+
+    private long getTick() {
+        if (tick < 0) {
+            tick = getPreferences().getLong(TICK, 0L);
+        }
+        return tick;
+    }
+
+    private Preferences getPreferences() {
+        return NbPreferences.forModule(JavaUsageStatistics.class).node(NODE_NAME);
+    }
+
+    private String serialize(List<Entry> entries) {
+        StringBuilder value = new StringBuilder();
+        entries.forEach(entry -> {
+            if (value.length() > 0) {
+                value.append(ENTRY_SEPARATOR);
+            }
+            value.append(entry.codeFragment)
+                    .append(FIELD_SEPARATOR)
+                    .append(entry.count)
+                    .append(FIELD_SEPARATOR)
+                    .append(entry.tick);
+        });
+        return value.toString();
+    }
+
+    private List<Entry> deserialize(String value) {
+        List<Entry> entries = new ArrayList<>();
+        if (value.isEmpty()) {
+            return entries;
+        }
+        for (String line : value.split(String.valueOf(ENTRY_SEPARATOR))) {
+            String[] fields = line.split(String.valueOf(FIELD_SEPARATOR));
+            if (fields.length != 3) {
+                continue;
+            }
+            try {
+                entries.add(new Entry(fields[0], Double.parseDouble(fields[1]), Long.parseLong(fields[2])));
+            } catch (NumberFormatException ex) {
+                // corrupted entry, skip it
+            }
+        }
+        return entries;
+    }
+
+    private static class Entry {
+
+        private final String codeFragment;
+        private double count;
+        private long tick;
+
+        Entry(String codeFragment, double count, long tick) {
+            this.codeFragment = codeFragment;
+            this.count = count;
+            this.tick = tick;
+        }
+
+        double getScore(long now) {
+            return count * Math.pow(0.5, (now - tick) / HALF_LIFE);
+        }
+    }
+}
@@ -18,10 +18,14 @@ package com.github.isarthur.netbeans.editor.typingaid.request.api;
 import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
 import com.github.isarthur.netbeans.editor.typingaid.context.api.CodeCompletionContext;
+import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.TextInsertion;
 import com.sun.source.tree.Tree;
 import com.sun.source.util.TreePath;
 import java.util.List;
+import javax.lang.model.type.TypeMirror;
+import javax.swing.text.Document;
 import javax.swing.text.JTextComponent;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.WorkingCopy;
 
 /**
@@ -34,6 +38,8 @@ public interface CodeCompletionRequest {
 
     List<CodeFragment> getCodeFragments();
 
+    CompilationController getCompilationController();
+
     WorkingCopy getWorkingCopy();
 
     TreePath getCurrentPath();
@@ -46,5 +52,27 @@ public interface CodeCompletionRequest {
 
     JTextComponent getComponent();
 
+    Document getDocument();
+
+    TypeMirror getExpectedType();
+
+    TokenNeighborhood getTokenNeighborhood();
+
+    TextInsertion getTextInsertion();
+
+    void setTextInsertion(TextInsertion textInsertion);
+
+    boolean isLatencyBudgetExhausted();
+
+    void addSkippedCollector(String collectorName);
+
+    List<String> getSkippedCollectors();
+
+    void markPartialCollection();
+
+    void collectorFinished(String collectorName);
+
+    List<String> getPartialCollectors();
+
     void update(WorkingCopy workingCopy);
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.request.api;
+
+import org.netbeans.api.java.lexer.JavaTokenId;
+import org.netbeans.api.lexer.TokenHierarchy;
+import org.netbeans.api.lexer.TokenId;
+import org.netbeans.api.lexer.TokenSequence;
+
+/**
+ * Immutable view of the significant tokens surrounding an offset, captured once per request.
+ *
+ * @author Arthur Sadykov
+ */
+public final class TokenNeighborhood {
+
+    public static final int SIZE = 4;
+    private final int anchor;
+    private final TokenId[] previousIds = new TokenId[SIZE];
+    private final int[] previousOffsets = new int[SIZE];
+    private final TokenId[] nextIds = new TokenId[SIZE];
+    private final int[] nextOffsets = new int[SIZE];
+    private int previousCount;
+    private int nextCount;
+
+    private TokenNeighborhood(int anchor) {
+        this.anchor = anchor;
+    }
+
+    public static TokenNeighborhood capture(TokenHierarchy<?> tokenHierarchy, int offset) {
+        TokenNeighborhood neighborhood = new TokenNeighborhood(offset);
+        TokenSequence<?> tokenSequence = tokenHierarchy.tokenSequence();
+        if (tokenSequence == null) {
+            return neighborhood;
+        }
+        tokenSequence.move(offset);
+        while (neighborhood.previousCount < SIZE && tokenSequence.movePrevious()) {
+            TokenId id = tokenSequence.token().id();
+            if (id != JavaTokenId.WHITESPACE) {
+                neighborhood.previousIds[neighborhood.previousCount] = id;
+                neighborhood.previousOffsets[neighborhood.previousCount] = tokenSequence.offset();
+                neighborhood.previousCount++;
+            }
+        }
+        tokenSequence.move(offset);
+        while (neighborhood.nextCount < SIZE && tokenSequence.moveNext()) {
+            TokenId id = tokenSequence.token().id();
+            if (id != JavaTokenId.WHITESPACE) {
+                neighborhood.nextIds[neighborhood.nextCount] = id;
+                neighborhood.nextOffsets[neighborhood.nextCount] = tokenSequence.offset();
+                neighborhood.nextCount++;
+            }
+        }
+        return neighborhood;
+    }
+
+    public int getAnchor() {
+        return anchor;
+    }
+
+    public int getPreviousCount() {
+        return previousCount;
+    }
+
+    public int getNextCount() {
+        return nextCount;
+    }
+
+    /**
+     * Returns the id of the {@code index}-th significant token before the anchor, or {@code null}.
+     */
+    public TokenId getPreviousId(int index) {
+        return index < previousCount ? previousIds[index] : null;
+    }
+
+    /**
+     * Returns the offset of the {@code index}-th significant token before the anchor, or {@code -1}.
+     */
+    public int getPreviousOffset(int index) {
+        return index < previousCount ? previousOffsets[index] : -1;
+    }
+
+    /**
+     * Returns the id of the {@code index}-th significant token starting at the anchor, or {@code null}.
+     */
+    public TokenId getNextId(int index) {
+        return index < nextCount ? nextIds[index] : null;
+    }
+
+    /**
+     * Returns the offset of the {@code index}-th significant token starting at the anchor, or {@code -1}.
+     */
+    public int getNextOffset(int index) {
+        return index < nextCount ? nextOffsets[index] : -1;
+    }
+
+    /**
+     * Returns the offset of the {@code index}-th significant token starting at the anchor, falling back to the
+     * farthest captured one, or to the anchor itself when nothing follows it.
+     */
+    public int getNextOffsetOrLast(int index) {
+        if (nextCount == 0) {
+            return anchor;
+        }
+        return nextOffsets[Math.min(index, nextCount - 1)];
+    }
+}
@@ -16,15 +16,25 @@
 package com.github.isarthur.netbeans.editor.typingaid.request.impl;
 
 import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
-import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.JavaAbbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.constants.ConstantDataManager;
 import com.github.isarthur.netbeans.editor.typingaid.context.api.CodeCompletionContext;
 import com.github.isarthur.netbeans.editor.typingaid.context.impl.CodeCompletionContextFactory;
+import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.TextInsertion;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.TokenNeighborhood;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
 import com.sun.source.tree.Tree;
 import com.sun.source.util.TreePath;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.lang.model.type.TypeMirror;
+import javax.swing.text.Document;
 import javax.swing.text.JTextComponent;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.TreeUtilities;
 import org.netbeans.api.java.source.WorkingCopy;
 
@@ -36,25 +46,76 @@ public class CodeCompletionRequestImpl implements CodeCompletionRequest {
 
     private final Abbreviation abbreviation;
     private final List<CodeFragment> codeFragments;
+    private CompilationController compilationController;
     private WorkingCopy workingCopy;
     private CodeCompletionContext context;
     private TreePath currentPath;
     private Tree currentTree;
     private Tree.Kind currentKind;
     private final JTextComponent component;
+    private final Document document;
+    private TypeMirror expectedType;
+    private boolean expectedTypeResolved;
+    private TokenNeighborhood tokenNeighborhood;
+    private TextInsertion textInsertion;
+    private final long deadline;
+    private final List<String> skippedCollectors = new ArrayList<>();
+    private final List<String> partialCollectors = new ArrayList<>();
+    private boolean partialCollection;
 
     public CodeCompletionRequestImpl(Abbreviation abbreviation, List<CodeFragment> codeFragments,
             WorkingCopy workingCopy,
             JTextComponent component) {
-        this.abbreviation = new JavaAbbreviation(abbreviation.getContent(), abbreviation.getStartOffset());
+        this(abbreviation, codeFragments, workingCopy, component, component.getDocument());
+    }
+
+    public CodeCompletionRequestImpl(Abbreviation abbreviation, List<CodeFragment> codeFragments,
+            WorkingCopy workingCopy,
+            Document document) {
+        this(abbreviation, codeFragments, workingCopy, null, document);
+    }
+
+    /**
+     * Creates a request that only collects code fragments. Such a request has no working copy, so code fragments
+     * cannot be inserted through it.
+     */
+    public CodeCompletionRequestImpl(Abbreviation abbreviation, List<CodeFragment> codeFragments,
+            CompilationController compilationController,
+            JTextComponent component) {
+        this(abbreviation, codeFragments, compilationController, null, component, component.getDocument());
+    }
+
+    public CodeCompletionRequestImpl(Abbreviation abbreviation, List<CodeFragment> codeFragments,
+            CompilationController compilationController,
+            Document document) {
+        this(abbreviation, codeFragments, compilationController, null, null, document);
+    }
+
+    private CodeCompletionRequestImpl(Abbreviation abbreviation, List<CodeFragment> codeFragments,
+            WorkingCopy workingCopy,
+            JTextComponent component,
+            Document document) {
+        this(abbreviation, codeFragments, workingCopy, workingCopy, component, document);
+    }
+
+    private CodeCompletionRequestImpl(Abbreviation abbreviation, List<CodeFragment> codeFragments,
+            CompilationController compilationController,
+            WorkingCopy workingCopy,
+            JTextComponent component,
+            Document document) {
+        this.abbreviation = abbreviation.snapshot();
         this.codeFragments = codeFragments;
+        this.compilationController = compilationController;
         this.workingCopy = workingCopy;
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        TreeUtilities treeUtilities = compilationController.getTreeUtilities();
         currentPath = treeUtilities.pathFor(abbreviation.getStartOffset());
         currentTree = currentPath.getLeaf();
         currentKind = currentTree.getKind();
         context = CodeCompletionContextFactory.getCodeCompletionContext(currentKind);
         this.component = component;
+        this.document = document;
+        int latencyBudget = Preferences.getLatencyBudget();
+        deadline = latencyBudget > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(latencyBudget) : 0L;
     }
 
     @Override
@@ -67,8 +128,16 @@ public class CodeCompletionRequestImpl implements CodeCompletionRequest {
         return codeFragments;
     }
 
+    @Override
+    public CompilationController getCompilationController() {
+        return compilationController;
+    }
+
     @Override
     public WorkingCopy getWorkingCopy() {
+        if (workingCopy == null) {
+            throw new IllegalStateException(ConstantDataManager.REQUEST_HAS_NO_WORKING_COPY);
+        }
         return workingCopy;
     }
 
@@ -97,9 +166,80 @@ public class CodeCompletionRequestImpl implements CodeCompletionRequest {
         return component;
     }
 
+    @Override
+    public Document getDocument() {
+        return document;
+    }
+
+    @Override
+    public TypeMirror getExpectedType() {
+        if (!expectedTypeResolved) {
+            expectedType = JavaSourceUtilities.getExpectedType(this);
+            expectedTypeResolved = true;
+        }
+        return expectedType;
+    }
+
+    @Override
+    public TokenNeighborhood getTokenNeighborhood() {
+        if (tokenNeighborhood == null) {
+            tokenNeighborhood = TokenNeighborhood.capture(
+                    compilationController.getTokenHierarchy(), abbreviation.getStartOffset());
+        }
+        return tokenNeighborhood;
+    }
+
+    @Override
+    public TextInsertion getTextInsertion() {
+        return textInsertion;
+    }
+
+    @Override
+    public void setTextInsertion(TextInsertion textInsertion) {
+        this.textInsertion = textInsertion;
+    }
+
+    @Override
+    public boolean isLatencyBudgetExhausted() {
+        return deadline != 0L && System.nanoTime() - deadline >= 0L;
+    }
+
+    @Override
+    public void addSkippedCollector(String collectorName) {
+        skippedCollectors.add(collectorName);
+    }
+
+    @Override
+    public List<String> getSkippedCollectors() {
+        return Collections.unmodifiableList(skippedCollectors);
+    }
+
+    @Override
+    public void markPartialCollection() {
+        partialCollection = true;
+    }
+
+    @Override
+    public void collectorFinished(String collectorName) {
+        if (partialCollection) {
+            partialCollectors.add(collectorName);
+            partialCollection = false;
+        }
+    }
+
+    @Override
+    public List<String> getPartialCollectors() {
+        return Collections.unmodifiableList(partialCollectors);
+    }
+
     @Override
     public void update(WorkingCopy workingCopy) {
+        this.compilationController = workingCopy;
         this.workingCopy = workingCopy;
+        expectedType = null;
+        expectedTypeResolved = false;
+        tokenNeighborhood = null;
+        textInsertion = null;
         TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
         currentPath = treeUtilities.pathFor(abbreviation.getStartOffset());
         currentTree = currentPath.getLeaf();
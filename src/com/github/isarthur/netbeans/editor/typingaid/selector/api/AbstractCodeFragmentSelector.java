@@ -27,16 +27,25 @@ public abstract class AbstractCodeFragmentSelector implements CodeFragmentSelect
 
     @Override
     public void select(ModificationResult modificationResult, JTextComponent component) {
-        int[] span = modificationResult.getSpan(getTag());
+        selectTaggedTree(getTag(), modificationResult, component);
+    }
+
+    protected boolean selectTaggedTree(String tag, ModificationResult modificationResult, JTextComponent component) {
+        int[] span = modificationResult.getSpan(tag);
         if (span == null) {
-            return;
+            return false;
         }
+        selectRange(span[0], span[1], component);
+        return true;
+    }
+
+    protected void selectRange(int start, int end, JTextComponent component) {
         SwingUtilities.invokeLater(() -> {
-            try {
-                component.setCaretPosition(span[0]);
-                component.moveCaretPosition(span[1]);
-            } catch (IllegalArgumentException e) {
+            if (end > component.getDocument().getLength()) {
+                return;
             }
+            component.setCaretPosition(start);
+            component.moveCaretPosition(end);
         });
     }
 }
@@ -52,6 +52,7 @@ public class CodeFragmentSelectorFactory {
             case DOUBLE_PRIMITIVE_TYPE:
             case FLOAT_PRIMITIVE_TYPE:
             case INNER_TYPE:
+            case INSTANCE_CREATION:
             case INSTANCEOF_KEYWORD:
             case INT_PRIMITIVE_TYPE:
             case INTERFACE_KEYWORD:
@@ -17,11 +17,9 @@ package com.github.isarthur.netbeans.editor.typingaid.selector.impl;
 
 import com.github.isarthur.netbeans.editor.typingaid.constants.ConstantDataManager;
 import com.github.isarthur.netbeans.editor.typingaid.selector.api.AbstractCodeFragmentSelector;
-import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceInitializeHandler;
-import java.io.IOException;
 import java.util.EnumSet;
 import java.util.Set;
-import javax.swing.SwingUtilities;
+import javax.swing.text.Document;
 import javax.swing.text.JTextComponent;
 import org.netbeans.api.java.lexer.JavaTokenId;
 import static org.netbeans.api.java.lexer.JavaTokenId.CHAR_LITERAL;
@@ -36,12 +34,11 @@ import static org.netbeans.api.java.lexer.JavaTokenId.NULL;
 import static org.netbeans.api.java.lexer.JavaTokenId.STRING_LITERAL;
 import static org.netbeans.api.java.lexer.JavaTokenId.THIS;
 import static org.netbeans.api.java.lexer.JavaTokenId.TRUE;
-import org.netbeans.api.java.source.JavaSource;
 import org.netbeans.api.java.source.ModificationResult;
 import org.netbeans.api.lexer.Token;
+import org.netbeans.api.lexer.TokenHierarchy;
 import org.netbeans.api.lexer.TokenId;
 import org.netbeans.api.lexer.TokenSequence;
-import org.openide.util.Exceptions;
 
 /**
  *
@@ -56,34 +53,26 @@ public class IdentifierOrLiteralInChainedMethodCodeFragmentSelector extends Abst
 
     @Override
     public void select(ModificationResult modificationResult, JTextComponent component) {
-        JavaSource javaSource = JavaSourceInitializeHandler.getJavaSourceForDocument(component.getDocument());
-        try {
-            javaSource.runUserActionTask(controller -> {
-                JavaSourceInitializeHandler.moveStateToParsedPhase(controller);
-                TokenSequence<?> tokenSequence = controller.getTokenHierarchy().tokenSequence();
-                int[] span = modificationResult.getSpan(getTag());
-                if (span == null) {
-                    return;
-                }
-                Set<? extends TokenId> targetTokeIds = EnumSet.of(CHAR_LITERAL, DOUBLE_LITERAL, FALSE, FLOAT_LITERAL,
-                        IDENTIFIER, INT_LITERAL, LONG_LITERAL, MULTILINE_STRING_LITERAL, NULL, STRING_LITERAL, THIS, TRUE);
-                tokenSequence.move(span[1]);
-                while (tokenSequence.movePrevious() && tokenSequence.token().id() != JavaTokenId.LPAREN) {
-                }
-                tokenSequence.moveNext();
-                Token<?> token = tokenSequence.token();
-                if (token != null && targetTokeIds.contains(token.id())) {
-                    SwingUtilities.invokeLater(() -> {
-                        try {
-                            component.setCaretPosition(tokenSequence.offset());
-                            component.moveCaretPosition(tokenSequence.offset() + tokenSequence.token().length());
-                        } catch (IllegalArgumentException e) {
-                        }
-                    });
-                }
-            }, true);
-        } catch (IOException ex) {
-            Exceptions.printStackTrace(ex);
-        }
+        Document document = component.getDocument();
+        document.render(() -> {
+            TokenSequence<?> tokenSequence = TokenHierarchy.get(document).tokenSequence();
+            if (tokenSequence == null) {
+                return;
+            }
+            int[] span = modificationResult.getSpan(getTag());
+            if (span == null) {
+                return;
+            }
+            Set<? extends TokenId> targetTokeIds = EnumSet.of(CHAR_LITERAL, DOUBLE_LITERAL, FALSE, FLOAT_LITERAL,
+                    IDENTIFIER, INT_LITERAL, LONG_LITERAL, MULTILINE_STRING_LITERAL, NULL, STRING_LITERAL, THIS, TRUE);
+            tokenSequence.move(span[1]);
+            while (tokenSequence.movePrevious() && tokenSequence.token().id() != JavaTokenId.LPAREN) {
+            }
+            tokenSequence.moveNext();
+            Token<?> token = tokenSequence.token();
+            if (token != null && targetTokeIds.contains(token.id())) {
+                selectRange(tokenSequence.offset(), tokenSequence.offset() + token.length(), component);
+            }
+        });
     }
 }
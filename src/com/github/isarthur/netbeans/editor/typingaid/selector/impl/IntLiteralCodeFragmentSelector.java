@@ -17,16 +17,13 @@ package com.github.isarthur.netbeans.editor.typingaid.selector.impl;
 
 import com.github.isarthur.netbeans.editor.typingaid.constants.ConstantDataManager;
 import com.github.isarthur.netbeans.editor.typingaid.selector.api.AbstractCodeFragmentSelector;
-import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceInitializeHandler;
-import java.io.IOException;
-import javax.swing.SwingUtilities;
+import javax.swing.text.Document;
 import javax.swing.text.JTextComponent;
 import org.netbeans.api.java.lexer.JavaTokenId;
-import org.netbeans.api.java.source.JavaSource;
 import org.netbeans.api.java.source.ModificationResult;
 import org.netbeans.api.lexer.Token;
+import org.netbeans.api.lexer.TokenHierarchy;
 import org.netbeans.api.lexer.TokenSequence;
-import org.openide.util.Exceptions;
 
 /**
  *
@@ -42,29 +39,24 @@ public class IntLiteralCodeFragmentSelector extends AbstractCodeFragmentSelector
     @Override
     public void select(ModificationResult modificationResult, JTextComponent component) {
         int[] span = modificationResult.getSpan(getTag());
-        JavaSource javaSource = JavaSourceInitializeHandler.getJavaSourceForDocument(component.getDocument());
-        try {
-            javaSource.runUserActionTask(controller -> {
-                JavaSourceInitializeHandler.moveStateToParsedPhase(controller);
-                TokenSequence<?> tokenSequence = controller.getTokenHierarchy().tokenSequence();
-                tokenSequence.move(span[0]);
-                while (tokenSequence.moveNext() && tokenSequence.token().id() != JavaTokenId.INT_LITERAL) {
-                }
-                while (tokenSequence.moveNext() && tokenSequence.token().id() != JavaTokenId.INT_LITERAL) {
-                }
-                Token<?> token = tokenSequence.token();
-                if (token != null && token.id() == JavaTokenId.INT_LITERAL) {
-                    SwingUtilities.invokeLater(() -> {
-                        try {
-                            component.setCaretPosition(tokenSequence.offset());
-                            component.moveCaretPosition(tokenSequence.offset() + tokenSequence.token().length());
-                        } catch (IllegalArgumentException e) {
-                        }
-                    });
-                }
-            }, true);
-        } catch (IOException ex) {
-            Exceptions.printStackTrace(ex);
+        if (span == null) {
+            return;
         }
+        Document document = component.getDocument();
+        document.render(() -> {
+            TokenSequence<?> tokenSequence = TokenHierarchy.get(document).tokenSequence();
+            if (tokenSequence == null) {
+                return;
+            }
+            tokenSequence.move(span[0]);
+            while (tokenSequence.moveNext() && tokenSequence.token().id() != JavaTokenId.INT_LITERAL) {
+            }
+            while (tokenSequence.moveNext() && tokenSequence.token().id() != JavaTokenId.INT_LITERAL) {
+            }
+            Token<?> token = tokenSequence.token();
+            if (token != null && token.id() == JavaTokenId.INT_LITERAL) {
+                selectRange(tokenSequence.offset(), tokenSequence.offset() + token.length(), component);
+            }
+        });
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.trace;
+
+/**
+ * Layout of a keystroke trace. Fixed width values are big-endian, offsets are written as zigzag encoded varints
+ * relative to the offset of the previous event.
+ *
+ * <pre>
+ * int magic, int version
+ * (byte tag, event)*
+ * OPEN:          unsigned short length, UTF-8 bytes of the file name, int length, UTF-8 bytes of the document text
+ * TYPED:         varint offset delta, unsigned short character
+ * REMOVED:       varint offset delta, varint length
+ * TEXT_INSERTED: varint offset delta, int length, UTF-8 bytes of the inserted text
+ * TEXT_REMOVED:  varint offset delta, varint length
+ * CHECKSUM:      int length, int hash code of the document text
+ * </pre>
+ *
+ * An OPEN event is written whenever the events start to come from another document and resets the offset of the
+ * previous event to zero. Its file name is the resource name of the file on its source path if there is one.
+ * <p>
+ * TYPED and REMOVED are the keystrokes seen by the interceptors and do not change the text themselves. Every change of
+ * the document is written as TEXT_INSERTED or TEXT_REMOVED, except the changes made while an abbreviation expands:
+ * those are left to the replay, and the CHECKSUM written after the expansion lets it verify the result.
+ *
+ * @author Arthur Sadykov
+ */
+public final class KeystrokeTraceFormat {
+
+    public static final int MAGIC = 0x4E424B54;
+    public static final int VERSION = 2;
+    public static final int OPEN = 0;
+    public static final int TYPED = 1;
+    public static final int REMOVED = 2;
+    public static final int TEXT_INSERTED = 3;
+    public static final int TEXT_REMOVED = 4;
+    public static final int CHECKSUM = 5;
+
+    private KeystrokeTraceFormat() {
+    }
+}
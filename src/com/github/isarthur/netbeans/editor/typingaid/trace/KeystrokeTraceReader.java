@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.trace;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the events of a keystroke trace one at a time. The accessors describe the event the last call to
+ * {@link #next()} has read.
+ *
+ * @author Arthur Sadykov
+ */
+public class KeystrokeTraceReader implements Closeable {
+
+    private final DataInputStream input;
+    private int tag;
+    private int offset;
+    private char character;
+    private int length;
+    private String fileName;
+    private String text;
+    private int checksum;
+
+    public KeystrokeTraceReader(InputStream input) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(input));
+        if (this.input.readInt() != KeystrokeTraceFormat.MAGIC) {
+            throw new IOException("Not a keystroke trace"); //NOI18N
+        }
+        int version = this.input.readInt();
+        if (version != KeystrokeTraceFormat.VERSION) {
+            throw new IOException("Unsupported keystroke trace version: " + version); //NOI18N
+        }
+    }
+
+    public boolean next() throws IOException {
+        int nextTag = input.read();
+        if (nextTag < 0) {
+            return false;
+        }
+        tag = nextTag;
+        switch (tag) {
+            case KeystrokeTraceFormat.OPEN:
+                fileName = input.readUTF();
+                text = readText();
+                offset = 0;
+                break;
+            case KeystrokeTraceFormat.TYPED:
+                readOffset();
+                character = input.readChar();
+                break;
+            case KeystrokeTraceFormat.REMOVED:
+            case KeystrokeTraceFormat.TEXT_REMOVED:
+                readOffset();
+                length = readVarInt();
+                break;
+            case KeystrokeTraceFormat.TEXT_INSERTED:
+                readOffset();
+                text = readText();
+                break;
+            case KeystrokeTraceFormat.CHECKSUM:
+                length = input.readInt();
+                checksum = input.readInt();
+                break;
+            default:
+                throw new IOException("Unknown keystroke trace event: " + tag); //NOI18N
+        }
+        return true;
+    }
+
+    public int getTag() {
+        return tag;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public char getCharacter() {
+        return character;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private String readText() throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void readOffset() throws IOException {
+        int value = readVarInt();
+        offset += (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = input.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed keystroke trace varint"); //NOI18N
+    }
+}
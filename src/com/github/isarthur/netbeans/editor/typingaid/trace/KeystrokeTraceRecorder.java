@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.trace;
+
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.openide.filesystems.FileObject;
+import org.openide.loaders.DataObject;
+import org.openide.util.Exceptions;
+
+/**
+ * Records the keystrokes typed into and removed from Java documents, together with every change of the documents, to
+ * the keystroke trace file set in the preferences. Nothing is recorded while no trace file is set. Changes made while
+ * an abbreviation expands are not recorded; a checksum of the document is written after the expansion instead and the
+ * trace is flushed.
+ *
+ * @author Arthur Sadykov
+ */
+public final class KeystrokeTraceRecorder {
+
+    private static final String UNKNOWN_FILE_NAME = "Untitled.java"; //NOI18N
+    private static final DocumentListener DOCUMENT_LISTENER = new DocumentListener() {
+
+        @Override
+        public void insertUpdate(DocumentEvent event) {
+            recordTextInserted(event);
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent event) {
+            recordTextRemoved(event);
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent event) {
+        }
+    };
+    private static String tracePath = ""; //NOI18N
+    private static KeystrokeTraceWriter writer;
+    private static Reference<Document> currentDocument = new WeakReference<>(null);
+    private static boolean expanding;
+
+    private KeystrokeTraceRecorder() {
+    }
+
+    public static synchronized void recordTyped(Document document, int offset, char character) {
+        KeystrokeTraceWriter traceWriter = getWriter(document);
+        if (traceWriter == null) {
+            return;
+        }
+        try {
+            traceWriter.writeTyped(offset, character);
+            if (Character.isWhitespace(character)) {
+                traceWriter.flush();
+            }
+        } catch (IOException ex) {
+            stop(ex);
+        }
+    }
+
+    public static synchronized void recordRemoved(Document document, int offset, int length) {
+        KeystrokeTraceWriter traceWriter = getWriter(document);
+        if (traceWriter == null) {
+            return;
+        }
+        try {
+            traceWriter.writeRemoved(offset, length);
+        } catch (IOException ex) {
+            stop(ex);
+        }
+    }
+
+    /**
+     * Stops recording the changes of the document until {@link #finishExpansion(Document)} is called.
+     *
+     * @param document the document the abbreviation expands in
+     */
+    public static synchronized void startExpansion(Document document) {
+        expanding = getWriter(document) != null;
+    }
+
+    /**
+     * Writes the checksum of the document if an expansion has been started and resumes recording its changes.
+     *
+     * @param document the document the abbreviation has expanded in
+     */
+    public static synchronized void finishExpansion(Document document) {
+        if (!expanding) {
+            return;
+        }
+        expanding = false;
+        KeystrokeTraceWriter traceWriter = getWriter(document);
+        if (traceWriter == null) {
+            return;
+        }
+        try {
+            traceWriter.writeChecksum(document.getText(0, document.getLength()));
+            traceWriter.flush();
+        } catch (IOException | BadLocationException ex) {
+            stop(ex);
+        }
+    }
+
+    private static synchronized void recordTextInserted(DocumentEvent event) {
+        if (expanding || writer == null || currentDocument.get() != event.getDocument()) {
+            return;
+        }
+        try {
+            String text = event.getDocument().getText(event.getOffset(), event.getLength());
+            writer.writeTextInserted(event.getOffset(), text);
+        } catch (IOException | BadLocationException ex) {
+            stop(ex);
+        }
+    }
+
+    private static synchronized void recordTextRemoved(DocumentEvent event) {
+        if (expanding || writer == null || currentDocument.get() != event.getDocument()) {
+            return;
+        }
+        try {
+            writer.writeTextRemoved(event.getOffset(), event.getLength());
+        } catch (IOException ex) {
+            stop(ex);
+        }
+    }
+
+    private static KeystrokeTraceWriter getWriter(Document document) {
+        String path = Preferences.getKeystrokeTraceFile();
+        if (!path.equals(tracePath)) {
+            close();
+            tracePath = path;
+            if (!path.isEmpty()) {
+                try {
+                    writer = new KeystrokeTraceWriter(new FileOutputStream(path));
+                } catch (IOException ex) {
+                    Exceptions.printStackTrace(ex);
+                }
+            }
+        }
+        if (writer == null) {
+            return null;
+        }
+        if (currentDocument.get() != document) {
+            try {
+                writer.writeOpen(getFileName(document), document.getText(0, document.getLength()));
+                setCurrentDocument(document);
+            } catch (IOException | BadLocationException ex) {
+                stop(ex);
+                return null;
+            }
+        }
+        return writer;
+    }
+
+    private static void setCurrentDocument(Document document) {
+        Document previousDocument = currentDocument.get();
+        if (previousDocument != null) {
+            previousDocument.removeDocumentListener(DOCUMENT_LISTENER);
+        }
+        if (document != null) {
+            document.addDocumentListener(DOCUMENT_LISTENER);
+        }
+        currentDocument = new WeakReference<>(document);
+    }
+
+    private static String getFileName(Document document) {
+        Object streamDescription = document.getProperty(Document.StreamDescriptionProperty);
+        if (streamDescription instanceof DataObject) {
+            streamDescription = ((DataObject) streamDescription).getPrimaryFile();
+        }
+        if (streamDescription instanceof FileObject) {
+            FileObject file = (FileObject) streamDescription;
+            ClassPath sourcePath = ClassPath.getClassPath(file, ClassPath.SOURCE);
+            String resourceName = sourcePath != null ? sourcePath.getResourceName(file) : null;
+            return resourceName != null ? resourceName : file.getNameExt();
+        }
+        return UNKNOWN_FILE_NAME;
+    }
+
+    private static void stop(Exception ex) {
+        Exceptions.printStackTrace(ex);
+        close();
+    }
+
+    private static void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ex) {
+                Exceptions.printStackTrace(ex);
+            }
+            writer = null;
+        }
+        expanding = false;
+        setCurrentDocument(null);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ *
+ * @author Arthur Sadykov
+ */
+public class KeystrokeTraceWriter implements Closeable {
+
+    private final DataOutputStream output;
+    private int previousOffset;
+
+    public KeystrokeTraceWriter(OutputStream output) throws IOException {
+        this.output = new DataOutputStream(new BufferedOutputStream(output));
+        this.output.writeInt(KeystrokeTraceFormat.MAGIC);
+        this.output.writeInt(KeystrokeTraceFormat.VERSION);
+    }
+
+    public void writeOpen(String fileName, String text) throws IOException {
+        output.writeByte(KeystrokeTraceFormat.OPEN);
+        output.writeUTF(fileName);
+        writeText(text);
+        previousOffset = 0;
+    }
+
+    public void writeTyped(int offset, char character) throws IOException {
+        output.writeByte(KeystrokeTraceFormat.TYPED);
+        writeOffset(offset);
+        output.writeChar(character);
+    }
+
+    public void writeRemoved(int offset, int length) throws IOException {
+        output.writeByte(KeystrokeTraceFormat.REMOVED);
+        writeOffset(offset);
+        writeVarInt(length);
+    }
+
+    public void writeTextInserted(int offset, String text) throws IOException {
+        output.writeByte(KeystrokeTraceFormat.TEXT_INSERTED);
+        writeOffset(offset);
+        writeText(text);
+    }
+
+    public void writeTextRemoved(int offset, int length) throws IOException {
+        output.writeByte(KeystrokeTraceFormat.TEXT_REMOVED);
+        writeOffset(offset);
+        writeVarInt(length);
+    }
+
+    public void writeChecksum(String text) throws IOException {
+        output.writeByte(KeystrokeTraceFormat.CHECKSUM);
+        output.writeInt(text.length());
+        output.writeInt(text.hashCode());
+    }
+
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    private void writeText(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private void writeOffset(int offset) throws IOException {
+        int delta = offset - previousOffset;
+        writeVarInt((delta << 1) ^ (delta >> 31));
+        previousOffset = offset;
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.ui;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.impl.JavaAbbreviationBulkExpander;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+import org.netbeans.api.editor.EditorRegistry;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.java.classpath.GlobalPathRegistry;
+import org.netbeans.api.project.FileOwnerQuery;
+import org.netbeans.api.project.Project;
+import org.openide.awt.ActionID;
+import org.openide.awt.ActionReference;
+import org.openide.awt.ActionReferences;
+import org.openide.awt.ActionRegistration;
+import org.openide.awt.StatusDisplayer;
+import org.openide.filesystems.FileObject;
+import org.openide.loaders.DataObject;
+import org.openide.util.NbBundle;
+import org.openide.util.RequestProcessor;
+
+/**
+ *
+ * @author Arthur Sadykov
+ */
+@ActionID(
+        category = "Source",
+        id = "com.github.isarthur.netbeans.editor.typingaid.ui.ExpandAbbreviationsAction"
+)
+@ActionRegistration(
+        displayName = "#CTL_ExpandAbbreviationsAction"
+)
+@ActionReferences({
+    @ActionReference(path = "Editors/text/x-java/Popup", position = 4500),
+    @ActionReference(path = "Loaders/text/x-java/Actions", position = 1450),
+    @ActionReference(path = "Loaders/folder/any/Actions", position = 1450),
+    @ActionReference(path = "Projects/Actions", position = 1450)
+})
+@NbBundle.Messages({"CTL_ExpandAbbreviationsAction=Expand All Abbreviations",
+    "# {0} - number of expanded abbreviations",
+    "MSG_ExpandedAbbreviations=Expanded {0} abbreviation(s)"})
+public final class ExpandAbbreviationsAction implements ActionListener {
+
+    private static final RequestProcessor RP = new RequestProcessor(ExpandAbbreviationsAction.class);
+    private static final String JAVA_EXTENSION = "java"; //NOI18N
+    private final List<DataObject> context;
+
+    public ExpandAbbreviationsAction(List<DataObject> context) {
+        this.context = context;
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        JTextComponent component = EditorRegistry.lastFocusedComponent();
+        if (component != null && component.getSelectionStart() != component.getSelectionEnd()
+                && context.size() == 1 && isDocumentOf(component.getDocument(), context.get(0))) {
+            JavaAbbreviationBulkExpander expander = new JavaAbbreviationBulkExpander(component.getDocument());
+            int startOffset = component.getSelectionStart();
+            int endOffset = component.getSelectionEnd();
+            RP.post(() -> showResult(expander.expand(startOffset, endOffset)));
+            return;
+        }
+        Set<FileObject> files = new LinkedHashSet<>();
+        context.forEach(dataObject -> collectJavaFiles(dataObject.getPrimaryFile(), files));
+        RP.post(() -> showResult(JavaAbbreviationBulkExpander.expand(files)));
+    }
+
+    private boolean isDocumentOf(Document document, DataObject dataObject) {
+        return document.getProperty(Document.StreamDescriptionProperty) == dataObject;
+    }
+
+    private void collectJavaFiles(FileObject file, Set<FileObject> files) {
+        if (file.isData()) {
+            if (JAVA_EXTENSION.equals(file.getExt())) {
+                files.add(file);
+            }
+            return;
+        }
+        ClassPath sourcePath = ClassPath.getClassPath(file, ClassPath.SOURCE);
+        if (sourcePath != null) {
+            collectJavaFiles(file, sourcePath, files);
+            return;
+        }
+        Project project = FileOwnerQuery.getOwner(file);
+        if (project == null || !project.getProjectDirectory().equals(file)) {
+            return;
+        }
+        for (FileObject root : GlobalPathRegistry.getDefault().getSourceRoots()) {
+            if (FileOwnerQuery.getOwner(root) == project) {
+                sourcePath = ClassPath.getClassPath(root, ClassPath.SOURCE);
+                if (sourcePath != null) {
+                    collectJavaFiles(root, sourcePath, files);
+                }
+            }
+        }
+    }
+
+    private void collectJavaFiles(FileObject folder, ClassPath sourcePath, Set<FileObject> files) {
+        Enumeration<? extends FileObject> children = folder.getChildren(true);
+        while (children.hasMoreElements()) {
+            FileObject child = children.nextElement();
+            if (child.isData() && JAVA_EXTENSION.equals(child.getExt()) && sourcePath.contains(child)) {
+                files.add(child);
+            }
+        }
+    }
+
+    private void showResult(int expandedCount) {
+        StatusDisplayer.getDefault().setStatusText(Bundle.MSG_ExpandedAbbreviations(expandedCount));
+    }
+}
@@ -17,6 +17,9 @@ package com.github.isarthur.netbeans.editor.typingaid.ui;
 
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
 import com.github.isarthur.netbeans.editor.typingaid.context.api.CodeCompletionContext;
+import com.github.isarthur.netbeans.editor.typingaid.insertvisitor.api.TextInsertion;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.ranking.api.UsageStatistics;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
 import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceInitializeHandler;
 import java.awt.Color;
@@ -36,6 +39,7 @@ import org.netbeans.api.java.source.JavaSource;
 import org.netbeans.api.java.source.ModificationResult;
 import org.netbeans.spi.editor.codegen.CodeGenerator;
 import org.openide.util.Exceptions;
+import org.openide.util.Lookup;
 import org.openide.util.Utilities;
 
 /**
@@ -163,6 +167,18 @@ public class GenerateCodePanel extends javax.swing.JPanel {
     public javax.swing.JScrollPane scrollPane;
     // End of variables declaration//GEN-END:variables
 
+    public CodeCompletionRequest getRequest() {
+        return request;
+    }
+
+    void updateCodeFragments(List<CodeFragment> codeFragments) {
+        CodeFragment selectedCodeFragment = codeFragmentsList.getSelectedValue();
+        codeFragmentsList.setModel(createModel(codeFragments));
+        int selectedIndex = codeFragments.indexOf(selectedCodeFragment);
+        codeFragmentsList.setSelectedIndex(selectedIndex != -1 ? selectedIndex : 0);
+        codeFragmentsList.setVisibleRowCount(codeFragments.size() > 16 ? 16 : codeFragments.size());
+    }
+
     private DefaultListModel<CodeFragment> createModel(List<? extends CodeFragment> memberSelections) {
         DefaultListModel<CodeFragment> model = new DefaultListModel<>();
         memberSelections.forEach(memberSelection -> {
@@ -188,7 +204,15 @@ public class GenerateCodePanel extends javax.swing.JPanel {
                 context.insert(codeFragment, request);
             });
             modificationResult.commit();
-            atomicContext.get().select(codeFragment, modificationResult, request.getComponent());
+            TextInsertion textInsertion = request.getTextInsertion();
+            if (textInsertion != null) {
+                textInsertion.apply(component);
+            } else {
+                atomicContext.get().select(codeFragment, modificationResult, request.getComponent());
+            }
+            if (Preferences.getFrequencyRankingFlag()) {
+                Lookup.getDefault().lookup(UsageStatistics.class).recordSelection(codeFragment, request);
+            }
         } catch (IOException ex) {
             Exceptions.printStackTrace(ex);
         }
@@ -16,6 +16,11 @@
 package com.github.isarthur.netbeans.editor.typingaid.ui;
 
 import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import java.io.File;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 final class NetBeansTypingAidPanel extends javax.swing.JPanel {
 
@@ -24,6 +29,22 @@ final class NetBeansTypingAidPanel extends javax.swing.JPanel {
     NetBeansTypingAidPanel(NetBeansTypingAidOptionsPanelController controller) {
         this.controller = controller;
         initComponents();
+        keystrokeTraceFileTextField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                controller.changed();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                controller.changed();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                controller.changed();
+            }
+        });
         controller.changed();
     }
 
@@ -59,6 +80,25 @@ final class NetBeansTypingAidPanel extends javax.swing.JPanel {
         chainedFieldAccessCheckBox = new javax.swing.JCheckBox();
         chainedEnumConstantCheckBox = new javax.swing.JCheckBox();
         literalCheckBox = new javax.swing.JCheckBox();
+        unscopedStaticMemberCheckBox = new javax.swing.JCheckBox();
+        instanceCreationCheckBox = new javax.swing.JCheckBox();
+        behaviorPanel = new javax.swing.JPanel();
+        frequencyRankingCheckBox = new javax.swing.JCheckBox();
+        autoInsertionCheckBox = new javax.swing.JCheckBox();
+        autoInsertionConfidenceLabel = new javax.swing.JLabel();
+        autoInsertionConfidenceSpinner = new javax.swing.JSpinner();
+        expectedTypePruningCheckBox = new javax.swing.JCheckBox();
+        earlyTerminationCheckBox = new javax.swing.JCheckBox();
+        latencyBudgetLabel = new javax.swing.JLabel();
+        latencyBudgetSpinner = new javax.swing.JSpinner();
+        streamingPopupCheckBox = new javax.swing.JCheckBox();
+        directTextInsertionCheckBox = new javax.swing.JCheckBox();
+        prefixMatchingCheckBox = new javax.swing.JCheckBox();
+        fuzzyMatchingDistanceLabel = new javax.swing.JLabel();
+        fuzzyMatchingDistanceSpinner = new javax.swing.JSpinner();
+        warmUpCheckBox = new javax.swing.JCheckBox();
+        keystrokeTraceFileLabel = new javax.swing.JLabel();
+        keystrokeTraceFileTextField = new javax.swing.JTextField();
 
         completionForPanel.setBorder(javax.swing.BorderFactory.createTitledBorder(org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.completionForPanel.border.title"))); // NOI18N
 
@@ -216,6 +256,20 @@ final class NetBeansTypingAidPanel extends javax.swing.JPanel {
             }
         });
 
+        org.openide.awt.Mnemonics.setLocalizedText(unscopedStaticMemberCheckBox, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.unscopedStaticMemberCheckBox.text")); // NOI18N
+        unscopedStaticMemberCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                unscopedStaticMemberCheckBoxActionPerformed(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(instanceCreationCheckBox, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.instanceCreationCheckBox.text")); // NOI18N
+        instanceCreationCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                instanceCreationCheckBoxActionPerformed(evt);
+            }
+        });
+
         javax.swing.GroupLayout completionForPanelLayout = new javax.swing.GroupLayout(completionForPanel);
         completionForPanel.setLayout(completionForPanelLayout);
         completionForPanelLayout.setHorizontalGroup(
@@ -240,6 +294,8 @@ final class NetBeansTypingAidPanel extends javax.swing.JPanel {
                             .addComponent(resourceVariableCheckBox)
                             .addComponent(modifierCheckBox)
                             .addComponent(primitiveTypeCheckBox)
+                            .addComponent(unscopedStaticMemberCheckBox)
+                            .addComponent(instanceCreationCheckBox)
                             .addGroup(completionForPanelLayout.createSequentialGroup()
                                 .addGap(177, 177, 177)
                                 .addGroup(completionForPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
@@ -301,6 +357,172 @@ final class NetBeansTypingAidPanel extends javax.swing.JPanel {
                 .addComponent(modifierCheckBox)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(primitiveTypeCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(unscopedStaticMemberCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(instanceCreationCheckBox)
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+        );
+
+        behaviorPanel.setBorder(javax.swing.BorderFactory.createTitledBorder(org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.behaviorPanel.border.title"))); // NOI18N
+
+        org.openide.awt.Mnemonics.setLocalizedText(frequencyRankingCheckBox, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.frequencyRankingCheckBox.text")); // NOI18N
+        frequencyRankingCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                frequencyRankingCheckBoxActionPerformed(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(autoInsertionCheckBox, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.autoInsertionCheckBox.text")); // NOI18N
+        autoInsertionCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                autoInsertionCheckBoxActionPerformed(evt);
+            }
+        });
+
+        autoInsertionConfidenceLabel.setLabelFor(autoInsertionConfidenceSpinner);
+        org.openide.awt.Mnemonics.setLocalizedText(autoInsertionConfidenceLabel, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.autoInsertionConfidenceLabel.text")); // NOI18N
+
+        autoInsertionConfidenceSpinner.setModel(new javax.swing.SpinnerNumberModel(80, 0, 100, 5));
+        autoInsertionConfidenceSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                autoInsertionConfidenceSpinnerStateChanged(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(expectedTypePruningCheckBox, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.expectedTypePruningCheckBox.text")); // NOI18N
+        expectedTypePruningCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                expectedTypePruningCheckBoxActionPerformed(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(earlyTerminationCheckBox, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.earlyTerminationCheckBox.text")); // NOI18N
+        earlyTerminationCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                earlyTerminationCheckBoxActionPerformed(evt);
+            }
+        });
+
+        latencyBudgetLabel.setLabelFor(latencyBudgetSpinner);
+        org.openide.awt.Mnemonics.setLocalizedText(latencyBudgetLabel, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.latencyBudgetLabel.text")); // NOI18N
+
+        latencyBudgetSpinner.setModel(new javax.swing.SpinnerNumberModel(0, 0, 10000, 50));
+        latencyBudgetSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                latencyBudgetSpinnerStateChanged(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(streamingPopupCheckBox, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.streamingPopupCheckBox.text")); // NOI18N
+        streamingPopupCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                streamingPopupCheckBoxActionPerformed(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(directTextInsertionCheckBox, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.directTextInsertionCheckBox.text")); // NOI18N
+        directTextInsertionCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                directTextInsertionCheckBoxActionPerformed(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(prefixMatchingCheckBox, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.prefixMatchingCheckBox.text")); // NOI18N
+        prefixMatchingCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                prefixMatchingCheckBoxActionPerformed(evt);
+            }
+        });
+
+        fuzzyMatchingDistanceLabel.setLabelFor(fuzzyMatchingDistanceSpinner);
+        org.openide.awt.Mnemonics.setLocalizedText(fuzzyMatchingDistanceLabel, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.fuzzyMatchingDistanceLabel.text")); // NOI18N
+
+        fuzzyMatchingDistanceSpinner.setModel(new javax.swing.SpinnerNumberModel(0, 0, 2, 1));
+        fuzzyMatchingDistanceSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                fuzzyMatchingDistanceSpinnerStateChanged(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(warmUpCheckBox, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.warmUpCheckBox.text")); // NOI18N
+        warmUpCheckBox.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                warmUpCheckBoxActionPerformed(evt);
+            }
+        });
+
+        keystrokeTraceFileLabel.setLabelFor(keystrokeTraceFileTextField);
+        org.openide.awt.Mnemonics.setLocalizedText(keystrokeTraceFileLabel, org.openide.util.NbBundle.getMessage(NetBeansTypingAidPanel.class, "NetBeansTypingAidPanel.keystrokeTraceFileLabel.text")); // NOI18N
+
+        javax.swing.GroupLayout behaviorPanelLayout = new javax.swing.GroupLayout(behaviorPanel);
+        behaviorPanel.setLayout(behaviorPanelLayout);
+        behaviorPanelLayout.setHorizontalGroup(
+            behaviorPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(behaviorPanelLayout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(behaviorPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(frequencyRankingCheckBox)
+                    .addGroup(behaviorPanelLayout.createSequentialGroup()
+                        .addComponent(autoInsertionCheckBox)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(autoInsertionConfidenceLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(autoInsertionConfidenceSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addComponent(expectedTypePruningCheckBox)
+                    .addComponent(earlyTerminationCheckBox)
+                    .addGroup(behaviorPanelLayout.createSequentialGroup()
+                        .addComponent(latencyBudgetLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(latencyBudgetSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addComponent(streamingPopupCheckBox)
+                    .addComponent(directTextInsertionCheckBox)
+                    .addComponent(prefixMatchingCheckBox)
+                    .addGroup(behaviorPanelLayout.createSequentialGroup()
+                        .addComponent(fuzzyMatchingDistanceLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(fuzzyMatchingDistanceSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addComponent(warmUpCheckBox)
+                    .addGroup(behaviorPanelLayout.createSequentialGroup()
+                        .addComponent(keystrokeTraceFileLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(keystrokeTraceFileTextField)))
+                .addContainerGap())
+        );
+        behaviorPanelLayout.setVerticalGroup(
+            behaviorPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(behaviorPanelLayout.createSequentialGroup()
+                .addContainerGap()
+                .addComponent(frequencyRankingCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(behaviorPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(autoInsertionCheckBox)
+                    .addComponent(autoInsertionConfidenceLabel)
+                    .addComponent(autoInsertionConfidenceSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(expectedTypePruningCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(earlyTerminationCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(behaviorPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(latencyBudgetLabel)
+                    .addComponent(latencyBudgetSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(streamingPopupCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(directTextInsertionCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(prefixMatchingCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(behaviorPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(fuzzyMatchingDistanceLabel)
+                    .addComponent(fuzzyMatchingDistanceSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(warmUpCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(behaviorPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(keystrokeTraceFileLabel)
+                    .addComponent(keystrokeTraceFileTextField, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
         );
 
@@ -309,10 +531,15 @@ final class NetBeansTypingAidPanel extends javax.swing.JPanel {
         layout.setHorizontalGroup(
             layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
             .addComponent(completionForPanel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+            .addComponent(behaviorPanel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
         );
         layout.setVerticalGroup(
             layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
-            .addComponent(completionForPanel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+            .addGroup(layout.createSequentialGroup()
+                .addComponent(completionForPanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(behaviorPanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
         );
     }// </editor-fold>//GEN-END:initComponents
 
@@ -418,6 +645,59 @@ final class NetBeansTypingAidPanel extends javax.swing.JPanel {
         controller.changed();
     }//GEN-LAST:event_literalCheckBoxActionPerformed
 
+    private void unscopedStaticMemberCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_unscopedStaticMemberCheckBoxActionPerformed
+        controller.changed();
+    }//GEN-LAST:event_unscopedStaticMemberCheckBoxActionPerformed
+
+    private void instanceCreationCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_instanceCreationCheckBoxActionPerformed
+        controller.changed();
+    }//GEN-LAST:event_instanceCreationCheckBoxActionPerformed
+
+    private void frequencyRankingCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_frequencyRankingCheckBoxActionPerformed
+        controller.changed();
+    }//GEN-LAST:event_frequencyRankingCheckBoxActionPerformed
+
+    private void autoInsertionCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_autoInsertionCheckBoxActionPerformed
+        autoInsertionConfidenceSpinner.setEnabled(autoInsertionCheckBox.isSelected());
+        controller.changed();
+    }//GEN-LAST:event_autoInsertionCheckBoxActionPerformed
+
+    private void autoInsertionConfidenceSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_autoInsertionConfidenceSpinnerStateChanged
+        controller.changed();
+    }//GEN-LAST:event_autoInsertionConfidenceSpinnerStateChanged
+
+    private void expectedTypePruningCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_expectedTypePruningCheckBoxActionPerformed
+        controller.changed();
+    }//GEN-LAST:event_expectedTypePruningCheckBoxActionPerformed
+
+    private void earlyTerminationCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_earlyTerminationCheckBoxActionPerformed
+        controller.changed();
+    }//GEN-LAST:event_earlyTerminationCheckBoxActionPerformed
+
+    private void latencyBudgetSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_latencyBudgetSpinnerStateChanged
+        controller.changed();
+    }//GEN-LAST:event_latencyBudgetSpinnerStateChanged
+
+    private void streamingPopupCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_streamingPopupCheckBoxActionPerformed
+        controller.changed();
+    }//GEN-LAST:event_streamingPopupCheckBoxActionPerformed
+
+    private void directTextInsertionCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_directTextInsertionCheckBoxActionPerformed
+        controller.changed();
+    }//GEN-LAST:event_directTextInsertionCheckBoxActionPerformed
+
+    private void prefixMatchingCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_prefixMatchingCheckBoxActionPerformed
+        controller.changed();
+    }//GEN-LAST:event_prefixMatchingCheckBoxActionPerformed
+
+    private void fuzzyMatchingDistanceSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_fuzzyMatchingDistanceSpinnerStateChanged
+        controller.changed();
+    }//GEN-LAST:event_fuzzyMatchingDistanceSpinnerStateChanged
+
+    private void warmUpCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_warmUpCheckBoxActionPerformed
+        controller.changed();
+    }//GEN-LAST:event_warmUpCheckBoxActionPerformed
+
     void load() {
         methodInvocationCheckBox.setSelected(Preferences.getMethodInvocationFlag());
         staticMethodInvocationCheckBox.setSelected(Preferences.getStaticMethodInvocationFlag());
@@ -443,6 +723,21 @@ final class NetBeansTypingAidPanel extends javax.swing.JPanel {
         staticMethodInvocationForGlobalTypesCheckBox.setEnabled(staticMethodInvocationCheckBox.isSelected());
         staticFieldAccessGlobalTypesCheckBox.setSelected(staticFieldAccessCheckBox.isSelected());
         staticFieldAccessGlobalTypesCheckBox.setEnabled(staticFieldAccessCheckBox.isSelected());
+        unscopedStaticMemberCheckBox.setSelected(Preferences.getUnscopedStaticMemberFlag());
+        instanceCreationCheckBox.setSelected(Preferences.getInstanceCreationFlag());
+        frequencyRankingCheckBox.setSelected(Preferences.getFrequencyRankingFlag());
+        autoInsertionCheckBox.setSelected(Preferences.getAutoInsertionFlag());
+        autoInsertionConfidenceSpinner.setValue(Preferences.getAutoInsertionConfidence());
+        autoInsertionConfidenceSpinner.setEnabled(autoInsertionCheckBox.isSelected());
+        expectedTypePruningCheckBox.setSelected(Preferences.getExpectedTypePruningFlag());
+        earlyTerminationCheckBox.setSelected(Preferences.getEarlyTerminationFlag());
+        latencyBudgetSpinner.setValue(Preferences.getLatencyBudget());
+        streamingPopupCheckBox.setSelected(Preferences.getStreamingPopupFlag());
+        directTextInsertionCheckBox.setSelected(Preferences.getDirectTextInsertionFlag());
+        prefixMatchingCheckBox.setSelected(Preferences.getPrefixMatchingFlag());
+        fuzzyMatchingDistanceSpinner.setValue(Preferences.getFuzzyMatchingDistance());
+        warmUpCheckBox.setSelected(Preferences.getWarmUpFlag());
+        keystrokeTraceFileTextField.setText(Preferences.getKeystrokeTraceFile());
     }
 
     void store() {
@@ -468,34 +763,85 @@ final class NetBeansTypingAidPanel extends javax.swing.JPanel {
         Preferences.setPrimitiveTypeFlag(primitiveTypeCheckBox.isSelected());
         Preferences.setStaticMethodInvocationGlobalTypesFlag(staticMethodInvocationForGlobalTypesCheckBox.isSelected());
         Preferences.setStaticFieldAccessGlobalTypesFlag(staticFieldAccessGlobalTypesCheckBox.isSelected());
+        Preferences.setUnscopedStaticMemberFlag(unscopedStaticMemberCheckBox.isSelected());
+        Preferences.setInstanceCreationFlag(instanceCreationCheckBox.isSelected());
+        Preferences.setFrequencyRankingFlag(frequencyRankingCheckBox.isSelected());
+        Preferences.setAutoInsertionFlag(autoInsertionCheckBox.isSelected());
+        Preferences.setAutoInsertionConfidence((Integer) autoInsertionConfidenceSpinner.getValue());
+        Preferences.setExpectedTypePruningFlag(expectedTypePruningCheckBox.isSelected());
+        Preferences.setEarlyTerminationFlag(earlyTerminationCheckBox.isSelected());
+        Preferences.setLatencyBudget((Integer) latencyBudgetSpinner.getValue());
+        Preferences.setStreamingPopupFlag(streamingPopupCheckBox.isSelected());
+        Preferences.setDirectTextInsertionFlag(directTextInsertionCheckBox.isSelected());
+        Preferences.setPrefixMatchingFlag(prefixMatchingCheckBox.isSelected());
+        Preferences.setFuzzyMatchingDistance((Integer) fuzzyMatchingDistanceSpinner.getValue());
+        Preferences.setWarmUpFlag(warmUpCheckBox.isSelected());
+        Preferences.setKeystrokeTraceFile(keystrokeTraceFileTextField.getText().trim());
     }
 
     boolean valid() {
-        return true;
+        return isInRange(autoInsertionConfidenceSpinner)
+                && isInRange(latencyBudgetSpinner)
+                && isInRange(fuzzyMatchingDistanceSpinner)
+                && isWritableTraceFile(keystrokeTraceFileTextField.getText().trim());
+    }
+
+    private static boolean isInRange(JSpinner spinner) {
+        SpinnerNumberModel model = (SpinnerNumberModel) spinner.getModel();
+        int value = (Integer) model.getValue();
+        return value >= (Integer) model.getMinimum() && value <= (Integer) model.getMaximum();
+    }
+
+    private static boolean isWritableTraceFile(String path) {
+        if (path.isEmpty()) {
+            return true;
+        }
+        File file = new File(path).getAbsoluteFile();
+        File directory = file.getParentFile();
+        return !file.isDirectory() && directory != null && directory.isDirectory();
     }
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JCheckBox autoInsertionCheckBox;
+    private javax.swing.JLabel autoInsertionConfidenceLabel;
+    private javax.swing.JSpinner autoInsertionConfidenceSpinner;
+    private javax.swing.JPanel behaviorPanel;
     private javax.swing.JCheckBox chainedEnumConstantCheckBox;
     private javax.swing.JCheckBox chainedFieldAccessCheckBox;
     private javax.swing.JCheckBox chainedMethodInvocationCheckBox;
     private javax.swing.JPanel completionForPanel;
+    private javax.swing.JCheckBox directTextInsertionCheckBox;
+    private javax.swing.JCheckBox earlyTerminationCheckBox;
     private javax.swing.JCheckBox enumConstantCheckBox;
     private javax.swing.JCheckBox exceptionParameterCheckBox;
+    private javax.swing.JCheckBox expectedTypePruningCheckBox;
     private javax.swing.JCheckBox externalTypeCheckBox;
     private javax.swing.JCheckBox fieldCheckBox;
+    private javax.swing.JCheckBox frequencyRankingCheckBox;
+    private javax.swing.JLabel fuzzyMatchingDistanceLabel;
+    private javax.swing.JSpinner fuzzyMatchingDistanceSpinner;
     private javax.swing.JCheckBox globalTypeCheckBox;
+    private javax.swing.JCheckBox instanceCreationCheckBox;
     private javax.swing.JCheckBox internalTypeCheckBox;
+    private javax.swing.JLabel keystrokeTraceFileLabel;
+    private javax.swing.JTextField keystrokeTraceFileTextField;
     private javax.swing.JCheckBox keywordCheckBox;
+    private javax.swing.JLabel latencyBudgetLabel;
+    private javax.swing.JSpinner latencyBudgetSpinner;
     private javax.swing.JCheckBox literalCheckBox;
     private javax.swing.JCheckBox localMethodInvocationCheckBox;
     private javax.swing.JCheckBox localVariableCheckBox;
     private javax.swing.JCheckBox methodInvocationCheckBox;
     private javax.swing.JCheckBox modifierCheckBox;
     private javax.swing.JCheckBox parameterCheckBox;
+    private javax.swing.JCheckBox prefixMatchingCheckBox;
     private javax.swing.JCheckBox primitiveTypeCheckBox;
     private javax.swing.JCheckBox resourceVariableCheckBox;
     private javax.swing.JCheckBox staticFieldAccessCheckBox;
     private javax.swing.JCheckBox staticFieldAccessGlobalTypesCheckBox;
     private javax.swing.JCheckBox staticMethodInvocationCheckBox;
     private javax.swing.JCheckBox staticMethodInvocationForGlobalTypesCheckBox;
+    private javax.swing.JCheckBox streamingPopupCheckBox;
+    private javax.swing.JCheckBox unscopedStaticMemberCheckBox;
+    private javax.swing.JCheckBox warmUpCheckBox;
     // End of variables declaration//GEN-END:variables
 }
@@ -88,6 +88,31 @@ public class PopupUtil {
         });
     }
 
+    public static boolean isShowing(CodeCompletionRequest request) {
+        return getGenerateCodePanel(request) != null;
+    }
+
+    public static void updateCodeFragments(CodeCompletionRequest request) {
+        GenerateCodePanel generateCodePanel = getGenerateCodePanel(request);
+        if (generateCodePanel == null) {
+            return;
+        }
+        generateCodePanel.updateCodeFragments(request.getCodeFragments());
+        popupWindow.pack();
+    }
+
+    private static GenerateCodePanel getGenerateCodePanel(CodeCompletionRequest request) {
+        if (popupWindow == null || popupWindow.getContentPane().getComponentCount() == 0) {
+            return null;
+        }
+        Component content = popupWindow.getContentPane().getComponent(0);
+        if (!(content instanceof GenerateCodePanel)) {
+            return null;
+        }
+        GenerateCodePanel generateCodePanel = (GenerateCodePanel) content;
+        return generateCodePanel.getRequest() == request ? generateCodePanel : null;
+    }
+
     public static void showPopup(JComponent content, Frame parent, double x, double y, boolean undecorated,
             double altHeight) {
         if (popupWindow != null) {
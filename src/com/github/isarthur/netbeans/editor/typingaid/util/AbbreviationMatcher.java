@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.util;
+
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+
+/**
+ * Decides whether the abbreviation of an element matches the typed one.
+ *
+ * @author Arthur Sadykov
+ */
+public final class AbbreviationMatcher {
+
+    private static final int MAX_FUZZY_DISTANCE = 2;
+    private final String abbreviation;
+    private final Mode mode;
+    private final LevenshteinAutomaton automaton;
+
+    private AbbreviationMatcher(String abbreviation, Mode mode, LevenshteinAutomaton automaton) {
+        this.abbreviation = abbreviation;
+        this.mode = mode;
+        this.automaton = automaton;
+    }
+
+    public static AbbreviationMatcher exact(String abbreviation) {
+        return new AbbreviationMatcher(abbreviation, Mode.EXACT, null);
+    }
+
+    /**
+     * Returns the matcher for type abbreviations in the mode chosen in the options. Fuzzy matching takes precedence
+     * over prefix matching. The allowed edit distance never exceeds a third of the abbreviation, so short
+     * abbreviations are still matched exactly instead of matching nearly every type.
+     */
+    public static AbbreviationMatcher forTypes(String abbreviation) {
+        int distance = Math.min(Math.min(Preferences.getFuzzyMatchingDistance(), MAX_FUZZY_DISTANCE),
+                abbreviation.length() / 3);
+        if (distance > 0) {
+            return new AbbreviationMatcher(abbreviation, Mode.FUZZY, new LevenshteinAutomaton(abbreviation, distance));
+        }
+        return new AbbreviationMatcher(
+                abbreviation, Preferences.getPrefixMatchingFlag() ? Mode.PREFIX : Mode.EXACT, null);
+    }
+
+    public String getAbbreviation() {
+        return abbreviation;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public LevenshteinAutomaton getAutomaton() {
+        return automaton;
+    }
+
+    public boolean isExact() {
+        return mode == Mode.EXACT;
+    }
+
+    public boolean matches(String elementAbbreviation) {
+        switch (mode) {
+            case PREFIX:
+                return elementAbbreviation.startsWith(abbreviation);
+            case FUZZY:
+                return automaton.matches(elementAbbreviation);
+            default:
+                return elementAbbreviation.equals(abbreviation);
+        }
+    }
+
+    public enum Mode {
+        EXACT,
+        PREFIX,
+        FUZZY
+    }
+}
@@ -16,7 +16,9 @@
 package com.github.isarthur.netbeans.editor.typingaid.util;
 
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.MemberChain;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocation.api.MethodInvocation;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocation.impl.ChainedMethodInvocation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocation.impl.NormalMethodInvocation;
 import com.github.isarthur.netbeans.editor.typingaid.codefragment.methodinvocation.impl.StaticMethodInvocation;
 import com.github.isarthur.netbeans.editor.typingaid.constants.ConstantDataManager;
@@ -446,11 +448,13 @@ public class JavaSourceMaker {
         MethodInvocationTree methodInvocationTree =
                 make.MethodInvocation(
                         Collections.emptyList(),
-                        make.Identifier(methodInvocation.getMethod().resolve(request.getWorkingCopy())),
+                        makeMethodSelectTree(
+                                methodInvocation, methodInvocation.getMethod().resolve(request.getWorkingCopy()), make),
                         methodInvocation.getArguments());
         if (methodInvocation.getKind() == CodeFragment.Kind.CHAINED_METHOD_INVOCATION
                 || methodInvocation.getKind() == CodeFragment.Kind.LOCAL_METHOD_INVOCATION) {
             tag(methodInvocationTree, ConstantDataManager.ARGUMENT_TAG, request);
+            tagFirstArgument(methodInvocationTree, request);
             return methodInvocationTree;
         } else {
             MemberSelectTree memberSelectTree;
@@ -472,6 +476,35 @@ public class JavaSourceMaker {
         }
     }
 
+    private static ExpressionTree makeMethodSelectTree(
+            MethodInvocation methodInvocation, ExecutableElement method, TreeMaker make) {
+        if (methodInvocation.getKind() == CodeFragment.Kind.CHAINED_METHOD_INVOCATION) {
+            MemberChain qualifier = ((ChainedMethodInvocation) methodInvocation).getQualifier();
+            if (qualifier != null) {
+                return make.MemberSelect(makeMemberChainTree(qualifier, make), method.getSimpleName());
+            }
+        }
+        return make.Identifier(method);
+    }
+
+    public static MemberSelectTree makeMemberSelectTree(
+            MemberChain qualifier, CharSequence name, CodeCompletionRequest request) {
+        TreeMaker make = getTreeMaker(request);
+        return make.MemberSelect(makeMemberChainTree(qualifier, make), name);
+    }
+
+    private static ExpressionTree makeMemberChainTree(MemberChain chain, TreeMaker make) {
+        ExpressionTree tree = null;
+        for (MemberChain.Link link : chain.getLinks()) {
+            ExpressionTree select =
+                    tree != null ? make.MemberSelect(tree, link.getName()) : make.Identifier(link.getName());
+            tree = link.isMethod()
+                    ? make.MethodInvocation(Collections.emptyList(), select, Collections.emptyList())
+                    : select;
+        }
+        return tree;
+    }
+
     public static StatementTree makeMethodInvocationStatementTree(
             MethodInvocation methodInvocation, CodeCompletionRequest request) {
         WorkingCopy copy = request.getWorkingCopy();
@@ -486,7 +519,7 @@ public class JavaSourceMaker {
         MethodInvocationTree methodInvocationTree =
                 make.MethodInvocation(
                         Collections.emptyList(),
-                        make.Identifier(method),
+                        makeMethodSelectTree(methodInvocation, method, make),
                         methodInvocation.getArguments());
         ExpressionTree initializer;
         if (methodInvocation.getKind() == CodeFragment.Kind.CHAINED_METHOD_INVOCATION
@@ -631,11 +664,18 @@ public class JavaSourceMaker {
             return null;
         }
         ExecutableElement targetConstructor = JavaSourceUtilities.getTargetConstructor(constructors);
+        return makeNewClassTree(type, JavaSourceUtilities.evaluateMethodArguments(targetConstructor, request), request);
+    }
+
+    public static NewClassTree makeNewClassTree(
+            TypeElement type, List<? extends ExpressionTree> arguments, CodeCompletionRequest request) {
+        WorkingCopy copy = request.getWorkingCopy();
+        TreeMaker make = copy.getTreeMaker();
         NewClassTree newClassTree = make.NewClass(
                 null,
                 Collections.emptyList(),
                 make.QualIdent(type.getQualifiedName().toString()),
-                JavaSourceUtilities.evaluateMethodArguments(targetConstructor, request),
+                arguments,
                 null);
         if (type.getTypeParameters().isEmpty()) {
             return newClassTree;
@@ -746,6 +786,7 @@ public class JavaSourceMaker {
     public static ThrowTree makeThrowTree(CodeCompletionRequest request) {
         IdentifierTree identifier = makeIdentifierTree("IllegalArgumentException", request); //NOI18N
         tag(identifier, ConstantDataManager.FIRST_IDENTIFIER_OR_LITERAL_TAG, request);
+        tag(identifier, ConstantDataManager.CARET_TAG, request);
         return getTreeMaker(request).Throw(makeNewClassTree(
                 Collections.emptyList(),
                 identifier,
@@ -824,12 +865,14 @@ public class JavaSourceMaker {
         MethodInvocationTree methodInvocationTree =
                 make.MethodInvocation(
                         Collections.emptyList(),
-                        make.Identifier(methodInvocation.getMethod().resolve(request.getWorkingCopy())),
+                        makeMethodSelectTree(
+                                methodInvocation, methodInvocation.getMethod().resolve(request.getWorkingCopy()), make),
                         methodInvocation.getArguments());
         if (methodInvocation.getKind() == CodeFragment.Kind.CHAINED_METHOD_INVOCATION
                 || methodInvocation.getKind() == CodeFragment.Kind.LOCAL_METHOD_INVOCATION) {
             ExpressionStatementTree expressionStatement = make.ExpressionStatement(methodInvocationTree);
             tag(expressionStatement, ConstantDataManager.ARGUMENT_TAG, request);
+            tagFirstArgument(methodInvocationTree, request);
             return expressionStatement;
         } else {
             if (methodInvocation.getKind() == CodeFragment.Kind.STATIC_METHOD_INVOCATION) {
@@ -886,6 +929,17 @@ public class JavaSourceMaker {
                 makeBlockTree(Collections.emptyList(), false, request));
     }
 
+    private static void tagFirstArgument(MethodInvocationTree methodInvocationTree, CodeCompletionRequest request) {
+        List<? extends ExpressionTree> arguments = methodInvocationTree.getArguments();
+        if (arguments.isEmpty()) {
+            return;
+        }
+        ExpressionTree argument = arguments.get(0);
+        if (argument.getKind() == Tree.Kind.IDENTIFIER || argument instanceof LiteralTree) {
+            tag(argument, ConstantDataManager.CARET_TAG, request);
+        }
+    }
+
     private static void tag(Tree tree, String tag, CodeCompletionRequest request) {
         WorkingCopy workingCopy = request.getWorkingCopy();
         workingCopy.tag(tree, tag);
@@ -17,6 +17,8 @@ package com.github.isarthur.netbeans.editor.typingaid.util;
 
 import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
 import com.github.isarthur.netbeans.editor.typingaid.constants.ConstantDataManager;
+import com.github.isarthur.netbeans.editor.typingaid.index.JdkAbbreviationIndex;
+import com.github.isarthur.netbeans.editor.typingaid.index.SourceTypeIndex;
 import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
 import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
 import com.sun.source.tree.AssignmentTree;
@@ -49,11 +51,14 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
@@ -62,6 +67,8 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.PrimitiveType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
@@ -69,6 +76,7 @@ import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import javax.swing.text.Document;
+import org.netbeans.api.java.classpath.ClassPath;
 import org.netbeans.api.java.lexer.JavaTokenId;
 import static org.netbeans.api.java.lexer.JavaTokenId.EXTENDS;
 import static org.netbeans.api.java.lexer.JavaTokenId.IDENTIFIER;
@@ -78,11 +86,11 @@ import static org.netbeans.api.java.lexer.JavaTokenId.THROWS;
 import org.netbeans.api.java.source.ClassIndex;
 import org.netbeans.api.java.source.ClasspathInfo;
 import org.netbeans.api.java.source.CodeStyle;
+import org.netbeans.api.java.source.CompilationController;
 import org.netbeans.api.java.source.ElementHandle;
 import org.netbeans.api.java.source.ElementUtilities;
 import org.netbeans.api.java.source.TreeUtilities;
 import org.netbeans.api.java.source.TypeUtilities;
-import org.netbeans.api.java.source.WorkingCopy;
 import org.netbeans.api.java.source.ui.ElementHeaders;
 import org.netbeans.api.lexer.Token;
 import org.netbeans.api.lexer.TokenId;
@@ -95,6 +103,8 @@ import org.openide.util.Exceptions;
  */
 public class JavaSourceUtilities {
 
+    private static final Map<ClasspathInfo, ClasspathInfo> NON_PLATFORM_CLASSPATHS = new WeakHashMap<>();
+
     private JavaSourceUtilities() {
     }
 
@@ -138,8 +148,8 @@ public class JavaSourceUtilities {
     public static int findInsertIndexForParameterizedType(
             ParameterizedTypeTree parameterizedTypeTree, CodeCompletionRequest request) {
         List<? extends Tree> typeArguments = parameterizedTypeTree.getTypeArguments();
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        CompilationController controller = request.getCompilationController();
+        TreeUtilities treeUtilities = controller.getTreeUtilities();
         int i;
         for (i = 0; i < typeArguments.size(); i++) {
             if (treeUtilities.hasError(typeArguments.get(i))) {
@@ -172,13 +182,13 @@ public class JavaSourceUtilities {
         return Collections.unmodifiableSet(elementKinds);
     }
 
-    public static List<ExecutableElement> getConstructors(Element type, WorkingCopy copy) {
+    public static List<ExecutableElement> getConstructors(Element type, CompilationController copy) {
         List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
         return Collections.unmodifiableList(constructors);
     }
 
     public static List<ExecutableElement> filterAccessibleConstructors(
-            List<ExecutableElement> constructors, WorkingCopy copy) {
+            List<ExecutableElement> constructors, CompilationController copy) {
         CompilationUnitTree compilationUnit = copy.getCompilationUnit();
         List<? extends Tree> typeDecls = compilationUnit.getTypeDecls();
         if (typeDecls.isEmpty()) {
@@ -235,7 +245,7 @@ public class JavaSourceUtilities {
     }
 
     public static Tree.Kind getCurrentTreeKind(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         Abbreviation abbreviation = request.getAbbreviation();
         TreePath currentPath = treeUtilities.pathFor(abbreviation.getStartOffset());
@@ -246,7 +256,7 @@ public class JavaSourceUtilities {
     }
 
     private static TreePath getCurrentPath(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         Abbreviation abbreviation = request.getAbbreviation();
         return treeUtilities.pathFor(abbreviation.getStartOffset());
@@ -273,7 +283,7 @@ public class JavaSourceUtilities {
         if (currentPath == null) {
             return null;
         }
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         return treeUtilities.getPathElementOfKind(kinds, currentPath);
     }
@@ -283,14 +293,14 @@ public class JavaSourceUtilities {
         if (currentPath == null) {
             return false;
         }
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         TreePath parentPath = treeUtilities.getPathElementOfKind(kinds, currentPath);
         return parentPath != null;
     }
 
     public static TypeMirror getTypeInContext(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         TypeUtilities typeUtilities = copy.getTypeUtilities();
         Trees trees = copy.getTrees();
@@ -410,8 +420,191 @@ public class JavaSourceUtilities {
         return null;
     }
 
+    public static TypeMirror getExpectedType(CodeCompletionRequest request) {
+        TreePath currentPath = request.getCurrentPath();
+        if (currentPath == null) {
+            return null;
+        }
+        Trees trees = request.getCompilationController().getTrees();
+        Tree currentTree = currentPath.getLeaf();
+        TypeMirror expectedType;
+        switch (currentTree.getKind()) {
+            case ASSIGNMENT:
+                if (!isPrecededByAssignmentOperator(request)) {
+                    return null;
+                }
+                ExpressionTree variable = ((AssignmentTree) currentTree).getVariable();
+                expectedType = trees.getTypeMirror(TreePath.getPath(currentPath, variable));
+                break;
+            case CONDITIONAL_AND:
+            case CONDITIONAL_OR:
+            case LOGICAL_COMPLEMENT:
+                expectedType = getTypeInContext(request);
+                break;
+            case METHOD_INVOCATION:
+            case NEW_CLASS:
+                expectedType = getExpectedArgumentType(currentPath, request);
+                break;
+            case RETURN:
+                String methodType = owningMethodType(request);
+                expectedType = methodType != null ? type(methodType, request) : null;
+                break;
+            case VARIABLE:
+                if (!isPrecededByAssignmentOperator(request)) {
+                    return null;
+                }
+                Tree type = ((VariableTree) currentTree).getType();
+                expectedType = trees.getTypeMirror(TreePath.getPath(currentPath, type));
+                break;
+            default:
+                return null;
+        }
+        if (expectedType == null) {
+            return null;
+        }
+        switch (expectedType.getKind()) {
+            case ERROR:
+            case NONE:
+            case NULL:
+            case OTHER:
+            case TYPEVAR:
+            case VOID:
+            case WILDCARD:
+                return null;
+            default:
+                return expectedType;
+        }
+    }
+
+    private static TypeMirror getExpectedArgumentType(TreePath currentPath, CodeCompletionRequest request) {
+        Tree currentTree = currentPath.getLeaf();
+        int insertIndex;
+        List<? extends ExpressionTree> arguments;
+        if (currentTree.getKind() == Tree.Kind.METHOD_INVOCATION) {
+            insertIndex = findInsertIndexForInvocationArgument((MethodInvocationTree) currentTree);
+            arguments = ((MethodInvocationTree) currentTree).getArguments();
+        } else {
+            insertIndex = findInsertIndexForInvocationArgument((NewClassTree) currentTree);
+            arguments = ((NewClassTree) currentTree).getArguments();
+        }
+        if (insertIndex == -1) {
+            return null;
+        }
+        CompilationController copy = request.getCompilationController();
+        Types types = copy.getTypes();
+        TypeMirror expectedType = null;
+        for (ExecutableElement overload : getInvokedOverloads(currentPath, request)) {
+            List<? extends VariableElement> parameters = overload.getParameters();
+            if (overload.isVarArgs()) {
+                if (insertIndex >= parameters.size() - 1) {
+                    return null;
+                }
+            } else if (insertIndex >= parameters.size() || arguments.size() > parameters.size()) {
+                continue;
+            }
+            TypeMirror parameterType = parameters.get(insertIndex).asType();
+            if (expectedType == null) {
+                expectedType = parameterType;
+            } else if (!types.isSameType(types.erasure(expectedType), types.erasure(parameterType))) {
+                return null;
+            }
+        }
+        return expectedType != null ? copy.getTypeUtilities().getDenotableType(expectedType) : null;
+    }
+
+    private static List<ExecutableElement> getInvokedOverloads(TreePath currentPath, CodeCompletionRequest request) {
+        CompilationController copy = request.getCompilationController();
+        Trees trees = copy.getTrees();
+        Tree currentTree = currentPath.getLeaf();
+        Scope scope = trees.getScope(currentPath);
+        List<ExecutableElement> overloads = new ArrayList<>();
+        if (currentTree.getKind() == Tree.Kind.NEW_CLASS) {
+            TreePath identifierPath = TreePath.getPath(currentPath, ((NewClassTree) currentTree).getIdentifier());
+            Element type = identifierPath != null ? trees.getElement(identifierPath) : null;
+            if (type == null || !(type.getKind().isClass() || type.getKind().isInterface())) {
+                return overloads;
+            }
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (trees.isAccessible(scope, constructor, (DeclaredType) type.asType())) {
+                    overloads.add(constructor);
+                }
+            }
+            return overloads;
+        }
+        ExpressionTree methodSelect = ((MethodInvocationTree) currentTree).getMethodSelect();
+        TreePath methodSelectPath = TreePath.getPath(currentPath, methodSelect);
+        Element method = methodSelectPath != null ? trees.getElement(methodSelectPath) : null;
+        if (method == null || method.getKind() != ElementKind.METHOD) {
+            return overloads;
+        }
+        TypeMirror site = null;
+        if (methodSelect.getKind() == Tree.Kind.MEMBER_SELECT) {
+            TreePath expressionPath = TreePath.getPath(currentPath, ((MemberSelectTree) methodSelect).getExpression());
+            site = expressionPath != null ? trees.getTypeMirror(expressionPath) : null;
+        }
+        if (site == null || site.getKind() != TypeKind.DECLARED) {
+            site = method.getEnclosingElement().asType();
+        }
+        TypeElement siteElement = (TypeElement) ((DeclaredType) site).asElement();
+        for (ExecutableElement candidate : ElementFilter.methodsIn(copy.getElements().getAllMembers(siteElement))) {
+            if (candidate.getSimpleName().contentEquals(method.getSimpleName())
+                    && trees.isAccessible(scope, candidate, (DeclaredType) site)) {
+                overloads.add(candidate);
+            }
+        }
+        return overloads;
+    }
+
+    private static boolean isPrecededByAssignmentOperator(CodeCompletionRequest request) {
+        TokenSequence<?> tokenSequence = request.getCompilationController().getTokenHierarchy().tokenSequence();
+        tokenSequence.move(request.getAbbreviation().getStartOffset());
+        while (tokenSequence.movePrevious()) {
+            TokenId tokenId = tokenSequence.token().id();
+            if (tokenId == JavaTokenId.WHITESPACE
+                    || tokenId == JavaTokenId.LINE_COMMENT
+                    || tokenId == JavaTokenId.BLOCK_COMMENT) {
+                continue;
+            }
+            return tokenId == JavaTokenId.EQ;
+        }
+        return false;
+    }
+
+    public static boolean isCompatibleWithExpectedType(TypeMirror type, CodeCompletionRequest request) {
+        if (!Preferences.getExpectedTypePruningFlag() || type == null) {
+            return true;
+        }
+        TypeMirror expectedType = request.getExpectedType();
+        if (expectedType == null || containsTypeVariable(type)) {
+            return true;
+        }
+        switch (type.getKind()) {
+            case ERROR:
+            case INTERSECTION:
+            case NONE:
+            case OTHER:
+            case UNION:
+                return true;
+            default:
+                Types types = request.getCompilationController().getTypes();
+                return types.isAssignable(types.erasure(type), types.erasure(expectedType));
+        }
+    }
+
+    private static boolean containsTypeVariable(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return containsTypeVariable(((ArrayType) type).getComponentType());
+            case TYPEVAR:
+            case WILDCARD:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     public static String owningMethodType(CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         Trees trees = copy.getTrees();
         TreePath currentPath = request.getCurrentPath();
@@ -434,7 +627,7 @@ public class JavaSourceUtilities {
     }
 
     public static TypeMirror type(String typeName, CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         Trees trees = copy.getTrees();
         Abbreviation abbreviation = request.getAbbreviation();
@@ -463,7 +656,7 @@ public class JavaSourceUtilities {
         return treeUtilities.parseType(type, enclosingClass);
     }
 
-    public static int findInsertIndexForTree(int offset, List<? extends Tree> trees, WorkingCopy copy) {
+    public static int findInsertIndexForTree(int offset, List<? extends Tree> trees, CompilationController copy) {
         SourcePositions sourcePositions = copy.getTrees().getSourcePositions();
         CompilationUnitTree compilationUnit = copy.getCompilationUnit();
         long previousStartPosition;
@@ -564,7 +757,7 @@ public class JavaSourceUtilities {
     private static VariableElement instanceOf(String typeName, String name, CodeCompletionRequest request) {
         VariableElement closest = null;
         List<Element> localElements = new ArrayList<>();
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         Types types = copy.getTypes();
         ElementUtilities elementUtilities = copy.getElementUtilities();
@@ -657,7 +850,7 @@ public class JavaSourceUtilities {
         return Collections.unmodifiableList(arguments);
     }
 
-    public static boolean isCaseStatement(int offset, WorkingCopy copy) {
+    public static boolean isCaseStatement(int offset, CompilationController copy) {
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         TreePath currentPath = treeUtilities.pathFor(offset);
         if (currentPath == null) {
@@ -674,7 +867,7 @@ public class JavaSourceUtilities {
 
     public static String getVariableName(TypeMirror typeMirror, CodeCompletionRequest request) {
         List<Element> localElements = new ArrayList<>();
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         ElementUtilities elementUtilities = copy.getElementUtilities();
         Elements elements = copy.getElements();
@@ -702,7 +895,7 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isMethodSection(ClassTree classInterfaceOrEnumTree, CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         Trees trees = copy.getTrees();
         CompilationUnitTree compilationUnit = copy.getCompilationUnit();
         List<? extends Tree> members = classInterfaceOrEnumTree.getMembers();
@@ -767,7 +960,7 @@ public class JavaSourceUtilities {
         return Collections.unmodifiableList(result);
     }
 
-    public static List<ExecutableElement> getMethodsInClassHierarchy(Element element, WorkingCopy copy) {
+    public static List<ExecutableElement> getMethodsInClassHierarchy(Element element, CompilationController copy) {
         List<ExecutableElement> methods = new ArrayList<>();
         ElementUtilities elementUtilities = copy.getElementUtilities();
         Elements elements = copy.getElements();
@@ -784,32 +977,7 @@ public class JavaSourceUtilities {
         return Collections.unmodifiableList(methods);
     }
 
-    public static List<ExecutableElement> getMethodsInCurrentClassHierarchy(WorkingCopy copy) {
-        List<ExecutableElement> methods = new ArrayList<>();
-        Elements elements = copy.getElements();
-        ElementUtilities elementUtilities = copy.getElementUtilities();
-        TypeMirror typeMirror = getTypeMirrorOfCurrentClass(copy);
-        if (typeMirror == null) {
-            return Collections.emptyList();
-        }
-        Iterable<? extends Element> members = elementUtilities.getMembers(typeMirror, (e, t) -> {
-            return e.getKind() == ElementKind.METHOD && !elements.isDeprecated(e);
-        });
-        methods.addAll(ElementFilter.methodsIn(members));
-        return Collections.unmodifiableList(methods);
-    }
-
-    private static TypeMirror getTypeMirrorOfCurrentClass(WorkingCopy copy) {
-        Trees trees = copy.getTrees();
-        CompilationUnitTree compilationUnit = copy.getCompilationUnit();
-        Tree tree = compilationUnit.getTypeDecls().get(0);
-        if (tree.getKind() == Tree.Kind.CLASS) {
-            return trees.getTypeMirror(TreePath.getPath(compilationUnit, tree));
-        }
-        return null;
-    }
-
-    public static List<Element> getElementsByAbbreviation(WorkingCopy copy, Abbreviation abbreviation) {
+    public static List<Element> getElementsByAbbreviation(CompilationController copy, Abbreviation abbreviation) {
         List<Element> localElements = new ArrayList<>();
         TreeUtilities treeUtilities = copy.getTreeUtilities();
         ElementUtilities elementUtilities = copy.getElementUtilities();
@@ -840,7 +1008,7 @@ public class JavaSourceUtilities {
     }
 
     public static List<ExecutableElement> getNonStaticMethodsInClassHierarchy(
-            Element element, WorkingCopy copy) {
+            Element element, CompilationController copy) {
         List<ExecutableElement> methods = JavaSourceUtilities.getMethodsInClassHierarchy(element, copy);
         Function<List<ExecutableElement>, List<ExecutableElement>> filterNonStaticMethods = allMethods -> {
             return allMethods.stream()
@@ -872,36 +1040,158 @@ public class JavaSourceUtilities {
         return Collections.unmodifiableList(staticMethods);
     }
 
-    public static List<TypeElement> collectExternalTypes(WorkingCopy copy, Abbreviation abbreviation) {
-        ClasspathInfo classpathInfo = copy.getClasspathInfo();
-        ClassIndex classIndex = classpathInfo.getClassIndex();
-        Set<ElementHandle<TypeElement>> declaredTypes = classIndex.getDeclaredTypes(
-                abbreviation.getScope().toUpperCase(),
-                ClassIndex.NameKind.CAMEL_CASE,
-                EnumSet.of(ClassIndex.SearchScope.SOURCE, ClassIndex.SearchScope.DEPENDENCIES));
+    public static List<TypeElement> collectExternalTypes(CompilationController copy, Abbreviation abbreviation) {
+        Set<ElementHandle<TypeElement>> declaredTypes = getDeclaredTypes(
+                copy.getClasspathInfo(), abbreviation.getScope(), abbreviation.getIdentifier());
         List<TypeElement> typeElements = new ArrayList<>();
         Elements elements = copy.getElements();
         declaredTypes.forEach(type -> {
             TypeElement typeElement = type.resolve(copy);
-            if (typeElement != null) {
-                String typeName = typeElement.getSimpleName().toString();
-                String typeAbbreviation = StringUtilities.getElementAbbreviation(typeName);
-                if (typeAbbreviation.equals(abbreviation.getScope())) {
-                    if (!elements.isDeprecated(typeElement)) {
-                        typeElements.add(typeElement);
-                    }
-                }
+            if (typeElement != null && !elements.isDeprecated(typeElement)) {
+                typeElements.add(typeElement);
             }
         });
         return Collections.unmodifiableList(typeElements);
     }
 
-    public static Iterable<? extends TypeElement> collectGlobalTypeElements(WorkingCopy copy, Abbreviation abbreviation) {
-        ElementUtilities elementUtilities = copy.getElementUtilities();
-        return elementUtilities.getGlobalTypes((element, type) -> {
-            String typeAbbreviation = StringUtilities.getElementAbbreviation(element.getSimpleName().toString());
-            return typeAbbreviation.equals(abbreviation.getScope());
+    /**
+     * Returns the types whose simple name matches the abbreviation. Platform types are taken from the prebuilt JDK
+     * index and source types from the source type index when those are available; the class index is searched only
+     * for the rest. When a member abbreviation is given, platform types without a matching static member are left
+     * out. In prefix matching mode the indexed types come ranked, shorter abbreviations first. Every returned type
+     * matches the abbreviation, so callers need not match the resolved elements again.
+     */
+    public static Set<ElementHandle<TypeElement>> getDeclaredTypes(ClasspathInfo classpathInfo,
+            String typeAbbreviation, String memberAbbreviation) {
+        Set<ElementHandle<TypeElement>> declaredTypes = new LinkedHashSet<>();
+        ClasspathInfo searchPath = classpathInfo;
+        AbbreviationMatcher typeMatcher = AbbreviationMatcher.forTypes(typeAbbreviation);
+        JdkAbbreviationIndex jdkIndex = JdkAbbreviationIndex.forClasspath(classpathInfo);
+        if (jdkIndex != null) {
+            declaredTypes.addAll(memberAbbreviation != null
+                    ? jdkIndex.findOwners(typeMatcher, memberAbbreviation)
+                    : jdkIndex.findTypes(typeMatcher));
+            searchPath = getNonPlatformClasspathInfo(classpathInfo);
+        }
+        Set<ClassIndex.SearchScope> searchScopes =
+                EnumSet.of(ClassIndex.SearchScope.SOURCE, ClassIndex.SearchScope.DEPENDENCIES);
+        SourceTypeIndex sourceIndex = SourceTypeIndex.forClasspath(classpathInfo);
+        Set<ElementHandle<TypeElement>> sourceTypes =
+                sourceIndex != null ? sourceIndex.findTypes(typeMatcher) : null;
+        if (sourceTypes != null) {
+            declaredTypes.addAll(sourceTypes);
+            searchScopes.remove(ClassIndex.SearchScope.SOURCE);
+        }
+        declaredTypes.addAll(filterByAbbreviation(
+                searchPath.getClassIndex().getDeclaredTypes(
+                        typeAbbreviation.toUpperCase(),
+                        ClassIndex.NameKind.CAMEL_CASE,
+                        searchScopes),
+                type -> getSimpleName(type.getBinaryName()),
+                typeMatcher));
+        return declaredTypes;
+    }
+
+    /**
+     * Returns the names of the members whose abbreviation equals the given one, keyed by the binary name of the type
+     * that declares them. Platform types are looked up in the prebuilt JDK index when there is one, which only holds
+     * public static members; the other types come from the class index and may declare instance members of that name,
+     * so callers must check the resolved elements.
+     */
+    public static Map<String, Set<String>> getDeclaredMemberNames(ClasspathInfo classpathInfo,
+            String memberAbbreviation) {
+        Map<String, Set<String>> memberNames = new HashMap<>();
+        ClasspathInfo searchPath = classpathInfo;
+        JdkAbbreviationIndex jdkIndex = JdkAbbreviationIndex.forClasspath(classpathInfo);
+        if (jdkIndex != null) {
+            jdkIndex.findStaticMembers(memberAbbreviation).forEach(member ->
+                    memberNames.computeIfAbsent(member.getOwner(), owner -> new HashSet<>()).add(member.getName()));
+            searchPath = getNonPlatformClasspathInfo(classpathInfo);
+        }
+        searchPath.getClassIndex().getDeclaredSymbols(
+                createMemberNamePattern(memberAbbreviation),
+                ClassIndex.NameKind.REGEXP,
+                EnumSet.of(ClassIndex.SearchScope.SOURCE, ClassIndex.SearchScope.DEPENDENCIES))
+                .forEach(symbols -> {
+                    List<String> names = symbols.getSymbols().stream()
+                            .filter(name -> StringUtilities.getElementAbbreviation(name).equals(memberAbbreviation))
+                            .collect(Collectors.toList());
+                    if (!names.isEmpty()) {
+                        memberNames.computeIfAbsent(symbols.getEnclosingType().getBinaryName(),
+                                owner -> new HashSet<>()).addAll(names);
+                    }
+                });
+        return memberNames;
+    }
+
+    /**
+     * Creates a pattern for the names whose abbreviation equals the given one, either in camel case or as a constant
+     * name, so that the class index returns few symbols even for a single letter abbreviation.
+     */
+    private static String createMemberNamePattern(String memberAbbreviation) {
+        StringBuilder camelCase = new StringBuilder();
+        StringBuilder constant = new StringBuilder();
+        for (int i = 0; i < memberAbbreviation.length(); i++) {
+            String lowerCase = Pattern.quote(String.valueOf(Character.toLowerCase(memberAbbreviation.charAt(i))));
+            String upperCase = Pattern.quote(String.valueOf(Character.toUpperCase(memberAbbreviation.charAt(i))));
+            if (i == 0) {
+                camelCase.append('(').append(lowerCase).append('|').append(upperCase).append(')');
+                constant.append(upperCase);
+            } else {
+                camelCase.append(upperCase);
+                constant.append('_').append(upperCase);
+            }
+            camelCase.append("[^A-Z]*"); //NOI18N
+            constant.append("[A-Z]*"); //NOI18N
+        }
+        return camelCase + "|" + constant; //NOI18N
+    }
+
+    /**
+     * Keeps the candidates whose name abbreviation the matcher accepts. It is meant for candidates that no abbreviation
+     * trie covers, such as class index hits, and runs before they are resolved, so that each one is matched once by
+     * name. Building a trie for a single query costs more than this scan.
+     */
+    public static <T> List<T> filterByAbbreviation(Iterable<? extends T> candidates,
+            Function<? super T, String> nameFunction, AbbreviationMatcher matcher) {
+        List<T> matches = new ArrayList<>();
+        candidates.forEach(candidate -> {
+            if (matcher.matches(StringUtilities.getElementAbbreviation(nameFunction.apply(candidate)))) {
+                matches.add(candidate);
+            }
         });
+        return matches;
+    }
+
+    private static String getSimpleName(String binaryName) {
+        return binaryName.substring(Math.max(binaryName.lastIndexOf('.'), binaryName.lastIndexOf('$')) + 1);
+    }
+
+    private static ClasspathInfo getNonPlatformClasspathInfo(ClasspathInfo classpathInfo) {
+        synchronized (NON_PLATFORM_CLASSPATHS) {
+            return NON_PLATFORM_CLASSPATHS.computeIfAbsent(classpathInfo, info ->
+                    new ClasspathInfo.Builder(ClassPath.EMPTY)
+                            .setClassPath(getClassPath(info, ClasspathInfo.PathKind.COMPILE))
+                            .setModuleCompilePath(getClassPath(info, ClasspathInfo.PathKind.MODULE_COMPILE))
+                            .setModuleClassPath(getClassPath(info, ClasspathInfo.PathKind.MODULE_CLASS))
+                            .setSourcePath(getClassPath(info, ClasspathInfo.PathKind.SOURCE))
+                            .setModuleSourcePath(getClassPath(info, ClasspathInfo.PathKind.MODULE_SOURCE))
+                            .build());
+        }
+    }
+
+    private static ClassPath getClassPath(ClasspathInfo classpathInfo, ClasspathInfo.PathKind kind) {
+        ClassPath classPath = classpathInfo.getClassPath(kind);
+        return classPath != null ? classPath : ClassPath.EMPTY;
+    }
+
+    public static Iterable<? extends TypeElement> collectGlobalTypeElements(CompilationController copy,
+            Abbreviation abbreviation) {
+        ElementUtilities elementUtilities = copy.getElementUtilities();
+        return filterByAbbreviation(
+                elementUtilities.getGlobalTypes((element, type) -> true),
+                element -> element.getSimpleName().toString(),
+                AbbreviationMatcher.forTypes(abbreviation.getScope()));
     }
 
     public static boolean isModifier(TokenId tokenId) {
@@ -919,7 +1209,7 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isInSamePackageAsCurrentFile(Element element, CodeCompletionRequest request) {
-        WorkingCopy copy = request.getWorkingCopy();
+        CompilationController copy = request.getCompilationController();
         ExpressionTree expressionTree = copy.getCompilationUnit().getPackageName();
         if (expressionTree == null) {
             return false;
@@ -935,27 +1225,22 @@ public class JavaSourceUtilities {
     }
 
     public static List<TypeElement> collectExternalTypeElements(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
+        CompilationController controller = request.getCompilationController();
         Abbreviation abbreviation = request.getAbbreviation();
-        ClasspathInfo classpathInfo = workingCopy.getClasspathInfo();
-        ClassIndex classIndex = classpathInfo.getClassIndex();
-        Set<ElementHandle<TypeElement>> declaredTypes = classIndex.getDeclaredTypes(
-                abbreviation.getScope().toUpperCase(),
-                ClassIndex.NameKind.CAMEL_CASE,
-                EnumSet.of(ClassIndex.SearchScope.SOURCE, ClassIndex.SearchScope.DEPENDENCIES));
+        Set<ElementHandle<TypeElement>> declaredTypes =
+                getDeclaredTypes(controller.getClasspathInfo(), abbreviation.getScope(), null);
         List<TypeElement> types = new ArrayList<>();
-        Elements elements = workingCopy.getElements();
+        Elements elements = controller.getElements();
         declaredTypes.forEach(externalType -> {
-            TypeElement typeElement = externalType.resolve(workingCopy);
-            if (typeElement == null) {
+            if (request.isLatencyBudgetExhausted()) {
+                request.markPartialCollection();
                 return;
             }
-            if (elements.isDeprecated(typeElement)) {
+            TypeElement typeElement = externalType.resolve(controller);
+            if (typeElement == null) {
                 return;
             }
-            String typeName = typeElement.getSimpleName().toString();
-            String typeAbbreviation = StringUtilities.getElementAbbreviation(typeName);
-            if (!typeAbbreviation.equals(abbreviation.getScope())) {
+            if (elements.isDeprecated(typeElement)) {
                 return;
             }
             if (typeElement.getModifiers().contains(Modifier.PRIVATE)) {
@@ -973,49 +1258,50 @@ public class JavaSourceUtilities {
     }
 
     public static List<TypeElement> collectGlobalTypeElements(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        Elements elements = workingCopy.getElements();
+        CompilationController controller = request.getCompilationController();
+        Elements elements = controller.getElements();
         Abbreviation abbreviation = request.getAbbreviation();
-        ElementUtilities elementUtilities = workingCopy.getElementUtilities();
+        AbbreviationMatcher typeMatcher = AbbreviationMatcher.forTypes(abbreviation.getScope());
+        ElementUtilities elementUtilities = controller.getElementUtilities();
         Iterable<? extends TypeElement> globalTypes =
                 elementUtilities.getGlobalTypes((element, type) -> {
-                    if (elements.isDeprecated(element)) {
+                    if (request.isLatencyBudgetExhausted()) {
+                        request.markPartialCollection();
                         return false;
                     }
-                    String typeAbbreviation = StringUtilities.getElementAbbreviation(element.getSimpleName().toString());
-                    if (!typeAbbreviation.equals(abbreviation.getScope())) {
-                        return false;
+                    return true;
+                });
+        List<TypeElement> types = new ArrayList<>();
+        filterByAbbreviation(globalTypes, element -> element.getSimpleName().toString(), typeMatcher)
+                .forEach(element -> {
+                    if (elements.isDeprecated(element)) {
+                        return;
                     }
                     if (element.getModifiers().contains(Modifier.PUBLIC)) {
-                        return true;
-                    } else if (element.getModifiers().contains(Modifier.PRIVATE)) {
-                        return false;
-                    } else {
-                        if (JavaSourceUtilities.isInSamePackageAsCurrentFile(element, request)) {
-                            return true;
-                        }
+                        types.add(element);
+                    } else if (!element.getModifiers().contains(Modifier.PRIVATE)
+                            && JavaSourceUtilities.isInSamePackageAsCurrentFile(element, request)) {
+                        types.add(element);
                     }
-                    return false;
                 });
-        List<TypeElement> types = new ArrayList<>();
-        globalTypes.forEach(types::add);
         return Collections.unmodifiableList(types);
     }
 
     public static List<TypeElement> collectInternalTypeElements(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        ElementUtilities elementUtilities = workingCopy.getElementUtilities();
-        Elements elements = workingCopy.getElements();
-        CompilationUnitTree compilationUnit = workingCopy.getCompilationUnit();
+        CompilationController controller = request.getCompilationController();
+        ElementUtilities elementUtilities = controller.getElementUtilities();
+        Elements elements = controller.getElements();
+        CompilationUnitTree compilationUnit = controller.getCompilationUnit();
         List<? extends Tree> typeDecls = compilationUnit.getTypeDecls();
         Tree topLevelClassInterfaceOrEnumTree = typeDecls.get(0);
-        Element topLevelElement = workingCopy.getTrees().getElement(
+        Element topLevelElement = controller.getTrees().getElement(
                 TreePath.getPath(compilationUnit, topLevelClassInterfaceOrEnumTree));
         List<TypeElement> types = new ArrayList<>();
         Abbreviation abbreviation = request.getAbbreviation();
+        AbbreviationMatcher typeMatcher = AbbreviationMatcher.forTypes(abbreviation.getScope());
         String topLevelElementAbbreviation =
                 StringUtilities.getElementAbbreviation(topLevelElement.getSimpleName().toString());
-        if (topLevelElementAbbreviation.equals(abbreviation.getScope())) {
+        if (typeMatcher.matches(topLevelElementAbbreviation)) {
             types.add((TypeElement) topLevelElement);
         }
         Iterable<? extends Element> internalTypes =
@@ -1024,7 +1310,7 @@ public class JavaSourceUtilities {
                         return false;
                     }
                     String typeAbbreviation = StringUtilities.getElementAbbreviation(element.getSimpleName().toString());
-                    if (!typeAbbreviation.equals(abbreviation.getScope())) {
+                    if (!typeMatcher.matches(typeAbbreviation)) {
                         return false;
                     }
                     return element.getKind() == ElementKind.CLASS
@@ -1045,9 +1331,9 @@ public class JavaSourceUtilities {
 
     public static Map<TypeElement, List<TypeElement>> collectInnerTypeElements(
             boolean external, CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        Elements elements = workingCopy.getElements();
-        ElementUtilities elementUtilities = workingCopy.getElementUtilities();
+        CompilationController controller = request.getCompilationController();
+        Elements elements = controller.getElements();
+        ElementUtilities elementUtilities = controller.getElementUtilities();
         Abbreviation abbreviation = request.getAbbreviation();
         List<TypeElement> types;
         if (external) {
@@ -1089,9 +1375,9 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isAdjacentToModifiersTreeSpan(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
+        CompilationController controller = request.getCompilationController();
         Abbreviation abbreviation = request.getAbbreviation();
-        TokenSequence<?> tokenSequence = workingCopy.getTokenHierarchy().tokenSequence();
+        TokenSequence<?> tokenSequence = controller.getTokenHierarchy().tokenSequence();
         tokenSequence.move(abbreviation.getStartOffset());
         while (tokenSequence.movePrevious() && tokenSequence.token().id() == JavaTokenId.WHITESPACE) {
         }
@@ -1100,8 +1386,8 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isPositionOfExtendsKeywordInClassOrInterfaceDeclaration(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        CompilationController controller = request.getCompilationController();
+        TreeUtilities treeUtilities = controller.getTreeUtilities();
         Tree currentTree = request.getCurrentTree();
         TokenSequence<JavaTokenId> tokenSequence = treeUtilities.tokensFor(currentTree);
         tokenSequence.moveStart();
@@ -1142,8 +1428,8 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isInsideExtendsTreeSpan(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        CompilationController controller = request.getCompilationController();
+        TreeUtilities treeUtilities = controller.getTreeUtilities();
         Tree currentTree = request.getCurrentTree();
         TokenSequence<JavaTokenId> tokenSequence = treeUtilities.tokensFor(currentTree);
         tokenSequence.moveStart();
@@ -1202,8 +1488,8 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isInsideImplementsTreeSpan(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        CompilationController controller = request.getCompilationController();
+        TreeUtilities treeUtilities = controller.getTreeUtilities();
         Tree currentTree = request.getCurrentTree();
         TokenSequence<JavaTokenId> tokenSequence = treeUtilities.tokensFor(currentTree);
         tokenSequence.moveStart();
@@ -1246,16 +1532,16 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isInsideClassEnumOrInterfaceBodySpan(ClassTree classOrInterface, CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        CompilationController controller = request.getCompilationController();
+        TreeUtilities treeUtilities = controller.getTreeUtilities();
         Abbreviation abbreviation = request.getAbbreviation();
         int[] bodySpan = treeUtilities.findBodySpan(classOrInterface);
         return bodySpan[0] < abbreviation.getStartOffset() && abbreviation.getStartOffset() < bodySpan[1];
     }
 
     public static boolean isNextToken(TokenId tokenId, CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        TokenSequence<?> tokenSequence = workingCopy.getTokenHierarchy().tokenSequence();
+        CompilationController controller = request.getCompilationController();
+        TokenSequence<?> tokenSequence = controller.getTokenHierarchy().tokenSequence();
         Abbreviation abbreviation = request.getAbbreviation();
         tokenSequence.move(abbreviation.getStartOffset());
         if (tokenSequence.moveNext()) {
@@ -1265,8 +1551,8 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isPositionOfImplementsKeywordInClassOrEnumDeclaration(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        CompilationController controller = request.getCompilationController();
+        TreeUtilities treeUtilities = controller.getTreeUtilities();
         Tree currentTree = request.getCurrentTree();
         TokenSequence<JavaTokenId> tokenSequence = treeUtilities.tokensFor(currentTree);
         tokenSequence.moveStart();
@@ -1307,8 +1593,8 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isInsideMethodBodySpan(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        CompilationController controller = request.getCompilationController();
+        TreeUtilities treeUtilities = controller.getTreeUtilities();
         Abbreviation abbreviation = request.getAbbreviation();
         TokenSequence<JavaTokenId> tokenSequence = treeUtilities.tokensFor(request.getCurrentTree());
         tokenSequence.moveStart();
@@ -1324,8 +1610,8 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isPositionOfThrowsKeyword(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        CompilationController controller = request.getCompilationController();
+        TreeUtilities treeUtilities = controller.getTreeUtilities();
         TokenSequence<JavaTokenId> tokenSequence = treeUtilities.tokensFor(request.getCurrentTree());
         tokenSequence.moveStart();
         Map<JavaTokenId, Integer> offsetsByTokenIds = new HashMap<>();
@@ -1353,8 +1639,8 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isInsideThrowsTreeSpan(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        CompilationController controller = request.getCompilationController();
+        TreeUtilities treeUtilities = controller.getTreeUtilities();
         Tree currentTree = request.getCurrentTree();
         TokenSequence<JavaTokenId> tokenSequence = treeUtilities.tokensFor(currentTree);
         tokenSequence.moveStart();
@@ -1388,8 +1674,8 @@ public class JavaSourceUtilities {
     }
 
     public static boolean isInsideMethodParameterTreeSpan(CodeCompletionRequest request) {
-        WorkingCopy workingCopy = request.getWorkingCopy();
-        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        CompilationController controller = request.getCompilationController();
+        TreeUtilities treeUtilities = controller.getTreeUtilities();
         int[] methodParameterSpan = treeUtilities.findMethodParameterSpan((MethodTree) request.getCurrentTree());
         Abbreviation abbreviation = request.getAbbreviation();
         return methodParameterSpan[0] < abbreviation.getStartOffset()
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.util;
+
+/**
+ * Levenshtein automaton of a word, simulated one row at a time. A state is the row of edit distances between the
+ * prefixes of the word and the input read so far, capped at one more than the maximum distance, so walking it along
+ * the branches of a trie finds every key within the distance and prunes a branch as soon as no key below it can match.
+ *
+ * @author Arthur Sadykov
+ */
+public final class LevenshteinAutomaton {
+
+    private final String word;
+    private final int maxDistance;
+
+    public LevenshteinAutomaton(String word, int maxDistance) {
+        this.word = word;
+        this.maxDistance = maxDistance;
+    }
+
+    public int[] start() {
+        int[] state = new int[word.length() + 1];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = Math.min(i, maxDistance + 1);
+        }
+        return state;
+    }
+
+    public int[] step(int[] state, char character) {
+        int[] next = new int[state.length];
+        next[0] = Math.min(state[0] + 1, maxDistance + 1);
+        for (int i = 1; i < state.length; i++) {
+            int cost = word.charAt(i - 1) == character ? 0 : 1;
+            int distance = Math.min(state[i - 1] + cost, Math.min(state[i] + 1, next[i - 1] + 1));
+            next[i] = Math.min(distance, maxDistance + 1);
+        }
+        return next;
+    }
+
+    public boolean isMatch(int[] state) {
+        return getDistance(state) <= maxDistance;
+    }
+
+    public int getDistance(int[] state) {
+        return state[state.length - 1];
+    }
+
+    public boolean canMatch(int[] state) {
+        for (int distance : state) {
+            if (distance <= maxDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean matches(String input) {
+        int[] state = start();
+        for (int i = 0; i < input.length() && canMatch(state); i++) {
+            state = step(state, input.charAt(i));
+        }
+        return isMatch(state);
+    }
+}
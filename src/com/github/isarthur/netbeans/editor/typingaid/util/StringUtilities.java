@@ -15,12 +15,16 @@
  */
 package com.github.isarthur.netbeans.editor.typingaid.util;
 
+import java.util.regex.Pattern;
+
 /**
  *
  * @author Arthur Sadykov
  */
 public class StringUtilities {
 
+    private static final Pattern CONSTANT_NAME = Pattern.compile("^[A-Z][A-Z]*(_([A-Z])[A-Z]*)*$"); //NOI18N
+
     private StringUtilities() {
     }
 
@@ -30,7 +34,7 @@ public class StringUtilities {
         }
         StringBuilder abbreviation = new StringBuilder();
         abbreviation.append(Character.toLowerCase(elementName.charAt(0)));
-        if (elementName.matches("^[A-Z][A-Z]*(_([A-Z])[A-Z]*)*$")) { //NOI18N
+        if (CONSTANT_NAME.matcher(elementName).matches()) {
             char previous = elementName.charAt(0);
             for (int i = 1; i < elementName.length(); i++) {
                 if (previous == '_') {
@@ -138,24 +138,38 @@ public class Utilities {
                     name = prefix + name.toUpperCase(Locale.ENGLISH).charAt(0) + name.substring(1);
                 }
             }
-            int cnt = 1;
-            String baseName = name;
-            name = CodeStyleUtils.addPrefixSuffix(name, namePrefix, nameSuffix);
-            while (isClashing(name, type, locals)) {
-                if (isPrimitive) {
-                    char c = name.charAt(namePrefix != null ? namePrefix.length() : 0);
-                    name = CodeStyleUtils.addPrefixSuffix(Character.toString(++c), namePrefix, nameSuffix);
-                    if (c == 'z' || c == 'Z') //NOI18N
-                    {
-                        isPrimitive = false;
-                    }
-                } else {
-                    name = CodeStyleUtils.addPrefixSuffix(baseName + cnt++, namePrefix, nameSuffix);
+            result.add(resolveNameClash(name, isPrimitive, type, locals, namePrefix, nameSuffix));
+        }
+        return result;
+    }
+
+    public static String resolveNameClash(String baseName, TypeMirror type, Iterable<? extends Element> locals,
+            String namePrefix, String nameSuffix) {
+        boolean isPrimitive = type != null && type.getKind().isPrimitive();
+        return resolveNameClash(baseName, isPrimitive, type, locals, namePrefix, nameSuffix);
+    }
+
+    private static String resolveNameClash(String baseName, boolean isPrimitive, TypeMirror type,
+            Iterable<? extends Element> locals, String namePrefix, String nameSuffix) {
+        int cnt = 1;
+        String name = CodeStyleUtils.addPrefixSuffix(baseName, namePrefix, nameSuffix);
+        while (isClashing(name, type, locals)) {
+            if (isPrimitive) {
+                char c = name.charAt(namePrefix != null ? namePrefix.length() : 0);
+                name = CodeStyleUtils.addPrefixSuffix(Character.toString(++c), namePrefix, nameSuffix);
+                if (c == 'z' || c == 'Z') //NOI18N
+                {
+                    isPrimitive = false;
                 }
+            } else {
+                name = CodeStyleUtils.addPrefixSuffix(baseName + cnt++, namePrefix, nameSuffix);
             }
-            result.add(name);
         }
-        return result;
+        return name;
+    }
+
+    public static List<String> varNamesForType(TypeMirror type, Types types, Elements elements) {
+        return varNamesForType(type, types, elements, null);
     }
 
     private static List<String> varNamesForType(TypeMirror type, Types types, Elements elements, String prefix) {
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.warmup;
+
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.swing.SwingUtilities;
+import org.netbeans.api.editor.EditorRegistry;
+import org.netbeans.api.java.source.CancellableTask;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.CompilationInfo;
+import org.netbeans.api.java.source.JavaSource;
+import org.netbeans.api.java.source.JavaSourceTaskFactory;
+import org.openide.filesystems.FileObject;
+import org.openide.util.lookup.ServiceProvider;
+
+/**
+ * Warms up the completion caches of a Java file once its editor has been opened. The task runs at the lowest
+ * priority once the file is resolved and is cancelled by the parsing infrastructure as soon as foreground work
+ * arrives, in which case it is run again later. It attributes the scope at the caret, completes the members of the
+ * types referenced in the file and loads the type abbreviation indexes of the file's classpath. The open editors and
+ * their carets are captured in the event dispatch thread whenever the editor registry or the warm up preference
+ * changes.
+ *
+ * @author Arthur Sadykov
+ */
+@ServiceProvider(service = JavaSourceTaskFactory.class)
+public class CompletionWarmUpTaskFactory extends JavaSourceTaskFactory {
+
+    private static final String WARM_UP_ABBREVIATION = "s"; //NOI18N
+    private static final int MAX_REFERENCED_TYPES = 64;
+    private final Map<FileObject, Boolean> warmedUpFiles = new WeakHashMap<>();
+    private final OpenJavaEditors openEditors = new OpenJavaEditors();
+
+    public CompletionWarmUpTaskFactory() {
+        super(JavaSource.Phase.RESOLVED, JavaSource.Priority.MIN);
+        EditorRegistry.addPropertyChangeListener(event -> editorsChanged());
+        Preferences.addWarmUpFlagListener(event -> editorsChanged());
+        SwingUtilities.invokeLater(this::editorsChanged);
+    }
+
+    private void editorsChanged() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(this::editorsChanged);
+            return;
+        }
+        openEditors.update(EditorRegistry.componentList());
+        fileObjectsChanged();
+    }
+
+    @Override
+    protected CancellableTask<CompilationInfo> createTask(FileObject file) {
+        return new WarmUpTask(file);
+    }
+
+    @Override
+    protected Collection<FileObject> getFileObjects() {
+        if (!Preferences.getWarmUpFlag()) {
+            return Collections.emptyList();
+        }
+        List<FileObject> files = new ArrayList<>();
+        for (FileObject file : openEditors.getFiles()) {
+            synchronized (this) {
+                if (!warmedUpFiles.containsKey(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        return files;
+    }
+
+    private final class WarmUpTask implements CancellableTask<CompilationInfo> {
+
+        private final FileObject file;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        WarmUpTask(FileObject file) {
+            this.file = file;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        @Override
+        public void run(CompilationInfo info) {
+            cancelled.set(false);
+            synchronized (CompletionWarmUpTaskFactory.this) {
+                if (warmedUpFiles.containsKey(file)) {
+                    return;
+                }
+            }
+            int caretOffset = openEditors.getCaretOffset(file);
+            info.getTreeUtilities().scopeFor(Math.min(caretOffset, info.getText().length()));
+            if (cancelled.get() || !completeReferencedTypes(info)) {
+                return;
+            }
+            ClasspathInfo classpathInfo = info.getClasspathInfo();
+            JavaSourceUtilities.getDeclaredTypes(classpathInfo, WARM_UP_ABBREVIATION, null);
+            if (cancelled.get()) {
+                return;
+            }
+            synchronized (CompletionWarmUpTaskFactory.this) {
+                warmedUpFiles.put(file, Boolean.TRUE);
+            }
+            fileObjectsChanged();
+        }
+
+        private boolean completeReferencedTypes(CompilationInfo info) {
+            Set<TypeElement> types = new LinkedHashSet<>();
+            Trees trees = info.getTrees();
+            CompilationUnitTree compilationUnit = info.getCompilationUnit();
+            new TreePathScanner<Void, Void>() {
+                @Override
+                public Void visitIdentifier(IdentifierTree node, Void p) {
+                    addType(getCurrentPath());
+                    return super.visitIdentifier(node, p);
+                }
+
+                @Override
+                public Void visitMemberSelect(MemberSelectTree node, Void p) {
+                    addType(getCurrentPath());
+                    return super.visitMemberSelect(node, p);
+                }
+
+                @Override
+                public Void scan(Tree tree, Void p) {
+                    if (cancelled.get() || types.size() >= MAX_REFERENCED_TYPES) {
+                        return null;
+                    }
+                    return super.scan(tree, p);
+                }
+
+                private void addType(TreePath path) {
+                    Element element = trees.getElement(path);
+                    if (element instanceof TypeElement) {
+                        types.add((TypeElement) element);
+                    }
+                }
+            }.scan(new TreePath(compilationUnit), null);
+            Elements elements = info.getElements();
+            for (TypeElement type : types) {
+                if (cancelled.get()) {
+                    return false;
+                }
+                elements.getAllMembers(type);
+            }
+            return !cancelled.get();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid.warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.SwingUtilities;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+import org.openide.filesystems.FileObject;
+import org.openide.loaders.DataObject;
+
+/**
+ * The Java files open in editors together with their caret offsets. The editors are only read in the event dispatch
+ * thread when {@link #update(List)} is called; the captured files and offsets can be read from any thread.
+ *
+ * @author Arthur Sadykov
+ */
+public final class OpenJavaEditors {
+
+    private static final String JAVA_MIME_TYPE = "text/x-java"; //NOI18N
+    private final Map<FileObject, Integer> caretOffsets = new LinkedHashMap<>();
+
+    /**
+     * Replaces the captured files and caret offsets with the ones of the given editors. Must be called in the event
+     * dispatch thread.
+     *
+     * @param components the open editors
+     */
+    public void update(List<? extends JTextComponent> components) {
+        assert SwingUtilities.isEventDispatchThread();
+        Map<FileObject, Integer> offsets = new LinkedHashMap<>();
+        for (JTextComponent component : components) {
+            FileObject file = getFileObject(component.getDocument());
+            if (file != null && JAVA_MIME_TYPE.equals(file.getMIMEType())) {
+                offsets.putIfAbsent(file, component.getCaretPosition());
+            }
+        }
+        synchronized (this) {
+            caretOffsets.clear();
+            caretOffsets.putAll(offsets);
+        }
+    }
+
+    public synchronized List<FileObject> getFiles() {
+        return new ArrayList<>(caretOffsets.keySet());
+    }
+
+    public synchronized int getCaretOffset(FileObject file) {
+        return caretOffsets.getOrDefault(file, 0);
+    }
+
+    private static FileObject getFileObject(Document document) {
+        Object streamDescription = document.getProperty(Document.StreamDescriptionProperty);
+        if (streamDescription instanceof DataObject) {
+            return ((DataObject) streamDescription).getPrimaryFile();
+        }
+        if (streamDescription instanceof FileObject) {
+            return (FileObject) streamDescription;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.JavaAbbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.CodeFragmentCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.impl.ExternalTypeCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.impl.FieldCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.impl.GlobalTypeCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.impl.LocalMethodInvocationCollector;
+import com.github.isarthur.netbeans.editor.typingaid.collector.impl.MethodInvocationCollector;
+import com.github.isarthur.netbeans.editor.typingaid.request.impl.CodeCompletionRequestImpl;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceInitializeHandler;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import javax.swing.text.Document;
+import junit.framework.Test;
+import org.netbeans.api.java.source.JavaSource;
+import org.netbeans.api.java.source.SourceUtils;
+import org.netbeans.jellytools.JellyTestCase;
+import org.openide.cookies.EditorCookie;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.loaders.DataObject;
+
+/**
+ * Measures how the type and member collectors grow with the size of the project. The project sizes are taken from
+ * the comma separated {@code typingaid.scaling.sizes} system property and default to two small projects; larger ones
+ * have to be asked for. The first run of every collector is reported as cold and the best of the following runs as
+ * warm. The warm time of every collector in the largest project must not grow more than linearly, with some slack,
+ * over its warm time in the smallest one.
+ *
+ * @author: Arthur Sadykov
+ */
+public class ProjectScalingTest extends JellyTestCase {
+
+    private static final String TEMPLATE_PROJECT_NAME = "TestProject";
+    private static final String SIZES_PROPERTY = "typingaid.scaling.sizes";
+    private static final String DEFAULT_SIZES = "100,400";
+    private static final int MEASURED_ITERATIONS = 5;
+    private static final int GROWTH_SLACK = 2;
+    private static final long NOISE_FLOOR_NANOS = 1_000_000L;
+
+    public ProjectScalingTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return createModuleTest(ProjectScalingTest.class);
+    }
+
+    public void testCollectorsScaleWithProjectSize() throws Exception {
+        SortedMap<Integer, Map<String, Long>> warmTimesByClassCount = new TreeMap<>();
+        for (String size : System.getProperty(SIZES_PROPERTY, DEFAULT_SIZES).split(",")) {
+            int classCount = Integer.parseInt(size.trim());
+            Map<String, Long> warmTimes = new LinkedHashMap<>();
+            warmTimesByClassCount.put(classCount, warmTimes);
+            SyntheticProjectGenerator generator = new SyntheticProjectGenerator().setClassCount(classCount);
+            File projectDirectory = new File(getWorkDir(), "Synthetic" + classCount);
+            generator.generate(new File(getDataDir(), TEMPLATE_PROJECT_NAME), projectDirectory);
+            openProjects(projectDirectory.getAbsolutePath());
+            SourceUtils.waitScanFinished();
+            FileObject testFile = FileUtil.toFileObject(new File(projectDirectory, "src/test/Test.java"));
+            int caretOffset = generator.getCaretOffset();
+            String typeAbbreviation = generator.getTypeAbbreviation(0);
+            String methodAbbreviation = generator.getMethodAbbreviation();
+            log(classCount + " classes");
+            List<CodeFragment> globalTypes = measure("GlobalTypeCollector", warmTimes, testFile, caretOffset,
+                    typeAbbreviation, GlobalTypeCollector::new);
+            assertFalse(globalTypes.isEmpty());
+            measure("ExternalTypeCollector", warmTimes, testFile, caretOffset, typeAbbreviation,
+                    ExternalTypeCollector::new);
+            measure("MethodInvocationCollector", warmTimes, testFile, caretOffset,
+                    generator.getLargeParameterName() + '.' + methodAbbreviation, MethodInvocationCollector::new);
+            measure("LocalMethodInvocationCollector", warmTimes, testFile, caretOffset, methodAbbreviation,
+                    LocalMethodInvocationCollector::new);
+            measure("FieldCollector", warmTimes, testFile, caretOffset, generator.getFieldAbbreviation(),
+                    FieldCollector::new);
+            closeOpenedProjects();
+        }
+        if (warmTimesByClassCount.size() > 1) {
+            assertLinearGrowth(warmTimesByClassCount);
+        }
+    }
+
+    private void assertLinearGrowth(SortedMap<Integer, Map<String, Long>> warmTimesByClassCount) {
+        int smallestClassCount = warmTimesByClassCount.firstKey();
+        int largestClassCount = warmTimesByClassCount.lastKey();
+        Map<String, Long> smallestWarmTimes = warmTimesByClassCount.get(smallestClassCount);
+        double allowedGrowth = (double) GROWTH_SLACK * largestClassCount / smallestClassCount;
+        for (Map.Entry<String, Long> entry : warmTimesByClassCount.get(largestClassCount).entrySet()) {
+            long smallestWarmTime = Math.max(smallestWarmTimes.get(entry.getKey()), NOISE_FLOOR_NANOS);
+            assertTrue(entry.getKey() + " grows faster than the project: " + smallestWarmTime + " ns for "
+                    + smallestClassCount + " classes, " + entry.getValue() + " ns for " + largestClassCount
+                    + " classes", entry.getValue() <= smallestWarmTime * allowedGrowth);
+        }
+    }
+
+    private List<CodeFragment> measure(String name, Map<String, Long> warmTimes, FileObject testFile, int caretOffset,
+            String abbreviation, Supplier<CodeFragmentCollector> collectorFactory) throws IOException {
+        List<CodeFragment> codeFragments = new ArrayList<>();
+        long[] times = new long[MEASURED_ITERATIONS + 1];
+        Document document = DataObject.find(testFile).getLookup().lookup(EditorCookie.class).openDocument();
+        JavaSource javaSource = JavaSourceInitializeHandler.getJavaSourceForFileObject(testFile);
+        javaSource.runModificationTask(copy -> {
+            JavaSourceInitializeHandler.moveStateToResolvedPhase(copy);
+            for (int i = 0; i < times.length; i++) {
+                codeFragments.clear();
+                CodeCompletionRequestImpl request = new CodeCompletionRequestImpl(
+                        new JavaAbbreviation(abbreviation, caretOffset), codeFragments, copy, document);
+                CodeFragmentCollector collector = collectorFactory.get();
+                long start = System.nanoTime();
+                collector.collect(request);
+                times[i] = System.nanoTime() - start;
+            }
+        });
+        long warm = Long.MAX_VALUE;
+        for (int i = 1; i < times.length; i++) {
+            warm = Math.min(warm, times[i]);
+        }
+        warmTimes.put(name, warm);
+        log(name + ": " + codeFragments.size() + " fragments, cold " + times[0] + " ns, warm " + warm + " ns");
+        return codeFragments;
+    }
+}
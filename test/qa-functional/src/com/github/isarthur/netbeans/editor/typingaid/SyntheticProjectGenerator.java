@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates a Java SE project of configurable size from the {@code TestProject} template. Class names are made of
+ * words picked by the class index modulo the number of distinct abbreviations, so that many classes share an
+ * abbreviation. Classes form inheritance chains of the configured depth, and every large class declares the
+ * configured number of fields and methods whose abbreviations collide as well. The generated {@code test.Test} class
+ * extends the last class of the first chain and takes a parameter of the first large class.
+ *
+ * @author: Arthur Sadykov
+ */
+public class SyntheticProjectGenerator {
+
+    private static final String TEMPLATE_NAME = "TestProject";
+    private static final String BASE_PACKAGE = "synthetic";
+    private static final String[] WORDS = {
+        "Abstract", "Buffer", "Cache", "Data", "Event", "File", "Graph", "Handler", "Index", "Job", "Key", "List",
+        "Model", "Node", "Object", "Parser", "Query", "Reader", "Stream", "Token", "Unit", "Value", "Writer",
+        "Xml", "Yield", "Zone"
+    };
+    private static final String[] MEMBER_WORDS = {"Buffer", "Builder", "Bundle", "Count", "Context", "Cursor"};
+    private int classCount = 10000;
+    private int classesPerPackage = 100;
+    private int distinctAbbreviations = 500;
+    private int inheritanceDepth = 8;
+    private int largeClassInterval = 100;
+    private int membersPerLargeClass = 300;
+
+    public SyntheticProjectGenerator setClassCount(int classCount) {
+        this.classCount = classCount;
+        return this;
+    }
+
+    public SyntheticProjectGenerator setClassesPerPackage(int classesPerPackage) {
+        this.classesPerPackage = classesPerPackage;
+        return this;
+    }
+
+    public SyntheticProjectGenerator setDistinctAbbreviations(int distinctAbbreviations) {
+        this.distinctAbbreviations = distinctAbbreviations;
+        return this;
+    }
+
+    public SyntheticProjectGenerator setInheritanceDepth(int inheritanceDepth) {
+        this.inheritanceDepth = inheritanceDepth;
+        return this;
+    }
+
+    public SyntheticProjectGenerator setLargeClassInterval(int largeClassInterval) {
+        this.largeClassInterval = largeClassInterval;
+        return this;
+    }
+
+    public SyntheticProjectGenerator setMembersPerLargeClass(int membersPerLargeClass) {
+        this.membersPerLargeClass = membersPerLargeClass;
+        return this;
+    }
+
+    public void generate(File template, File projectDirectory) throws IOException {
+        String projectName = projectDirectory.getName();
+        Path project = projectDirectory.toPath();
+        Path nbproject = Files.createDirectories(project.resolve("nbproject"));
+        copyTemplate(template.toPath().resolve("build.xml"), project.resolve("build.xml"), projectName);
+        copyTemplate(template.toPath().resolve("nbproject/project.xml"), nbproject.resolve("project.xml"),
+                projectName);
+        copyTemplate(template.toPath().resolve("nbproject/project.properties"),
+                nbproject.resolve("project.properties"), projectName);
+        Path sources = Files.createDirectories(project.resolve("src"));
+        Files.createDirectories(project.resolve("test"));
+        for (int i = 0; i < classCount; i++) {
+            Path directory = Files.createDirectories(sources.resolve(BASE_PACKAGE).resolve(getPackageName(i)));
+            write(directory.resolve(getClassName(i) + ".java"), makeClass(i));
+        }
+        Path testDirectory = Files.createDirectories(sources.resolve("test"));
+        write(testDirectory.resolve("Test.java"), makeTestClass());
+    }
+
+    public String getTypeAbbreviation(int index) {
+        int key = index % distinctAbbreviations;
+        return new String(new char[]{
+            Character.toLowerCase(WORDS[key / (WORDS.length * WORDS.length) % WORDS.length].charAt(0)),
+            Character.toLowerCase(WORDS[key / WORDS.length % WORDS.length].charAt(0)),
+            Character.toLowerCase(WORDS[key % WORDS.length].charAt(0))
+        });
+    }
+
+    public String getMethodAbbreviation() {
+        return "gb"; //NOI18N
+    }
+
+    public String getFieldAbbreviation() {
+        return "b"; //NOI18N
+    }
+
+    public String getLargeParameterName() {
+        return "large"; //NOI18N
+    }
+
+    public int getCaretOffset() {
+        return makeTestClass().indexOf("        \n") + 8; //NOI18N
+    }
+
+    private String makeClass(int index) {
+        StringBuilder code = new StringBuilder();
+        code.append("package ").append(BASE_PACKAGE).append('.').append(getPackageName(index)).append(";\n\n")
+                .append("public class ").append(getClassName(index));
+        if (index % inheritanceDepth != 0) {
+            code.append(" extends ").append(getQualifiedClassName(index - 1));
+        }
+        code.append(" {\n");
+        if (index % largeClassInterval == 0) {
+            for (int i = 0; i < membersPerLargeClass; i++) {
+                String word = MEMBER_WORDS[i % MEMBER_WORDS.length];
+                code.append("\n    protected int ").append(Character.toLowerCase(word.charAt(0)))
+                        .append(word.substring(1)).append(i).append(";\n");
+                code.append("\n    public String get").append(word).append(i).append("() {\n")
+                        .append("        return \"\";\n")
+                        .append("    }\n");
+            }
+        }
+        code.append("}\n");
+        return code.toString();
+    }
+
+    private String makeTestClass() {
+        return "package test;\n\n"
+                + "public class Test extends " + getQualifiedClassName(Math.min(inheritanceDepth, classCount) - 1)
+                + " {\n\n"
+                + "    void test(" + getQualifiedClassName(0) + " " + getLargeParameterName() + ") {\n"
+                + "        \n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    private String getPackageName(int index) {
+        return "p" + index / classesPerPackage; //NOI18N
+    }
+
+    private String getClassName(int index) {
+        int key = index % distinctAbbreviations;
+        return WORDS[key / (WORDS.length * WORDS.length) % WORDS.length]
+                + WORDS[key / WORDS.length % WORDS.length]
+                + WORDS[key % WORDS.length]
+                + index;
+    }
+
+    private String getQualifiedClassName(int index) {
+        return BASE_PACKAGE + '.' + getPackageName(index) + '.' + getClassName(index);
+    }
+
+    private void copyTemplate(Path source, Path target, String projectName) throws IOException {
+        String content = new String(Files.readAllBytes(source), StandardCharsets.UTF_8);
+        write(target, content.replace(TEMPLATE_NAME, projectName));
+    }
+
+    private void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.Abbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.api.AbbreviationBuffer;
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.AbbreviationSnapshot;
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.JavaAbbreviation;
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
+import junit.framework.Test;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class AbbreviationBufferTest extends GeneralCompletionTest {
+
+    public AbbreviationBufferTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(AbbreviationBufferTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        after();
+    }
+
+    public void testEachDocumentHasItsOwnBuffer() {
+        Document document = getDocument();
+        Document otherDocument = new PlainDocument();
+        AbbreviationBuffer buffer = JavaAbbreviation.forDocument(document);
+        AbbreviationBuffer otherBuffer = JavaAbbreviation.forDocument(otherDocument);
+        assertNotSame(buffer, otherBuffer);
+        assertSame(buffer, JavaAbbreviation.forDocument(document));
+        buffer.reset();
+        otherBuffer.reset();
+        buffer.append('n').append('o');
+        buffer.setStartOffset(10);
+        otherBuffer.append('x');
+        otherBuffer.setStartOffset(3);
+        assertEquals("no", buffer.getContent());
+        assertEquals(10, buffer.getStartOffset());
+        assertEquals("x", otherBuffer.getContent());
+        assertEquals(3, otherBuffer.getStartOffset());
+        buffer.reset();
+        assertEquals("x", JavaAbbreviation.forDocument(otherDocument).getContent());
+    }
+
+    public void testSnapshotKeepsItsContentWhileBufferIsTyped() {
+        AbbreviationBuffer buffer = new JavaAbbreviation("no", 10);
+        Abbreviation snapshot = buffer.snapshot();
+        buffer.append('c');
+        buffer.setStartOffset(20);
+        assertEquals("no", snapshot.getContent());
+        assertEquals(10, snapshot.getStartOffset());
+        assertEquals(12, snapshot.getEndOffset());
+        buffer.reset();
+        assertEquals("no", snapshot.getContent());
+        assertFalse(snapshot.isEmpty());
+    }
+
+    public void testSnapshotIsReadOnly() {
+        Abbreviation snapshot = new JavaAbbreviation("s.t", 4).snapshot();
+        assertFalse(snapshot instanceof AbbreviationBuffer);
+        assertFalse(AbbreviationBuffer.class.isAssignableFrom(AbbreviationSnapshot.class));
+        assertSame(snapshot, snapshot.snapshot());
+        assertEquals("s", snapshot.getScope());
+        assertEquals("t", snapshot.getIdentifier());
+        assertFalse(snapshot.isSimple());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.AbbreviationExpansionEngine;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.impl.JavaAbbreviationExpansionEngine;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import java.io.IOException;
+import java.util.List;
+import junit.framework.Test;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class AbbreviationExpansionEngineTest extends GeneralCompletionTest {
+
+    private final AbbreviationExpansionEngine engine = new JavaAbbreviationExpansionEngine();
+
+    public AbbreviationExpansionEngineTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(AbbreviationExpansionEngineTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        Preferences.setParameterFlag(true);
+    }
+
+    public void testExpandAndApplyWithoutEditorComponent() throws IOException {
+        int offset = writeTestFile(
+                "public class Test {\n"
+                + "    public void test(int numberOfClasses) {\n"
+                + "        int count = |;\n"
+                + "    }\n"
+                + "}");
+        List<CodeFragment> codeFragments = engine.expand(getTestFile(), offset, "noc");
+        assertEquals(1, codeFragments.size());
+        assertEquals("numberOfClasses", codeFragments.get(0).toString());
+        engine.apply(getTestFile(), offset, "noc", codeFragments.get(0));
+        assertEquals(
+                "public class Test {\n"
+                + "    public void test(int numberOfClasses) {\n"
+                + "        int count = numberOfClasses;\n"
+                + "    }\n"
+                + "}",
+                getTestFileText());
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        after();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.index.AbbreviationTrie;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.util.AbbreviationMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import junit.framework.Test;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class AbbreviationTrieTest extends GeneralCompletionTest {
+
+    private boolean prefixMatching;
+    private int fuzzyMatchingDistance;
+
+    public AbbreviationTrieTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(AbbreviationTrieTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+        prefixMatching = Preferences.getPrefixMatchingFlag();
+        fuzzyMatchingDistance = Preferences.getFuzzyMatchingDistance();
+        Preferences.setPrefixMatchingFlag(false);
+        Preferences.setFuzzyMatchingDistance(0);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Preferences.setPrefixMatchingFlag(prefixMatching);
+        Preferences.setFuzzyMatchingDistance(fuzzyMatchingDistance);
+        after();
+    }
+
+    public void testInsertedValuesAreFoundUnderTheirKeyOnly() {
+        AbbreviationTrie<Integer> trie = new AbbreviationTrie<>();
+        trie.add("ab", 1);
+        trie.add("ab", 2);
+        trie.add("abc", 3);
+        trie.add("ab", 1);
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(trie.get("ab")));
+        assertEquals(Collections.singletonList(3), new ArrayList<>(trie.get("abc")));
+        assertTrue(trie.get("a").isEmpty());
+        assertTrue(trie.get("abcd").isEmpty());
+        assertTrue(trie.get("b").isEmpty());
+    }
+
+    public void testRemovalDropsOnlyTheGivenValueAndPrunesEmptyBranches() {
+        AbbreviationTrie<Integer> trie = new AbbreviationTrie<>();
+        trie.add("ab", 1);
+        trie.add("ab", 2);
+        trie.add("abc", 3);
+        assertTrue(trie.remove("ab", 1));
+        assertFalse(trie.remove("ab", 1));
+        assertFalse(trie.remove("xy", 2));
+        assertFalse(trie.remove("abc", 2));
+        assertEquals(Collections.singletonList(2), new ArrayList<>(trie.get("ab")));
+        assertTrue(trie.remove("abc", 3));
+        assertTrue(trie.remove("ab", 2));
+        Preferences.setPrefixMatchingFlag(true);
+        assertTrue(collectKeys(trie, "").isEmpty());
+        trie.add("abc", 4);
+        assertEquals(Collections.singletonList("abc"), collectKeys(trie, "a"));
+    }
+
+    public void testExactWalkReturnsOnlyTheKey() {
+        AbbreviationTrie<Integer> trie = trie("a", "ab", "abc", "b");
+        assertEquals(Collections.singletonList("ab"), collectKeys(trie, "ab"));
+        assertTrue(collectKeys(trie, "ba").isEmpty());
+    }
+
+    public void testPrefixWalkReturnsShorterKeysFirst() {
+        Preferences.setPrefixMatchingFlag(true);
+        AbbreviationTrie<Integer> trie = trie("abc", "b", "ab", "a", "abd");
+        assertEquals(Arrays.asList("a", "ab", "abc", "abd"), collectKeys(trie, "a"));
+        assertEquals(Arrays.asList("ab", "abc", "abd"), collectKeys(trie, "ab"));
+        assertTrue(collectKeys(trie, "c").isEmpty());
+    }
+
+    public void testChildrenStaySortedWhileTheyGrow() {
+        Preferences.setPrefixMatchingFlag(true);
+        AbbreviationTrie<Integer> trie = new AbbreviationTrie<>();
+        List<String> keys = new ArrayList<>();
+        for (char label = 'z'; label >= 'a'; label--) {
+            trie.add(String.valueOf(label), (int) label);
+            keys.add(0, String.valueOf(label));
+        }
+        assertEquals(keys, collectKeys(trie, ""));
+        for (String key : keys) {
+            assertEquals(Collections.singletonList((int) key.charAt(0)), new ArrayList<>(trie.get(key)));
+        }
+    }
+
+    public void testAutomatonWalkOrdersByDistanceThenLengthThenKey() {
+        Preferences.setFuzzyMatchingDistance(1);
+        AbbreviationTrie<Integer> trie = trie("xyz", "abcd", "axc", "abd", "ab", "abc", "bcde");
+        assertEquals(Arrays.asList("abc", "ab", "abd", "axc", "abcd"), collectKeys(trie, "abc"));
+    }
+
+    public void testAutomatonWalkAgreesWithTheMatcher() {
+        Preferences.setFuzzyMatchingDistance(2);
+        List<String> keys = Arrays.asList(
+                "sb", "sbf", "sbd", "abcdef", "abdcef", "abcef", "xbcdey", "ab", "abcdefgh", "bcdef", "fedcba");
+        AbbreviationTrie<Integer> trie = trie(keys.toArray(new String[0]));
+        AbbreviationMatcher matcher = AbbreviationMatcher.forTypes("abcdef");
+        assertEquals(AbbreviationMatcher.Mode.FUZZY, matcher.getMode());
+        List<String> expected = keys.stream().filter(matcher::matches).sorted().collect(Collectors.toList());
+        List<String> actual = new ArrayList<>();
+        trie.collect(matcher, (key, value) -> actual.add(key));
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+    }
+
+    private static AbbreviationTrie<Integer> trie(String... keys) {
+        AbbreviationTrie<Integer> trie = new AbbreviationTrie<>();
+        for (int i = 0; i < keys.length; i++) {
+            trie.add(keys[i], i);
+        }
+        return trie;
+    }
+
+    private static List<String> collectKeys(AbbreviationTrie<Integer> trie, String abbreviation) {
+        List<String> keys = new ArrayList<>();
+        trie.collect(AbbreviationMatcher.forTypes(abbreviation), (key, value) -> keys.add(key));
+        return keys;
+    }
+}
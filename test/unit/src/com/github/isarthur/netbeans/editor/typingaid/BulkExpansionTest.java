@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.impl.JavaAbbreviationBulkExpander;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import java.io.IOException;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import junit.framework.Test;
+import org.openide.cookies.EditorCookie;
+import org.openide.loaders.DataObject;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class BulkExpansionTest extends GeneralCompletionTest {
+
+    private EditorCookie editorCookie;
+
+    public BulkExpansionTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(BulkExpansionTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (editorCookie != null) {
+            editorCookie.close();
+        }
+        after();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        Preferences.setParameterFlag(true);
+    }
+
+    public void testAbbreviationsInArgumentPositionsAreExpanded() throws Exception {
+        doBulkExpansion(
+                "public class Test {\n"
+                + "    void print(String branchName, int numberOfLines) {\n"
+                + "        print(bn, nol);\n"
+                + "    }\n"
+                + "}",
+                "public class Test {\n"
+                + "    void print(String branchName, int numberOfLines) {\n"
+                + "        print(branchName, numberOfLines);\n"
+                + "    }\n"
+                + "}",
+                2);
+    }
+
+    public void testAbbreviationInConstructorArgumentIsExpanded() throws Exception {
+        doBulkExpansion(
+                "public class Test {\n"
+                + "    void test(int numberOfLines) {\n"
+                + "        Object builder = new StringBuilder(nol);\n"
+                + "    }\n"
+                + "}",
+                "public class Test {\n"
+                + "    void test(int numberOfLines) {\n"
+                + "        Object builder = new StringBuilder(numberOfLines);\n"
+                + "    }\n"
+                + "}",
+                1);
+    }
+
+    public void testNestedAbbreviationsAreExpanded() throws Exception {
+        doBulkExpansion(
+                "public class Test {\n"
+                + "    void test(int numberOfLines, int count) {\n"
+                + "        int max = Math.max(nol, Math.abs(c));\n"
+                + "    }\n"
+                + "}",
+                "public class Test {\n"
+                + "    void test(int numberOfLines, int count) {\n"
+                + "        int max = Math.max(numberOfLines, Math.abs(count));\n"
+                + "    }\n"
+                + "}",
+                2);
+    }
+
+    public void testUnresolvableAbbreviationLeavesDocumentUntouched() throws Exception {
+        String code =
+                "public class Test {\n"
+                + "    void test(int numberOfLines) {\n"
+                + "        int value = zqx;\n"
+                + "    }\n"
+                + "}";
+        doBulkExpansion(code, code, 0);
+        assertFalse(editorCookie.isModified());
+    }
+
+    private void doBulkExpansion(String code, String golden, int expandedCount)
+            throws IOException, BadLocationException {
+        writeTestFile(code + "|");
+        editorCookie = DataObject.find(getTestFile()).getLookup().lookup(EditorCookie.class);
+        Document document = editorCookie.openDocument();
+        int count = new JavaAbbreviationBulkExpander(document).expand(0, document.getLength());
+        assertEquals(golden, document.getText(0, document.getLength()));
+        assertEquals(expandedCount, count);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.JavaAbbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.keyword.impl.ForKeyword;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.keyword.impl.ThrowKeyword;
+import com.github.isarthur.netbeans.editor.typingaid.context.api.CodeCompletionContext;
+import com.github.isarthur.netbeans.editor.typingaid.context.impl.CodeCompletionContextFactory;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.impl.CodeCompletionRequestImpl;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.JEditorPane;
+import javax.swing.SwingUtilities;
+import junit.framework.Test;
+import org.netbeans.api.java.source.JavaSource;
+import org.netbeans.api.java.source.ModificationResult;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class CaretPlacementTest extends GeneralCompletionTest {
+
+    public CaretPlacementTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(CaretPlacementTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        after();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        Preferences.setLocalMethodInvocationFlag(true);
+        Preferences.setLocalVariableFlag(true);
+        Preferences.setParameterFlag(true);
+    }
+
+    @Override
+    protected boolean runInEQ() {
+        return false;
+    }
+
+    public void testCaretSelectsFirstArgumentOfMethodCall() throws Exception {
+        String text = expand(
+                "p",
+                "class Test {\n"
+                + "    void print(int value) {\n"
+                + "    }\n"
+                + "    void test(int count) {\n"
+                + "        |\n"
+                + "    }\n"
+                + "}",
+                null);
+        int argumentStart = text.indexOf("print(") + "print(".length();
+        int argumentEnd = text.indexOf(')', argumentStart);
+        assertTrue(text, argumentEnd > argumentStart);
+        assertSelection(argumentStart, argumentEnd);
+    }
+
+    public void testCaretSelectsExceptionTypeOfThrow() throws Exception {
+        String text = expand(
+                "t",
+                "class Test {\n"
+                + "    void test() {\n"
+                + "        |\n"
+                + "    }\n"
+                + "}",
+                new ThrowKeyword());
+        int start = text.indexOf("throw new IllegalArgumentException");
+        assertTrue(text, start >= 0);
+        start += "throw new ".length();
+        assertSelection(start, start + "IllegalArgumentException".length());
+    }
+
+    public void testCaretSelectsInitialValueOfLocalVariable() throws Exception {
+        String text = expand(
+                "c",
+                "class Test {\n"
+                + "    void test() {\n"
+                + "        int count;\n"
+                + "        |\n"
+                + "    }\n"
+                + "}",
+                null);
+        int start = text.indexOf("count = 0;");
+        assertTrue(text, start >= 0);
+        start += "count = ".length();
+        assertSelection(start, start + 1);
+    }
+
+    public void testCaretSelectsUpperBoundOfForLoop() throws Exception {
+        String text = expand(
+                "f",
+                "class Test {\n"
+                + "    void test() {\n"
+                + "        |\n"
+                + "    }\n"
+                + "}",
+                new ForKeyword());
+        int start = text.indexOf("i < 10");
+        assertTrue(text, start >= 0);
+        start += "i < ".length();
+        assertSelection(start, start + 2);
+    }
+
+    public void testSelectionOutOfDocumentIsDropped() throws Exception {
+        String shortText = "class Test {}";
+        expand(
+                "t",
+                "class Test {\n"
+                + "    void test() {\n"
+                + "        |\n"
+                + "    }\n"
+                + "}",
+                new ThrowKeyword(),
+                shortText,
+                shortText.length());
+        assertEquals(shortText, getEditorText());
+        assertSelection(shortText.length(), shortText.length());
+    }
+
+    private String expand(String abbreviation, String code, CodeFragment codeFragment) throws Exception {
+        return expand(abbreviation, code, codeFragment, null, 0);
+    }
+
+    /**
+     * Inserts the code fragment, or the only one collected for the abbreviation, and selects it in the editor, which
+     * shows the text of the test file after the insertion unless an editor text is given.
+     */
+    private String expand(String abbreviation, String code, CodeFragment codeFragment, String editorText,
+            int editorCaretOffset) throws Exception {
+        int caretOffset = writeTestFile(code);
+        AtomicReference<CodeCompletionContext> atomicContext = new AtomicReference<>();
+        List<CodeFragment> codeFragments = new ArrayList<>();
+        ModificationResult modificationResult = JavaSource.forFileObject(getTestFile()).runModificationTask(copy -> {
+            copy.toPhase(JavaSource.Phase.RESOLVED);
+            CodeCompletionRequest request = new CodeCompletionRequestImpl(
+                    new JavaAbbreviation(abbreviation, caretOffset), codeFragments, copy, getEditor());
+            CodeCompletionContext context = CodeCompletionContextFactory.getCodeCompletionContext(
+                    JavaSourceUtilities.getCurrentTreeKind(request));
+            atomicContext.set(context);
+            if (codeFragment != null) {
+                codeFragments.clear();
+                codeFragments.add(codeFragment);
+            } else {
+                context.collect(request);
+            }
+            if (codeFragments.size() == 1) {
+                context.insert(codeFragments.get(0), request);
+            }
+        });
+        assertEquals(codeFragments.toString(), 1, codeFragments.size());
+        modificationResult.commit();
+        String text = getTestFileText();
+        JEditorPane editor = getEditor();
+        editor.setText(editorText != null ? editorText : text);
+        editor.setCaretPosition(editorText != null ? editorCaretOffset : 0);
+        atomicContext.get().select(codeFragments.get(0), modificationResult, editor);
+        SwingUtilities.invokeAndWait(() -> {
+        });
+        return text;
+    }
+
+    private void assertSelection(int start, int end) {
+        assertEquals(start, getEditor().getSelectionStart());
+        assertEquals(end, getEditor().getSelectionEnd());
+    }
+}
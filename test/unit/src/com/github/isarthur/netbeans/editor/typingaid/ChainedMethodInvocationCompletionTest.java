@@ -157,6 +157,91 @@ public class ChainedMethodInvocationCompletionTest extends GeneralCompletionTest
                 Collections.singletonList("intern()"));
     }
 
+    public void testMultiHopChainedMethodInvocationThatIsPartOfVariableInitializer() throws IOException {
+        doAbbreviationInsert(
+                "gc.gsn",
+                "public class Test {\n"
+                + "    public void test(int numberOfSpaces) {\n"
+                + "        String branchName = \"\";\n"
+                + "        String name = branchName.|;\n"
+                + "    }\n"
+                + "}",
+                "public class Test {\n"
+                + "    public void test(int numberOfSpaces) {\n"
+                + "        String branchName = \"\";\n"
+                + "        String name = branchName.getClass().getSimpleName();\n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("getClass().getSimpleName()"));
+    }
+
+    public void testMultiHopChainedMethodInvocationThroughFieldsOfTypeDeclaredInCurrentFile() throws IOException {
+        doAbbreviationInsert(
+                "h.l.t",
+                makeHelperCode("label", "|"),
+                makeHelperCode("label", "helper.label.trim()"),
+                Collections.singletonList("helper.label.trim()"));
+    }
+
+    public void testChainThroughTypeDeclaredInCurrentFileFollowsEdits() throws IOException {
+        doAbbreviationInsert(
+                "h.l.t",
+                makeHelperCode("label", "|"),
+                makeHelperCode("label", "helper.label.trim()"),
+                Collections.singletonList("helper.label.trim()"));
+        doAbbreviationInsert(
+                "h.t.t",
+                makeHelperCode("title", "|"),
+                makeHelperCode("title", "helper.title.trim()"),
+                Collections.singletonList("helper.title.trim()"));
+    }
+
+    public void testChainNeverHopsThroughInaccessibleMember() throws IOException {
+        doAbbreviationInsert(
+                "s.t",
+                "public class Test {\n"
+                + "    public void test(Holder holder) {\n"
+                + "        String name = holder.|;\n"
+                + "    }\n"
+                + "}\n"
+                + "class Holder {\n"
+                + "    private String secret = \"\";\n"
+                + "    String shown = \"\";\n"
+                + "}",
+                "public class Test {\n"
+                + "    public void test(Holder holder) {\n"
+                + "        String name = holder.shown.trim();\n"
+                + "    }\n"
+                + "}\n"
+                + "class Holder {\n"
+                + "    private String secret = \"\";\n"
+                + "    String shown = \"\";\n"
+                + "}",
+                Collections.singletonList("shown.trim()"));
+    }
+
+    public void testMultiHopChainedFieldAccess() throws IOException {
+        Preferences.setChainedMethodInvocationFlag(false);
+        Preferences.setChainedFieldAccessFlag(true);
+        doAbbreviationInsert(
+                "h.l",
+                makeHelperCode("label", "|"),
+                makeHelperCode("label", "helper.label"),
+                Collections.singletonList("helper.label"));
+    }
+
+    private static String makeHelperCode(String fieldName, String initializer) {
+        return "public class Test {\n"
+                + "    private Helper helper = new Helper();\n"
+                + "    public void test(Test other) {\n"
+                + "        String name = other." + initializer + ";\n"
+                + "    }\n"
+                + "    static class Helper {\n"
+                + "        String " + fieldName + " = \"\";\n"
+                + "    }\n"
+                + "}";
+    }
+
     @Override
     protected void tearDown() throws Exception {
         after();
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.warmup.OpenJavaEditors;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JEditorPane;
+import javax.swing.text.Document;
+import junit.framework.Test;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class CompletionWarmUpTest extends GeneralCompletionTest {
+
+    private static final String CODE = "class Test {\n"
+            + "    void test() {\n"
+            + "        |\n"
+            + "    }\n"
+            + "}";
+    private boolean warmUp;
+
+    public CompletionWarmUpTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(CompletionWarmUpTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+        warmUp = Preferences.getWarmUpFlag();
+        Preferences.setWarmUpFlag(false);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Preferences.setWarmUpFlag(warmUp);
+        after();
+    }
+
+    public void testOpenJavaEditorsKeepCaretCapturedInEventDispatchThread() throws Exception {
+        int caretOffset = writeTestFile(CODE);
+        JEditorPane editor = getEditor();
+        editor.setText(getTestFileText());
+        editor.setCaretPosition(caretOffset);
+        OpenJavaEditors openEditors = new OpenJavaEditors();
+        openEditors.update(Collections.singletonList(editor));
+        editor.setCaretPosition(0);
+        assertEquals(Collections.singletonList(getTestFile()), openEditors.getFiles());
+        assertEquals(caretOffset, openEditors.getCaretOffset(getTestFile()));
+        openEditors.update(Collections.emptyList());
+        assertTrue(openEditors.getFiles().isEmpty());
+        assertEquals(0, openEditors.getCaretOffset(getTestFile()));
+    }
+
+    public void testOpenJavaEditorsIgnoreOtherFiles() throws Exception {
+        FileObject textFile = FileUtil.toFileObject(getWorkDir()).createData("Test.txt");
+        JEditorPane editor = new JEditorPane();
+        editor.getDocument().putProperty(Document.StreamDescriptionProperty, textFile);
+        OpenJavaEditors openEditors = new OpenJavaEditors();
+        openEditors.update(Collections.singletonList(editor));
+        assertTrue(openEditors.getFiles().isEmpty());
+    }
+
+    public void testTurningWarmUpOnNotifiesListeners() throws Exception {
+        CountDownLatch changed = new CountDownLatch(1);
+        Preferences.addWarmUpFlagListener(event -> changed.countDown());
+        Preferences.setWarmUpFlag(true);
+        assertTrue(changed.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import java.io.IOException;
+import junit.framework.Test;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class DirectTextInsertionBenchmarkTest extends GeneralCompletionTest {
+
+    private static final int SMALL_METHOD_SIZE = 10;
+    private static final int LARGE_METHOD_SIZE = 2000;
+    private static final int WARM_UP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 5;
+    private boolean directTextInsertion;
+
+    public DirectTextInsertionBenchmarkTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(DirectTextInsertionBenchmarkTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+        directTextInsertion = Preferences.getDirectTextInsertionFlag();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        Preferences.setParameterFlag(true);
+    }
+
+    public void testDirectTextInsertionProducesSameTextAsTreeRewriting() throws IOException {
+        Preferences.setDirectTextInsertionFlag(false);
+        doTimedAbbreviationInsert("nol", makeCode(SMALL_METHOD_SIZE));
+        String rewrittenText = getTestFileText();
+        Preferences.setDirectTextInsertionFlag(true);
+        doTimedAbbreviationInsert("nol", makeCode(SMALL_METHOD_SIZE));
+        assertEquals(rewrittenText, getEditorText());
+    }
+
+    public void testLeafFragmentBypassesTreeRewriting() throws IOException {
+        String code = makeCode(LARGE_METHOD_SIZE);
+        String text = code.replace("|", "");
+        Preferences.setDirectTextInsertionFlag(true);
+        doTimedAbbreviationInsert("nol", code);
+        assertEquals(text, getTestFileText());
+        assertTrue(getEditorText().contains("test2(branchName, numberOfLines);"));
+        Preferences.setDirectTextInsertionFlag(false);
+        doTimedAbbreviationInsert("nol", code);
+        assertTrue(getTestFileText().contains("test2(branchName, numberOfLines);"));
+    }
+
+    public void testInsertionTimesAreLogged() throws IOException {
+        long treeRewritingSmall = measure(false, SMALL_METHOD_SIZE);
+        long treeRewritingLarge = measure(false, LARGE_METHOD_SIZE);
+        long directSmall = measure(true, SMALL_METHOD_SIZE);
+        long directLarge = measure(true, LARGE_METHOD_SIZE);
+        log("tree rewriting: " + treeRewritingSmall + " ns (" + SMALL_METHOD_SIZE + " statements), "
+                + treeRewritingLarge + " ns (" + LARGE_METHOD_SIZE + " statements)");
+        log("direct text insertion: " + directSmall + " ns (" + SMALL_METHOD_SIZE + " statements), "
+                + directLarge + " ns (" + LARGE_METHOD_SIZE + " statements)");
+        assertTrue(getEditorText().contains("test2(branchName, numberOfLines);"));
+    }
+
+    private long measure(boolean direct, int methodSize) throws IOException {
+        Preferences.setDirectTextInsertionFlag(direct);
+        String code = makeCode(methodSize);
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            doTimedAbbreviationInsert("nol", code);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            best = Math.min(best, doTimedAbbreviationInsert("nol", code));
+        }
+        return best;
+    }
+
+    private String makeCode(int methodSize) {
+        StringBuilder code = new StringBuilder();
+        code.append("public class Test {\n")
+                .append("    public void test1(int numberOfLines) {\n")
+                .append("        String branchName = \"\";\n");
+        for (int i = 0; i < methodSize; i++) {
+            code.append("        int value").append(i).append(" = ").append(i).append(";\n");
+        }
+        code.append("        test2(branchName, |);\n")
+                .append("    }\n")
+                .append("    public void test2(String name, int length) {\n")
+                .append("    }\n")
+                .append("}");
+        return code.toString();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Preferences.setDirectTextInsertionFlag(directTextInsertion);
+        after();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import junit.framework.Test;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class EarlyTerminationTest extends GeneralCompletionTest {
+
+    private boolean earlyTermination;
+    private int latencyBudget;
+
+    public EarlyTerminationTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(EarlyTerminationTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Preferences.setEarlyTerminationFlag(earlyTermination);
+        Preferences.setLatencyBudget(latencyBudget);
+        after();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        earlyTermination = Preferences.getEarlyTerminationFlag();
+        latencyBudget = Preferences.getLatencyBudget();
+        Preferences.setEarlyTerminationFlag(true);
+        Preferences.setLatencyBudget(0);
+        Preferences.setLocalVariableFlag(true);
+        Preferences.setGlobalTypeFlag(true);
+    }
+
+    public void testChainStopsAfterUniqueLocalMatch() throws IOException {
+        List<String> codeFragments = complete("count");
+        assertEquals(Collections.singletonList("count"), codeFragments);
+        assertTrue(getHandler().getSkippedCollectors().toString(),
+                getHandler().getSkippedCollectors().contains("GlobalTypeCollector"));
+    }
+
+    public void testChainDoesNotStopOnAmbiguousLocalMatch() throws IOException {
+        List<String> codeFragments = complete("count", "cost");
+        assertTrue(codeFragments.toString(), codeFragments.containsAll(Arrays.asList("count", "cost")));
+        assertEquals(Collections.emptyList(), getHandler().getSkippedCollectors());
+    }
+
+    public void testChainIsNotStoppedWhenEarlyTerminationIsOff() throws IOException {
+        Preferences.setEarlyTerminationFlag(false);
+        complete("count");
+        assertEquals(Collections.emptyList(), getHandler().getSkippedCollectors());
+    }
+
+    private List<String> complete(String... variableNames) throws IOException {
+        StringBuilder code = new StringBuilder("public class Test {\n    public void test() {\n");
+        for (String variableName : variableNames) {
+            code.append("        int ").append(variableName).append(" = 0;\n");
+        }
+        code.append("        int value = |;\n    }\n}");
+        int caretOffset = code.indexOf("|");
+        List<CodeFragment> codeFragments = doReplayedAbbreviationInsert(
+                "c", code.substring(0, caretOffset) + code.substring(caretOffset + 1), caretOffset);
+        return codeFragments.stream().map(CodeFragment::toString).collect(Collectors.toList());
+    }
+}
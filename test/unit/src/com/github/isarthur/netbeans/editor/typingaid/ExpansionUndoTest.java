@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.JavaAbbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.impl.JavaCodeFragmentCollectAndInsertHandler;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.event.UndoableEditListener;
+import javax.swing.text.Document;
+import javax.swing.undo.UndoableEdit;
+import junit.framework.Test;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class ExpansionUndoTest extends GeneralCompletionTest {
+
+    private final List<UndoableEdit> edits = new ArrayList<>();
+    private final UndoableEditListener recorder = event -> edits.add(event.getEdit());
+
+    public ExpansionUndoTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(ExpansionUndoTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+        getDocument().addUndoableEditListener(recorder);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        getDocument().removeUndoableEditListener(recorder);
+        after();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        Preferences.setParameterFlag(true);
+    }
+
+    public void testExpansionIsOneUndoableEdit() throws Exception {
+        String code =
+                "public class Test {\n"
+                + "    public void test(int numberOfClasses) {\n"
+                + "        int count = |;\n"
+                + "    }\n"
+                + "}";
+        int caretOffset = writeTestFile(code);
+        Document document = getDocument();
+        document.remove(0, document.getLength());
+        document.insertString(0, code.substring(0, caretOffset) + "noc" + code.substring(caretOffset + 1), null);
+        edits.clear();
+        List<CodeFragment> codeFragments = ((JavaCodeFragmentCollectAndInsertHandler) getHandler())
+                .expand(new JavaAbbreviation("noc", caretOffset));
+        assertEquals(1, codeFragments.size());
+        assertEquals(code.replace("|", "numberOfClasses"), document.getText(0, document.getLength()));
+        assertEquals(1, edits.size());
+        edits.get(0).undo();
+        assertEquals(code.replace("|", "noc"), document.getText(0, document.getLength()));
+    }
+
+    public void testUnexpandedAbbreviationLeavesDocument() throws Exception {
+        String code =
+                "public class Test {\n"
+                + "    public void test(int numberOfClasses) {\n"
+                + "        int count = |;\n"
+                + "    }\n"
+                + "}";
+        int caretOffset = writeTestFile(code);
+        Document document = getDocument();
+        document.remove(0, document.getLength());
+        document.insertString(0, code.substring(0, caretOffset) + "zq" + code.substring(caretOffset + 1), null);
+        edits.clear();
+        List<CodeFragment> codeFragments = ((JavaCodeFragmentCollectAndInsertHandler) getHandler())
+                .expand(new JavaAbbreviation("zq", caretOffset));
+        assertTrue(codeFragments.isEmpty());
+        assertEquals(code.replace("|", "zq"), document.getText(0, document.getLength()));
+        assertTrue(edits.isEmpty());
+    }
+}
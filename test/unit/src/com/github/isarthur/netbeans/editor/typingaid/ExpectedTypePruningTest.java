@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import junit.framework.Test;
+import org.openide.util.NbPreferences;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class ExpectedTypePruningTest extends GeneralCompletionTest {
+
+    private boolean expectedTypePruning;
+
+    public ExpectedTypePruningTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(ExpectedTypePruningTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Preferences.setExpectedTypePruningFlag(expectedTypePruning);
+        after();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        expectedTypePruning = Preferences.getExpectedTypePruningFlag();
+        Preferences.setExpectedTypePruningFlag(true);
+        Preferences.setGlobalTypeFlag(true);
+        Preferences.setLocalVariableFlag(true);
+    }
+
+    public void testExpectedTypePruningIsOffByDefault() {
+        NbPreferences.forModule(Preferences.class).remove("expectedTypePruning");
+        assertFalse(Preferences.getExpectedTypePruningFlag());
+    }
+
+    public void testTypesAreNotPrunedInExpressionContext() throws IOException {
+        List<String> codeFragments = collect(
+                "m",
+                "public class Test {\n"
+                + "    public void test() {\n"
+                + "        int x = |;\n"
+                + "    }\n"
+                + "}");
+        assertTrue(codeFragments.toString(), codeFragments.contains("java.lang.Math"));
+    }
+
+    public void testArgumentIsNotPrunedWhenOverloadsDisagree() throws IOException {
+        List<String> codeFragments = collect(
+                "noc",
+                "public class Test {\n"
+                + "    void print(int value) {}\n"
+                + "    void print(String value) {}\n"
+                + "    public void test() {\n"
+                + "        int numberOfCars = 0;\n"
+                + "        String nameOfCar = \"\";\n"
+                + "        print(|);\n"
+                + "    }\n"
+                + "}");
+        assertTrue(codeFragments.toString(), codeFragments.contains("numberOfCars"));
+        assertTrue(codeFragments.toString(), codeFragments.contains("nameOfCar"));
+    }
+
+    public void testArgumentIsPrunedWhenAllOverloadsAgree() throws IOException {
+        doAbbreviationInsert(
+                "noc",
+                "public class Test {\n"
+                + "    void print(int value) {}\n"
+                + "    void print(int value, int width) {}\n"
+                + "    public void test() {\n"
+                + "        int numberOfCars = 0;\n"
+                + "        String nameOfCar = \"\";\n"
+                + "        print(|);\n"
+                + "    }\n"
+                + "}",
+                "public class Test {\n"
+                + "    void print(int value) {}\n"
+                + "    void print(int value, int width) {}\n"
+                + "    public void test() {\n"
+                + "        int numberOfCars = 0;\n"
+                + "        String nameOfCar = \"\";\n"
+                + "        print(numberOfCars);\n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("numberOfCars"));
+    }
+
+    private List<String> collect(String abbrev, String code) throws IOException {
+        int caretOffset = code.indexOf('|');
+        String text = code.substring(0, caretOffset) + code.substring(caretOffset + 1);
+        List<CodeFragment> codeFragments = doReplayedAbbreviationInsert(abbrev, text, caretOffset);
+        return codeFragments.stream().map(CodeFragment::toString).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.index.AbbreviationTrie;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.util.AbbreviationMatcher;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
+import com.github.isarthur.netbeans.editor.typingaid.util.StringUtilities;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.lang.model.element.TypeElement;
+import junit.framework.Test;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.ElementHandle;
+import org.netbeans.api.java.source.JavaSource;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class FuzzyMatchingBenchmarkTest extends GeneralCompletionTest {
+
+    private static final int KEY_COUNT = 6000;
+    private static final long SEED = 42;
+    private static final String QUERY = "abcdef";
+    private static final int DISTANCE = 2;
+    private static final int WARM_UP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 20;
+    private boolean prefixMatching;
+    private int fuzzyMatchingDistance;
+
+    public FuzzyMatchingBenchmarkTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(FuzzyMatchingBenchmarkTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+        prefixMatching = Preferences.getPrefixMatchingFlag();
+        fuzzyMatchingDistance = Preferences.getFuzzyMatchingDistance();
+        Preferences.setPrefixMatchingFlag(false);
+        Preferences.setFuzzyMatchingDistance(DISTANCE);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Preferences.setPrefixMatchingFlag(prefixMatching);
+        Preferences.setFuzzyMatchingDistance(fuzzyMatchingDistance);
+        after();
+    }
+
+    public void testAutomatonWalkAgreesWithBruteForceLevenshteinScan() {
+        List<String> names = makeNames();
+        AbbreviationTrie<String> trie = makeTrie(names);
+        AbbreviationMatcher matcher = AbbreviationMatcher.forTypes(QUERY);
+        assertEquals(AbbreviationMatcher.Mode.FUZZY, matcher.getMode());
+        List<String> expected = names.stream()
+                .filter(name -> levenshteinDistance(StringUtilities.getElementAbbreviation(name), QUERY) <= DISTANCE)
+                .sorted()
+                .collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        List<String> walked = new ArrayList<>();
+        trie.collect(matcher, (abbreviation, name) -> walked.add(name));
+        walked.sort(null);
+        assertEquals(expected, walked);
+        long walk = measure(() -> trie.collect(matcher, (abbreviation, name) -> {
+        }));
+        log("automaton walk over " + KEY_COUNT + " keys: " + walk + " ns");
+    }
+
+    public void testAutomatonWalkVisitsFewerNodesThanMatchingEveryKey() {
+        List<String> names = makeNames();
+        AbbreviationTrie<String> trie = makeTrie(names);
+        List<String> abbreviations = names.stream()
+                .map(StringUtilities::getElementAbbreviation)
+                .collect(Collectors.toList());
+        AbbreviationMatcher matcher = AbbreviationMatcher.forTypes(QUERY);
+        int visitedCount = trie.collect(matcher, (abbreviation, name) -> {
+        });
+        int nodeCount = trie.getNodeCount();
+        log("automaton walk visited " + visitedCount + " of " + nodeCount + " nodes");
+        assertTrue(visitedCount + " of " + nodeCount + " nodes visited", visitedCount < nodeCount / 2);
+        assertTrue(visitedCount + " nodes visited for " + abbreviations.size() + " keys",
+                visitedCount < abbreviations.size());
+        long walk = measure(() -> trie.collect(matcher, (abbreviation, name) -> {
+        }));
+        long scan = measure(() -> abbreviations.forEach(matcher::matches));
+        log("automaton walk: " + walk + " ns, matching every key: " + scan + " ns");
+    }
+
+    public void testTrieWalkAndCandidateFilterAgreeWithTheMatcher() {
+        List<String> names = makeNames();
+        AbbreviationMatcher matcher = AbbreviationMatcher.forTypes(QUERY);
+        List<String> expected = names.stream()
+                .filter(name -> matcher.matches(StringUtilities.getElementAbbreviation(name)))
+                .sorted()
+                .collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        List<String> walked = new ArrayList<>();
+        makeTrie(names).collect(matcher, (abbreviation, name) -> walked.add(name));
+        walked.sort(null);
+        assertEquals(expected, walked);
+        List<String> filtered = JavaSourceUtilities.filterByAbbreviation(names, Function.identity(), matcher);
+        filtered.sort(null);
+        assertEquals(expected, filtered);
+    }
+
+    public void testDeclaredTypesNeedNoFurtherMatching() throws IOException {
+        Preferences.setPrefixMatchingFlag(true);
+        Preferences.setFuzzyMatchingDistance(0);
+        writeTestFile("public class Test {|}");
+        ClasspathInfo classpathInfo = JavaSource.forFileObject(getTestFile()).getClasspathInfo();
+        Set<ElementHandle<TypeElement>> types = JavaSourceUtilities.getDeclaredTypes(classpathInfo, "sb", null);
+        List<String> binaryNames = types.stream().map(ElementHandle::getBinaryName).collect(Collectors.toList());
+        assertTrue(binaryNames.contains("java.lang.StringBuilder"));
+        for (String binaryName : binaryNames) {
+            String simpleName = binaryName.substring(
+                    Math.max(binaryName.lastIndexOf('.'), binaryName.lastIndexOf('$')) + 1);
+            assertTrue(binaryName, StringUtilities.getElementAbbreviation(simpleName).startsWith("sb"));
+        }
+    }
+
+    private static List<String> makeNames() {
+        Random random = new Random(SEED);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            StringBuilder name = new StringBuilder();
+            int words = 1 + random.nextInt(4);
+            for (int j = 0; j < words; j++) {
+                name.append((char) ('A' + random.nextInt(26)));
+                int length = 2 + random.nextInt(6);
+                for (int k = 0; k < length; k++) {
+                    name.append((char) ('a' + random.nextInt(26)));
+                }
+            }
+            names.add(name.toString());
+        }
+        names.add("AlphaBetaCharlieDeltaEchoFoxtrot");
+        names.add("AlphaBetaXrayDeltaEchoFoxtrot");
+        names.add("AlphaBetaCharlieDelta");
+        names.add("AlphaBetaCharlie");
+        return names;
+    }
+
+    private static AbbreviationTrie<String> makeTrie(List<String> names) {
+        AbbreviationTrie<String> trie = new AbbreviationTrie<>();
+        names.forEach(name -> trie.add(StringUtilities.getElementAbbreviation(name), name));
+        return trie;
+    }
+
+    private static int levenshteinDistance(String source, String target) {
+        int[] previous = new int[target.length() + 1];
+        int[] current = new int[target.length() + 1];
+        for (int j = 0; j <= target.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= source.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= target.length(); j++) {
+                int cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(previous[j - 1] + cost, Math.min(previous[j] + 1, current[j - 1] + 1));
+            }
+            int[] row = previous;
+            previous = current;
+            current = row;
+        }
+        return previous[target.length()];
+    }
+
+    private static long measure(Runnable query) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            query.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
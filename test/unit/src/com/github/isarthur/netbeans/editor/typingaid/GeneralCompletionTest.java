@@ -179,6 +179,74 @@ public class GeneralCompletionTest extends NbTestCase {
         assertEquals(golden, testFile.asText());
     }
 
+    protected long doTimedAbbreviationInsert(String abbrev, String code) throws IOException {
+        int caretOffset = code.indexOf('|');
+        String text = code.substring(0, caretOffset) + code.substring(caretOffset + 1);
+        editor.setText(text);
+        editor.setCaretPosition(caretOffset);
+        try ( OutputStream out = testFile.getOutputStream();  Writer writer = new OutputStreamWriter(out)) {
+            writer.append(text);
+        }
+        abbreviation.setStartOffset(caretOffset);
+        abbreviation.setContent(abbrev);
+        long start = System.nanoTime();
+        handler.process(abbreviation);
+        return System.nanoTime() - start;
+    }
+
+    protected List<CodeFragment> doReplayedAbbreviationInsert(String abbrev, String text, int startOffset)
+            throws IOException {
+        editor.setText(text);
+        editor.setCaretPosition(startOffset);
+        try ( OutputStream out = testFile.getOutputStream();  Writer writer = new OutputStreamWriter(out)) {
+            writer.append(text);
+        }
+        abbreviation.setStartOffset(startOffset);
+        abbreviation.setContent(abbrev);
+        return handler.process(abbreviation);
+    }
+
+    protected int writeTestFile(String code) throws IOException {
+        int caretOffset = code.indexOf('|');
+        String text = code.substring(0, caretOffset) + code.substring(caretOffset + 1);
+        try ( OutputStream out = testFile.getOutputStream();  Writer writer = new OutputStreamWriter(out)) {
+            writer.append(text);
+        }
+        return caretOffset;
+    }
+
+    protected void openTestFile(String fileName) throws IOException {
+        FileObject workDir = FileUtil.toFileObject(getWorkDir());
+        FileObject file = workDir.getFileObject(fileName);
+        testFile = file != null ? file : FileUtil.createData(workDir, fileName);
+        document.putProperty(Document.StreamDescriptionProperty, testFile);
+        document.putProperty(JavaSource.class, new WeakReference<>(JavaSource.forFileObject(testFile)));
+    }
+
+    protected FileObject getTestFile() {
+        return testFile;
+    }
+
+    protected JEditorPane getEditor() {
+        return editor;
+    }
+
+    protected Document getDocument() {
+        return document;
+    }
+
+    protected CodeFragmentCollectAndInsertHandler getHandler() {
+        return handler;
+    }
+
+    protected String getEditorText() {
+        return editor.getText();
+    }
+
+    protected String getTestFileText() throws IOException {
+        return testFile.asText();
+    }
+
     protected void after() throws Exception {
         super.tearDown();
         abbreviation.reset();
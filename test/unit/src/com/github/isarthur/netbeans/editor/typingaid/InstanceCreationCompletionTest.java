@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.util.JavaSourceUtilities;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import junit.framework.Test;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.ElementHandle;
+import org.netbeans.api.java.source.JavaSource;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class InstanceCreationCompletionTest extends GeneralCompletionTest {
+
+    private static final long TIMEOUT = 60_000;
+    private boolean instanceCreation;
+
+    public InstanceCreationCompletionTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(InstanceCreationCompletionTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        instanceCreation = Preferences.getInstanceCreationFlag();
+        before();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        Preferences.setInstanceCreationFlag(true);
+    }
+
+    public void testPrivateConstructorIsOfferedInsideItsOutermostClassOnly() throws Exception {
+        String holderFirst = "class Holder {\n"
+                + "    private Holder() {\n"
+                + "    }\n"
+                + "    void test() {\n"
+                + "        Object value = |;\n"
+                + "    }\n"
+                + "}\n"
+                + "class Test {\n"
+                + "}";
+        String testFirst = "class Test {\n"
+                + "    void test() {\n"
+                + "        Object value = |;\n"
+                + "    }\n"
+                + "}\n"
+                + "class Holder {\n"
+                + "    private Holder() {\n"
+                + "    }\n"
+                + "}";
+        waitForHolder(holderFirst);
+        assertTrue(complete(holderFirst).contains("new Holder()"));
+        assertFalse(complete(testFirst).contains("new Holder()"));
+        assertTrue(complete(holderFirst).contains("new Holder()"));
+    }
+
+    public void testPublicConstructorIsOfferedFromEveryTopLevelClass() throws Exception {
+        String holderFirst = "class Holder {\n"
+                + "    public Holder() {\n"
+                + "    }\n"
+                + "    void test() {\n"
+                + "        Object value = |;\n"
+                + "    }\n"
+                + "}\n"
+                + "class Test {\n"
+                + "}";
+        String testFirst = "class Test {\n"
+                + "    void test() {\n"
+                + "        Object value = |;\n"
+                + "    }\n"
+                + "}\n"
+                + "class Holder {\n"
+                + "    public Holder() {\n"
+                + "    }\n"
+                + "}";
+        waitForHolder(holderFirst);
+        assertTrue(complete(holderFirst).contains("new Holder()"));
+        assertTrue(complete(testFirst).contains("new Holder()"));
+    }
+
+    public void testCaretInSecondTopLevelClassSeesItsPrivateConstructor() throws Exception {
+        String caretInTest = "class Test {\n"
+                + "    void test() {\n"
+                + "        Object value = |;\n"
+                + "    }\n"
+                + "}\n"
+                + "class Holder {\n"
+                + "    private Holder() {\n"
+                + "    }\n"
+                + "}";
+        String caretInHolder = "class Test {\n"
+                + "}\n"
+                + "class Holder {\n"
+                + "    private Holder() {\n"
+                + "    }\n"
+                + "    void test() {\n"
+                + "        Object value = |;\n"
+                + "    }\n"
+                + "}";
+        waitForHolder(caretInTest);
+        assertFalse(complete(caretInTest).contains("new Holder()"));
+        assertTrue(complete(caretInHolder).contains("new Holder()"));
+    }
+
+    public void testConstructorChangedInCurrentFileIsOfferedBeforeReindexing() throws Exception {
+        String privateHinge = "class Test {\n"
+                + "    void test() {\n"
+                + "        Object value = |;\n"
+                + "    }\n"
+                + "}\n"
+                + "class Hinge {\n"
+                + "    private Hinge() {\n"
+                + "    }\n"
+                + "}";
+        String publicHinge = privateHinge.replace("private Hinge()", "public Hinge()");
+        assertFalse(complete(privateHinge).contains("new Hinge()"));
+        assertTrue(complete(publicHinge).contains("new Hinge()"));
+        assertFalse(complete(privateHinge).contains("new Hinge()"));
+    }
+
+    private void waitForHolder(String code) throws Exception {
+        writeTestFile(code);
+        ClasspathInfo classpathInfo = JavaSource.forFileObject(getTestFile()).getClasspathInfo();
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (JavaSourceUtilities.getDeclaredTypes(classpathInfo, "h", null).stream()
+                .map(ElementHandle::getBinaryName)
+                .noneMatch("Holder"::equals)) {
+            assertTrue("Timed out waiting for the source to be indexed", System.currentTimeMillis() < deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    private List<String> complete(String code) throws IOException {
+        int caretOffset = code.indexOf('|');
+        List<CodeFragment> codeFragments = doReplayedAbbreviationInsert(
+                "nh", code.substring(0, caretOffset) + code.substring(caretOffset + 1), caretOffset);
+        return codeFragments.stream().map(CodeFragment::toString).collect(Collectors.toList());
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        after();
+        Preferences.setInstanceCreationFlag(instanceCreation);
+    }
+}
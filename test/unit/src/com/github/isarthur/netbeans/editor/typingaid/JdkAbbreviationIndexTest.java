@@ -0,0 +1,190 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.index.JdkAbbreviationIndex;
+import com.github.isarthur.netbeans.editor.typingaid.index.JdkIndexFormat;
+import com.github.isarthur.netbeans.editor.typingaid.index.JdkIndexGenerator;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.lang.model.element.TypeElement;
+import junit.framework.Test;
+import org.netbeans.api.java.source.ElementHandle;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class JdkAbbreviationIndexTest extends GeneralCompletionTest {
+
+    public JdkAbbreviationIndexTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(JdkAbbreviationIndexTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        after();
+    }
+
+    public void testGeneratedIndexHasSortedEntriesAndPoolAfterThem() throws IOException {
+        File file = generate();
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            assertEquals(JdkIndexFormat.MAGIC, in.readInt());
+            assertEquals(JdkIndexFormat.VERSION, in.readInt());
+            int entryCount = in.readInt();
+            assertTrue(entryCount > 0);
+            assertEquals(JdkIndexFormat.HEADER_SIZE + entryCount * JdkIndexFormat.ENTRY_SIZE, in.readInt());
+        }
+    }
+
+    public void testGeneratedIndexCoversPlatformPackagesOutsideJava() throws IOException {
+        JdkAbbreviationIndex index = JdkAbbreviationIndex.open(generate());
+        assertNotNull(index);
+        assertTrue(binaryNames(index.findTypes("s")).contains("java.lang.String"));
+        assertTrue(binaryNames(index.findTypes("d")).contains("org.w3c.dom.Document"));
+        assertTrue(binaryNames(index.findTypes("is")).contains("org.xml.sax.InputSource"));
+        assertTrue(binaryNames(index.findOwners("m", "m")).contains("java.lang.Math"));
+        assertTrue(index.findStaticMembers("vo").stream()
+                .anyMatch(member -> member.getOwner().equals("java.lang.String")
+                && member.getName().equals("valueOf")
+                && member.isMethod()));
+    }
+
+    public void testBinarySearchFindsEveryEntryOfDuplicateKeys() throws IOException {
+        File file = new File(getWorkDir(), "search.idx");
+        writeIndex(file,
+                entry("a", "p.Alpha", "Alpha", JdkIndexFormat.CLASS),
+                entry("b", "p.Beta", "Beta", JdkIndexFormat.CLASS),
+                entry("b", "p.Bravo", "Bravo", JdkIndexFormat.INTERFACE),
+                entry("b.v", "p.Beta", "value", JdkIndexFormat.STATIC_FIELD),
+                entry("c", "p.Charlie", "Charlie", JdkIndexFormat.ENUM));
+        JdkAbbreviationIndex index = JdkAbbreviationIndex.open(file);
+        assertNotNull(index);
+        assertEquals(listOf("p.Alpha"), binaryNames(index.findTypes("a")));
+        assertEquals(listOf("p.Beta", "p.Bravo"), binaryNames(index.findTypes("b")));
+        assertEquals(listOf("p.Charlie"), binaryNames(index.findTypes("c")));
+        assertEquals(listOf(), binaryNames(index.findTypes("0")));
+        assertEquals(listOf(), binaryNames(index.findTypes("d")));
+        assertEquals(listOf("p.Beta"), binaryNames(index.findOwners("b", "v")));
+        assertEquals(1, index.findStaticMembers("v").size());
+    }
+
+    public void testStaticMembersAreGroupedByMemberAbbreviationAcrossOwners() throws IOException {
+        File file = new File(getWorkDir(), "members.idx");
+        writeIndex(file,
+                entry("a", "p.Alpha", "Alpha", JdkIndexFormat.CLASS),
+                entry("a.v", "p.Alpha", "value", JdkIndexFormat.STATIC_METHOD),
+                entry("a.x", "p.Alpha", "xray", JdkIndexFormat.STATIC_METHOD),
+                entry("b.v", "p.Beta", "VALUE", JdkIndexFormat.STATIC_FIELD),
+                entry("c.v", "p.Charlie", "VICTOR", JdkIndexFormat.ENUM_CONSTANT),
+                entry("v", "p.Victor", "Victor", JdkIndexFormat.CLASS));
+        JdkAbbreviationIndex index = JdkAbbreviationIndex.open(file);
+        assertNotNull(index);
+        List<JdkAbbreviationIndex.StaticMember> members = index.findStaticMembers("v");
+        assertEquals(2, members.size());
+        assertEquals("p.Alpha", members.get(0).getOwner());
+        assertEquals("value", members.get(0).getName());
+        assertTrue(members.get(0).isMethod());
+        assertEquals("p.Beta", members.get(1).getOwner());
+        assertEquals("VALUE", members.get(1).getName());
+        assertFalse(members.get(1).isMethod());
+        assertEquals(1, index.findStaticMembers("x").size());
+        assertTrue(index.findStaticMembers("a").isEmpty());
+        assertTrue(index.findStaticMembers("z").isEmpty());
+    }
+
+    public void testIndexOfAnotherVersionIsRejected() throws IOException {
+        File file = new File(getWorkDir(), "old.idx");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(JdkIndexFormat.MAGIC);
+            out.writeInt(JdkIndexFormat.VERSION - 1);
+            out.writeInt(0);
+            out.writeInt(JdkIndexFormat.HEADER_SIZE);
+        }
+        assertNull(JdkAbbreviationIndex.open(file));
+    }
+
+    private File generate() throws IOException {
+        File directory = new File(getWorkDir(), "index");
+        JdkIndexGenerator.main(new String[]{directory.getPath()});
+        return new File(directory, JdkIndexFormat.getFileName(System.getProperty("java.specification.version")));
+    }
+
+    private static String[] entry(String key, String owner, String name, int kind) {
+        return new String[]{key, owner, name, Integer.toString(kind)};
+    }
+
+    private static void writeIndex(File file, String[]... entries) throws IOException {
+        Map<String, Integer> pool = new LinkedHashMap<>();
+        int poolSize = 0;
+        for (String[] entry : entries) {
+            for (int i = 0; i < 3; i++) {
+                if (!pool.containsKey(entry[i])) {
+                    pool.put(entry[i], poolSize);
+                    poolSize += 2 + entry[i].getBytes(StandardCharsets.UTF_8).length;
+                }
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(JdkIndexFormat.MAGIC);
+            out.writeInt(JdkIndexFormat.VERSION);
+            out.writeInt(entries.length);
+            out.writeInt(JdkIndexFormat.HEADER_SIZE + entries.length * JdkIndexFormat.ENTRY_SIZE);
+            for (String[] entry : entries) {
+                out.writeInt(pool.get(entry[0]));
+                out.writeInt(pool.get(entry[1]));
+                out.writeInt(pool.get(entry[2]));
+                out.writeInt(Integer.parseInt(entry[3]));
+            }
+            for (String string : pool.keySet()) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static List<String> binaryNames(List<ElementHandle<TypeElement>> types) {
+        return types.stream().map(ElementHandle::getBinaryName).collect(Collectors.toList());
+    }
+
+    private static List<String> listOf(String... values) {
+        List<String> list = new ArrayList<>();
+        for (String value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.JavaAbbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.AbbreviationExpansionEngine;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.impl.JavaAbbreviationExpansionEngine;
+import com.github.isarthur.netbeans.editor.typingaid.interceptor.AbbreviationKeystrokes;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.trace.KeystrokeTraceFormat;
+import com.github.isarthur.netbeans.editor.typingaid.trace.KeystrokeTraceReader;
+import com.github.isarthur.netbeans.editor.typingaid.trace.KeystrokeTraceWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import junit.framework.Test;
+import org.openide.filesystems.FileUtil;
+
+/**
+ * Replays a keystroke trace against the headless expansion engine and logs the latency and allocation of every
+ * expansion. The trace is taken from the {@code typingaid.keystroke.trace} system property and its files are replayed
+ * inside a copy of the source root given by the {@code typingaid.keystroke.trace.project} system property; without a
+ * trace a small built-in session is replayed. The replay fails as soon as the text after an expansion differs from
+ * the recorded one.
+ *
+ * @author: Arthur Sadykov
+ */
+public class KeystrokeTraceReplayTest extends GeneralCompletionTest {
+
+    private static final String TRACE_PROPERTY = "typingaid.keystroke.trace";
+    private static final String PROJECT_PROPERTY = "typingaid.keystroke.trace.project";
+    private static final String SAMPLE_TRACE = "sample.trace";
+    private static final String SAMPLE_FILE = "sample/Session.java";
+    private static final String SAMPLE_CODE = "package sample;\n"
+            + "\n"
+            + "public class Session {\n"
+            + "    public void test(int numberOfClasses) {\n"
+            + "        int count = 0;\n"
+            + "        count = |;\n"
+            + "    }\n"
+            + "}";
+    private final AbbreviationExpansionEngine engine = new JavaAbbreviationExpansionEngine();
+
+    public KeystrokeTraceReplayTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(KeystrokeTraceReplayTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        Preferences.setFieldFlag(true);
+        Preferences.setLocalVariableFlag(true);
+        Preferences.setParameterFlag(true);
+        if (System.getProperty(TRACE_PROPERTY) == null) {
+            return;
+        }
+        Preferences.setGlobalTypeFlag(true);
+        Preferences.setInternalTypeFlag(true);
+        Preferences.setKeywordFlag(true);
+        Preferences.setLiteralFlag(true);
+        Preferences.setLocalMethodInvocationFlag(true);
+        Preferences.setMethodInvocationFlag(true);
+        Preferences.setPrimitiveTypeFlag(true);
+    }
+
+    public void testReplayKeystrokeTrace() throws IOException {
+        String tracePath = System.getProperty(TRACE_PROPERTY);
+        File trace = tracePath != null ? new File(tracePath) : writeSampleTrace();
+        String projectPath = System.getProperty(PROJECT_PROPERTY);
+        if (projectPath != null) {
+            copyProject(new File(projectPath).toPath(), getWorkDir().toPath());
+            FileUtil.refreshFor(getWorkDir());
+        }
+        List<Long> latencies = new ArrayList<>();
+        List<Long> allocations = new ArrayList<>();
+        replay(trace, latencies, allocations);
+        assertFalse(latencies.isEmpty());
+        log("expansions: " + latencies.size());
+        log("latency (ns): " + describe(latencies));
+        if (!allocations.isEmpty()) {
+            log("allocation (bytes): " + describe(allocations));
+        }
+    }
+
+    public void testReplayFailsOnDivergence() throws IOException {
+        int caretOffset = SAMPLE_CODE.indexOf('|');
+        String code = SAMPLE_CODE.substring(0, caretOffset) + SAMPLE_CODE.substring(caretOffset + 1);
+        File trace = new File(getWorkDir(), SAMPLE_TRACE);
+        try ( KeystrokeTraceWriter writer = new KeystrokeTraceWriter(new FileOutputStream(trace))) {
+            writer.writeOpen(SAMPLE_FILE, code);
+            writer.writeChecksum(code + ' ');
+        }
+        try {
+            replay(trace, new ArrayList<>(), new ArrayList<>());
+        } catch (AssertionError error) {
+            return;
+        }
+        fail("The replay has not detected the divergence");
+    }
+
+    private void replay(File trace, List<Long> latencies, List<Long> allocations) throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocationCounter =
+                threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+                ? (com.sun.management.ThreadMXBean) threads
+                : null;
+        long threadId = Thread.currentThread().getId();
+        StringBuilder text = new StringBuilder();
+        JavaAbbreviation abbreviation = new JavaAbbreviation();
+        String fileName = null;
+        try ( KeystrokeTraceReader reader = new KeystrokeTraceReader(new FileInputStream(trace))) {
+            while (reader.next()) {
+                switch (reader.getTag()) {
+                    case KeystrokeTraceFormat.OPEN:
+                        fileName = reader.getFileName();
+                        openTestFile(fileName);
+                        text.setLength(0);
+                        text.append(reader.getText());
+                        abbreviation.reset();
+                        break;
+                    case KeystrokeTraceFormat.REMOVED:
+                        abbreviation.delete();
+                        break;
+                    case KeystrokeTraceFormat.TEXT_INSERTED:
+                        assertOffset(fileName, text, reader.getOffset());
+                        text.insert(reader.getOffset(), reader.getText());
+                        break;
+                    case KeystrokeTraceFormat.TEXT_REMOVED:
+                        assertOffset(fileName, text, reader.getOffset() + reader.getLength());
+                        text.delete(reader.getOffset(), reader.getOffset() + reader.getLength());
+                        break;
+                    case KeystrokeTraceFormat.CHECKSUM:
+                        String replayedText = text.toString();
+                        if (replayedText.length() != reader.getLength()
+                                || replayedText.hashCode() != reader.getChecksum()) {
+                            fail("Replay of " + fileName + " diverged after expansion " + latencies.size()
+                                    + ":\n" + replayedText);
+                        }
+                        break;
+                    case KeystrokeTraceFormat.TYPED: {
+                        if (!AbbreviationKeystrokes.type(abbreviation, reader.getOffset(), reader.getCharacter())) {
+                            break;
+                        }
+                        String content = abbreviation.getContent();
+                        int startOffset = abbreviation.getStartOffset();
+                        assertOffset(fileName, text, abbreviation.getEndOffset());
+                        text.delete(startOffset, abbreviation.getEndOffset());
+                        long allocated = allocationCounter != null
+                                ? allocationCounter.getThreadAllocatedBytes(threadId)
+                                : 0L;
+                        long start = System.nanoTime();
+                        List<CodeFragment> codeFragments = expand(content, text.toString(), startOffset);
+                        latencies.add(System.nanoTime() - start);
+                        if (allocationCounter != null) {
+                            allocations.add(allocationCounter.getThreadAllocatedBytes(threadId) - allocated);
+                        }
+                        if (codeFragments.isEmpty()) {
+                            text.insert(startOffset, content + reader.getCharacter());
+                        } else {
+                            text.setLength(0);
+                            text.append(getTestFileText());
+                        }
+                        abbreviation.reset();
+                        break;
+                    }
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Expands the abbreviation with the headless engine the way the editor does: a single candidate is inserted,
+     * several candidates would open the popup and leave the text without the abbreviation.
+     */
+    private List<CodeFragment> expand(String abbreviation, String text, int offset) throws IOException {
+        try ( OutputStream out = getTestFile().getOutputStream();  Writer writer = new OutputStreamWriter(out)) {
+            writer.append(text);
+        }
+        List<CodeFragment> codeFragments = engine.expand(getTestFile(), offset, abbreviation);
+        if (codeFragments.size() == 1) {
+            engine.apply(getTestFile(), offset, abbreviation, codeFragments.get(0));
+        }
+        return codeFragments;
+    }
+
+    private void assertOffset(String fileName, StringBuilder text, int offset) {
+        assertTrue("Replay of " + fileName + " diverged: offset " + offset + " is beyond the text",
+                offset <= text.length());
+    }
+
+    private File writeSampleTrace() throws IOException {
+        File trace = new File(getWorkDir(), SAMPLE_TRACE);
+        int caretOffset = SAMPLE_CODE.indexOf('|');
+        String code = SAMPLE_CODE.substring(0, caretOffset) + SAMPLE_CODE.substring(caretOffset + 1);
+        String expanded = code.substring(0, caretOffset) + "numberOfClasses" + code.substring(caretOffset);
+        int pasteOffset = caretOffset + "numberOfClasses".length();
+        String pasted = expanded.substring(0, pasteOffset) + " + " + expanded.substring(pasteOffset);
+        int unexpandedOffset = pasteOffset + " + ".length();
+        String unexpanded = pasted.substring(0, unexpandedOffset) + "zq\n" + pasted.substring(unexpandedOffset);
+        try ( KeystrokeTraceWriter writer = new KeystrokeTraceWriter(new FileOutputStream(trace))) {
+            writer.writeOpen(SAMPLE_FILE, code);
+            int offset = type(writer, caretOffset, "nocx");
+            writer.writeRemoved(offset - 1, 1);
+            writer.writeTextRemoved(offset - 1, 1);
+            writer.writeTyped(offset - 1, ' ');
+            writer.writeChecksum(expanded);
+            writer.writeTextInserted(pasteOffset, " + ");
+            offset = type(writer, unexpandedOffset, "zq");
+            writer.writeTyped(offset, '\n');
+            writer.writeChecksum(unexpanded);
+        }
+        return trace;
+    }
+
+    private int type(KeystrokeTraceWriter writer, int offset, String characters) throws IOException {
+        int currentOffset = offset;
+        for (char character : characters.toCharArray()) {
+            writer.writeTyped(currentOffset, character);
+            writer.writeTextInserted(currentOffset, String.valueOf(character));
+            currentOffset++;
+        }
+        return currentOffset;
+    }
+
+    private void copyProject(Path source, Path target) throws IOException {
+        try ( Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path copy = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(path, copy, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private String describe(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        long total = 0L;
+        for (long value : sorted) {
+            total += value;
+        }
+        return "mean " + total / sorted.size()
+                + ", p50 " + percentile(sorted, 50)
+                + ", p90 " + percentile(sorted, 90)
+                + ", p99 " + percentile(sorted, 99)
+                + ", max " + sorted.get(sorted.size() - 1);
+    }
+
+    private long percentile(List<Long> sorted, int percent) {
+        int index = (int) Math.ceil(percent / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        after();
+    }
+}
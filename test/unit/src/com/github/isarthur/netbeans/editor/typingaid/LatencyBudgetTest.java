@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.JavaAbbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragmentCollectAndInsertHandler;
+import com.github.isarthur.netbeans.editor.typingaid.collector.api.AbstractCodeFragmentCollector;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.github.isarthur.netbeans.editor.typingaid.request.impl.CodeCompletionRequestImpl;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import junit.framework.Test;
+import org.netbeans.api.java.source.JavaSource;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class LatencyBudgetTest extends GeneralCompletionTest {
+
+    private static final String CODE =
+            "public class Test {\n"
+            + "    public void test() {\n"
+            + "        |\n"
+            + "    }\n"
+            + "}";
+    private int latencyBudget;
+    private boolean staticMethodInvocationGlobalTypes;
+
+    public LatencyBudgetTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(LatencyBudgetTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Preferences.setLatencyBudget(latencyBudget);
+        Preferences.setStaticMethodInvocationGlobalTypesFlag(staticMethodInvocationGlobalTypes);
+        after();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        latencyBudget = Preferences.getLatencyBudget();
+        staticMethodInvocationGlobalTypes = Preferences.getStaticMethodInvocationGlobalTypesFlag();
+        Preferences.setStaticMethodInvocationFlag(true);
+        Preferences.setStaticMethodInvocationGlobalTypesFlag(true);
+        Preferences.setGlobalTypeFlag(true);
+    }
+
+    public void testNothingIsReportedWithoutBudget() throws IOException {
+        Preferences.setLatencyBudget(0);
+        process("s.vo");
+        CodeFragmentCollectAndInsertHandler handler = getHandler();
+        assertEquals(Collections.emptyList(), handler.getSkippedCollectors());
+        assertEquals(Collections.emptyList(), handler.getPartialCollectors());
+    }
+
+    public void testExhaustedBudgetReportsCollectorsThatDidNotFinish() throws IOException {
+        Preferences.setLatencyBudget(1);
+        process("s.vo");
+        CodeFragmentCollectAndInsertHandler handler = getHandler();
+        assertFalse(handler.getSkippedCollectors().isEmpty() && handler.getPartialCollectors().isEmpty());
+    }
+
+    public void testPartialCollectorIsReportedOnce() throws IOException {
+        int caretOffset = writeTestFile(CODE);
+        List<List<String>> reports = new ArrayList<>();
+        JavaSource.forFileObject(getTestFile()).runModificationTask(copy -> {
+            copy.toPhase(JavaSource.Phase.RESOLVED);
+            CodeCompletionRequest request = new CodeCompletionRequestImpl(
+                    new JavaAbbreviation("abc", caretOffset), new ArrayList<>(), copy, getDocument());
+            PartialCollector first = new PartialCollector();
+            PartialCollector second = new PartialCollector();
+            CompleteCollector third = new CompleteCollector();
+            first.setNext(second);
+            second.setNext(third);
+            first.collect(request);
+            reports.add(request.getPartialCollectors());
+            reports.add(request.getSkippedCollectors());
+        });
+        assertEquals(Arrays.asList("PartialCollector", "PartialCollector"), reports.get(0));
+        assertEquals(Collections.emptyList(), reports.get(1));
+    }
+
+    private void process(String abbrev) throws IOException {
+        int caretOffset = CODE.indexOf('|');
+        doReplayedAbbreviationInsert(abbrev, CODE.substring(0, caretOffset) + CODE.substring(caretOffset + 1),
+                caretOffset);
+    }
+
+    private static class PartialCollector extends AbstractCodeFragmentCollector {
+
+        @Override
+        public void collect(CodeCompletionRequest request) {
+            request.markPartialCollection();
+            super.collect(request);
+        }
+    }
+
+    private static class CompleteCollector extends AbstractCodeFragmentCollector {
+    }
+}
@@ -103,6 +103,206 @@ public class LocalMethodInvocationCompletionTest extends GeneralCompletionTest {
                 Collections.singletonList("boolean b = equals(null);"));
     }
 
+    public void testLocalMethodInvocationCompletionInInnerClass() throws IOException {
+        doAbbreviationInsert(
+                "setf",
+                "class Test {\n"
+                + "    class Inner {\n"
+                + "        void setExternalTypeFlag() {\n"
+                + "        }\n"
+                + "        void test() {\n"
+                + "            |\n"
+                + "        }\n"
+                + "    }\n"
+                + "}",
+                "class Test {\n"
+                + "    class Inner {\n"
+                + "        void setExternalTypeFlag() {\n"
+                + "        }\n"
+                + "        void test() {\n"
+                + "            setExternalTypeFlag();\n"
+                + "            \n"
+                + "        }\n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("setExternalTypeFlag();"));
+    }
+
+    public void testOuterMethodInvocationCompletionInInnerClass() throws IOException {
+        doAbbreviationInsert(
+                "setf",
+                "class Test {\n"
+                + "    void setExternalTypeFlag() {\n"
+                + "    }\n"
+                + "    class Inner {\n"
+                + "        void test() {\n"
+                + "            |\n"
+                + "        }\n"
+                + "    }\n"
+                + "}",
+                "class Test {\n"
+                + "    void setExternalTypeFlag() {\n"
+                + "    }\n"
+                + "    class Inner {\n"
+                + "        void test() {\n"
+                + "            setExternalTypeFlag();\n"
+                + "            \n"
+                + "        }\n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("setExternalTypeFlag();"));
+    }
+
+    public void testOuterMethodHiddenByInnerMethodWithSameName() throws IOException {
+        doAbbreviationInsert(
+                "setf",
+                "class Test {\n"
+                + "    void setExternalTypeFlag() {\n"
+                + "    }\n"
+                + "    class Inner {\n"
+                + "        boolean setExternalTypeFlag() {\n"
+                + "            return true;\n"
+                + "        }\n"
+                + "        void test() {\n"
+                + "            |\n"
+                + "        }\n"
+                + "    }\n"
+                + "}",
+                "class Test {\n"
+                + "    void setExternalTypeFlag() {\n"
+                + "    }\n"
+                + "    class Inner {\n"
+                + "        boolean setExternalTypeFlag() {\n"
+                + "            return true;\n"
+                + "        }\n"
+                + "        void test() {\n"
+                + "            boolean b = setExternalTypeFlag();\n"
+                + "            \n"
+                + "        }\n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("boolean b = setExternalTypeFlag();"));
+    }
+
+    public void testOuterInstanceMethodNotAccessibleFromStaticNestedClass() throws IOException {
+        doAbbreviationInsert(
+                "setf",
+                "class Test {\n"
+                + "    void setExternalTypeFlag() {\n"
+                + "    }\n"
+                + "    static void setExpressionTypeFlag() {\n"
+                + "    }\n"
+                + "    static class Nested {\n"
+                + "        void test() {\n"
+                + "            |\n"
+                + "        }\n"
+                + "    }\n"
+                + "}",
+                "class Test {\n"
+                + "    void setExternalTypeFlag() {\n"
+                + "    }\n"
+                + "    static void setExpressionTypeFlag() {\n"
+                + "    }\n"
+                + "    static class Nested {\n"
+                + "        void test() {\n"
+                + "            setExpressionTypeFlag();\n"
+                + "            \n"
+                + "        }\n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("setExpressionTypeFlag();"));
+    }
+
+    public void testLocalMethodInvocationCompletionAfterSignatureChange() throws IOException {
+        doAbbreviationInsert(
+                "setf",
+                "class Test {\n"
+                + "    void setExternalTypeFlag() {\n"
+                + "    }\n"
+                + "    void test() {\n"
+                + "        |\n"
+                + "    }\n"
+                + "}",
+                "class Test {\n"
+                + "    void setExternalTypeFlag() {\n"
+                + "    }\n"
+                + "    void test() {\n"
+                + "        setExternalTypeFlag();\n"
+                + "        \n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("setExternalTypeFlag();"));
+        doAbbreviationInsert(
+                "setf",
+                "class Test {\n"
+                + "    boolean setExternalTypeFlag() {\n"
+                + "        return true;\n"
+                + "    }\n"
+                + "    void test() {\n"
+                + "        |\n"
+                + "    }\n"
+                + "}",
+                "class Test {\n"
+                + "    boolean setExternalTypeFlag() {\n"
+                + "        return true;\n"
+                + "    }\n"
+                + "    void test() {\n"
+                + "        boolean b = setExternalTypeFlag();\n"
+                + "        \n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("boolean b = setExternalTypeFlag();"));
+    }
+
+    public void testLocalMethodInvocationCompletionAfterSuperclassChangeInSameFile() throws IOException {
+        doAbbreviationInsert(
+                "setf",
+                "class Test extends Base {\n"
+                + "    void test() {\n"
+                + "        |\n"
+                + "    }\n"
+                + "}\n"
+                + "class Base {\n"
+                + "    void setExternalTypeFlag() {\n"
+                + "    }\n"
+                + "}",
+                "class Test extends Base {\n"
+                + "    void test() {\n"
+                + "        setExternalTypeFlag();\n"
+                + "        \n"
+                + "    }\n"
+                + "}\n"
+                + "class Base {\n"
+                + "    void setExternalTypeFlag() {\n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("setExternalTypeFlag();"));
+        doAbbreviationInsert(
+                "setf",
+                "class Test extends Base {\n"
+                + "    void test() {\n"
+                + "        |\n"
+                + "    }\n"
+                + "}\n"
+                + "class Base {\n"
+                + "    boolean setExternalTypeFlag() {\n"
+                + "        return true;\n"
+                + "    }\n"
+                + "}",
+                "class Test extends Base {\n"
+                + "    void test() {\n"
+                + "        boolean b = setExternalTypeFlag();\n"
+                + "        \n"
+                + "    }\n"
+                + "}\n"
+                + "class Base {\n"
+                + "    boolean setExternalTypeFlag() {\n"
+                + "        return true;\n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("boolean b = setExternalTypeFlag();"));
+    }
+
     @Override
     protected void tearDown() throws Exception {
         after();
@@ -2867,6 +2867,35 @@ public class ModifierCompletionTest extends GeneralCompletionTest {
                 Collections.singletonList("static"));
     }
 
+    public void testDefaultModifierCompletionInZeroModifierPositionForMethodDeclaredInsideInterface()
+            throws IOException {
+        doAbbreviationInsert(
+                "d",
+                "interface Test {\n"
+                + "    |public void test() {\n"
+                + "    }\n"
+                + "}",
+                "interface Test {\n"
+                + "    public default void test() {\n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("default"));
+    }
+
+    public void testDefaultModifierIsNotOfferedForStaticMethodDeclaredInsideInterface() throws IOException {
+        doAbbreviationInsert(
+                "d",
+                "interface Test {\n"
+                + "    |static void test() {\n"
+                + "    }\n"
+                + "}",
+                "interface Test {\n"
+                + "    static void test() {\n"
+                + "    }\n"
+                + "}",
+                Collections.emptyList());
+    }
+
     @Override
     protected void tearDown() throws Exception {
         after();
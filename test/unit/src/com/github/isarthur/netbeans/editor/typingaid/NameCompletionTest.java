@@ -92,6 +92,51 @@ public class NameCompletionTest extends GeneralCompletionTest {
                 Collections.singletonList("linkedList"));
     }
 
+    public void testNamesFollowSupertypesChangedInCurrentFile() throws IOException {
+        doAbbreviationInsert(
+                "w",
+                "class Test {\n"
+                + "    void test() {\n"
+                + "        Box<Widget> |;\n"
+                + "    }\n"
+                + "}\n"
+                + "class Box<T> {\n"
+                + "}\n"
+                + "class Widget {\n"
+                + "}",
+                "class Test {\n"
+                + "    void test() {\n"
+                + "        Box<Widget> ;\n"
+                + "    }\n"
+                + "}\n"
+                + "class Box<T> {\n"
+                + "}\n"
+                + "class Widget {\n"
+                + "}",
+                Collections.emptyList());
+        doAbbreviationInsert(
+                "w",
+                "class Test {\n"
+                + "    void test() {\n"
+                + "        Box<Widget> |;\n"
+                + "    }\n"
+                + "}\n"
+                + "abstract class Box<T> implements Iterable<T> {\n"
+                + "}\n"
+                + "class Widget {\n"
+                + "}",
+                "class Test {\n"
+                + "    void test() {\n"
+                + "        Box<Widget> widgets;\n"
+                + "    }\n"
+                + "}\n"
+                + "abstract class Box<T> implements Iterable<T> {\n"
+                + "}\n"
+                + "class Widget {\n"
+                + "}",
+                Collections.singletonList("widgets"));
+    }
+
     @Override
     protected void tearDown() throws Exception {
         after();
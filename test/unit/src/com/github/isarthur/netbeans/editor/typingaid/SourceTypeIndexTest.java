@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.index.SourceTypeIndex;
+import com.github.isarthur.netbeans.editor.typingaid.util.AbbreviationMatcher;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import javax.lang.model.element.TypeElement;
+import junit.framework.Test;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.java.classpath.GlobalPathRegistry;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.ElementHandle;
+import org.netbeans.spi.java.classpath.ClassPathFactory;
+import org.netbeans.spi.java.classpath.ClassPathImplementation;
+import org.netbeans.spi.java.classpath.PathResourceImplementation;
+import org.netbeans.spi.java.classpath.support.ClassPathSupport;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class SourceTypeIndexTest extends GeneralCompletionTest {
+
+    private static final long TIMEOUT = 60_000;
+
+    public SourceTypeIndexTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(SourceTypeIndexTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        after();
+    }
+
+    public void testIndexIsReleasedTogetherWithItsSourcePath() throws Exception {
+        MutableClassPathImplementation implementation = new MutableClassPathImplementation();
+        implementation.addRoot(createRoot("src"));
+        ClassPath sourcePath = ClassPathFactory.createClassPath(implementation);
+        SourceTypeIndex index = SourceTypeIndex.forClasspath(createClasspathInfo(sourcePath));
+        assertSame(index, SourceTypeIndex.forClasspath(createClasspathInfo(sourcePath)));
+        waitUntilReady(index);
+        Reference<ClassPath> sourcePathReference = new WeakReference<>(sourcePath);
+        Reference<SourceTypeIndex> indexReference = new WeakReference<>(index);
+        sourcePath = null;
+        implementation = null;
+        index = null;
+        assertGC("The source path must not be held by its type index", sourcePathReference);
+        assertGC("The type index must go together with its source path", indexReference);
+    }
+
+    public void testRootAddedLaterIsWatched() throws Exception {
+        MutableClassPathImplementation implementation = new MutableClassPathImplementation();
+        implementation.addRoot(createRoot("src"));
+        ClassPath sourcePath = ClassPathFactory.createClassPath(implementation);
+        SourceTypeIndex index = SourceTypeIndex.forClasspath(createClasspathInfo(sourcePath));
+        waitUntilReady(index);
+        FileObject addedRoot = createRoot("test");
+        FileObject file = FileUtil.createData(addedRoot, "p/AddedType.java");
+        implementation.addRoot(addedRoot);
+        long countAfterRootChange = waitForQuietCount(index);
+        file.delete();
+        waitFor(() -> index.getModificationCount() > countAfterRootChange);
+    }
+
+    public void testDeletingTypeRemovesItsNestedTypesOnly() throws Exception {
+        FileObject root = createRoot("src");
+        writeFile(root, "p/Outer.java", "package p; public class Outer { public static class Inner {} }");
+        writeFile(root, "p/Other.java", "package p; public class Other {}");
+        writeFile(root, "p/q/Deep.java", "package p.q; public class Deep {}");
+        ClassPath sourcePath = ClassPathSupport.createClassPath(root);
+        GlobalPathRegistry.getDefault().register(ClassPath.SOURCE, new ClassPath[]{sourcePath});
+        try {
+            SourceTypeIndex index = SourceTypeIndex.forClasspath(createClasspathInfo(sourcePath));
+            waitFor(() -> findTypes(index, "i").contains("p.Outer$Inner"));
+            root.getFileObject("p/Outer.java").delete();
+            waitFor(() -> !findTypes(index, "i").contains("p.Outer$Inner"));
+            assertFalse(findTypes(index, "o").contains("p.Outer"));
+            assertTrue(findTypes(index, "o").contains("p.Other"));
+            root.getFileObject("p/q").delete();
+            waitFor(() -> !findTypes(index, "d").contains("p.q.Deep"));
+            assertTrue(findTypes(index, "o").contains("p.Other"));
+        } finally {
+            GlobalPathRegistry.getDefault().unregister(ClassPath.SOURCE, new ClassPath[]{sourcePath});
+        }
+    }
+
+    private FileObject createRoot(String name) throws IOException {
+        return FileUtil.createFolder(FileUtil.toFileObject(getWorkDir()), name);
+    }
+
+    private static void writeFile(FileObject root, String path, String text) throws IOException {
+        FileObject file = FileUtil.createData(root, path);
+        try (Writer writer = new OutputStreamWriter(file.getOutputStream())) {
+            writer.append(text);
+        }
+    }
+
+    private static ClasspathInfo createClasspathInfo(ClassPath sourcePath) {
+        return ClasspathInfo.create(ClassPath.EMPTY, ClassPath.EMPTY, sourcePath);
+    }
+
+    private static List<String> findTypes(SourceTypeIndex index, String abbreviation) {
+        Set<ElementHandle<TypeElement>> types = index.findTypes(AbbreviationMatcher.exact(abbreviation));
+        if (types == null) {
+            return new ArrayList<>();
+        }
+        return types.stream().map(ElementHandle::getBinaryName).collect(Collectors.toList());
+    }
+
+    private static void waitUntilReady(SourceTypeIndex index) throws InterruptedException {
+        waitFor(() -> index.findTypes(AbbreviationMatcher.exact("a")) != null);
+    }
+
+    private static long waitForQuietCount(SourceTypeIndex index) throws InterruptedException {
+        long count = index.getModificationCount();
+        while (true) {
+            Thread.sleep(1_000);
+            long current = index.getModificationCount();
+            if (current == count) {
+                return current;
+            }
+            count = current;
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out waiting for the type index", System.currentTimeMillis() < deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    private static class MutableClassPathImplementation implements ClassPathImplementation {
+
+        private final PropertyChangeSupport changeSupport = new PropertyChangeSupport(this);
+        private final List<PathResourceImplementation> resources = new ArrayList<>();
+
+        void addRoot(FileObject root) {
+            synchronized (this) {
+                resources.add(ClassPathSupport.createResource(root.toURL()));
+            }
+            changeSupport.firePropertyChange(PROP_RESOURCES, null, null);
+        }
+
+        @Override
+        public synchronized List<? extends PathResourceImplementation> getResources() {
+            return new ArrayList<>(resources);
+        }
+
+        @Override
+        public void addPropertyChangeListener(PropertyChangeListener listener) {
+            changeSupport.addPropertyChangeListener(listener);
+        }
+
+        @Override
+        public void removePropertyChangeListener(PropertyChangeListener listener) {
+            changeSupport.removePropertyChangeListener(listener);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.JavaAbbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.impl.JavaCodeFragmentCollectAndInsertHandler;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.sun.source.tree.Tree;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import junit.framework.Test;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class StreamingPopupTest extends GeneralCompletionTest {
+
+    private boolean frequencyRanking;
+    private boolean prefixMatching;
+
+    public StreamingPopupTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(StreamingPopupTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+        frequencyRanking = Preferences.getFrequencyRankingFlag();
+        prefixMatching = Preferences.getPrefixMatchingFlag();
+        Preferences.setFrequencyRankingFlag(false);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Preferences.setFrequencyRankingFlag(frequencyRanking);
+        Preferences.setPrefixMatchingFlag(prefixMatching);
+        after();
+    }
+
+    public void testStreamedFragmentsAreAppendedAfterPresentFragments() {
+        CodeCompletionRequest request = request("xyz", "gamma", "beta");
+        boolean merged = getJavaHandler().mergeCodeFragments(
+                request, Arrays.asList(fragment("delta"), fragment("alpha")));
+        assertTrue(merged);
+        assertEquals(Arrays.asList("gamma", "beta", "alpha", "delta"), texts(request));
+    }
+
+    public void testDuplicateStreamedFragmentsAreDropped() {
+        CodeCompletionRequest request = request("xyz", "alpha", "beta");
+        boolean merged = getJavaHandler().mergeCodeFragments(
+                request, Arrays.asList(fragment("beta"), fragment("alpha")));
+        assertFalse(merged);
+        assertEquals(Arrays.asList("alpha", "beta"), texts(request));
+    }
+
+    public void testExactMatchesLeadTheStreamedBatch() {
+        Preferences.setPrefixMatchingFlag(true);
+        CodeCompletionRequest request = request("xyz", "gamma", "beta");
+        getJavaHandler().mergeCodeFragments(request, Arrays.asList(fragment("alpha"), fragment("xyz")));
+        assertEquals(Arrays.asList("gamma", "beta", "xyz", "alpha"), texts(request));
+    }
+
+    public void testBatchesForClosedPopupAreDropped() {
+        CodeCompletionRequest request = request("xyz", "gamma", "beta");
+        boolean added = getJavaHandler().addStreamedCodeFragments(request, Arrays.asList(fragment("alpha")));
+        assertFalse(added);
+        assertEquals(Arrays.asList("gamma", "beta"), texts(request));
+    }
+
+    private JavaCodeFragmentCollectAndInsertHandler getJavaHandler() {
+        return (JavaCodeFragmentCollectAndInsertHandler) getHandler();
+    }
+
+    private static CodeFragment fragment(String text) {
+        return (CodeFragment) Proxy.newProxyInstance(StreamingPopupTest.class.getClassLoader(),
+                new Class<?>[]{CodeFragment.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "toString":
+                            return text;
+                        case "hashCode":
+                            return text.hashCode();
+                        case "equals":
+                            return proxy == args[0];
+                        case "isAbbreviationEqualTo":
+                            return text.equals(args[0]);
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static CodeCompletionRequest request(String abbreviation, String... fragments) {
+        List<CodeFragment> codeFragments = new ArrayList<>();
+        for (String fragment : fragments) {
+            codeFragments.add(fragment(fragment));
+        }
+        JavaAbbreviation snapshot = new JavaAbbreviation(abbreviation, 0);
+        return (CodeCompletionRequest) Proxy.newProxyInstance(StreamingPopupTest.class.getClassLoader(),
+                new Class<?>[]{CodeCompletionRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAbbreviation":
+                            return snapshot;
+                        case "getCodeFragments":
+                            return codeFragments;
+                        case "getCurrentKind":
+                            return Tree.Kind.BLOCK;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static List<String> texts(CodeCompletionRequest request) {
+        return request.getCodeFragments().stream().map(CodeFragment::toString).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import java.io.IOException;
+import java.util.List;
+import junit.framework.Test;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class UnscopedStaticMemberCompletionTest extends GeneralCompletionTest {
+
+    private static final int MAX_MEMBERS = 20;
+    private boolean unscopedStaticMember;
+
+    public UnscopedStaticMemberCompletionTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(UnscopedStaticMemberCompletionTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        unscopedStaticMember = Preferences.getUnscopedStaticMemberFlag();
+        before();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        Preferences.setUnscopedStaticMemberFlag(true);
+    }
+
+    public void testStaticMethodIsFoundByMemberAbbreviationAlone() throws IOException {
+        List<CodeFragment> codeFragments = complete("vo", "String name = |;");
+        assertFalse(codeFragments.isEmpty());
+        codeFragments.forEach(codeFragment ->
+                assertTrue(codeFragment.toString(), codeFragment.toString().contains(".valueOf(")));
+        assertTrue(codeFragments.stream().anyMatch(codeFragment -> codeFragment.toString().startsWith("String.")));
+    }
+
+    public void testSingleLetterAbbreviationIsSupported() throws IOException {
+        assertTrue(complete("a", "int value = |;").stream()
+                .anyMatch(codeFragment -> codeFragment.toString().startsWith("Math.abs(")));
+    }
+
+    public void testShortAbbreviationIsCapped() throws IOException {
+        List<CodeFragment> codeFragments = complete("gi", "|");
+        assertFalse(codeFragments.isEmpty());
+        assertTrue(codeFragments.size() + " members", codeFragments.size() <= MAX_MEMBERS);
+    }
+
+    public void testImportedOwnersRankBeforeTruncation() throws IOException {
+        List<CodeFragment> codeFragments = complete("import java.util.Collections;\n\n", "m", "|");
+        assertTrue(codeFragments.size() + " members", codeFragments.size() <= MAX_MEMBERS);
+        assertTrue(codeFragments.stream()
+                .anyMatch(codeFragment -> codeFragment.toString().startsWith("Collections.max(")));
+    }
+
+    public void testIncompatibleMembersAreLeftOut() throws IOException {
+        complete("vo", "boolean flag = |;").forEach(codeFragment ->
+                assertTrue(codeFragment.toString(), codeFragment.toString().startsWith("Boolean.")));
+    }
+
+    private List<CodeFragment> complete(String abbreviation, String statement) throws IOException {
+        return complete("", abbreviation, statement);
+    }
+
+    private List<CodeFragment> complete(String imports, String abbreviation, String statement) throws IOException {
+        String code = imports
+                + "public class Test {\n"
+                + "    public void test() {\n"
+                + "        " + statement + "\n"
+                + "    }\n"
+                + "}";
+        int caretOffset = code.indexOf('|');
+        return doReplayedAbbreviationInsert(
+                abbreviation, code.substring(0, caretOffset) + code.substring(caretOffset + 1), caretOffset);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        after();
+        Preferences.setUnscopedStaticMemberFlag(unscopedStaticMember);
+    }
+}
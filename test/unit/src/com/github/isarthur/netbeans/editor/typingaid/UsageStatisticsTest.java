@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 Arthur Sadykov.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.isarthur.netbeans.editor.typingaid;
+
+import com.github.isarthur.netbeans.editor.typingaid.abbreviation.impl.JavaAbbreviation;
+import com.github.isarthur.netbeans.editor.typingaid.codefragment.api.CodeFragment;
+import com.github.isarthur.netbeans.editor.typingaid.preferences.Preferences;
+import com.github.isarthur.netbeans.editor.typingaid.ranking.impl.JavaUsageStatistics;
+import com.github.isarthur.netbeans.editor.typingaid.request.api.CodeCompletionRequest;
+import com.sun.source.tree.Tree;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.prefs.BackingStoreException;
+import java.util.stream.Collectors;
+import junit.framework.Test;
+import org.openide.util.NbPreferences;
+
+/**
+ *
+ * @author: Arthur Sadykov
+ */
+public class UsageStatisticsTest extends GeneralCompletionTest {
+
+    private static final String NODE_NAME = "usageStatistics";
+    private boolean frequencyRanking;
+
+    public UsageStatisticsTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return suite(UsageStatisticsTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        before();
+        frequencyRanking = Preferences.getFrequencyRankingFlag();
+        getStatisticsNode().clear();
+    }
+
+    @Override
+    protected void setCodeCompletionConfiguration() {
+        Preferences.setParameterFlag(true);
+    }
+
+    public void testFrequencyRankingIsOffByDefault() {
+        NbPreferences.forModule(Preferences.class).remove("frequencyRanking");
+        assertFalse(Preferences.getFrequencyRankingFlag());
+    }
+
+    public void testFragmentsAreRankedBySelectionFrequency() {
+        JavaUsageStatistics statistics = new JavaUsageStatistics();
+        statistics.recordSelection(fragment("beta"), request("xyz"));
+        statistics.recordSelection(fragment("beta"), request("xyz"));
+        statistics.recordSelection(fragment("alpha"), request("xyz"));
+        CodeCompletionRequest request = request("xyz", "alpha", "gamma", "beta");
+        statistics.rank(request);
+        assertEquals(Arrays.asList("beta", "alpha", "gamma"), texts(request));
+    }
+
+    public void testUnrecordedFragmentsAreRankedAlphabetically() {
+        CodeCompletionRequest request = request("uvw", "gamma", "alpha", "beta");
+        new JavaUsageStatistics().rank(request);
+        assertEquals(Arrays.asList("alpha", "beta", "gamma"), texts(request));
+    }
+
+    public void testConfidentCandidateRequiresDominantScore() {
+        JavaUsageStatistics statistics = new JavaUsageStatistics();
+        for (int i = 0; i < 10; i++) {
+            statistics.recordSelection(fragment("beta"), request("rst"));
+        }
+        assertEquals("beta", statistics.getConfidentCandidate(request("rst", "alpha", "beta"), 0.8).toString());
+        statistics.recordSelection(fragment("alpha"), request("opq"));
+        assertNull(statistics.getConfidentCandidate(request("opq", "alpha", "beta"), 0.8));
+    }
+
+    public void testSingleFragmentInsertionIsRecorded() throws IOException {
+        Preferences.setFrequencyRankingFlag(true);
+        doAbbreviationInsert(
+                "noc",
+                "public class Test {\n"
+                + "    public void test(int numberOfClasses) {\n"
+                + "        int count = 0;\n"
+                + "        count &= |;\n"
+                + "    }\n"
+                + "}",
+                "public class Test {\n"
+                + "    public void test(int numberOfClasses) {\n"
+                + "        int count = 0;\n"
+                + "        count &= numberOfClasses;\n"
+                + "    }\n"
+                + "}",
+                Collections.singletonList("numberOfClasses"));
+        boolean recorded = false;
+        for (String key : keys()) {
+            if (key.endsWith(":noc") && getStatisticsNode().get(key, "").startsWith("numberOfClasses\t")) {
+                recorded = true;
+            }
+        }
+        assertTrue(recorded);
+    }
+
+    private String[] keys() {
+        try {
+            return getStatisticsNode().keys();
+        } catch (BackingStoreException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    private java.util.prefs.Preferences getStatisticsNode() {
+        return NbPreferences.forModule(JavaUsageStatistics.class).node(NODE_NAME);
+    }
+
+    private static CodeFragment fragment(String text) {
+        return (CodeFragment) Proxy.newProxyInstance(UsageStatisticsTest.class.getClassLoader(),
+                new Class<?>[]{CodeFragment.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "toString":
+                            return text;
+                        case "hashCode":
+                            return text.hashCode();
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static CodeCompletionRequest request(String abbreviation, String... fragments) {
+        List<CodeFragment> codeFragments = new ArrayList<>();
+        for (String fragment : fragments) {
+            codeFragments.add(fragment(fragment));
+        }
+        JavaAbbreviation snapshot = new JavaAbbreviation(abbreviation, 0);
+        return (CodeCompletionRequest) Proxy.newProxyInstance(UsageStatisticsTest.class.getClassLoader(),
+                new Class<?>[]{CodeCompletionRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAbbreviation":
+                            return snapshot;
+                        case "getCodeFragments":
+                            return codeFragments;
+                        case "getCurrentKind":
+                            return Tree.Kind.BLOCK;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static List<String> texts(CodeCompletionRequest request) {
+        return request.getCodeFragments().stream().map(CodeFragment::toString).collect(Collectors.toList());
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Preferences.setFrequencyRankingFlag(frequencyRanking);
+        after();
+    }
+}